@@ -0,0 +1,73 @@
+package tech.derbent.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.api.utils.CAccessors;
+import tech.derbent.api.utils.CAuxillaries;
+import tech.derbent.projects.domain.CProject;
+
+/** CAccessorsBenchmark - Compares reading a property by name through CAccessors with the lookup and reflective call per read it replaced. One read
+ * is one grid cell or Gantt item. Needs no application context. */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.NANOSECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class CAccessorsBenchmark {
+
+	private CActivity activity;
+	private Function<Object, Object> nameField;
+	private Field nameFieldReflective;
+	private Function<Object, Object> nameGetter;
+
+	@Benchmark
+	public Object fieldGetter() {
+		return nameField.apply(activity);
+	}
+
+	@Benchmark
+	public Object fieldReflective() throws ReflectiveOperationException {
+		nameFieldReflective.setAccessible(true);
+		return nameFieldReflective.get(activity);
+	}
+
+	@Benchmark
+	public Object getter() {
+		return nameGetter.apply(activity);
+	}
+
+	@Benchmark
+	public Object getterByName() {
+		return CAuxillaries.invokeMethod(activity, "getName");
+	}
+
+	@Benchmark
+	public Object getterReflective() throws ReflectiveOperationException {
+		final Method method = activity.getClass().getMethod("getName");
+		return method.invoke(activity);
+	}
+
+	@Setup (Level.Trial)
+	public void setUp() throws NoSuchFieldException {
+		activity = new CActivity("Benchmark Activity", new CProject("Benchmark Project"));
+		nameGetter = CAccessors.getter(CActivity.class, "getName");
+		nameFieldReflective = CEntityNamed.class.getDeclaredField("name");
+		nameField = CAccessors.fieldGetter(nameFieldReflective);
+	}
+}
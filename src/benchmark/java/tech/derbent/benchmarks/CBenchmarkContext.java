@@ -0,0 +1,112 @@
+package tech.derbent.benchmarks;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.vaadin.flow.server.VaadinSession;
+import tech.derbent.Application;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.utils.Check;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.service.IMeetingRepository;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** CBenchmarkContext - Reproducible fixture for the JMH benchmarks. Starts the application on a private in-memory H2 database, authenticates the
+ * benchmark threads and seeds a project with a fixed number of activities and meetings. Random values come from a fixed seed, so every run
+ * measures the same data. */
+public final class CBenchmarkContext {
+
+	private static final int INSERT_CHUNK_SIZE = 1000;
+	private static final long SEED = 42L;
+
+	/** Creates a session that has the project as active project, the same way the Vaadin session of a logged in user does. Bind it to the
+	 * benchmark thread with VaadinSession.setCurrent.
+	 * @param project the project
+	 * @return the session */
+	public static VaadinSession createSession(final CProject project) {
+		final VaadinSession session = mock(VaadinSession.class);
+		when(session.getAttribute("activeProject")).thenReturn(project);
+		return session;
+	}
+
+	/** Seeds a project with activities and meetings. Rows are inserted in chunks through the repositories, so the service save hooks (closure table,
+	 * aggregates) are not part of the fixture.
+	 * @param context    the application context
+	 * @param name       the project name
+	 * @param activities number of activities
+	 * @param meetings   number of meetings
+	 * @return the project */
+	public static CProject seedProject(final ConfigurableApplicationContext context, final String name, final int activities, final int meetings) {
+		final TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		final CProject project = transaction.execute(status -> context.getBean(IProjectRepository.class).save(new CProject(name)));
+		Check.notNull(project, "Project could not be created");
+		final IActivityRepository activityRepository = context.getBean(IActivityRepository.class);
+		final IMeetingRepository meetingRepository = context.getBean(IMeetingRepository.class);
+		final Random random = new Random(SEED);
+		final LocalDate base = LocalDate.of(2025, 1, 1);
+		for (int offset = 0; offset < activities; offset += INSERT_CHUNK_SIZE) {
+			final List<CActivity> chunk = new ArrayList<>();
+			for (int i = offset; i < Math.min(offset + INSERT_CHUNK_SIZE, activities); i++) {
+				final CActivity activity = new CActivity("Activity " + random.nextInt(activities), project);
+				activity.setStartDate(base.plusDays(random.nextInt(365)));
+				activity.setDueDate(activity.getStartDate().plusDays(1 + random.nextInt(30)));
+				chunk.add(activity);
+			}
+			transaction.executeWithoutResult(status -> activityRepository.saveAll(chunk));
+		}
+		for (int offset = 0; offset < meetings; offset += INSERT_CHUNK_SIZE) {
+			final List<CMeeting> chunk = new ArrayList<>();
+			for (int i = offset; i < Math.min(offset + INSERT_CHUNK_SIZE, meetings); i++) {
+				final CMeeting meeting = new CMeeting("Meeting " + i, project);
+				final LocalDateTime start = base.plusDays(random.nextInt(365)).atTime(9 + random.nextInt(8), 0);
+				meeting.setMeetingDate(start);
+				meeting.setEndDate(start.plusHours(1));
+				chunk.add(meeting);
+			}
+			transaction.executeWithoutResult(status -> meetingRepository.saveAll(chunk));
+		}
+		return project;
+	}
+
+	/** Starts the application on an in-memory H2 database named after the benchmark and authenticates all threads.
+	 * @param databaseName name of the in-memory database, one per benchmark state so forks never share data
+	 * @return the running context, to be closed in the tear down of the benchmark state */
+	public static ConfigurableApplicationContext start(final String databaseName) {
+		Check.notBlank(databaseName, "Database name cannot be blank");
+		// passed as arguments so that they take precedence over application.properties
+		final ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class).web(WebApplicationType.SERVLET).run(
+				"--server.port=0", "--vaadin.launch-browser=false", "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+				"--spring.datasource.username=sa", "--spring.datasource.password=", "--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.jpa.hibernate.ddl-auto=create-drop", "--spring.jpa.properties.hibernate.jdbc.batch_size=" + INSERT_CHUNK_SIZE,
+				"--derbent.profiler.enabled=false", "--logging.level.root=WARN", "--logging.level.tech.derbent=WARN");
+		// benchmark threads are created by JMH, the authentication has to be visible to all of them
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("benchmark", "benchmark", "ROLE_ADMIN", "ROLE_USER"));
+		return context;
+	}
+
+	/** Stops the application and clears the state set up by {@link #start(String)}.
+	 * @param context the context returned by start, may be null if start failed */
+	public static void stop(final ConfigurableApplicationContext context) {
+		VaadinSession.setCurrent(null);
+		SecurityContextHolder.clearContext();
+		if (context != null) {
+			context.close();
+		}
+	}
+
+	private CBenchmarkContext() {}
+}
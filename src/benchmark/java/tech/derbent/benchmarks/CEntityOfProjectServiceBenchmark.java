@@ -0,0 +1,96 @@
+package tech.derbent.benchmarks;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.services.CAbstractNamedEntityService;
+import tech.derbent.projects.domain.CProject;
+
+/** CEntityOfProjectServiceBenchmark - Measures the project scoped list with search text and the in-memory sort it relies on, at 1k, 10k and 100k
+ * rows per project. */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (value = 1, jvmArgs = {
+		"-Xms2g", "-Xmx2g"
+})
+public class CEntityOfProjectServiceBenchmark {
+
+	/** Exposes the protected applySort of the named entity services, the activity service itself is a Spring proxy. */
+	static final class CActivitySorter extends CAbstractNamedEntityService<CActivity> {
+
+		CActivitySorter(final IActivityRepository repository) {
+			super(repository, Clock.systemDefaultZone());
+		}
+
+		@Override
+		protected Class<CActivity> getEntityClass() { return CActivity.class; }
+
+		List<CActivity> sort(final List<CActivity> input, final Sort sort) {
+			return applySort(input, sort);
+		}
+	}
+
+	private static final Pageable FIRST_PAGE = PageRequest.of(0, 50, Sort.by("name"));
+	private static final Sort SORT_BY_NAME_THEN_ID = Sort.by("name", "id");
+	private CActivityService activityService;
+	private ConfigurableApplicationContext context;
+	private CProject project;
+	@Param ({
+			"1000", "10000", "100000"
+	})
+	public int rows;
+	private CActivitySorter sorter;
+	private List<CActivity> unsorted;
+
+	@Benchmark
+	public List<CActivity> applySort() {
+		return sorter.sort(unsorted, SORT_BY_NAME_THEN_ID);
+	}
+
+	@Benchmark
+	public Page<CActivity> listByProjectWithSearchText() {
+		return activityService.listByProject(project, FIRST_PAGE, "Activity 4");
+	}
+
+	@Setup (Level.Trial)
+	public void setUp() {
+		context = CBenchmarkContext.start("serviceBenchmark");
+		project = CBenchmarkContext.seedProject(context, "Service Benchmark", rows, 0);
+		activityService = context.getBean(CActivityService.class);
+		sorter = new CActivitySorter(context.getBean(IActivityRepository.class));
+		unsorted = new ArrayList<>(activityService.listByProject(project));
+		Collections.shuffle(unsorted, new Random(42L));
+	}
+
+	@TearDown (Level.Trial)
+	public void tearDown() {
+		CBenchmarkContext.stop(context);
+	}
+}
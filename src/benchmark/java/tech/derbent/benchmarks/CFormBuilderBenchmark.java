@@ -0,0 +1,95 @@
+package tech.derbent.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.vaadin.flow.server.VaadinSession;
+import tech.derbent.api.annotations.CDataProviderResolver;
+import tech.derbent.api.annotations.CFormBuilder;
+import tech.derbent.api.components.CBinderFactory;
+import tech.derbent.api.components.CEnhancedBinder;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.views.components.CVerticalLayout;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.screens.service.CEntityFieldService;
+import tech.derbent.screens.service.CEntityFieldService.EntityFieldInfo;
+
+/** CFormBuilderBenchmark - Measures form generation per entity class and the data provider resolution of one combo box field of that class. */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MICROSECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (1)
+public class CFormBuilderBenchmark {
+
+	private Class<?> entityClass;
+	/** Entity class and the name of one of its fields that is filled by a data provider. */
+	@Param ({
+			"tech.derbent.activities.domain.CActivity:status", "tech.derbent.meetings.domain.CMeeting:meetingType",
+			"tech.derbent.risks.domain.CRisk:status", "tech.derbent.decisions.domain.CDecision:decisionStatus"
+	})
+	public String entityField;
+	private ConfigurableApplicationContext context;
+	private EntityFieldInfo fieldInfo;
+	private CDataProviderResolver resolver;
+	private VaadinSession session;
+
+	@Benchmark
+	public CVerticalLayout buildForm() throws Exception {
+		final CEnhancedBinder<?> binder = CBinderFactory.createEnhancedBinder(entityClass);
+		return CFormBuilder.buildForm(entityClass, binder);
+	}
+
+	@Benchmark
+	public List<? extends CEntityDB<?>> resolveData() throws Exception {
+		return resolver.resolveData(null, fieldInfo);
+	}
+
+	@Setup (Level.Trial)
+	public void setUp() throws Exception {
+		context = CBenchmarkContext.start("formBenchmark");
+		final CProject project = CBenchmarkContext.seedProject(context, "Form Benchmark", 0, 0);
+		session = CBenchmarkContext.createSession(project);
+		final String[] parts = entityField.split(":");
+		entityClass = Class.forName(parts[0]);
+		fieldInfo = CEntityFieldService.createFieldInfo(findField(entityClass, parts[1]));
+		resolver = context.getBean(CDataProviderResolver.class);
+	}
+
+	private static java.lang.reflect.Field findField(final Class<?> type, final String name) throws NoSuchFieldException {
+		for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+			try {
+				return current.getDeclaredField(name);
+			} catch (final NoSuchFieldException e) {
+				// continue with the superclass
+			}
+		}
+		throw new NoSuchFieldException(name + " in " + type.getName());
+	}
+
+	/** The session is thread bound and building a form releases the current instances of the thread, so it is bound again before every call.
+	 * Both benchmarks take milliseconds, the per invocation setup does not distort them. */
+	@Setup (Level.Invocation)
+	public void bindSession() {
+		VaadinSession.setCurrent(session);
+	}
+
+	@TearDown (Level.Trial)
+	public void tearDown() {
+		CBenchmarkContext.stop(context);
+	}
+}
@@ -0,0 +1,60 @@
+package tech.derbent.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import com.vaadin.flow.data.provider.Query;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.gannt.view.datasource.CGanttDataProvider;
+import tech.derbent.meetings.service.CMeetingService;
+import tech.derbent.projects.domain.CProject;
+
+/** CGanttDataProviderBenchmark - Measures loading the Gantt items of a project, activities and meetings merged and sorted by timeline, the way the
+ * Gantt grid requests its first page. */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (value = 1, jvmArgs = {
+		"-Xms2g", "-Xmx2g"
+})
+public class CGanttDataProviderBenchmark {
+
+	private ConfigurableApplicationContext context;
+	private CGanttDataProvider dataProvider;
+	/** Number of activities, the project gets a tenth of that as meetings. */
+	@Param ({
+			"1000", "10000"
+	})
+	public int rows;
+
+	@Benchmark
+	public long fetchFirstPage() {
+		return dataProvider.fetch(new Query<>(0, 50, null, null, null)).count();
+	}
+
+	@Setup (Level.Trial)
+	public void setUp() {
+		context = CBenchmarkContext.start("ganttBenchmark");
+		final CProject project = CBenchmarkContext.seedProject(context, "Gantt Benchmark", rows, rows / 10);
+		dataProvider = new CGanttDataProvider(project, context.getBean(CActivityService.class), context.getBean(CMeetingService.class));
+	}
+
+	@TearDown (Level.Trial)
+	public void tearDown() {
+		CBenchmarkContext.stop(context);
+	}
+}
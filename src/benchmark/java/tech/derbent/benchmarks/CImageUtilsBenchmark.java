@@ -0,0 +1,59 @@
+package tech.derbent.benchmarks;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.derbent.api.utils.CImageUtils;
+
+/** CImageUtilsBenchmark - Measures resizing an uploaded picture to the profile picture size. Needs no application context, the source image is a
+ * generated gradient so the input is identical in every run. */
+@State (Scope.Benchmark)
+@BenchmarkMode (Mode.AverageTime)
+@OutputTimeUnit (TimeUnit.MILLISECONDS)
+@Warmup (iterations = 3, time = 2)
+@Measurement (iterations = 5, time = 2)
+@Fork (value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class CImageUtilsBenchmark {
+
+	private byte[] imageData;
+	/** Width of the uploaded source image, the height is three quarters of it. */
+	@Param ({
+			"640", "1920", "4000"
+	})
+	public int sourceWidth;
+
+	@Benchmark
+	public byte[] resizeImage() {
+		return CImageUtils.resizeImage(imageData, CImageUtils.PROFILE_PICTURE_WIDTH, CImageUtils.PROFILE_PICTURE_HEIGHT);
+	}
+
+	@Setup (Level.Trial)
+	public void setUp() throws IOException {
+		final int height = (sourceWidth * 3) / 4;
+		final BufferedImage image = new BufferedImage(sourceWidth, height, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D graphics = image.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, sourceWidth, height, Color.ORANGE));
+		graphics.fillRect(0, 0, sourceWidth, height);
+		graphics.dispose();
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		ImageIO.write(image, "jpg", output);
+		imageData = output.toByteArray();
+	}
+}
@@ -14,8 +14,9 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.util.StreamUtils;
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+import com.vaadin.flow.shared.ui.Transport;
 import com.vaadin.flow.theme.Theme;
-import tech.derbent.api.components.CTimer;
 
 /** Main application class for the Derbent project management system.
  * <p>
@@ -36,6 +37,8 @@ import tech.derbent.api.components.CTimer;
  * @since 1.0 */
 @SpringBootApplication (scanBasePackages = "tech.derbent")
 @Theme ("default")
+// server push carries the changes of other users (CEntityEventBus); long polling avoids the JSR356 websocket setup of the container
+@Push (transport = Transport.LONG_POLLING)
 @Import (ServletWebServerFactoryAutoConfiguration.class)
 public class Application implements AppShellConfigurator {
 
@@ -48,7 +51,6 @@ public class Application implements AppShellConfigurator {
 	 * @param args command line arguments passed to the application */
 	public static void main(final String[] args) {
 		try {
-			CTimer.stamp();
 			final SpringApplication app = new SpringApplication(Application.class);
 			// Note: ApplicationListener for startup time measurement
 			app.addListeners((final ApplicationReadyEvent event) -> {
@@ -57,7 +59,6 @@ public class Application implements AppShellConfigurator {
 				LOGGER.info("Application started in {} ms", durationMs);
 			});
 			app.run(args);
-			CTimer.print();
 		} catch (final Throwable e) {
 			if (e.getClass().getName().contains("SilentExitException")) {
 				LOGGER.debug("Spring is restarting the main thread - See spring-boot-devtools");
@@ -10,6 +10,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ConfigurableApplicationContext;
 import tech.derbent.config.CDataInitializer;
+import tech.derbent.config.CSyntheticDataGenerator;
 
 @SpringBootApplication (scanBasePackages = {
 		"tech.derbent.abstracts", "tech.derbent.activities", "tech.derbent.comments", "tech.derbent.companies", "tech.derbent.decisions",
@@ -36,6 +37,10 @@ public class DbResetApplication {
 					initializer.reloadForced();
 				}
 				LOGGER.info("Database reset completed successfully!");
+				// optional load test data set on top of the sample data, e.g. --derbent.synthetic.projects=100
+				if (context.getEnvironment().containsProperty("derbent.synthetic.projects")) {
+					context.getBean(CSyntheticDataGenerator.class).generate(CSyntheticDataGenerator.CSettings.of(context.getEnvironment()));
+				}
 			} catch (Exception e) {
 				LOGGER.error("Error during database reset: ", e);
 				System.exit(1);
@@ -11,6 +11,7 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,6 +21,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
+import tech.derbent.api.annotations.AAudited;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.domains.CProjectItem;
 import tech.derbent.api.interfaces.IKanbanEntity;
@@ -29,8 +31,14 @@ import tech.derbent.comments.domain.CComment;
 import tech.derbent.projects.domain.CProject;
 import tech.derbent.users.domain.CUser;
 
+@AAudited
 @Entity
-@Table (name = "cactivity")
+@Table (name = "cactivity", indexes = {
+		// time window queries of CCalendarService, per project and per assigned user; the due date leads, so the scan starts at the window start
+		// and skips the activities that ended before it however long ago they started
+		@Index (name = "idx_activity_project_time", columnList = "project_id, due_date, start_date"),
+		@Index (name = "idx_activity_assignee_time", columnList = "assigned_to_id, due_date, start_date")
+})
 @AttributeOverride (name = "id", column = @Column (name = "activity_id"))
 public class CActivity extends CProjectItem<CActivity> implements IKanbanEntity {
 
@@ -215,7 +223,8 @@ public class CActivity extends CProjectItem<CActivity> implements IKanbanEntity
 
 	public BigDecimal getActualHours() { return actualHours != null ? actualHours : BigDecimal.ZERO; }
 
-	/** Gets the list of comments associated with this activity.
+	/** Gets the list of comments associated with this activity. The collection is lazy and kept for cascade delete only; it loads every comment of
+	 * the activity, so views should page through CCommentService#findPageByActivity instead.
 	 * @return list of comments, never null */
 	public List<CComment> getComments() { return comments != null ? comments : new ArrayList<>(); }
 
@@ -439,6 +448,6 @@ public class CActivity extends CProjectItem<CActivity> implements IKanbanEntity
 
 	@Override
 	public void initializeAllFields() {
-		// TODO Auto-generated method stub
+		// comments are intentionally not initialized, they are streamed page by page through CCommentService
 	}
 }
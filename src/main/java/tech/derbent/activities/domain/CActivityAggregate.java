@@ -0,0 +1,129 @@
+package tech.derbent.activities.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import tech.derbent.api.domains.CEntityDB;
+
+/** CActivityAggregate - Summary row of the activity roll-up tables. Layer: Domain (MVC) Holds the totals of all activities of a project, of the
+ * direct children of one parent item or of one status. Rows are maintained incrementally by CActivityAggregateService on every activity save and
+ * delete, so dashboards, Gantt summary bars and project cards read one row instead of loading all activities. */
+@Entity
+@Table (name = "cactivityaggregate", uniqueConstraints = {
+		@UniqueConstraint (name = "uk_activityaggregate_scope", columnNames = {
+				"project_id", "scope", "scope_type", "scope_id"
+		})
+}, indexes = {
+		@Index (name = "idx_activityaggregate_project", columnList = "project_id, scope")
+})
+public class CActivityAggregate extends CEntityDB<CActivityAggregate> {
+
+	private static BigDecimal orZero(final BigDecimal value) {
+		return value != null ? value : BigDecimal.ZERO;
+	}
+
+	@Column (name = "activity_count", nullable = false)
+	private long activityCount;
+	@Column (name = "actual_cost", nullable = false, precision = 16, scale = 2)
+	private BigDecimal actualCost = BigDecimal.ZERO;
+	@Column (name = "actual_hours", nullable = false, precision = 14, scale = 2)
+	private BigDecimal actualHours = BigDecimal.ZERO;
+	@Column (name = "estimated_cost", nullable = false, precision = 16, scale = 2)
+	private BigDecimal estimatedCost = BigDecimal.ZERO;
+	@Column (name = "estimated_hours", nullable = false, precision = 14, scale = 2)
+	private BigDecimal estimatedHours = BigDecimal.ZERO;
+	@Column (name = "progress_sum", nullable = false)
+	private long progressSum;
+	@NotNull
+	@Column (name = "project_id", nullable = false)
+	private Long projectId;
+	@Column (name = "remaining_hours", nullable = false, precision = 14, scale = 2)
+	private BigDecimal remainingHours = BigDecimal.ZERO;
+	@NotNull
+	@Enumerated (EnumType.STRING)
+	@Column (name = "scope", nullable = false, length = 16)
+	private EActivityAggregateScope scope;
+	@NotNull
+	@Column (name = "scope_id", nullable = false)
+	private Long scopeId;
+	@NotNull
+	@Column (name = "scope_type", nullable = false, length = 32)
+	private String scopeType;
+
+	/** Default constructor for JPA. */
+	public CActivityAggregate() {
+		super(CActivityAggregate.class);
+	}
+
+	public CActivityAggregate(final Long projectId, final EActivityAggregateScope scope, final String scopeType, final Long scopeId) {
+		super(CActivityAggregate.class);
+		this.projectId = projectId;
+		this.scope = scope;
+		this.scopeType = scopeType;
+		this.scopeId = scopeId;
+	}
+
+	/** Adds (sign 1) or subtracts (sign -1) the contribution of one activity.
+	 * @param contribution the activity contribution
+	 * @param sign         1 to add, -1 to subtract */
+	public void add(final CActivityContribution contribution, final int sign) {
+		final BigDecimal factor = BigDecimal.valueOf(sign);
+		activityCount += sign;
+		estimatedHours = estimatedHours.add(contribution.getEstimatedHours().multiply(factor));
+		actualHours = actualHours.add(contribution.getActualHours().multiply(factor));
+		remainingHours = remainingHours.add(contribution.getRemainingHours().multiply(factor));
+		estimatedCost = estimatedCost.add(contribution.getEstimatedCost().multiply(factor));
+		actualCost = actualCost.add(contribution.getActualCost().multiply(factor));
+		progressSum += (long) sign * contribution.getProgress();
+	}
+
+	public long getActivityCount() { return activityCount; }
+
+	public BigDecimal getActualCost() { return orZero(actualCost); }
+
+	public BigDecimal getActualHours() { return orZero(actualHours); }
+
+	/** Average progress percentage of the activities in this scope.
+	 * @return the average progress (0-100), 0 when the scope is empty */
+	public BigDecimal getAverageProgress() {
+		if (activityCount <= 0) {
+			return BigDecimal.ZERO;
+		}
+		return BigDecimal.valueOf(progressSum).divide(BigDecimal.valueOf(activityCount), 2, RoundingMode.HALF_UP);
+	}
+
+	public BigDecimal getEstimatedCost() { return orZero(estimatedCost); }
+
+	public BigDecimal getEstimatedHours() { return orZero(estimatedHours); }
+
+	public long getProgressSum() { return progressSum; }
+
+	public Long getProjectId() { return projectId; }
+
+	public BigDecimal getRemainingHours() { return orZero(remainingHours); }
+
+	public EActivityAggregateScope getScope() { return scope; }
+
+	public Long getScopeId() { return scopeId; }
+
+	public String getScopeType() { return scopeType; }
+
+	@Override
+	public void initializeAllFields() {
+		// no lazy relations
+	}
+
+	@Override
+	public String toString() {
+		return "CActivityAggregate{projectId=" + projectId + ", scope=" + scope + ", scopeType='" + scopeType + '\'' + ", scopeId=" + scopeId
+				+ ", activityCount=" + activityCount + ", estimatedHours=" + estimatedHours + ", actualHours=" + actualHours + ", remainingHours="
+				+ remainingHours + ", estimatedCost=" + estimatedCost + ", actualCost=" + actualCost + ", progressSum=" + progressSum + '}';
+	}
+}
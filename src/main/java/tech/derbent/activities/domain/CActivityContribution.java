@@ -0,0 +1,107 @@
+package tech.derbent.activities.domain;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/** CActivityContribution - The values a single activity adds to the roll-up summary rows. Layer: Domain (MVC) Built either from a saved entity or
+ * directly by a JPQL constructor expression that reads the committed row, so the state before a save can be captured without loading the entity.
+ * CActivityAggregateService subtracts the old contribution and adds the new one instead of recomputing the totals. */
+public class CActivityContribution {
+
+	/** Scope id used for activities without status. */
+	public static final Long NO_STATUS_ID = 0L;
+
+	private static BigDecimal orZero(final BigDecimal value) {
+		return value != null ? value : BigDecimal.ZERO;
+	}
+
+	/** Creates the contribution of the given activity.
+	 * @param activity the activity, may be null
+	 * @return the contribution, or null if the activity is null or soft deleted */
+	public static CActivityContribution of(final CActivity activity) {
+		if ((activity == null) || Boolean.FALSE.equals(activity.getIsActive())) {
+			return null;
+		}
+		return new CActivityContribution(activity.getProject() != null ? activity.getProject().getId() : null, activity.getParentType(),
+				activity.getParentId(), activity.getStatus() != null ? activity.getStatus().getId() : null, activity.getEstimatedHours(),
+				activity.getActualHours(), activity.getRemainingHours(), activity.getEstimatedCost(), activity.getActualCost(),
+				activity.getProgressPercentage());
+	}
+
+	private final BigDecimal actualCost;
+	private final BigDecimal actualHours;
+	private final BigDecimal estimatedCost;
+	private final BigDecimal estimatedHours;
+	private final Long parentId;
+	private final String parentType;
+	private final int progress;
+	private final Long projectId;
+	private final BigDecimal remainingHours;
+	private final Long statusId;
+
+	public CActivityContribution(final Long projectId, final String parentType, final Long parentId, final Long statusId,
+			final BigDecimal estimatedHours, final BigDecimal actualHours, final BigDecimal remainingHours, final BigDecimal estimatedCost,
+			final BigDecimal actualCost, final Integer progress) {
+		this.projectId = projectId;
+		this.parentType = parentType;
+		this.parentId = parentId;
+		this.statusId = statusId != null ? statusId : NO_STATUS_ID;
+		this.estimatedHours = orZero(estimatedHours);
+		this.actualHours = orZero(actualHours);
+		this.remainingHours = orZero(remainingHours);
+		this.estimatedCost = orZero(estimatedCost);
+		this.actualCost = orZero(actualCost);
+		this.progress = progress != null ? progress : 0;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof final CActivityContribution other)) {
+			return false;
+		}
+		return (progress == other.progress) && Objects.equals(projectId, other.projectId) && Objects.equals(parentType, other.parentType)
+				&& Objects.equals(parentId, other.parentId) && Objects.equals(statusId, other.statusId)
+				&& (estimatedHours.compareTo(other.estimatedHours) == 0) && (actualHours.compareTo(other.actualHours) == 0)
+				&& (remainingHours.compareTo(other.remainingHours) == 0) && (estimatedCost.compareTo(other.estimatedCost) == 0)
+				&& (actualCost.compareTo(other.actualCost) == 0);
+	}
+
+	public BigDecimal getActualCost() { return actualCost; }
+
+	public BigDecimal getActualHours() { return actualHours; }
+
+	public BigDecimal getEstimatedCost() { return estimatedCost; }
+
+	public BigDecimal getEstimatedHours() { return estimatedHours; }
+
+	public Long getParentId() { return parentId; }
+
+	public String getParentType() { return parentType; }
+
+	public int getProgress() { return progress; }
+
+	public Long getProjectId() { return projectId; }
+
+	public BigDecimal getRemainingHours() { return remainingHours; }
+
+	public Long getStatusId() { return statusId; }
+
+	public boolean hasParent() {
+		return (parentType != null) && (parentId != null);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(projectId, parentType, parentId, statusId, progress);
+	}
+
+	@Override
+	public String toString() {
+		return "CActivityContribution{projectId=" + projectId + ", parent=" + parentType + "#" + parentId + ", statusId=" + statusId
+				+ ", estimatedHours=" + estimatedHours + ", actualHours=" + actualHours + ", remainingHours=" + remainingHours + ", estimatedCost="
+				+ estimatedCost + ", actualCost=" + actualCost + ", progress=" + progress + '}';
+	}
+}
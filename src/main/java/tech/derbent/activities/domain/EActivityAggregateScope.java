@@ -0,0 +1,11 @@
+package tech.derbent.activities.domain;
+
+/** Grouping level of a row in the activity roll-up summary table. */
+public enum EActivityAggregateScope {
+	/** All activities of a project. */
+	PROJECT,
+	/** Direct children of one parent item. */
+	PARENT,
+	/** Activities of a project in one status, scope id 0 is used for activities without status. */
+	STATUS
+}
@@ -0,0 +1,196 @@
+package tech.derbent.activities.service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityAggregate;
+import tech.derbent.activities.domain.CActivityContribution;
+import tech.derbent.activities.domain.CActivityStatus;
+import tech.derbent.activities.domain.EActivityAggregateScope;
+import tech.derbent.api.domains.CProjectItem;
+import tech.derbent.api.services.CAbstractService;
+import tech.derbent.api.services.CParentChildRelationService;
+import tech.derbent.api.services.IArchiveListener;
+import tech.derbent.api.utils.Check;
+import tech.derbent.projects.domain.CProject;
+
+/** CActivityAggregateService - Incremental roll-up of activity effort and cost. Layer: Service (MVC) Maintains one summary row per project, per
+ * parent item (direct children) and per status. CActivityService reports the contribution of an activity before and after each save or delete;
+ * the difference is applied to the affected rows in the same transaction, so totals never require loading the activities of a project. A project
+ * without summary rows (e.g. data created before the table existed) is rebuilt once from a single projection query on its first change. Deep
+ * subtree totals are answered by the closure table, see CParentChildRelationService#getActivitySubtreeAggregate. Only active activities are
+ * counted, as in the cost totals and the workload rows: a soft delete subtracts the activity and a restore adds it back. */
+@Service
+@Transactional (readOnly = true)
+public class CActivityAggregateService extends CAbstractService<CActivityAggregate> implements IArchiveListener {
+
+	private static final String ACTIVITY_TYPE = CActivity.class.getSimpleName();
+	private static final String PROJECT_TYPE = CProject.class.getSimpleName();
+	private static final String STATUS_TYPE = CActivityStatus.class.getSimpleName();
+	private final IActivityRepository activityRepository;
+
+	public CActivityAggregateService(final IActivityAggregateRepository repository, final IActivityRepository activityRepository,
+			final Clock clock) {
+		super(repository, clock);
+		Check.notNull(activityRepository, "Activity repository cannot be null");
+		this.activityRepository = activityRepository;
+	}
+
+	private void apply(final CActivityContribution contribution, final int sign) {
+		applyToRow(contribution, EActivityAggregateScope.PROJECT, PROJECT_TYPE, contribution.getProjectId(), sign);
+		applyToRow(contribution, EActivityAggregateScope.STATUS, STATUS_TYPE, contribution.getStatusId(), sign);
+		if (contribution.hasParent()) {
+			applyToRow(contribution, EActivityAggregateScope.PARENT, contribution.getParentType(), contribution.getParentId(), sign);
+		}
+	}
+
+	private void applyToRow(final CActivityContribution contribution, final EActivityAggregateScope scope, final String scopeType,
+			final Long scopeId, final int sign) {
+		final CActivityAggregate existing =
+				getAggregateRepository().findByScopeForUpdate(contribution.getProjectId(), scope, scopeType, scopeId).orElse(null);
+		if (existing != null) {
+			existing.add(contribution, sign);
+			repository.save(existing);
+			return;
+		}
+		if (sign < 0) {
+			LOGGER.warn("Missing {} summary row {}#{} of project {} while subtracting, rebuild the project aggregates", scope, scopeType, scopeId,
+					contribution.getProjectId());
+			return;
+		}
+		final CActivityAggregate aggregate = new CActivityAggregate(contribution.getProjectId(), scope, scopeType, scopeId);
+		aggregate.add(contribution, 1);
+		repository.save(aggregate);
+	}
+
+	private CActivityAggregate findOrEmpty(final Long projectId, final EActivityAggregateScope scope, final String scopeType, final Long scopeId) {
+		return getAggregateRepository().findByScope(projectId, scope, scopeType, scopeId)
+				.orElseGet(() -> new CActivityAggregate(projectId, scope, scopeType, scopeId));
+	}
+
+	private IActivityAggregateRepository getAggregateRepository() { return (IActivityAggregateRepository) repository; }
+
+	/** Totals of the direct children of the given item.
+	 * @param parent the parent item
+	 * @return the summary row, empty (count 0) if the item has no child activities */
+	public CActivityAggregate getChildrenAggregate(final CProjectItem<?> parent) {
+		Check.notNull(parent, "Parent cannot be null");
+		Check.notNull(parent.getId(), "Parent must be persisted");
+		Check.notNull(parent.getProject(), "Parent project cannot be null");
+		return findOrEmpty(parent.getProject().getId(), EActivityAggregateScope.PARENT, CParentChildRelationService.getNodeType(parent),
+				parent.getId());
+	}
+
+	/** Child totals of every parent activity of the project, keyed by parent activity id. Used to draw summary bars without loading children.
+	 * @param project the project
+	 * @return map of parent activity id to the totals of its direct children */
+	public Map<Long, CActivityAggregate> getChildrenAggregates(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		final Map<Long, CActivityAggregate> result = new LinkedHashMap<>();
+		for (final CActivityAggregate aggregate : getAggregateRepository().listByScope(project.getId(), EActivityAggregateScope.PARENT)) {
+			if (ACTIVITY_TYPE.equals(aggregate.getScopeType())) {
+				result.put(aggregate.getScopeId(), aggregate);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	protected Class<CActivityAggregate> getEntityClass() { return CActivityAggregate.class; }
+
+	/** Totals of all activities of the project.
+	 * @param project the project
+	 * @return the summary row, empty (count 0) if the project has no activities */
+	public CActivityAggregate getProjectAggregate(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		return findOrEmpty(project.getId(), EActivityAggregateScope.PROJECT, PROJECT_TYPE, project.getId());
+	}
+
+	/** Totals per status of the project, keyed by status id. Activities without status are reported under
+	 * {@link CActivityContribution#NO_STATUS_ID}.
+	 * @param project the project
+	 * @return map of status id to summary row */
+	public Map<Long, CActivityAggregate> getStatusAggregates(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		final Map<Long, CActivityAggregate> result = new LinkedHashMap<>();
+		for (final CActivityAggregate aggregate : getAggregateRepository().listByScope(project.getId(), EActivityAggregateScope.STATUS)) {
+			result.put(aggregate.getScopeId(), aggregate);
+		}
+		return result;
+	}
+
+	/** Applies the change of one activity to the summary rows. Called by CActivityService inside the transaction of the save or delete.
+	 * @param before the contribution before the change, null for a new activity
+	 * @param after  the contribution after the change, null for a deleted activity */
+	@Transactional
+	public void onActivityChanged(final CActivityContribution before, final CActivityContribution after) {
+		if (((before == null) && (after == null)) || ((before != null) && before.equals(after))) {
+			return;
+		}
+		final List<Long> rebuilt = new ArrayList<>();
+		for (final CActivityContribution contribution : new CActivityContribution[] {
+				before, after
+		}) {
+			if ((contribution != null) && !rebuilt.contains(contribution.getProjectId())
+					&& !getAggregateRepository().existsForProject(contribution.getProjectId())) {
+				// the rebuild reads the flushed state, which already contains this change
+				rebuild(contribution.getProjectId());
+				rebuilt.add(contribution.getProjectId());
+			}
+		}
+		if ((before != null) && !rebuilt.contains(before.getProjectId())) {
+			apply(before, -1);
+		}
+		if ((after != null) && !rebuilt.contains(after.getProjectId())) {
+			apply(after, 1);
+		}
+	}
+
+	/** Subtracts archived activities that are still counted. The archive only moves soft deleted activities, which the rows left out when they
+	 * were deleted, so this normally finds none. */
+	@Override
+	@Transactional
+	public void onArchiving(final Class<?> entityClass, final List<Long> ids) {
+		if (!CActivity.class.equals(entityClass)) {
+			return;
+		}
+		for (final CActivityContribution contribution : activityRepository.listContributions(ids)) {
+			apply(contribution, -1);
+		}
+	}
+
+	/** Recomputes all summary rows of a project from its activities. Only needed to initialize or repair the rows, normal updates are incremental.
+	 * @param project the project */
+	@Transactional
+	public void rebuild(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		rebuild(project.getId());
+	}
+
+	private void rebuild(final Long projectId) {
+		Check.notNull(projectId, "Project id cannot be null");
+		getAggregateRepository().deleteByProject(projectId);
+		final Map<String, CActivityAggregate> rows = new LinkedHashMap<>();
+		final CActivityAggregate projectRow = new CActivityAggregate(projectId, EActivityAggregateScope.PROJECT, PROJECT_TYPE, projectId);
+		rows.put(EActivityAggregateScope.PROJECT.name(), projectRow);
+		for (final CActivityContribution contribution : activityRepository.listContributionsByProject(projectId)) {
+			projectRow.add(contribution, 1);
+			rows.computeIfAbsent(EActivityAggregateScope.STATUS + ":" + contribution.getStatusId(),
+					key -> new CActivityAggregate(projectId, EActivityAggregateScope.STATUS, STATUS_TYPE, contribution.getStatusId()))
+					.add(contribution, 1);
+			if (contribution.hasParent()) {
+				rows.computeIfAbsent(EActivityAggregateScope.PARENT + ":" + contribution.getParentType() + ":" + contribution.getParentId(),
+						key -> new CActivityAggregate(projectId, EActivityAggregateScope.PARENT, contribution.getParentType(),
+								contribution.getParentId()))
+						.add(contribution, 1);
+			}
+		}
+		repository.saveAll(rows.values());
+		LOGGER.debug("Rebuilt {} activity summary rows of project {}", rows.size(), projectId);
+	}
+}
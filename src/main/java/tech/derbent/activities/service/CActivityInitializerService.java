@@ -60,7 +60,6 @@ public class CActivityInitializerService extends CInitializerServiceBase {
 			scr.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "createdDate"));
 			scr.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "lastModifiedDate"));
 			scr.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "id"));
-			scr.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "isActive"));
 			scr.debug_printScreenInformation();
 			return scr;
 		} catch (final Exception e) {
@@ -35,7 +35,6 @@ public class CActivityPriorityInitializerService extends CInitializerServiceBase
 			detailSection.addScreenLine(CDetailLinesService.createSection("Behavior"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "isDefault"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "attributeNonDeletable"));
-			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "isActive"));
 			detailSection.addScreenLine(CDetailLinesService.createSection("Audit"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "createdDate"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "lastModifiedDate"));
@@ -1,6 +1,7 @@
 package tech.derbent.activities.service;
 
 import java.time.Clock;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -8,19 +9,33 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityContribution;
 import tech.derbent.activities.domain.CActivityStatus;
 import tech.derbent.api.domains.CProjectItemService;
 import tech.derbent.api.interfaces.IKanbanService;
+import tech.derbent.api.services.CParentChildRelationService;
 import tech.derbent.api.services.IEntityOfProjectRepository;
+import tech.derbent.api.utils.Check;
 import tech.derbent.projects.domain.CProject;
 import tech.derbent.session.service.CSessionService;
+import tech.derbent.workload.domain.CWorkloadContribution;
+import tech.derbent.workload.service.CWorkloadService;
 
 @Service
 @PreAuthorize ("isAuthenticated()")
 public class CActivityService extends CProjectItemService<CActivity> implements IKanbanService<CActivity, CActivityStatus> {
 
-	public CActivityService(final IActivityRepository repository, final Clock clock, final CSessionService sessionService) {
-		super(repository, clock, sessionService);
+	private final CActivityAggregateService activityAggregateService;
+	private final CWorkloadService workloadService;
+
+	public CActivityService(final IActivityRepository repository, final Clock clock, final CSessionService sessionService,
+			final CParentChildRelationService parentChildRelationService, final CActivityAggregateService activityAggregateService,
+			final CWorkloadService workloadService) {
+		super(repository, clock, sessionService, parentChildRelationService);
+		Check.notNull(activityAggregateService, "Activity aggregate service cannot be null");
+		Check.notNull(workloadService, "Workload service cannot be null");
+		this.activityAggregateService = activityAggregateService;
+		this.workloadService = workloadService;
 	}
 
 	/** Helper method to create a placeholder CActivityStatus for activities without a status.
@@ -36,11 +51,50 @@ public class CActivityService extends CProjectItemService<CActivity> implements
 	public Map<CActivityStatus, List<CActivity>> getActivitiesGroupedByStatus(final CProject project) {
 		// Get all activities for the project with type and status loaded
 		final List<CActivity> activities = ((IEntityOfProjectRepository<CActivity>) repository).listByProject(project);
-		// Group by activity status, handling null statuses
-		return activities.stream().collect(Collectors
-				.groupingBy(activity -> activity.getStatus() != null ? activity.getStatus() : createNoStatusInstance(project), Collectors.toList()));
+		// Group by activity status, handling null statuses with a single shared placeholder so they end up in one column
+		final CActivityStatus noStatus = createNoStatusInstance(project);
+		return activities.stream().collect(
+				Collectors.groupingBy(activity -> activity.getStatus() != null ? activity.getStatus() : noStatus, LinkedHashMap::new, Collectors.toList()));
+	}
+
+	/** Deletes the activity and removes its contribution from the roll-up summary and workload rows in the same transaction. */
+	@Override
+	@Transactional
+	public void delete(final CActivity entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CActivityContribution before = readContribution(entity.getId());
+		final CWorkloadContribution workloadBefore = workloadService.readActivityContribution(entity.getId());
+		super.delete(entity);
+		activityAggregateService.onActivityChanged(before, null);
+		workloadService.onChanged(workloadBefore, null);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		final CActivityContribution before = readContribution(id);
+		final CWorkloadContribution workloadBefore = workloadService.readActivityContribution(id);
+		super.delete(id);
+		activityAggregateService.onActivityChanged(before, null);
+		workloadService.onChanged(workloadBefore, null);
 	}
 
+	/** Soft deletes the activity and removes its contribution from the roll-up summary and workload rows, which count active activities only. */
+	@Override
+	@Transactional
+	public void deleteWithReflection(final CActivity entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CActivityContribution before = Boolean.FALSE.equals(entity.getIsActive()) ? null : readContribution(entity.getId());
+		final CWorkloadContribution workloadBefore = workloadService.readActivityContribution(entity.getId());
+		super.deleteWithReflection(entity);
+		activityAggregateService.onActivityChanged(before, CActivityContribution.of(entity));
+		workloadService.onChanged(workloadBefore, CWorkloadContribution.of(entity));
+	}
+
+	public CActivityAggregateService getActivityAggregateService() { return activityAggregateService; }
+
+	public CWorkloadService getWorkloadService() { return workloadService; }
+
 	// CKanbanService implementation methods
 	@Override
 	public Map<CActivityStatus, List<CActivity>> getEntitiesGroupedByStatus(final Long projectId) {
@@ -52,6 +106,48 @@ public class CActivityService extends CProjectItemService<CActivity> implements
 	@Override
 	protected Class<CActivity> getEntityClass() { return CActivity.class; }
 
+	@Override
+	public Class<CActivity> getKanbanEntityClass() { return CActivity.class; }
+
+	/** Hierarchy depth of every activity of the project, keyed by activity id. Root activities are not part of the map.
+	 * @param project the project
+	 * @return map of activity id to hierarchy depth */
+	@Transactional (readOnly = true)
+	public Map<Long, Integer> getHierarchyDepths(final CProject project) {
+		return parentChildRelationService.getActivityDepths(project);
+	}
+
+	private CActivityContribution readContribution(final Long id) {
+		return id != null ? ((IActivityRepository) repository).findContribution(id).orElse(null) : null;
+	}
+
+	/** Restores the soft deleted activity and puts its contribution back on the roll-up summary and workload rows. */
+	@Override
+	@Transactional
+	public CActivity restore(final CActivity entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CActivityContribution before = Boolean.FALSE.equals(entity.getIsActive()) ? null : readContribution(entity.getId());
+		final CWorkloadContribution workloadBefore = workloadService.readActivityContribution(entity.getId());
+		final CActivity restored = super.restore(entity);
+		activityAggregateService.onActivityChanged(before, CActivityContribution.of(restored));
+		workloadService.onChanged(workloadBefore, CWorkloadContribution.of(restored));
+		return restored;
+	}
+
+	/** Saves the activity and applies the difference between its stored and new values to the roll-up summary and workload rows in the same
+	 * transaction. */
+	@Override
+	@Transactional
+	public CActivity save(final CActivity entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CActivityContribution before = readContribution(entity.getId());
+		final CWorkloadContribution workloadBefore = workloadService.readActivityContribution(entity.getId());
+		final CActivity saved = super.save(entity);
+		activityAggregateService.onActivityChanged(before, CActivityContribution.of(saved));
+		workloadService.onChanged(workloadBefore, CWorkloadContribution.of(saved));
+		return saved;
+	}
+
 	@Override
 	public CActivity updateEntityStatus(final CActivity entity, final CActivityStatus newStatus) {
 		tech.derbent.api.utils.CKanbanUtils.updateEntityStatusSimple(entity, newStatus, CActivity::setStatus);
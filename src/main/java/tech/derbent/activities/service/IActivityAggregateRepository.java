@@ -0,0 +1,38 @@
+package tech.derbent.activities.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import tech.derbent.activities.domain.CActivityAggregate;
+import tech.derbent.activities.domain.EActivityAggregateScope;
+import tech.derbent.api.services.IAbstractRepository;
+
+/** IActivityAggregateRepository - Repository interface for the activity roll-up summary rows. Layer: Data Access (MVC) Rows are locked while a
+ * delta is applied so concurrent saves add up instead of overwriting each other's totals. */
+@Repository
+public interface IActivityAggregateRepository extends IAbstractRepository<CActivityAggregate> {
+
+	@Modifying
+	@Query ("DELETE FROM CActivityAggregate g WHERE g.projectId = :projectId")
+	int deleteByProject(@Param ("projectId") Long projectId);
+	@Query ("""
+			SELECT COUNT(g) > 0 FROM CActivityAggregate g
+			WHERE g.projectId = :projectId AND g.scope = tech.derbent.activities.domain.EActivityAggregateScope.PROJECT
+			""")
+	boolean existsForProject(@Param ("projectId") Long projectId);
+	@Query ("SELECT g FROM CActivityAggregate g WHERE g.projectId = :projectId AND g.scope = :scope AND g.scopeType = :scopeType AND g.scopeId = :scopeId")
+	Optional<CActivityAggregate> findByScope(@Param ("projectId") Long projectId, @Param ("scope") EActivityAggregateScope scope,
+			@Param ("scopeType") String scopeType, @Param ("scopeId") Long scopeId);
+	/** Same as {@link #findByScope} but locks the row until the end of the transaction so concurrent deltas are applied one after the other. */
+	@Lock (LockModeType.PESSIMISTIC_WRITE)
+	@Query ("SELECT g FROM CActivityAggregate g WHERE g.projectId = :projectId AND g.scope = :scope AND g.scopeType = :scopeType AND g.scopeId = :scopeId")
+	Optional<CActivityAggregate> findByScopeForUpdate(@Param ("projectId") Long projectId, @Param ("scope") EActivityAggregateScope scope,
+			@Param ("scopeType") String scopeType, @Param ("scopeId") Long scopeId);
+	@Query ("SELECT g FROM CActivityAggregate g WHERE g.projectId = :projectId AND g.scope = :scope ORDER BY g.scopeType, g.scopeId")
+	List<CActivityAggregate> listByScope(@Param ("projectId") Long projectId, @Param ("scope") EActivityAggregateScope scope);
+}
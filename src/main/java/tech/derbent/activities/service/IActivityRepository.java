@@ -1,14 +1,25 @@
 package tech.derbent.activities.service;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 import tech.derbent.api.services.IProjectItemRespository;
 import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityContribution;
 import tech.derbent.activities.domain.CActivityType;
+import tech.derbent.calendar.domain.CCalendarEntry;
+import tech.derbent.notifications.domain.CDueActivity;
+import tech.derbent.orders.domain.CCostTotal;
 import tech.derbent.projects.domain.CProject;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.workload.domain.CWorkloadContribution;
 
 public interface IActivityRepository extends IProjectItemRespository<CActivity> {
 
@@ -19,10 +30,86 @@ public interface IActivityRepository extends IProjectItemRespository<CActivity>
 	Optional<CActivity> findById(@Param ("id") Long id);
 	@Override
 	@Query (
-		"SELECT a FROM #{#entityName} a LEFT JOIN FETCH a.project LEFT JOIN FETCH a.assignedTo LEFT JOIN FETCH a.createdBy LEFT JOIN FETCH a.activityType LEFT JOIN FETCH a.status WHERE a.project = :project"
+		"SELECT a FROM #{#entityName} a LEFT JOIN FETCH a.project LEFT JOIN FETCH a.assignedTo LEFT JOIN FETCH a.createdBy LEFT JOIN FETCH a.activityType LEFT JOIN FETCH a.status WHERE a.project = :project AND a.isActive = true"
 	)
 	Page<CActivity> listByProject(@Param ("project") CProject project, Pageable pageable);
 	/** Counts the number of activities that use the specified activity type using generic pattern */
 	@Query ("SELECT COUNT(a) FROM #{#entityName} a WHERE a.activityType = :activityType")
 	long countByActivityType(@Param ("activityType") CActivityType activityType);
+	/** Reads the roll-up contribution of the stored row without loading the entity, empty for a soft deleted activity, which the summary rows do
+	 * not count. Flush mode COMMIT keeps pending changes of the same transaction out of the result so the state before a save is returned. */
+	@QueryHints (@QueryHint (name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query ("""
+			SELECT new tech.derbent.activities.domain.CActivityContribution(a.project.id, a.parentType, a.parentId, s.id, a.estimatedHours,
+				a.actualHours, a.remainingHours, a.estimatedCost, a.actualCost, a.progressPercentage)
+			FROM #{#entityName} a LEFT JOIN a.status s WHERE a.id = :id AND a.isActive = true
+			""")
+	Optional<CActivityContribution> findContribution(@Param ("id") Long id);
+	/** Roll-up contributions of the active activities of a project, used to rebuild the summary rows from scratch. */
+	@Query ("""
+			SELECT new tech.derbent.activities.domain.CActivityContribution(a.project.id, a.parentType, a.parentId, s.id, a.estimatedHours,
+				a.actualHours, a.remainingHours, a.estimatedCost, a.actualCost, a.progressPercentage)
+			FROM #{#entityName} a LEFT JOIN a.status s WHERE a.project.id = :projectId AND a.isActive = true
+			""")
+	List<CActivityContribution> listContributionsByProject(@Param ("projectId") Long projectId);
+	/** Roll-up contributions of the given activities that are active; soft deleted ones are not counted by the summary rows. */
+	@Query ("""
+			SELECT new tech.derbent.activities.domain.CActivityContribution(a.project.id, a.parentType, a.parentId, s.id, a.estimatedHours,
+				a.actualHours, a.remainingHours, a.estimatedCost, a.actualCost, a.progressPercentage)
+			FROM #{#entityName} a LEFT JOIN a.status s WHERE a.id IN :ids AND a.isActive = true
+			""")
+	List<CActivityContribution> listContributions(@Param ("ids") Collection<Long> ids);
+	/** Calendar entries of the activities of the projects that overlap the window. The due date range from the window start is a range scan of
+	 * idx_activity_project_time, open ended activities the range of null due dates of the same index. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(a.id, a.name, p.id, p.name, a.startDate, a.dueDate, s.color)
+			FROM #{#entityName} a JOIN a.project p LEFT JOIN a.status s
+			WHERE p.id IN :projectIds AND a.isActive = true AND a.startDate <= :to
+				AND (a.dueDate >= :from OR (a.dueDate IS NULL AND a.startDate >= :from))
+			ORDER BY a.startDate, a.id
+			""")
+	List<CCalendarEntry> listCalendarEntries(@Param ("projectIds") Collection<Long> projectIds, @Param ("from") LocalDate from,
+			@Param ("to") LocalDate to);
+	/** Calendar entries of the activities assigned to the user that overlap the window, across all projects. A range scan of
+	 * idx_activity_assignee_time, see {@link #listCalendarEntries(Collection, LocalDate, LocalDate)}. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(a.id, a.name, p.id, p.name, a.startDate, a.dueDate, s.color)
+			FROM #{#entityName} a JOIN a.project p LEFT JOIN a.status s
+			WHERE a.assignedTo = :user AND a.isActive = true AND a.startDate <= :to
+				AND (a.dueDate >= :from OR (a.dueDate IS NULL AND a.startDate >= :from))
+			ORDER BY a.startDate, a.id
+			""")
+	List<CCalendarEntry> listCalendarEntriesOfUser(@Param ("user") CUser user, @Param ("from") LocalDate from, @Param ("to") LocalDate to);
+	/** Reads the workload contribution of the stored row without loading the entity, empty for a soft deleted activity. Flush mode COMMIT returns
+	 * the state before a save, see {@link #findContribution(Long)}. */
+	@QueryHints (@QueryHint (name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query ("""
+			SELECT new tech.derbent.workload.domain.CWorkloadContribution(u.id, a.startDate, a.dueDate, a.estimatedHours, a.actualHours,
+				a.remainingHours)
+			FROM #{#entityName} a LEFT JOIN a.assignedTo u WHERE a.id = :id AND a.isActive = true
+			""")
+	Optional<CWorkloadContribution> findWorkloadContribution(@Param ("id") Long id);
+	/** Workload contributions of all active assigned activities, used to rebuild the workload rows from scratch. */
+	@Query ("""
+			SELECT new tech.derbent.workload.domain.CWorkloadContribution(u.id, a.startDate, a.dueDate, a.estimatedHours, a.actualHours,
+				a.remainingHours)
+			FROM #{#entityName} a JOIN a.assignedTo u WHERE a.isActive = true AND a.startDate IS NOT NULL
+			""")
+	List<CWorkloadContribution> listWorkloadContributions();
+	/** Open, active, assigned activities due on the date, in id order after afterId, for the due date reminders. */
+	@Query ("""
+			SELECT new tech.derbent.notifications.domain.CDueActivity(a.id, a.name, u.id, a.dueDate)
+			FROM #{#entityName} a JOIN a.assignedTo u LEFT JOIN a.status s
+			WHERE a.dueDate = :dueDate AND a.isActive = true AND (s IS NULL OR s.finalStatus = false) AND a.id > :afterId
+			ORDER BY a.id
+			""")
+	List<CDueActivity> listDueActivities(@Param ("dueDate") LocalDate dueDate, @Param ("afterId") Long afterId, Pageable pageable);
+	/** Costs of the active activities of the projects, summed per project. Uses idx_activity_project_time. */
+	@Query ("""
+			SELECT new tech.derbent.orders.domain.CCostTotal(a.project.id, SUM(a.estimatedCost), SUM(a.actualCost))
+			FROM #{#entityName} a
+			WHERE a.project.id IN :projectIds AND a.isActive = true
+			GROUP BY a.project.id
+			""")
+	List<CCostTotal> listCostTotals(@Param ("projectIds") Collection<Long> projectIds);
 }
@@ -17,7 +17,8 @@ public class CActivityCard extends Div {
 
 	private static final long serialVersionUID = 1L;
 	private static final Logger LOGGER = LoggerFactory.getLogger(CActivityCard.class);
-	private final CActivity activity;
+	private CActivity activity;
+	private DragSource<CActivityCard> dragSource;
 	private H4 titleElement;
 	private Paragraph descriptionElement;
 	private Span statusElement;
@@ -86,21 +87,31 @@ public class CActivityCard extends Div {
 		}
 	}
 
+	/** Rebinds this card to an updated instance of the same activity (e.g. the entity returned by a save) and refreshes the display. Lets kanban
+	 * columns reuse the card instead of creating a new one.
+	 * @param activity the updated activity */
+	public void setActivity(final CActivity activity) {
+		Check.notNull(activity, "Activity cannot be null");
+		this.activity = activity;
+		dragSource.setDragData(activity);
+		refresh();
+	}
+
 	/** Sets up drag and drop functionality for the activity card. */
 	private void setupDragAndDrop() {
 		LOGGER.debug("Setting up drag and drop for activity: {}", activity.getName());
 		// Configure as drag source
-		final DragSource<CActivityCard> dragSource = DragSource.create(this);
+		dragSource = DragSource.create(this);
 		dragSource.setEffectAllowed(EffectAllowed.MOVE);
 		dragSource.setDragData(activity);
 		// Add drag start listener for visual feedback
 		dragSource.addDragStartListener(event -> {
-			LOGGER.debug("Drag started for activity: {}", activity.getName());
+			LOGGER.debug("Drag started for activity: {}", this.activity.getName());
 			addClassName("kanban-card-dragging");
 		});
 		// Add drag end listener to remove visual feedback
 		dragSource.addDragEndListener(event -> {
-			LOGGER.debug("Drag ended for activity: {}", activity.getName());
+			LOGGER.debug("Drag ended for activity: {}", this.activity.getName());
 			removeClassName("kanban-card-dragging");
 		});
 	}
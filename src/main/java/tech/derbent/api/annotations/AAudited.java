@@ -0,0 +1,29 @@
+package tech.derbent.api.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/** AAudited annotation to mark entity classes whose changes are kept in the audit trail. Every insert, update and delete of an annotated entity is
+ * recorded by tech.derbent.audit.service.CAuditService with the old and new values of its {@link AMetaData} fields; password and image fields and
+ * the created and last modified dates are left out.
+ * <p>
+ * <strong>Usage Example:</strong>
+ * </p>
+ *
+ * <pre>
+ * &#64;AAudited
+ * &#64;Entity
+ * public class CDecision extends CEntityOfProject&lt;CDecision&gt; {
+ * 	// Entity implementation
+ * }
+ * </pre>
+ */
+@Documented
+@Inherited
+@Retention (RetentionPolicy.RUNTIME)
+@Target (ElementType.TYPE)
+public @interface AAudited {}
@@ -13,6 +13,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import tech.derbent.api.components.CProfiler;
 import tech.derbent.api.domains.CEntityDB;
 import tech.derbent.api.interfaces.IContentOwner;
 import tech.derbent.api.utils.CAuxillaries;
@@ -41,7 +42,7 @@ import tech.derbent.screens.service.CEntityFieldService.EntityFieldInfo;
  * </ol>
  * <p>
  * <strong>Caching:</strong> The resolver caches method lookups for performance but not the actual data, ensuring fresh data is always retrieved from
- * services.
+ * services. Beans and methods are the same on every node, so the caches stay node local and need no cluster invalidation.
  * </p>
  * <p>
  * <strong>Usage Examples:</strong>
@@ -176,41 +177,45 @@ public final class CDataProviderResolver {
 		Check.notNull(entityType, "Entity");
 		Check.notNull(metaData, "AMetaData");
 		LOGGER.debug("Resolving data provider for entity type: {} with AMetaData configuration", entityType.getSimpleName());
-		// Strategy 1: Use content owner if specified
-		if ("content".equals(metaData.dataProviderOwner())
-				|| (metaData.dataProviderOwner() != null && !metaData.dataProviderOwner().trim().isEmpty())) {
-			return resolveDataFromContentOwner(contentOwner, entityType, metaData.dataProviderMethod(), metaData.dataProviderParamMethod());
-		}
-		// Strategy 2: Use specified bean name
-		if ((metaData.dataProviderBean() != null) && !metaData.dataProviderBean().trim().isEmpty()) {
-			return resolveDataFromBean(entityType, metaData.dataProviderBean(), metaData.dataProviderMethod(), metaData.dataProviderParamMethod());
-		}
-		// Strategy 3: Use specified bean class
-		if ((metaData.dataProviderClass() != null) && (metaData.dataProviderClass() != Object.class)) {
-			return resolveDataFromClass(entityType, metaData.dataProviderClass(), metaData.dataProviderMethod());
+		try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_DATA_PROVIDER, "entity", entityType.getSimpleName())) {
+			// Strategy 1: Use content owner if specified
+			if ("content".equals(metaData.dataProviderOwner())
+					|| (metaData.dataProviderOwner() != null && !metaData.dataProviderOwner().trim().isEmpty())) {
+				return resolveDataFromContentOwner(contentOwner, entityType, metaData.dataProviderMethod(), metaData.dataProviderParamMethod());
+			}
+			// Strategy 2: Use specified bean name
+			if ((metaData.dataProviderBean() != null) && !metaData.dataProviderBean().trim().isEmpty()) {
+				return resolveDataFromBean(entityType, metaData.dataProviderBean(), metaData.dataProviderMethod(), metaData.dataProviderParamMethod());
+			}
+			// Strategy 3: Use specified bean class
+			if ((metaData.dataProviderClass() != null) && (metaData.dataProviderClass() != Object.class)) {
+				return resolveDataFromClass(entityType, metaData.dataProviderClass(), metaData.dataProviderMethod());
+			}
+			// Strategy 4: Automatic resolution by naming convention
+			LOGGER.debug("Attempting automatic resolution for entity type: {}", entityType.getSimpleName());
+			return resolveDataAutomatically(entityType, metaData.dataProviderMethod());
 		}
-		// Strategy 4: Automatic resolution by naming convention
-		LOGGER.debug("Attempting automatic resolution for entity type: {}", entityType.getSimpleName());
-		return resolveDataAutomatically(entityType, metaData.dataProviderMethod());
 	}
 
 	@SuppressWarnings ("unchecked")
 	public <T extends CEntityDB<T>> List<T> resolveData(IContentOwner contentOwner, final EntityFieldInfo fieldInfo) throws Exception {
 		Check.notNull(fieldInfo, "Field info cannot be null");
-		// Strategy 1: Use content owner if specified
-		if ("content".equals(fieldInfo.getDataProviderOwner())
-				|| (fieldInfo.getDataProviderOwner() != null && !fieldInfo.getDataProviderOwner().trim().isEmpty())) {
-			return resolveDataFromContentOwner(contentOwner, (Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderMethod(),
-					fieldInfo.getDataProviderParamMethod());
-		}
-		// Strategy 2: Use specified bean name
-		if ((fieldInfo.getDataProviderBean() != null) && !fieldInfo.getDataProviderBean().trim().isEmpty()) {
-			return resolveDataFromBean((Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderBean(), fieldInfo.getDataProviderMethod(),
-					fieldInfo.getDataProviderParamMethod());
+		try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_DATA_PROVIDER, "entity", fieldInfo.getFieldTypeClass().getSimpleName())) {
+			// Strategy 1: Use content owner if specified
+			if ("content".equals(fieldInfo.getDataProviderOwner())
+					|| (fieldInfo.getDataProviderOwner() != null && !fieldInfo.getDataProviderOwner().trim().isEmpty())) {
+				return resolveDataFromContentOwner(contentOwner, (Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderMethod(),
+						fieldInfo.getDataProviderParamMethod());
+			}
+			// Strategy 2: Use specified bean name
+			if ((fieldInfo.getDataProviderBean() != null) && !fieldInfo.getDataProviderBean().trim().isEmpty()) {
+				return resolveDataFromBean((Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderBean(), fieldInfo.getDataProviderMethod(),
+						fieldInfo.getDataProviderParamMethod());
+			}
+			// Strategy 3: Automatic resolution by naming convention
+			LOGGER.debug("Attempting automatic resolution for entity type: {}", fieldInfo.getFieldName());
+			return resolveDataAutomatically((Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderMethod());
 		}
-		// Strategy 3: Automatic resolution by naming convention
-		LOGGER.debug("Attempting automatic resolution for entity type: {}", fieldInfo.getFieldName());
-		return resolveDataAutomatically((Class<T>) fieldInfo.getFieldTypeClass(), fieldInfo.getDataProviderMethod());
 	}
 
 	/** Attempts automatic resolution using naming conventions.
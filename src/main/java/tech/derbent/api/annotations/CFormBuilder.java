@@ -42,6 +42,7 @@ import tech.derbent.api.components.CBinderFactory;
 import tech.derbent.api.components.CColorAwareComboBox;
 import tech.derbent.api.components.CColorPickerComboBox;
 import tech.derbent.api.components.CEnhancedBinder;
+import tech.derbent.api.components.CProfiler;
 import tech.derbent.api.domains.CEntityConstants;
 import tech.derbent.api.domains.CEntityDB;
 import tech.derbent.api.domains.CEntityNamed;
@@ -115,26 +116,28 @@ public final class CFormBuilder<EntityClass> implements ApplicationContextAware
 			List<String> entityFields, final Map<String, Component> mapComponents, final Map<String, CHorizontalLayout> mapHorizontalLayouts,
 			final CVerticalLayout formLayout, final IContentOwner contentOwner) throws Exception {
 		Check.notNull(entityClass, "Entity class cannot be null");
-		// Set content owner in data provider resolver context
-		// final FormLayout formLayout = new FormLayout();
-		final List<Field> allFields = new ArrayList<>();
-		getListOfAllFields(entityClass, allFields);
-		final List<Field> sortedFields = getSortedFilteredFieldsList(allFields);
-		LOGGER.info("Processing {} visible fields for form generation", sortedFields.size());
-		// Create components with enhanced error handling and logging
-		if (entityFields == null) {
-			entityFields = sortedFields.stream().map(Field::getName).collect(Collectors.toList());
-		}
-		for (final String fieldName : entityFields) {
-			final Field field = sortedFields.stream().filter(f -> f.getName().equals(fieldName)).findFirst().orElse(null);
-			if (field == null) {
-				LOGGER.warn("Field '{}' not found in entity class {}", fieldName, entityClass.getSimpleName());
+		try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_FORM_BUILD, "entity", entityClass.getSimpleName())) {
+			// Set content owner in data provider resolver context
+			// final FormLayout formLayout = new FormLayout();
+			final List<Field> allFields = new ArrayList<>();
+			getListOfAllFields(entityClass, allFields);
+			final List<Field> sortedFields = getSortedFilteredFieldsList(allFields);
+			LOGGER.info("Processing {} visible fields for form generation", sortedFields.size());
+			// Create components with enhanced error handling and logging
+			if (entityFields == null) {
+				entityFields = sortedFields.stream().map(Field::getName).collect(Collectors.toList());
+			}
+			for (final String fieldName : entityFields) {
+				final Field field = sortedFields.stream().filter(f -> f.getName().equals(fieldName)).findFirst().orElse(null);
+				if (field == null) {
+					LOGGER.warn("Field '{}' not found in entity class {}", fieldName, entityClass.getSimpleName());
+				}
+				Check.notNull(field, "Field '" + fieldName + "' not found in entity class " + entityClass.getSimpleName());
+				final EntityFieldInfo fieldInfo = CEntityFieldService.createFieldInfo(field);
+				processField(contentOwner, binder, formLayout, mapHorizontalLayouts, fieldInfo, mapComponents);
 			}
-			Check.notNull(field, "Field '" + fieldName + "' not found in entity class " + entityClass.getSimpleName());
-			final EntityFieldInfo fieldInfo = CEntityFieldService.createFieldInfo(field);
-			processField(contentOwner, binder, formLayout, mapHorizontalLayouts, fieldInfo, mapComponents);
+			return formLayout;
 		}
-		return formLayout;
 	}
 
 	/** Builds a form with content owner support for context-aware data providers.
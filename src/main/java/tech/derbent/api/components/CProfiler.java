@@ -0,0 +1,215 @@
+package tech.derbent.api.components;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import tech.derbent.api.utils.Check;
+
+/** CProfiler - Thread-safe hot path profiler. Layer: Utility Records Micrometer timers for instrumented code blocks and builds a span tree per
+ * thread, so that each request (or background task) gets its own tree. When a root span takes longer than the slow threshold, its tree is logged
+ * with the duration of every nested span. Usage:
+ *
+ * <pre>
+ * try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_SERVICE, "service", "CActivityService", "operation", "list")) {
+ * 	return repository.findAll();
+ * }
+ * </pre>
+ *
+ * When the profiler is disabled, start returns a shared no-op span, the cost of an instrumented block is one volatile read. */
+public final class CProfiler {
+
+	/** A running span. Spans are closed in reverse order of start, which try-with-resources guarantees. */
+	public static class CSpan implements AutoCloseable {
+
+		private final List<CSpan> children;
+		private int droppedChildren;
+		private long durationNanos;
+		private final String label;
+		private final CSpan parent;
+		private final long startNanos;
+		private final Timer timer;
+
+		CSpan(final String label, final Timer timer, final CSpan parent, final long startNanos) {
+			this.label = label;
+			this.timer = timer;
+			this.parent = parent;
+			this.startNanos = startNanos;
+			children = new ArrayList<>();
+		}
+
+		void addChild(final CSpan child) {
+			if (children.size() < MAX_CHILDREN) {
+				children.add(child);
+			} else {
+				droppedChildren++;
+			}
+		}
+
+		private void appendTree(final StringBuilder builder, final int depth) {
+			builder.append('\n').append("  ".repeat(depth)).append(label).append(": ").append(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+					.append(" ms");
+			for (final CSpan child : children) {
+				child.appendTree(builder, depth + 1);
+			}
+			if (droppedChildren > 0) {
+				builder.append('\n').append("  ".repeat(depth + 1)).append("... ").append(droppedChildren).append(" more spans");
+			}
+		}
+
+		@Override
+		public void close() {
+			durationNanos = System.nanoTime() - startNanos;
+			timer.record(durationNanos, TimeUnit.NANOSECONDS);
+			if (parent != null) {
+				CURRENT.set(parent);
+				return;
+			}
+			CURRENT.remove();
+			if (durationNanos >= slowThresholdNanos) {
+				LOGGER.warn("Slow {} took {} ms:{}", label, TimeUnit.NANOSECONDS.toMillis(durationNanos), dumpTree());
+			}
+		}
+
+		/** Returns the span tree below and including this span, one line per span. */
+		public String dumpTree() {
+			final StringBuilder builder = new StringBuilder();
+			appendTree(builder, 0);
+			return builder.toString();
+		}
+
+		public long getDurationNanos() { return durationNanos; }
+
+		public String getLabel() { return label; }
+	}
+
+	/** Shared span returned while the profiler is disabled. */
+	private static final class CNoopSpan extends CSpan {
+
+		CNoopSpan() {
+			super("noop", null, null, 0);
+		}
+
+		@Override
+		public void close() {
+			// nothing recorded
+		}
+	}
+
+	private static final ThreadLocal<CSpan> CURRENT = new ThreadLocal<>();
+	private static volatile boolean enabled = false;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CProfiler.class);
+	/** Maximum number of direct children kept per span, further spans are only counted so that loops cannot grow a tree without limit. */
+	public static final int MAX_CHILDREN = 200;
+	public static final String METRIC_DATA_PROVIDER = "derbent.dataprovider.resolve";
+	public static final String METRIC_FORM_BUILD = "derbent.form.build";
+	public static final String METRIC_NAVIGATION = "derbent.navigation";
+	public static final String METRIC_REQUEST = "derbent.request";
+	public static final String METRIC_SERVICE = "derbent.service";
+	private static final CSpan NOOP = new CNoopSpan();
+	private static volatile boolean percentileHistogram = false;
+	private static volatile MeterRegistry registry;
+	private static volatile long slowThresholdNanos = Long.MAX_VALUE;
+	private static final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+	/** Enables the profiler.
+	 * @param meterRegistry       the registry the timers are registered in
+	 * @param slowThresholdMillis root spans taking at least this long are logged with their span tree, a negative value disables the dump
+	 * @param histogram           whether the timers publish percentile histograms */
+	public static void configure(final MeterRegistry meterRegistry, final long slowThresholdMillis, final boolean histogram) {
+		Check.notNull(meterRegistry, "Meter registry cannot be null");
+		registry = meterRegistry;
+		slowThresholdNanos = slowThresholdMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+		percentileHistogram = histogram;
+		timers.clear();
+		enabled = true;
+		LOGGER.info("Profiler enabled, slow threshold {} ms, histograms {}", slowThresholdMillis, histogram);
+	}
+
+	/** Returns the innermost running span of the current thread, or null. */
+	public static CSpan current() {
+		return CURRENT.get();
+	}
+
+	/** Disables the profiler. Spans already running are still closed normally. */
+	public static void disable() {
+		enabled = false;
+	}
+
+	private static Timer getTimer(final String metric, final String[] tags) {
+		Check.isTrue((tags.length % 2) == 0, "Tags must be given as key value pairs");
+		final String key = tags.length == 0 ? metric : metric + '|' + String.join("|", tags);
+		return timers.computeIfAbsent(key,
+				k -> Timer.builder(metric).tags(tags).publishPercentileHistogram(percentileHistogram).register(registry));
+	}
+
+	public static boolean isEnabled() { return enabled; }
+
+	private static String label(final String metric, final String[] tags) {
+		if (tags.length == 0) {
+			return metric;
+		}
+		final StringBuilder builder = new StringBuilder(metric).append('[');
+		for (int i = 1; i < tags.length; i += 2) {
+			builder.append(i > 1 ? "," : "").append(tags[i]);
+		}
+		return builder.append(']').toString();
+	}
+
+	/** Records an already measured block, for code where start and end are seen by different callbacks (e.g. navigation listeners). The block is
+	 * added as a leaf to the current span tree.
+	 * @param metric        the timer name
+	 * @param durationNanos the measured duration
+	 * @param tags          tag key value pairs */
+	public static void record(final String metric, final long durationNanos, final String... tags) {
+		if (!enabled) {
+			return;
+		}
+		final CSpan parent = CURRENT.get();
+		final CSpan span = new CSpan(label(metric, tags), getTimer(metric, tags), parent, System.nanoTime() - durationNanos);
+		span.durationNanos = durationNanos;
+		span.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+		if (parent != null) {
+			parent.addChild(span);
+		}
+	}
+
+	/** Starts a span as child of the current span of this thread.
+	 * @param metric the timer name, one of the METRIC_ constants
+	 * @param tags   tag key value pairs, keep their cardinality low (class names, operation names - never ids)
+	 * @return the span, to be closed with try-with-resources */
+	public static CSpan start(final String metric, final String... tags) {
+		if (!enabled) {
+			return NOOP;
+		}
+		final CSpan parent = CURRENT.get();
+		final CSpan span = new CSpan(label(metric, tags), getTimer(metric, tags), parent, System.nanoTime());
+		if (parent != null) {
+			parent.addChild(span);
+		}
+		CURRENT.set(span);
+		return span;
+	}
+
+	/** Starts a root span with a free text label, used for requests. The timer is tagged with the given tags only, the label only shows up in the
+	 * slow request dump.
+	 * @param metric the timer name
+	 * @param label  the label shown in the span tree
+	 * @param tags   tag key value pairs
+	 * @return the span */
+	public static CSpan startRoot(final String metric, final String label, final String... tags) {
+		if (!enabled) {
+			return NOOP;
+		}
+		final CSpan span = new CSpan(label, getTimer(metric, tags), null, System.nanoTime());
+		CURRENT.set(span);
+		return span;
+	}
+
+	private CProfiler() {}
+}
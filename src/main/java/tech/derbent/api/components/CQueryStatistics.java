@@ -0,0 +1,221 @@
+package tech.derbent.api.components;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.derbent.api.utils.Check;
+
+/** CQueryStatistics - Counts the SQL statements of a unit of work. Layer: Utility A scope is opened per HTTP request and per Vaadin navigation (see
+ * CQueryStatisticsConfig) and every statement Hibernate prepares while the scope is open is counted in it and in its enclosing scopes, grouped by
+ * statement shape. The shape is the SQL with literals and IN lists collapsed, so loading the same row type by different ids yields one shape. A
+ * shape that repeats at least {@link #getNPlusOneThreshold()} times in a request is logged as a possible N+1 pattern. A request is held to the
+ * global statement budget, a view to the budget of its route if one is configured (see {@link #getViewBudget(String)}), since a board that loads
+ * a whole project and a settings form differ by an order of magnitude. Tests open their own scope to assert a query budget:
+ *
+ * <pre>
+ * try (CQueryStatistics.CQueryScope scope = CQueryStatistics.open("kanban")) {
+ * 	new CActivityKanbanBoardView(activityService, sessionService);
+ * 	assertTrue(scope.getStatementCount() &lt;= 5);
+ * }
+ * </pre>
+ */
+public final class CQueryStatistics {
+
+	/** Statement counts of one unit of work. Scopes nest per thread and are closed in reverse order of opening. */
+	public static final class CQueryScope implements AutoCloseable {
+
+		private final int budget;
+		private boolean closed;
+		private final Map<String, Integer> countsByShape = new LinkedHashMap<>();
+		private final String name;
+		private final CQueryScope parent;
+		private int statementCount;
+
+		CQueryScope(final String name, final CQueryScope parent, final int budget) {
+			this.name = name;
+			this.parent = parent;
+			this.budget = budget;
+		}
+
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			// scopes opened inside this one and left open (e.g. a postponed navigation) end with it
+			boolean inCurrentChain = false;
+			for (CQueryScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+				if (scope == this) {
+					inCurrentChain = true;
+					break;
+				}
+			}
+			if (inCurrentChain) {
+				for (CQueryScope scope = CURRENT.get(); scope != this; scope = scope.parent) {
+					scope.closed = true;
+				}
+				if (parent != null) {
+					CURRENT.set(parent);
+				} else {
+					CURRENT.remove();
+				}
+			}
+			if (statementCount > budget) {
+				LOGGER.warn("{} executed {} statements, budget is {}", name, statementCount, budget);
+			}
+			if (parent == null) {
+				report();
+			} else {
+				LOGGER.debug("{} executed {} statements", name, statementCount);
+			}
+		}
+
+		/** Returns the number of statements above which the scope is reported, {@link Integer#MAX_VALUE} for a scope without a budget. */
+		public int getBudget() { return budget; }
+
+		/** Returns the statement counts by shape in order of first execution. */
+		public Map<String, Integer> getCountsByShape() { return Collections.unmodifiableMap(countsByShape); }
+
+		public String getName() { return name; }
+
+		/** Returns the shapes executed at least threshold times, the candidates for an N+1 pattern.
+		 * @param threshold the minimum number of executions
+		 * @return the repeated shapes with their counts */
+		public Map<String, Integer> getRepeatedShapes(final int threshold) {
+			final Map<String, Integer> repeated = new LinkedHashMap<>();
+			countsByShape.forEach((shape, count) -> {
+				if (count >= threshold) {
+					repeated.put(shape, count);
+				}
+			});
+			return repeated;
+		}
+
+		public int getStatementCount() { return statementCount; }
+
+		public boolean isClosed() { return closed; }
+
+		private void record(final String shape) {
+			statementCount++;
+			if (countsByShape.containsKey(shape) || (countsByShape.size() < MAX_SHAPES)) {
+				countsByShape.merge(shape, 1, Integer::sum);
+			}
+		}
+
+		private void report() {
+			getRepeatedShapes(nPlusOneThreshold).forEach((shape, count) -> LOGGER.warn("Possible N+1 in {}: {} times {}", name, count,
+					shape.length() > MAX_LOGGED_SHAPE_LENGTH ? shape.substring(0, MAX_LOGGED_SHAPE_LENGTH) + "..." : shape));
+		}
+	}
+
+	/** Hibernate hook that feeds every prepared statement into the open scopes of the current thread. */
+	public static final class CStatementInspector implements StatementInspector {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public String inspect(final String sql) {
+			onStatement(sql);
+			return sql;
+		}
+	}
+
+	private static final ThreadLocal<CQueryScope> CURRENT = new ThreadLocal<>();
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+	private static final Logger LOGGER = LoggerFactory.getLogger(CQueryStatistics.class);
+	private static final int MAX_LOGGED_SHAPE_LENGTH = 300;
+	/** Maximum number of distinct shapes kept per scope, further shapes are only counted. */
+	public static final int MAX_SHAPES = 500;
+	private static volatile int nPlusOneThreshold = 5;
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+	private static volatile int statementBudget = Integer.MAX_VALUE;
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static volatile Map<String, Integer> viewBudgets = Map.of();
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/** Sets the limits used when a request scope is closed.
+	 * @param repeatThreshold number of executions of one shape that are reported as possible N+1
+	 * @param budget          number of statements per request above which the request is reported */
+	public static void configure(final int repeatThreshold, final int budget) {
+		Check.isTrue(repeatThreshold > 1, "N+1 threshold must be greater than one");
+		Check.isTrue(budget > 0, "Statement budget must be positive");
+		nPlusOneThreshold = repeatThreshold;
+		statementBudget = budget;
+	}
+
+	/** Sets the statement budgets of views.
+	 * @param budgets budget per route path, e.g. activities-kanban; views of other routes only count towards their request */
+	public static void configureViewBudgets(final Map<String, Integer> budgets) {
+		Check.notNull(budgets, "View budgets cannot be null");
+		budgets.forEach((route, budget) -> Check.isTrue((budget != null) && (budget > 0), "Statement budget of " + route + " must be positive"));
+		viewBudgets = Map.copyOf(budgets);
+	}
+
+	/** Returns the innermost open scope of the current thread, or null. */
+	public static CQueryScope current() {
+		return CURRENT.get();
+	}
+
+	public static int getNPlusOneThreshold() { return nPlusOneThreshold; }
+
+	public static int getStatementBudget() { return statementBudget; }
+
+	/** Returns the statement budget of the view of a route.
+	 * @param route the route path, e.g. activities-kanban
+	 * @return the configured budget, or {@link Integer#MAX_VALUE} if the route has none */
+	public static int getViewBudget(final String route) {
+		return viewBudgets.getOrDefault(route, Integer.MAX_VALUE);
+	}
+
+	/** Counts a statement in all open scopes of the current thread. Does nothing when no scope is open.
+	 * @param sql the statement */
+	public static void onStatement(final String sql) {
+		CQueryScope scope = CURRENT.get();
+		if ((scope == null) || (sql == null)) {
+			return;
+		}
+		final String shape = shapeOf(sql);
+		for (; scope != null; scope = scope.parent) {
+			if (!scope.closed) {
+				scope.record(shape);
+			}
+		}
+	}
+
+	/** Opens a scope nested in the current scope of this thread. An outermost scope is held to the global statement budget, a nested one has no
+	 * budget of its own.
+	 * @param name name used in the log, e.g. the request uri or the view class
+	 * @return the scope, to be closed with try-with-resources */
+	public static CQueryScope open(final String name) {
+		return open(name, CURRENT.get() == null ? statementBudget : Integer.MAX_VALUE);
+	}
+
+	/** Opens a scope nested in the current scope of this thread with its own statement budget.
+	 * @param name   name used in the log
+	 * @param budget number of statements above which the scope is reported when it is closed
+	 * @return the scope, to be closed with try-with-resources */
+	public static CQueryScope open(final String name, final int budget) {
+		Check.notBlank(name, "Scope name cannot be blank");
+		Check.isTrue(budget > 0, "Statement budget must be positive");
+		final CQueryScope scope = new CQueryScope(name, CURRENT.get(), budget);
+		CURRENT.set(scope);
+		return scope;
+	}
+
+	/** Returns the shape of a statement: literals replaced by ?, IN lists collapsed to a single ? and whitespace normalized.
+	 * @param sql the statement
+	 * @return the shape */
+	public static String shapeOf(final String sql) {
+		String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+		shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+		shape = IN_LIST.matcher(shape).replaceAll("(?)");
+		return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+	}
+
+	private CQueryStatistics() {}
+}
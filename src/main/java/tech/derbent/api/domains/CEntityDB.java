@@ -1,9 +1,5 @@
 package tech.derbent.api.domains;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,8 +20,9 @@ public abstract class CEntityDB<EntityClass> extends CEntity<EntityClass> implem
 	@AMetaData (displayName = "#", required = false, readOnly = true, description = "No", hidden = false, order = 0)
 	private Long id;
 	@Column (name = "is_active", nullable = false)
+	// the soft delete marker, changed only by performSoftDelete and performRestore; an inactive row is left out of every listing
 	@AMetaData (
-			displayName = "Active", required = false, readOnly = false, description = "Whether this entity definition is active", hidden = false,
+			displayName = "Active", required = false, readOnly = true, description = "Whether this entity definition is active", hidden = true,
 			order = 20, defaultValue = "true"
 	)
 	private Boolean isActive = true;
@@ -63,22 +60,6 @@ public abstract class CEntityDB<EntityClass> extends CEntity<EntityClass> implem
 		return (id != null) && id.equals(other.getId());
 	}
 
-	/** Helper method to get all fields including inherited fields.
-	 * @param clazz the class to get fields from
-	 * @return array of all fields */
-	private Field[] getAllFields(final Class<?> clazz) {
-		final List<Field> fields = new ArrayList<>();
-		Class<?> currentClass = clazz;
-		while (currentClass != null) {
-			final Field[] declaredFields = currentClass.getDeclaredFields();
-			for (final Field field : declaredFields) {
-				fields.add(field);
-			}
-			currentClass = currentClass.getSuperclass();
-		}
-		return fields.toArray(new Field[0]);
-	}
-
 	@Nullable
 	public Long getId() { return id; }
 
@@ -114,38 +95,21 @@ public abstract class CEntityDB<EntityClass> extends CEntity<EntityClass> implem
 		}
 	}
 
-	/** Generic method to perform soft delete using reflection. Looks for common soft delete fields like 'deleted', 'active', 'enabled'.
-	 * @return true if soft delete was performed, false if hard delete should be used */
+	/** Soft deletes this entity by marking it inactive. Inactive entities are left out of the project listings and are moved to the archive
+	 * tables by CEntityArchiveService once they stayed inactive long enough.
+	 * @return always true, every persisted entity has the isActive column */
 	public boolean performSoftDelete() {
-		try {
-			final Class<?> entityClass = ProxyUtils.getUserClass(this.getClass());
-			final Field[] fields = getAllFields(entityClass);
-			// Look for common soft delete fields
-			for (final Field field : fields) {
-				final String fieldName = field.getName().toLowerCase();
-				if ("deleted".equals(fieldName) && (field.getType() == Boolean.class)) {
-					field.setAccessible(true);
-					field.set(this, Boolean.TRUE);
-					LOGGER.debug("Performed soft delete using 'deleted' field for: {}", this.getClass().getSimpleName());
-					return true;
-				} else if ("active".equals(fieldName) && (field.getType() == Boolean.class)) {
-					field.setAccessible(true);
-					field.set(this, Boolean.FALSE);
-					LOGGER.debug("Performed soft delete using 'active' field for: {}", this.getClass().getSimpleName());
-					return true;
-				} else if ("enabled".equals(fieldName) && (field.getType() == Boolean.class)) {
-					field.setAccessible(true);
-					field.set(this, Boolean.FALSE);
-					LOGGER.debug("Performed soft delete using 'enabled' field for: {}", this.getClass().getSimpleName());
-					return true;
-				}
-			}
-			LOGGER.debug("No soft delete field found for: {}, hard delete should be used", this.getClass().getSimpleName());
-			return false;
-		} catch (final Exception e) {
-			LOGGER.error("Error during soft delete operation using reflection", e);
-			throw new RuntimeException("Failed to perform soft delete operation", e);
-		}
+		isActive = Boolean.FALSE;
+		updateAuditFields();
+		LOGGER.debug("Performed soft delete for: {}", this.getClass().getSimpleName());
+		return true;
+	}
+
+	/** Reverses {@link #performSoftDelete()}. */
+	public void performRestore() {
+		isActive = Boolean.TRUE;
+		updateAuditFields();
+		LOGGER.debug("Restored: {}", this.getClass().getSimpleName());
 	}
 
 	public void setIsActive(Boolean isActive) { this.isActive = isActive; }
@@ -155,18 +119,13 @@ public abstract class CEntityDB<EntityClass> extends CEntity<EntityClass> implem
 		return "%s{id=%s}".formatted(getClass().getSimpleName(), getId());
 	}
 
-	/** Helper method to update audit fields using reflection. Looks for common audit fields like 'lastModifiedDate', 'updatedAt'. */
+	/** Updates the audit fields after save, soft delete and restore. Calls {@link #updateLastModified()} directly, the earlier lookup by name
+	 * only found public methods and never reached the protected override of CEntityNamed. */
 	private void updateAuditFields() {
-		try {
-			final Class<?> entityClass = ProxyUtils.getUserClass(this.getClass());
-			final Method updateMethod = tech.derbent.api.utils.CAuxillaries.getMethod(entityClass, "updateLastModified");
-			if (updateMethod != null) {
-				updateMethod.invoke(this);
-				LOGGER.debug("Updated audit fields for: {}", this.getClass().getSimpleName());
-			}
-		} catch (final Exception e) {
-			// Don't fail the save operation if audit update fails
-			LOGGER.debug("Could not update audit fields (this is not an error): {}", e.getMessage());
-		}
+		updateLastModified();
+		LOGGER.debug("Updated audit fields for: {}", this.getClass().getSimpleName());
 	}
+
+	/** Hook for entities with a modification timestamp, see CEntityNamed. Does nothing by default. */
+	protected void updateLastModified() {}
 }
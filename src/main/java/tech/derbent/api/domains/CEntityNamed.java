@@ -6,6 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.validation.constraints.Size;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.utils.Check;
@@ -95,6 +97,17 @@ public abstract class CEntityNamed<EntityClass> extends CEntityDB<EntityClass> {
 		lastModifiedDate = LocalDateTime.now();
 	}
 
+	/** Stamps the modification before every insert and update, so a change made through a setter that does not call updateLastModified still
+	 * moves the date that the REST validators are built from. */
+	@PrePersist
+	@PreUpdate
+	protected void stampLastModified() {
+		if (createdDate == null) {
+			createdDate = LocalDateTime.now();
+		}
+		lastModifiedDate = LocalDateTime.now();
+	}
+
 	public void setCreatedDate(final LocalDateTime createdDate) { this.createdDate = createdDate; }
 
 	public void setDescription(final String description) {
@@ -117,6 +130,7 @@ public abstract class CEntityNamed<EntityClass> extends CEntityDB<EntityClass> {
 	}
 
 	/** Update the last modified date to now. */
+	@Override
 	protected void updateLastModified() {
 		lastModifiedDate = LocalDateTime.now();
 	}
@@ -0,0 +1,55 @@
+package tech.derbent.api.domains;
+
+import java.math.BigDecimal;
+
+/** CHierarchyAggregate - Rolled-up values of a project item subtree. Layer: Domain (MVC) Created directly by the JPQL constructor expression in
+ * IParentChildRelationRepository so that a whole subtree is summed by the database in one query. */
+public class CHierarchyAggregate {
+
+	private static BigDecimal orZero(final BigDecimal value) {
+		return value != null ? value : BigDecimal.ZERO;
+	}
+
+	private final BigDecimal actualCost;
+	private final BigDecimal actualHours;
+	private final double averageProgress;
+	private final long count;
+	private final BigDecimal estimatedCost;
+	private final BigDecimal estimatedHours;
+	private final BigDecimal remainingHours;
+
+	public CHierarchyAggregate(final Long count, final BigDecimal estimatedHours, final BigDecimal actualHours, final BigDecimal remainingHours,
+			final BigDecimal estimatedCost, final BigDecimal actualCost, final Double averageProgress) {
+		this.count = count != null ? count : 0L;
+		this.estimatedHours = orZero(estimatedHours);
+		this.actualHours = orZero(actualHours);
+		this.remainingHours = orZero(remainingHours);
+		this.estimatedCost = orZero(estimatedCost);
+		this.actualCost = orZero(actualCost);
+		this.averageProgress = averageProgress != null ? averageProgress : 0.0;
+	}
+
+	public BigDecimal getActualCost() { return actualCost; }
+
+	public BigDecimal getActualHours() { return actualHours; }
+
+	/** Average progress percentage of all items in the subtree.
+	 * @return the average progress (0-100) */
+	public double getAverageProgress() { return averageProgress; }
+
+	/** Number of items in the subtree.
+	 * @return the item count */
+	public long getCount() { return count; }
+
+	public BigDecimal getEstimatedCost() { return estimatedCost; }
+
+	public BigDecimal getEstimatedHours() { return estimatedHours; }
+
+	public BigDecimal getRemainingHours() { return remainingHours; }
+
+	@Override
+	public String toString() {
+		return "CHierarchyAggregate{count=" + count + ", estimatedHours=" + estimatedHours + ", actualHours=" + actualHours + ", remainingHours="
+				+ remainingHours + ", estimatedCost=" + estimatedCost + ", actualCost=" + actualCost + ", averageProgress=" + averageProgress + '}';
+	}
+}
@@ -2,16 +2,23 @@ package tech.derbent.api.domains;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+/** CParentChildRelation - Closure table row of the project item hierarchy. Layer: Domain (MVC) One row exists for every ancestor/descendant pair
+ * (not only direct parents); depth 1 is the direct parent, depth 2 the grandparent and so on. This lets ancestors, descendants and subtree
+ * aggregates be answered with a single indexed query. Maintained by CParentChildRelationService. */
 @Entity
 @Table (name = "cparentchildrelation", uniqueConstraints = {
 		@UniqueConstraint (name = "uk_parentchild", columnNames = {
 				"child_id", "child_type", "parent_id", "parent_type"
 		})
+}, indexes = {
+		@Index (name = "idx_parentchild_parent", columnList = "parent_type, parent_id, depth"),
+		@Index (name = "idx_parentchild_child", columnList = "child_type, child_id, depth")
 })
 public class CParentChildRelation extends CEntityDB<CParentChildRelation> {
 
@@ -25,6 +32,9 @@ public class CParentChildRelation extends CEntityDB<CParentChildRelation> {
 	@Column (name = "child_type", nullable = false, length = 32)
 	private String childType;
 	@NotNull
+	@Column (name = "depth", nullable = false)
+	private Integer depth = 1;
+	@NotNull
 	@Column (name = "parent_id", nullable = false)
 	private Long parentId;
 	@NotBlank
@@ -44,11 +54,18 @@ public class CParentChildRelation extends CEntityDB<CParentChildRelation> {
 		this.parentType = parentType;
 	}
 
+	public CParentChildRelation(final Long childId, final String childType, final Long parentId, final String parentType, final int depth) {
+		this(childId, childType, parentId, parentType);
+		this.depth = depth;
+	}
+
 	// --- Getters / Setters ---
 	public Long getChildId() { return childId; }
 
 	public String getChildType() { return childType; }
 
+	public Integer getDepth() { return depth; }
+
 	public Long getParentId() { return parentId; }
 
 	public String getParentType() { return parentType; }
@@ -57,6 +74,8 @@ public class CParentChildRelation extends CEntityDB<CParentChildRelation> {
 
 	public void setChildType(final String childType) { this.childType = childType; }
 
+	public void setDepth(final Integer depth) { this.depth = depth; }
+
 	public void setParentId(final Long parentId) { this.parentId = parentId; }
 
 	public void setParentType(final String parentType) { this.parentType = parentType; }
@@ -64,7 +83,7 @@ public class CParentChildRelation extends CEntityDB<CParentChildRelation> {
 	@Override
 	public String toString() {
 		return "CParentChildRelation{" + "id=" + getId() + ", childId=" + childId + ", childType='" + childType + '\'' + ", parentId=" + parentId
-				+ ", parentType='" + parentType + '\'' + '}';
+				+ ", parentType='" + parentType + '\'' + ", depth=" + depth + '}';
 	}
 
 	@Override
@@ -2,6 +2,7 @@ package tech.derbent.api.domains;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.projects.domain.CProject;
 
@@ -12,6 +13,9 @@ public abstract class CProjectItem<EntityClass> extends CEntityOfProject<EntityC
 	@Column (name = "parent_id", nullable = true)
 	@AMetaData (displayName = "Parent #", required = false, readOnly = true, description = "ID of the parent entity", hidden = true, order = 62)
 	private Long parentId;
+	// Set when the parent is changed in memory so the service knows to update the hierarchy index on save
+	@Transient
+	private boolean parentChanged = false;
 	@Column (name = "parent_type", nullable = true)
 	@AMetaData (displayName = "Parent Type", required = false, readOnly = true, description = "Type of the parent entity", hidden = true, order = 61)
 	private String parentType;
@@ -28,14 +32,24 @@ public abstract class CProjectItem<EntityClass> extends CEntityOfProject<EntityC
 	public void clearParent() {
 		this.parentType = null;
 		this.parentId = null;
+		parentChanged = true;
 		updateLastModified();
 	}
 
+	/** Marks the hierarchy index as synchronized with the parent fields. Called by CProjectItemService after the index was updated. */
+	public void clearParentChanged() {
+		parentChanged = false;
+	}
+
 	// --- Plain getters / setters ---
 	public Long getParentId() { return parentId; }
 
 	public String getParentType() { return parentType; }
 
+	/** Checks whether the parent was changed since the entity was loaded or last saved through its service.
+	 * @return true if the hierarchy index must be updated */
+	public boolean isParentChanged() { return parentChanged; }
+
 	public void setParent(final CProjectItem<?> parent) {
 		if (parent == null) {
 			clearParent();
@@ -52,10 +66,17 @@ public abstract class CProjectItem<EntityClass> extends CEntityOfProject<EntityC
 		}
 		this.parentType = pType; // Örn: "CActivity", "CMeeting"
 		this.parentId = pid;
+		parentChanged = true;
 		updateLastModified();
 	}
 
-	public void setParentId(final Long parentId) { this.parentId = parentId; }
+	public void setParentId(final Long parentId) {
+		this.parentId = parentId;
+		parentChanged = true;
+	}
 
-	public void setParentType(final String parentType) { this.parentType = parentType; }
+	public void setParentType(final String parentType) {
+		this.parentType = parentType;
+		parentChanged = true;
+	}
 }
@@ -1,13 +1,58 @@
 package tech.derbent.api.domains;
 
 import java.time.Clock;
-import tech.derbent.api.services.IEntityOfProjectRepository;
+import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.services.CEntityOfProjectService;
+import tech.derbent.api.services.CParentChildRelationService;
+import tech.derbent.api.services.IEntityOfProjectRepository;
+import tech.derbent.api.utils.Check;
 import tech.derbent.session.service.CSessionService;
 
+/** CProjectItemService - Base service for hierarchical project items. Layer: Service (MVC) Keeps the hierarchy closure table maintained by
+ * CParentChildRelationService in sync with the parentId/parentType columns of the items: the index is updated incrementally whenever an item with
+ * a changed parent is saved and the node is removed from the index when the item is deleted. */
 public abstract class CProjectItemService<EntityClass extends CEntityOfProject<EntityClass>> extends CEntityOfProjectService<EntityClass> {
 
-	public CProjectItemService(final IEntityOfProjectRepository<EntityClass> repository, final Clock clock, final CSessionService sessionService) {
+	protected final CParentChildRelationService parentChildRelationService;
+
+	public CProjectItemService(final IEntityOfProjectRepository<EntityClass> repository, final Clock clock, final CSessionService sessionService,
+			final CParentChildRelationService parentChildRelationService) {
 		super(repository, clock, sessionService);
+		Check.notNull(parentChildRelationService, "Parent child relation service cannot be null");
+		this.parentChildRelationService = parentChildRelationService;
+	}
+
+	@Override
+	@Transactional
+	public void delete(final EntityClass entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		Check.notNull(entity.getId(), "Entity ID cannot be null");
+		parentChildRelationService.removeNode(getEntityClass().getSimpleName(), entity.getId());
+		super.delete(entity);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		Check.notNull(id, "Entity ID cannot be null");
+		parentChildRelationService.removeNode(getEntityClass().getSimpleName(), id);
+		super.delete(id);
+	}
+
+	public CParentChildRelationService getParentChildRelationService() { return parentChildRelationService; }
+
+	@Override
+	@Transactional
+	public EntityClass save(final EntityClass entity) {
+		final boolean isNew = (entity != null) && (entity.getId() == null);
+		final EntityClass saved = super.save(entity);
+		// the transient flag is only present on the instance passed in, merge() returns a copy without it
+		if ((entity instanceof final CProjectItem<?> item) && (saved instanceof final CProjectItem<?> savedItem)
+				&& (item.isParentChanged() || (isNew && (savedItem.getParentId() != null)))) {
+			parentChildRelationService.updateParent(savedItem);
+			item.clearParentChanged();
+			savedItem.clearParentChanged();
+		}
+		return saved;
 	}
 }
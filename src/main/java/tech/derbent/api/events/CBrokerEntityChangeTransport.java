@@ -0,0 +1,85 @@
+package tech.derbent.api.events;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import tech.derbent.api.utils.Check;
+
+/** CBrokerEntityChangeTransport - Stand-in for a message broker topic shared by several nodes. Layer: Service (MVC) Changes are encoded to JSON,
+ * put on an in-process topic and delivered by a consumer thread, so publishing and receiving are decoupled and cross a serialization boundary like
+ * they would with a real broker. Every message carries the id of the publishing node; a broker client replaces the topic queue with its publish and
+ * subscribe calls and keeps the rest. Messages that cannot be decoded are logged and dropped, a slow receiver only delays the topic thread. */
+public class CBrokerEntityChangeTransport implements IEntityChangeTransport {
+
+	/** One message on the topic. */
+	record CMessage(String nodeId, List<CEntityChange> changes) {}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CBrokerEntityChangeTransport.class);
+	private static final TypeReference<CMessage> MESSAGE_TYPE = new TypeReference<>() {};
+	private final Thread consumer;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final ObjectMapper objectMapper;
+	private volatile Consumer<List<CEntityChange>> receiver;
+	private final BlockingQueue<byte[]> topic = new LinkedBlockingQueue<>();
+
+	public CBrokerEntityChangeTransport(final ObjectMapper objectMapper) {
+		Check.notNull(objectMapper, "Object mapper cannot be null");
+		this.objectMapper = objectMapper;
+		consumer = new Thread(this::consume, "derbent-event-broker");
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+
+	@Override
+	public void close() {
+		consumer.interrupt();
+	}
+
+	private void consume() {
+		while (!Thread.currentThread().isInterrupted()) {
+			final byte[] payload;
+			try {
+				payload = topic.take();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			try {
+				final CMessage message = objectMapper.readValue(payload, MESSAGE_TYPE);
+				final Consumer<List<CEntityChange>> current = receiver;
+				if (current != null) {
+					current.accept(message.changes());
+				}
+			} catch (final IOException e) {
+				LOGGER.error("Dropped undecodable entity change message: {}", e.getMessage());
+			} catch (final RuntimeException e) {
+				LOGGER.error("Receiver failed on entity change message: {}", e.getMessage(), e);
+			}
+		}
+	}
+
+	/** Id of this node, carried by every published message. */
+	public String getNodeId() { return nodeId; }
+
+	@Override
+	public void publish(final List<CEntityChange> changes) {
+		try {
+			topic.add(objectMapper.writeValueAsBytes(new CMessage(nodeId, changes)));
+		} catch (final IOException e) {
+			LOGGER.error("Could not encode {} entity changes: {}", changes.size(), e.getMessage());
+		}
+	}
+
+	@Override
+	public void setReceiver(final Consumer<List<CEntityChange>> receiver) {
+		Check.notNull(receiver, "Receiver cannot be null");
+		this.receiver = receiver;
+	}
+}
@@ -0,0 +1,34 @@
+package tech.derbent.api.events;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import tech.derbent.api.utils.Check;
+
+/** CEntityCacheInvalidator - Distributed invalidation channel of the service caches. Layer: Service (MVC) Subscribes each {@link IEntityCache} bean to
+ * the event bus, whose transport (derbent.events.transport) carries the changes of every node; with the jdbc or a broker transport, the caches of all
+ * nodes drop what another node changed. Caches of code rather than data, such as the beans and methods of CDataProviderResolver, are the same on every
+ * node and need no invalidation. */
+@Component
+public class CEntityCacheInvalidator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CEntityCacheInvalidator.class);
+
+	public CEntityCacheInvalidator(final CEntityEventBus entityEventBus, final List<IEntityCache> caches) {
+		Check.notNull(entityEventBus, "Entity event bus cannot be null");
+		Check.notNull(caches, "Caches cannot be null");
+		for (final IEntityCache cache : caches) {
+			for (final Class<?> entityClass : cache.getCachedEntityClasses()) {
+				entityEventBus.subscribe(entityClass, Runnable::run, changes -> {
+					try {
+						cache.evict(changes);
+					} catch (final RuntimeException e) {
+						LOGGER.error("Evicting {} changes from {} failed: {}", changes.size(), cache.getClass().getSimpleName(), e.getMessage(), e);
+					}
+				});
+			}
+		}
+		LOGGER.info("Entity change invalidation subscribed for {} caches", caches.size());
+	}
+}
@@ -0,0 +1,54 @@
+package tech.derbent.api.events;
+
+import java.io.Serializable;
+import org.springframework.data.util.ProxyUtils;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.domains.CEntityOfProject;
+import tech.derbent.api.utils.Check;
+
+/** CEntityChange - One committed change of an entity, as delivered to the UIs by {@link CEntityEventBus}. Layer: Domain Carries only the identity of
+ * the entity, never its state, so it is small enough for any transport and receivers always read the committed row.
+ * @param entityType class name of the entity, without proxy suffix
+ * @param id         the entity id
+ * @param projectId  project of the entity, null for entities outside a project
+ * @param kind       what happened to the entity */
+public record CEntityChange(String entityType, Long id, Long projectId, Kind kind) implements Serializable {
+
+	/** Kind of change. A restored entity is reported as created, a soft deleted one as deleted, since both change the rows a list shows. */
+	public enum Kind {
+		CREATED, DELETED, UPDATED
+	}
+
+	/** Creates the change of an entity.
+	 * @param entity the saved or deleted entity, with id
+	 * @param kind   the kind of change
+	 * @return the change */
+	public static CEntityChange of(final CEntityDB<?> entity, final Kind kind) {
+		Check.notNull(entity, "Entity cannot be null");
+		Check.notNull(entity.getId(), "Entity id cannot be null");
+		// the id of a lazy project proxy is read without loading the project
+		final Long projectId = (entity instanceof final CEntityOfProject<?> item) && (item.getProject() != null) ? item.getProject().getId() : null;
+		return new CEntityChange(ProxyUtils.getUserClass(entity.getClass()).getName(), entity.getId(), projectId, kind);
+	}
+
+	public CEntityChange {
+		Check.notNull(entityType, "Entity type cannot be null");
+		Check.notNull(id, "Entity id cannot be null");
+		Check.notNull(kind, "Kind cannot be null");
+	}
+
+	/** Returns true if this change is of an entity of the given class.
+	 * @param entityClass the entity class
+	 * @return true if the entity type matches */
+	public boolean isOf(final Class<?> entityClass) {
+		return entityType.equals(entityClass.getName());
+	}
+
+	/** Combines this change with a later change of the same entity: a created entity stays created when it is updated before the receiver saw it,
+	 * otherwise the later change wins.
+	 * @param next the later change
+	 * @return the combined change */
+	public CEntityChange merge(final CEntityChange next) {
+		return (kind == Kind.CREATED) && (next.kind() == Kind.UPDATED) ? this : next;
+	}
+}
@@ -0,0 +1,192 @@
+package tech.derbent.api.events;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.shared.Registration;
+import jakarta.annotation.PreDestroy;
+import tech.derbent.api.utils.Check;
+
+/** CEntityEventBus - Pushes committed entity changes to the open UIs. Layer: Service (MVC) CAbstractService publishes an {@link EntityChangeEvent}
+ * for each save and delete; the changes of a transaction are collected and handed to the {@link IEntityChangeTransport} once it has committed.
+ * Every node receives the changes from the transport and queues them per subscription. A subscription delivers at most one batch per coalescing
+ * window (derbent.events.coalesce-ms, default 250), holding the last change per entity, through UI.access, so a bulk update of hundreds of rows
+ * costs each UI one push. Subscriptions of closed UIs are dropped on their next delivery. */
+@Service
+public class CEntityEventBus {
+
+	/** Changes of one entity class waiting for delivery to one UI. */
+	private final class CSubscription implements Registration {
+
+		private static final long serialVersionUID = 1L;
+		private final String entityType;
+		private final Executor executor;
+		private final Consumer<List<CEntityChange>> listener;
+		private final Map<Long, CEntityChange> pending = new LinkedHashMap<>();
+		private boolean scheduled;
+
+		CSubscription(final String entityType, final Executor executor, final Consumer<List<CEntityChange>> listener) {
+			this.entityType = entityType;
+			this.executor = executor;
+			this.listener = listener;
+		}
+
+		private void flush() {
+			final List<CEntityChange> batch;
+			synchronized (this) {
+				batch = new ArrayList<>(pending.values());
+				pending.clear();
+				scheduled = false;
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			try {
+				executor.execute(() -> listener.accept(batch));
+			} catch (final UIDetachedException e) {
+				LOGGER.debug("Dropping subscription of a closed UI for {}", entityType);
+				remove();
+			} catch (final RuntimeException e) {
+				LOGGER.error("Delivering {} changes of {} failed: {}", batch.size(), entityType, e.getMessage(), e);
+			}
+		}
+
+		void offer(final CEntityChange change) {
+			synchronized (this) {
+				pending.merge(change.id(), change, CEntityChange::merge);
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
+			scheduler.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void remove() {
+			final Set<CSubscription> subscriptions = subscriptionsByType.get(entityType);
+			if (subscriptions != null) {
+				subscriptions.remove(this);
+			}
+		}
+	}
+
+	/** Changes of one transaction, published after its commit. */
+	private final class CTransactionChanges implements TransactionSynchronization {
+
+		private final List<CEntityChange> changes = new ArrayList<>();
+
+		void add(final CEntityChange change) {
+			changes.add(change);
+		}
+
+		@Override
+		public void afterCommit() {
+			transport.publish(List.copyOf(changes));
+		}
+
+		CEntityEventBus getBus() { return CEntityEventBus.this; }
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CEntityEventBus.class);
+	private final long coalesceMillis;
+	private final ScheduledExecutorService scheduler;
+	private final Map<String, Set<CSubscription>> subscriptionsByType = new ConcurrentHashMap<>();
+	private final IEntityChangeTransport transport;
+
+	public CEntityEventBus(final IEntityChangeTransport transport, @Value ("${derbent.events.coalesce-ms:250}") final long coalesceMillis) {
+		Check.notNull(transport, "Transport cannot be null");
+		Check.isTrue(coalesceMillis >= 0, "Coalescing window cannot be negative");
+		this.transport = transport;
+		this.coalesceMillis = coalesceMillis;
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-event-bus");
+			thread.setDaemon(true);
+			return thread;
+		});
+		transport.setReceiver(this::receive);
+	}
+
+	/** Number of subscriptions of the entity class, for diagnostics and tests. */
+	public int getSubscriptionCount(final Class<?> entityClass) {
+		final Set<CSubscription> subscriptions = subscriptionsByType.get(entityClass.getName());
+		return subscriptions != null ? subscriptions.size() : 0;
+	}
+
+	/** Collects the change in the current transaction, or publishes it at once outside a transaction.
+	 * @param event the event published by the service */
+	@EventListener
+	public void onEntityChanged(final EntityChangeEvent event) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			transport.publish(List.of(event.getChange()));
+			return;
+		}
+		// synchronizations are suspended with their transaction, so a nested REQUIRES_NEW transaction collects its own changes
+		for (final TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof final CTransactionChanges changes && (changes.getBus() == this)) {
+				changes.add(event.getChange());
+				return;
+			}
+		}
+		final CTransactionChanges changes = new CTransactionChanges();
+		changes.add(event.getChange());
+		TransactionSynchronizationManager.registerSynchronization(changes);
+	}
+
+	/** Queues changes received from the transport for the subscriptions of their entity class. */
+	void receive(final List<CEntityChange> changes) {
+		for (final CEntityChange change : changes) {
+			final Set<CSubscription> subscriptions = subscriptionsByType.get(change.entityType());
+			if (subscriptions != null) {
+				subscriptions.forEach(subscription -> subscription.offer(change));
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+		transport.close();
+	}
+
+	/** Subscribes a listener to the changes of an entity class, delivered on the given executor.
+	 * @param entityClass the entity class
+	 * @param executor    runs the delivery; throws UIDetachedException once the receiver is gone
+	 * @param listener    receives the coalesced changes
+	 * @return the registration, remove it when the listener is no longer needed */
+	public Registration subscribe(final Class<?> entityClass, final Executor executor, final Consumer<List<CEntityChange>> listener) {
+		Check.notNull(entityClass, "Entity class cannot be null");
+		Check.notNull(executor, "Executor cannot be null");
+		Check.notNull(listener, "Listener cannot be null");
+		final CSubscription subscription = new CSubscription(entityClass.getName(), executor, listener);
+		subscriptionsByType.computeIfAbsent(entityClass.getName(), key -> ConcurrentHashMap.newKeySet()).add(subscription);
+		return subscription;
+	}
+
+	/** Subscribes a component of the UI to the changes of an entity class. The listener runs with the session locked and its UI changes are pushed.
+	 * @param ui          the UI of the subscribing component
+	 * @param entityClass the entity class
+	 * @param listener    receives the coalesced changes
+	 * @return the registration, remove it in onDetach */
+	public Registration subscribe(final UI ui, final Class<?> entityClass, final Consumer<List<CEntityChange>> listener) {
+		Check.notNull(ui, "UI cannot be null");
+		return subscribe(entityClass, command -> ui.access(command::run), listener);
+	}
+}
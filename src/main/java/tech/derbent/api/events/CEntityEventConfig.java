@@ -0,0 +1,34 @@
+package tech.derbent.api.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Selects the transport of entity change events with derbent.events.transport: local (default) delivers within this JVM, broker goes through the
+ * broker stand-in that several nodes would share, jdbc goes through a table of the database all nodes share, polled every derbent.events.jdbc.poll-ms
+ * (default 500). Run several nodes with jdbc or a real broker. */
+@Configuration
+public class CEntityEventConfig {
+
+	@Bean
+	@ConditionalOnProperty (name = "derbent.events.transport", havingValue = "broker")
+	public IEntityChangeTransport brokerEntityChangeTransport(final ObjectMapper objectMapper) {
+		return new CBrokerEntityChangeTransport(objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty (name = "derbent.events.transport", havingValue = "jdbc")
+	public IEntityChangeTransport jdbcEntityChangeTransport(final JdbcTemplate jdbcTemplate, final ObjectMapper objectMapper,
+			@Value ("${derbent.events.jdbc.poll-ms:500}") final long pollMillis) {
+		return new CJdbcEntityChangeTransport(jdbcTemplate, objectMapper, pollMillis);
+	}
+
+	@Bean
+	@ConditionalOnProperty (name = "derbent.events.transport", havingValue = "local", matchIfMissing = true)
+	public IEntityChangeTransport localEntityChangeTransport() {
+		return new CLocalEntityChangeTransport();
+	}
+}
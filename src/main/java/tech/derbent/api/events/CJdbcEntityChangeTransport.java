@@ -0,0 +1,157 @@
+package tech.derbent.api.events;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import tech.derbent.api.utils.Check;
+
+/** CJdbcEntityChangeTransport - Carries entity changes between nodes through a table of the shared database. Layer: Service (MVC) No broker is
+ * needed: the nodes behind a load balancer already share the database. Publishing delivers to this node at once and appends the changes as JSON
+ * rows from the transport thread, outside the committed transaction whose connection may still be bound to the caller; every node polls the rows of
+ * the other nodes after its cursor. Concurrent inserts of several nodes can become visible out of id order; rows above a gap are delivered and
+ * remembered, and the cursor waits for the gap for at most GAP_WAIT_MILLIS before passing it. Rows older than RETENTION_MILLIS are deleted by
+ * whichever node polls. The table works on H2 and PostgreSQL. */
+public class CJdbcEntityChangeTransport implements IEntityChangeTransport {
+
+	/** Changes per row, keeps a payload of bulk changes far below the column size. */
+	static final int CHUNK_SIZE = 200;
+	static final long GAP_WAIT_MILLIS = 5000;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CJdbcEntityChangeTransport.class);
+	private static final long RETENTION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+	private static final int ROWS_PER_POLL = 500;
+	private static final TypeReference<List<CEntityChange>> CHANGES_TYPE = new TypeReference<>() {};
+	static final String TABLE = "derbent_entity_change";
+	private long cursor;
+	// rows above the cursor that were delivered, with the time they were first seen
+	private final NavigableMap<Long, Long> deliveredAboveCursor = new TreeMap<>();
+	private final JdbcTemplate jdbcTemplate;
+	private long lastCleanup;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final ObjectMapper objectMapper;
+	private final ScheduledExecutorService poller;
+	private volatile Consumer<List<CEntityChange>> receiver;
+
+	public CJdbcEntityChangeTransport(final JdbcTemplate jdbcTemplate, final ObjectMapper objectMapper, final long pollMillis) {
+		Check.notNull(jdbcTemplate, "JDBC template cannot be null");
+		Check.notNull(objectMapper, "Object mapper cannot be null");
+		Check.isTrue(pollMillis > 0, "Poll interval must be positive");
+		this.jdbcTemplate = jdbcTemplate;
+		this.objectMapper = objectMapper;
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE
+				+ " (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, node_id VARCHAR(36) NOT NULL, payload VARCHAR(100000) NOT NULL,"
+				+ " created_at TIMESTAMP NOT NULL)");
+		// a starting node does not replay the history of the others
+		final Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + TABLE, Long.class);
+		cursor = max != null ? max : 0;
+		// one thread appends and polls, so the cursor state needs no locking
+		poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-event-jdbc");
+			thread.setDaemon(true);
+			return thread;
+		});
+		poller.scheduleWithFixedDelay(this::poll, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/** Moves the cursor over the delivered rows that follow it, and over a gap that did not fill in time. */
+	private void advanceCursor(final long now) {
+		while (!deliveredAboveCursor.isEmpty()) {
+			final Map.Entry<Long, Long> next = deliveredAboveCursor.firstEntry();
+			if ((next.getKey() != (cursor + 1)) && ((now - next.getValue()) < GAP_WAIT_MILLIS)) {
+				return;
+			}
+			deliveredAboveCursor.pollFirstEntry();
+			cursor = next.getKey();
+		}
+	}
+
+	@Override
+	public void close() {
+		poller.shutdownNow();
+	}
+
+	private void deliver(final List<CEntityChange> changes) {
+		final Consumer<List<CEntityChange>> current = receiver;
+		if (current != null) {
+			current.accept(changes);
+		}
+	}
+
+	/** Id of this node, stored with every published row. */
+	public String getNodeId() { return nodeId; }
+
+	/** Appends the changes for the other nodes, in chunks of CHUNK_SIZE. Runs on the transport thread only. */
+	private void insert(final List<CEntityChange> changes) {
+		try {
+			for (int from = 0; from < changes.size(); from += CHUNK_SIZE) {
+				final List<CEntityChange> chunk = changes.subList(from, Math.min(changes.size(), from + CHUNK_SIZE));
+				jdbcTemplate.update("INSERT INTO " + TABLE + " (node_id, payload, created_at) VALUES (?, ?, ?)", nodeId,
+						objectMapper.writeValueAsString(chunk), Timestamp.from(Instant.now()));
+			}
+		} catch (final IOException | RuntimeException e) {
+			// the other nodes miss these changes until their views reload, this node already has them
+			LOGGER.error("Could not publish {} entity changes to the other nodes: {}", changes.size(), e.getMessage());
+		}
+	}
+
+	/** Reads the rows after the cursor and delivers those of other nodes. Runs on the transport thread only. */
+	void poll() {
+		try {
+			final long now = System.currentTimeMillis();
+			final List<Map<String, Object>> rows =
+					jdbcTemplate.queryForList("SELECT id, node_id, payload FROM " + TABLE + " WHERE id > ? ORDER BY id LIMIT " + ROWS_PER_POLL, cursor);
+			for (final Map<String, Object> row : rows) {
+				final long id = ((Number) row.get("id")).longValue();
+				if (deliveredAboveCursor.putIfAbsent(id, now) != null) {
+					continue;
+				}
+				if (!nodeId.equals(row.get("node_id"))) {
+					try {
+						deliver(objectMapper.readValue((String) row.get("payload"), CHANGES_TYPE));
+					} catch (final IOException e) {
+						LOGGER.error("Dropped undecodable entity change row {}: {}", id, e.getMessage());
+					}
+				}
+			}
+			advanceCursor(now);
+			if ((now - lastCleanup) > RETENTION_MILLIS) {
+				lastCleanup = now;
+				jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE created_at < ?", Timestamp.from(Instant.ofEpochMilli(now - RETENTION_MILLIS)));
+			}
+		} catch (final RuntimeException e) {
+			// keep polling, the database may be back on the next run
+			LOGGER.error("Polling entity changes failed: {}", e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void publish(final List<CEntityChange> changes) {
+		deliver(changes);
+		final List<CEntityChange> copy = List.copyOf(changes);
+		try {
+			poller.execute(() -> insert(copy));
+		} catch (final RejectedExecutionException e) {
+			LOGGER.debug("Transport closed, {} entity changes stay on this node", changes.size());
+		}
+	}
+
+	@Override
+	public void setReceiver(final Consumer<List<CEntityChange>> receiver) {
+		Check.notNull(receiver, "Receiver cannot be null");
+		this.receiver = receiver;
+	}
+}
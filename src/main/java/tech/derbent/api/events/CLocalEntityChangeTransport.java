@@ -0,0 +1,26 @@
+package tech.derbent.api.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+import tech.derbent.api.utils.Check;
+
+/** CLocalEntityChangeTransport - Delivers entity changes within this JVM, on the thread that committed them. Layer: Service (MVC) The default
+ * transport of a single node. */
+public class CLocalEntityChangeTransport implements IEntityChangeTransport {
+
+	private volatile Consumer<List<CEntityChange>> receiver;
+
+	@Override
+	public void publish(final List<CEntityChange> changes) {
+		final Consumer<List<CEntityChange>> current = receiver;
+		if (current != null) {
+			current.accept(changes);
+		}
+	}
+
+	@Override
+	public void setReceiver(final Consumer<List<CEntityChange>> receiver) {
+		Check.notNull(receiver, "Receiver cannot be null");
+		this.receiver = receiver;
+	}
+}
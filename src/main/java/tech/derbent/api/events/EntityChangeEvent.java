@@ -0,0 +1,28 @@
+package tech.derbent.api.events;
+
+import org.springframework.context.ApplicationEvent;
+import tech.derbent.api.utils.Check;
+
+/** Event published by CAbstractService for every saved, deleted, soft deleted or restored entity. CEntityEventBus forwards it to the UIs once the
+ * transaction has committed; a rolled back change is never delivered. */
+public class EntityChangeEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+	private final CEntityChange change;
+
+	/** Creates a new EntityChangeEvent.
+	 * @param source The service that published the event
+	 * @param change The change */
+	public EntityChangeEvent(final Object source, final CEntityChange change) {
+		super(source);
+		Check.notNull(change, "Change cannot be null");
+		this.change = change;
+	}
+
+	public CEntityChange getChange() { return change; }
+
+	@Override
+	public String toString() {
+		return String.format("EntityChangeEvent{change=%s}", change);
+	}
+}
@@ -0,0 +1,18 @@
+package tech.derbent.api.events;
+
+import java.util.List;
+
+/** A cache of a service built from entities. Every bean implementing it is subscribed by {@link CEntityCacheInvalidator} to the committed changes of
+ * its entity classes, as delivered by {@link CEntityEventBus}, so a change made on any node evicts the stale entries on every node. The node that
+ * made the change should still evict at once when its transaction completes, the bus delivers after the coalescing window. */
+public interface IEntityCache {
+
+	/** Evicts the entries made stale by the changes. Called on an event bus thread without a security context.
+	 * @param changes committed changes of the cached entity classes, from this node or another */
+	void evict(List<CEntityChange> changes);
+	/** Evicts every entry, after rows were replaced outside the services, as by a database restore. */
+	void evictAll();
+	/** The entity classes the cached entries are built from.
+	 * @return the entity classes, not empty */
+	List<Class<?>> getCachedEntityClasses();
+}
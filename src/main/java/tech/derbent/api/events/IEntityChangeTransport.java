@@ -0,0 +1,22 @@
+package tech.derbent.api.events;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/** Carries committed entity changes from the node that made them to the event bus of every node. The in-JVM transport calls the receiver directly;
+ * a transport for several nodes publishes to a broker topic and delivers what it receives from the topic, including the changes of its own node.
+ * Implementations are selected with derbent.events.transport, see CEntityEventConfig. */
+public interface IEntityChangeTransport {
+
+	/** Stops delivering. Called when the application shuts down. */
+	default void close() {
+		// nothing to release by default
+	}
+
+	/** Publishes the changes of one committed transaction.
+	 * @param changes the changes, never empty */
+	void publish(List<CEntityChange> changes);
+	/** Sets the receiver of all published changes. Called once by the event bus.
+	 * @param receiver the receiver, called from the publishing thread or a transport thread */
+	void setReceiver(Consumer<List<CEntityChange>> receiver);
+}
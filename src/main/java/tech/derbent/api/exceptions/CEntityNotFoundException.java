@@ -0,0 +1,10 @@
+package tech.derbent.api.exceptions;
+/** Exception thrown when a requested entity or resource does not exist. Mapped to 404 by the REST API. */
+public class CEntityNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public CEntityNotFoundException(final String message) {
+		super(message);
+	}
+}
@@ -2,6 +2,7 @@ package tech.derbent.api.interfaces;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /** CKanbanService - Interface for services that provide data for Kanban boards. Layer: Service Interface (Abstraction) Provides the contract for
  * services that can supply entities grouped by status for kanban board display.
@@ -9,7 +10,13 @@ import java.util.Map;
  * @param <S> the type of status this service works with */
 public interface IKanbanService<T extends IKanbanEntity, S extends IKanbanStatus> {
 
+	/** Loads one entity, e.g. to update a single card after a change made by another user.
+	 * @param id the entity id
+	 * @return the entity, empty if it does not exist */
+	Optional<T> getById(Long id);
 	Map<S, List<T>> getEntitiesGroupedByStatus(Long projectId);
+	/** Entity class shown by the board, used to subscribe to its change events. */
+	Class<T> getKanbanEntityClass();
 	T updateEntityStatus(T entity, S newStatus);
 	List<S> getAllStatuses(Long projectId);
 }
@@ -0,0 +1,132 @@
+package tech.derbent.api.rest;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tech.derbent.api.exceptions.CEntityNotFoundException;
+import tech.derbent.api.utils.Check;
+import tech.derbent.attachments.domain.CAttachment;
+import tech.derbent.attachments.domain.CAttachmentInfo;
+import tech.derbent.attachments.domain.CByteRange;
+import tech.derbent.attachments.domain.EAttachmentOwnerType;
+import tech.derbent.attachments.service.CAttachmentService;
+
+/** CAttachmentController - HTTP endpoints of the attachments of activities, decisions and orders under /api/v1. Layer: View (MVC) An upload is the
+ * raw request body, not a multipart form, so it streams from the connection into the file storage without being parsed or buffered first. A
+ * download answers a single Range header with 206 and the requested bytes, and uses the content hash as ETag so an unchanged file is answered
+ * 304. A Range with an If-Range that is not the current ETag is ignored and the whole content is sent, so a resumed download never mixes two
+ * versions.
+ * <ul>
+ * <li>GET /{resource}/{id}/attachments - latest version of each file of an activity, decision or order</li>
+ * <li>POST /{resource}/{id}/attachments?fileName= - upload, the Content-Type header is stored with the file</li>
+ * <li>GET /attachments/{attachmentId}/versions - the versions of the file, newest first</li>
+ * <li>GET /attachments/{attachmentId}/content - the content, whole or a byte range</li>
+ * <li>DELETE /attachments/{attachmentId} - soft delete of the version</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping ("/api/v1")
+public class CAttachmentController {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CAttachmentController.class);
+	private final CAttachmentService attachmentService;
+
+	public CAttachmentController(final CAttachmentService attachmentService) {
+		Check.notNull(attachmentService, "Attachment service cannot be null");
+		this.attachmentService = attachmentService;
+	}
+
+	@DeleteMapping ("/attachments/{attachmentId}")
+	@ResponseStatus (HttpStatus.NO_CONTENT)
+	public void delete(@PathVariable final Long attachmentId) {
+		attachmentService.deleteAttachment(attachmentId);
+	}
+
+	@GetMapping ("/attachments/{attachmentId}/content")
+	public void download(@PathVariable final Long attachmentId, final HttpServletRequest request, final HttpServletResponse response)
+			throws IOException {
+		final CAttachment attachment = attachmentService.getAttachment(attachmentId);
+		final long size = attachment.getSizeBytes();
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+		final String etag = "\"" + attachment.getSha256() + "\"";
+		if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+			return;
+		}
+		// a date never matches, there is no Last-Modified to compare it with
+		final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+		final Optional<CByteRange> range =
+				(ifRange == null) || ifRange.trim().equals(etag) ? CByteRange.parse(request.getHeader(HttpHeaders.RANGE), size) : Optional.empty();
+		if (range.isPresent() && !range.get().isSatisfiable(size)) {
+			response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+			return;
+		}
+		final long position = range.map(CByteRange::start).orElse(0L);
+		final long count = range.map(CByteRange::length).orElse(size);
+		if (range.isPresent()) {
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + range.get().start() + "-" + range.get().end() + "/" + size);
+		}
+		response.setContentType(attachment.getContentType());
+		response.setContentLengthLong(count);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename*=UTF-8''" + URLEncoder.encode(attachment.getFileName(), StandardCharsets.UTF_8).replace("+", "%20"));
+		// not closed, the container owns the output stream
+		final WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+		attachmentService.transferContent(attachment, position, count, target);
+	}
+
+	@ExceptionHandler (IllegalArgumentException.class)
+	@ResponseStatus (HttpStatus.BAD_REQUEST)
+	public Map<String, String> handleBadRequest(final IllegalArgumentException e) {
+		LOGGER.debug("Rejected attachment request: {}", e.getMessage());
+		return Map.of("error", String.valueOf(e.getMessage()));
+	}
+
+	@ExceptionHandler (CEntityNotFoundException.class)
+	@ResponseStatus (HttpStatus.NOT_FOUND)
+	public Map<String, String> handleNotFound(final CEntityNotFoundException e) {
+		return Map.of("error", e.getMessage());
+	}
+
+	@GetMapping ("/{resource}/{id}/attachments")
+	public List<CAttachmentInfo> list(@PathVariable final String resource, @PathVariable final Long id) {
+		return attachmentService.listAttachments(EAttachmentOwnerType.fromResource(resource), id);
+	}
+
+	@GetMapping ("/attachments/{attachmentId}/versions")
+	public List<CAttachmentInfo> listVersions(@PathVariable final Long attachmentId) {
+		return attachmentService.listVersions(attachmentId);
+	}
+
+	@PostMapping ("/{resource}/{id}/attachments")
+	@ResponseStatus (HttpStatus.CREATED)
+	public CAttachmentInfo upload(@PathVariable final String resource, @PathVariable final Long id, @RequestParam final String fileName,
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		final CAttachmentInfo info =
+				attachmentService.upload(EAttachmentOwnerType.fromResource(resource), id, fileName, request.getContentType(), request.getInputStream());
+		response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + "/api/v1/attachments/" + info.id() + "/content");
+		return info;
+	}
+}
@@ -0,0 +1,150 @@
+package tech.derbent.api.rest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tech.derbent.api.exceptions.CEntityNotFoundException;
+import tech.derbent.api.utils.Check;
+
+/** CRestApiController - HTTP endpoints of the JSON API under /api/v1. Layer: View (MVC) Thin mapping of requests to {@link CRestApiService}:
+ * responses are written straight to the servlet output stream, and GET requests answer 304 when the If-None-Match header still matches the
+ * validator, before any entity is serialized. Authentication is HTTP Basic, see CSecurityConfig.
+ * <ul>
+ * <li>GET /projects/{projectId}/{resource}?after=&amp;limit=&amp;fields= - cursor page of the active entities</li>
+ * <li>POST /projects/{projectId}/{resource} - create, POST /projects/{projectId}/{resource}/bulk - create or update many</li>
+ * <li>GET, PATCH, DELETE /{resource}/{id} - read, partial update, soft delete; POST /{resource}/bulk-delete - soft delete many</li>
+ * <li>GET, POST /activities/{id}/comments - comment stream of an activity, newest first</li>
+ * <li>GET /{resource}/{id}/history?cursor=&amp;limit= - audit trail of an entity, newest first</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping ("/api/v1")
+public class CRestApiController {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CRestApiController.class);
+
+	private static void prepareJson(final HttpServletResponse response) {
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+	}
+
+	private final CRestApiService restApiService;
+
+	public CRestApiController(final CRestApiService restApiService) {
+		Check.notNull(restApiService, "REST API service cannot be null");
+		this.restApiService = restApiService;
+	}
+
+	@PostMapping ("/{resource}/bulk-delete")
+	public Map<String, Integer> bulkDelete(@PathVariable final String resource, @RequestBody final List<Long> ids) {
+		return Map.of("deleted", restApiService.bulkDelete(resource, ids));
+	}
+
+	@PostMapping ("/projects/{projectId}/{resource}/bulk")
+	public Map<String, List<Long>> bulkSave(@PathVariable final Long projectId, @PathVariable final String resource,
+			@RequestBody final JsonNode items) {
+		return Map.of("ids", restApiService.bulkSave(resource, projectId, items));
+	}
+
+	@PostMapping ("/projects/{projectId}/{resource}")
+	public void create(@PathVariable final Long projectId, @PathVariable final String resource, @RequestBody final JsonNode body,
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		final Long id = restApiService.create(resource, projectId, body);
+		// headers first, the body may commit the response
+		response.setStatus(HttpStatus.CREATED.value());
+		response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + "/api/v1/" + resource + "/" + id);
+		prepareJson(response);
+		restApiService.writeEntity(resource, id, null, response.getOutputStream());
+	}
+
+	@PostMapping ("/activities/{activityId}/comments")
+	public void createComment(@PathVariable final Long activityId, @RequestBody final JsonNode body,
+			final HttpServletResponse response) throws IOException {
+		prepareJson(response);
+		response.setStatus(HttpStatus.CREATED.value());
+		restApiService.createComment(activityId, body, response.getOutputStream());
+	}
+
+	@DeleteMapping ("/{resource}/{id}")
+	@ResponseStatus (HttpStatus.NO_CONTENT)
+	public void delete(@PathVariable final String resource, @PathVariable final Long id) {
+		restApiService.delete(resource, id);
+	}
+
+	@ExceptionHandler (IllegalArgumentException.class)
+	@ResponseStatus (HttpStatus.BAD_REQUEST)
+	public Map<String, String> handleBadRequest(final IllegalArgumentException e) {
+		LOGGER.debug("Rejected REST request: {}", e.getMessage());
+		return Map.of("error", String.valueOf(e.getMessage()));
+	}
+
+	@ExceptionHandler (CEntityNotFoundException.class)
+	@ResponseStatus (HttpStatus.NOT_FOUND)
+	public Map<String, String> handleNotFound(final CEntityNotFoundException e) {
+		return Map.of("error", e.getMessage());
+	}
+
+	@GetMapping ("/projects/{projectId}/{resource}")
+	public void list(@PathVariable final Long projectId, @PathVariable final String resource, @RequestParam (required = false) final Long after,
+			@RequestParam (defaultValue = "" + CRestApiService.DEFAULT_LIMIT) final int limit, @RequestParam (required = false) final String fields,
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		final String etag = restApiService.getListEtag(resource, projectId, after, limit, fields);
+		if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+			return;
+		}
+		prepareJson(response);
+		restApiService.writePage(resource, projectId, after, limit, fields, response.getOutputStream());
+	}
+
+	@GetMapping ("/activities/{activityId}/comments")
+	public void listComments(@PathVariable final Long activityId, @RequestParam (required = false) final String cursor,
+			@RequestParam (defaultValue = "" + CRestApiService.DEFAULT_LIMIT) final int limit, @RequestParam (required = false) final String fields,
+			final HttpServletResponse response) throws IOException {
+		prepareJson(response);
+		restApiService.writeComments(activityId, cursor, limit, fields, response.getOutputStream());
+	}
+
+	@GetMapping ("/{resource}/{id}/history")
+	public void listHistory(@PathVariable final String resource, @PathVariable final Long id, @RequestParam (required = false) final String cursor,
+			@RequestParam (defaultValue = "" + CRestApiService.DEFAULT_LIMIT) final int limit, final HttpServletResponse response) throws IOException {
+		prepareJson(response);
+		restApiService.writeHistory(resource, id, cursor, limit, response.getOutputStream());
+	}
+
+	@GetMapping ("/{resource}/{id}")
+	public void read(@PathVariable final String resource, @PathVariable final Long id, @RequestParam (required = false) final String fields,
+			final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+		if (new ServletWebRequest(request, response).checkNotModified(restApiService.getEntityEtag(resource, id, fields))) {
+			return;
+		}
+		prepareJson(response);
+		restApiService.writeEntity(resource, id, fields, response.getOutputStream());
+	}
+
+	@PatchMapping ("/{resource}/{id}")
+	public void update(@PathVariable final String resource, @PathVariable final Long id, @RequestBody final JsonNode body,
+			final HttpServletResponse response) throws IOException {
+		prepareJson(response);
+		restApiService.update(resource, id, body, response.getOutputStream());
+	}
+}
@@ -0,0 +1,453 @@
+package tech.derbent.api.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.domains.CEntityOfProject;
+import tech.derbent.api.exceptions.CEntityNotFoundException;
+import tech.derbent.api.rest.CRestFieldSet.CRestField;
+import tech.derbent.api.services.CEntityOfProjectService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.audit.domain.CAuditCursor;
+import tech.derbent.audit.domain.CAuditEntry;
+import tech.derbent.audit.domain.CAuditEntry.CFieldChange;
+import tech.derbent.audit.domain.CAuditHistoryPage;
+import tech.derbent.audit.service.CAuditService;
+import tech.derbent.comments.domain.CComment;
+import tech.derbent.comments.domain.CCommentCursor;
+import tech.derbent.comments.domain.CCommentStreamPage;
+import tech.derbent.comments.service.CCommentService;
+import tech.derbent.decisions.domain.CDecision;
+import tech.derbent.decisions.service.CDecisionService;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.service.CMeetingService;
+import tech.derbent.orders.domain.COrder;
+import tech.derbent.orders.service.COrderService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.CProjectService;
+import tech.derbent.risks.domain.CRisk;
+import tech.derbent.risks.service.CRiskService;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.CUserService;
+
+/** CRestApiService - JSON read/write access to the project entities for integrations. Layer: Service (MVC) Every resource is a
+ * CEntityOfProjectService, so saves and deletes run through the same service methods (and their roll-up and workload hooks) as the views.
+ * <ul>
+ * <li>Lists use cursor paging on the id: a page is the next rows after the cursor, read in batches through
+ * {@link CEntityOfProjectService#listByProjectAfter} and written to the response as they are loaded. The persistence context is cleared after
+ * each batch, so memory stays bounded by the batch size regardless of the requested limit.</li>
+ * <li>Fields are chosen with a sparse fieldset over the AMetaData fields, see {@link CRestFieldSet}.</li>
+ * <li>List validators are built from {@link CEntityOfProjectService#getChangeMarker}, single entities from their last modified date, so a
+ * revalidation costs one aggregate query and no serialization.</li>
+ * <li>Bulk writes apply all items in one transaction; a failing item rolls back the whole request.</li>
+ * </ul>
+ */
+@Service
+@PreAuthorize ("isAuthenticated()")
+public class CRestApiService {
+
+	/** One resource of the API. */
+	public record CRestResource(String name, Class<?> entityClass, CEntityOfProjectService<?> service) {}
+
+	public static final int BATCH_SIZE = 100;
+	private static final String CURSOR_SEPARATOR = "|";
+	public static final int DEFAULT_LIMIT = 100;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CRestApiService.class);
+	public static final int MAX_LIMIT = 1000;
+
+	/** Decodes a comment stream cursor written by {@link #encodeCursor(CCommentCursor)}. */
+	static CCommentCursor decodeCursor(final String cursor) {
+		if ((cursor == null) || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			final int separator = decoded.indexOf(CURSOR_SEPARATOR);
+			return new CCommentCursor(LocalDateTime.parse(decoded.substring(0, separator)), Long.valueOf(decoded.substring(separator + 1)));
+		} catch (final RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+		}
+	}
+
+	/** Encodes a comment stream cursor as an opaque URL safe token. */
+	static String encodeCursor(final CCommentCursor cursor) {
+		if (cursor == null) {
+			return null;
+		}
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((cursor.getEventDate() + CURSOR_SEPARATOR + cursor.getId()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/** Weak validator of a representation: the SHA-256 of the parts, the value is opaque to clients. */
+	static String etag(final Object... parts) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (final Object part : parts) {
+				digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+				// separates the parts, so ("ab", "c") and ("a", "bc") differ
+				digest.update((byte) 0);
+			}
+			return "W/\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static int validateLimit(final int limit) {
+		if ((limit < 1) || (limit > MAX_LIMIT)) {
+			throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+		}
+		return limit;
+	}
+
+	private final CAuditService auditService;
+	private final CRestEntityCodec codec;
+	private final CCommentService commentService;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final CProjectService projectService;
+	private final Map<String, CRestResource> resources = new LinkedHashMap<>();
+	private final CUserService userService;
+
+	public CRestApiService(final CActivityService activityService, final CMeetingService meetingService, final CRiskService riskService,
+			final CDecisionService decisionService, final COrderService orderService, final CCommentService commentService,
+			final CProjectService projectService, final CUserService userService, final CAuditService auditService, final ObjectMapper objectMapper,
+			final EntityManager entityManager) {
+		this.commentService = commentService;
+		this.auditService = auditService;
+		this.projectService = projectService;
+		this.userService = userService;
+		this.objectMapper = objectMapper;
+		this.entityManager = entityManager;
+		codec = new CRestEntityCodec(objectMapper, entityManager);
+		register("activities", CActivity.class, activityService);
+		register("meetings", CMeeting.class, meetingService);
+		register("risks", CRisk.class, riskService);
+		register("decisions", CDecision.class, decisionService);
+		register("orders", COrder.class, orderService);
+	}
+
+	/** Creates, or updates when the item has an id, every item of the array in one transaction.
+	 * @param resourceName the resource
+	 * @param projectId    project of created entities
+	 * @param items        JSON array of entity objects
+	 * @return the ids of the saved entities, in item order */
+	@Transactional
+	public List<Long> bulkSave(final String resourceName, final Long projectId, final JsonNode items) {
+		final CRestResource resource = getResource(resourceName);
+		if ((items == null) || !items.isArray()) {
+			throw new IllegalArgumentException("Request body must be a JSON array");
+		}
+		Check.isTrue(items.size() <= MAX_LIMIT, "At most " + MAX_LIMIT + " items per bulk request");
+		final CProject project = getProject(projectId);
+		final List<Long> ids = new ArrayList<>(items.size());
+		int index = 0;
+		for (final JsonNode item : items) {
+			try {
+				final JsonNode id = item.get(CRestFieldSet.ID);
+				ids.add(((id != null) && !id.isNull() ? update(resource, id.asLong(), item) : create(resource, project, item)).getId());
+			} catch (final IllegalArgumentException e) {
+				throw new IllegalArgumentException("Item " + index + ": " + e.getMessage(), e);
+			}
+			index++;
+		}
+		LOGGER.debug("Bulk saved {} {}", ids.size(), resourceName);
+		return ids;
+	}
+
+	/** Soft deletes every entity of the list in one transaction.
+	 * @param resourceName the resource
+	 * @param ids          entity ids
+	 * @return number of deleted entities */
+	@Transactional
+	public int bulkDelete(final String resourceName, final List<Long> ids) {
+		Check.notNull(ids, "Ids cannot be null");
+		Check.isTrue(ids.size() <= MAX_LIMIT, "At most " + MAX_LIMIT + " ids per bulk request");
+		for (final Long id : ids) {
+			delete(resourceName, id);
+		}
+		return ids.size();
+	}
+
+	@SuppressWarnings ({
+			"rawtypes", "unchecked"
+	})
+	private CEntityOfProject<?> create(final CRestResource resource, final CProject project, final JsonNode node) {
+		final JsonNode name = node.get("name");
+		if ((name == null) || !name.isTextual() || name.asText().isBlank()) {
+			throw new IllegalArgumentException("Field name is required");
+		}
+		final CEntityOfProjectService service = resource.service();
+		final CEntityOfProject<?> entity = (CEntityOfProject<?>) service.newEntity(name.asText(), project);
+		codec.apply(entity, node);
+		return (CEntityOfProject<?>) service.save(entity);
+	}
+
+	/** Creates an entity in the project.
+	 * @param resourceName the resource
+	 * @param projectId    the project
+	 * @param node         JSON object with the fields, name is required
+	 * @return id of the created entity */
+	@Transactional
+	public Long create(final String resourceName, final Long projectId, final JsonNode node) {
+		return create(getResource(resourceName), getProject(projectId), node).getId();
+	}
+
+	/** Adds a comment of the authenticated user to the activity and writes it.
+	 * @param activityId the activity
+	 * @param node       JSON object with commentText
+	 * @param out        response stream
+	 * @return id of the created comment */
+	@Transactional
+	public Long createComment(final Long activityId, final JsonNode node, final OutputStream out) throws IOException {
+		final JsonNode text = node != null ? node.get("commentText") : null;
+		if ((text == null) || !text.isTextual() || text.asText().isBlank()) {
+			throw new IllegalArgumentException("Field commentText is required");
+		}
+		final CUser author = userService.findByLogin(SecurityContextHolder.getContext().getAuthentication().getName());
+		Check.notNull(author, "Authenticated user not found");
+		final CComment comment = commentService.createComment(text.asText(), getActivity(activityId), author);
+		writeEntity(comment, CRestFieldSet.of(CComment.class).select(null), out);
+		return comment.getId();
+	}
+
+	/** Soft deletes the entity.
+	 * @param resourceName the resource
+	 * @param id           the entity id */
+	@Transactional
+	@SuppressWarnings ({
+			"rawtypes", "unchecked"
+	})
+	public void delete(final String resourceName, final Long id) {
+		final CEntityOfProjectService service = getResource(resourceName).service();
+		service.deleteWithReflection(getEntity(service, id));
+	}
+
+	private CActivity getActivity(final Long activityId) {
+		return (CActivity) getEntity(getResource("activities").service(), activityId);
+	}
+
+	private CEntityOfProject<?> getEntity(final CEntityOfProjectService<?> service, final Long id) {
+		Check.notNull(id, "Id cannot be null");
+		return service.getById(id).filter(entity -> !Boolean.FALSE.equals(entity.getIsActive()))
+				.orElseThrow(() -> new CEntityNotFoundException("No entity with id " + id));
+	}
+
+	/** Validator of a single entity, based on its last modification. The entity stays in the persistence context of the request, so writing it
+	 * afterwards does not read it again.
+	 * @param resourceName the resource
+	 * @param id           the entity id
+	 * @param fields       the sparse fieldset
+	 * @return the weak ETag */
+	@Transactional (readOnly = true)
+	public String getEntityEtag(final String resourceName, final Long id, final String fields) {
+		final CRestResource resource = getResource(resourceName);
+		CRestFieldSet.of(resource.entityClass()).select(fields);
+		final CEntityOfProject<?> entity = getEntity(resource.service(), id);
+		return etag(resourceName, id, entity.getLastModifiedDate(), fields);
+	}
+
+	/** Validator of a list page: changes whenever a row of the project is saved, soft deleted or deleted.
+	 * @param resourceName the resource
+	 * @param projectId    the project
+	 * @param after        the cursor
+	 * @param limit        the page size
+	 * @param fields       the sparse fieldset
+	 * @return the weak ETag */
+	@Transactional (readOnly = true)
+	public String getListEtag(final String resourceName, final Long projectId, final Long after, final int limit, final String fields) {
+		final CRestResource resource = getResource(resourceName);
+		validateLimit(limit);
+		CRestFieldSet.of(resource.entityClass()).select(fields);
+		return etag(resourceName, projectId, resource.service().getChangeMarker(getProject(projectId)), after, limit, fields);
+	}
+
+	private CProject getProject(final Long projectId) {
+		Check.notNull(projectId, "Project id cannot be null");
+		return projectService.getById(projectId).orElseThrow(() -> new CEntityNotFoundException("No project with id " + projectId));
+	}
+
+	/** Returns the resource with the given name.
+	 * @throws CEntityNotFoundException if there is no such resource */
+	public CRestResource getResource(final String name) {
+		final CRestResource resource = resources.get(name);
+		if (resource == null) {
+			throw new CEntityNotFoundException("Unknown resource: " + name);
+		}
+		return resource;
+	}
+
+	/** Names of all resources, in registration order. */
+	public List<String> getResourceNames() { return List.copyOf(resources.keySet()); }
+
+	private void register(final String name, final Class<?> entityClass, final CEntityOfProjectService<?> service) {
+		Check.notNull(service, "Service of " + name + " cannot be null");
+		resources.put(name, new CRestResource(name, entityClass, service));
+	}
+
+	@SuppressWarnings ({
+			"rawtypes", "unchecked"
+	})
+	private CEntityOfProject<?> update(final CRestResource resource, final Long id, final JsonNode node) {
+		final CEntityOfProjectService service = resource.service();
+		final CEntityOfProject<?> entity = getEntity(service, id);
+		codec.apply(entity, node);
+		return (CEntityOfProject<?>) service.save(entity);
+	}
+
+	/** Updates the fields given in the JSON object and writes the entity.
+	 * @param resourceName the resource
+	 * @param id           the entity id
+	 * @param node         JSON object with the changed fields
+	 * @param out          response stream */
+	@Transactional
+	public void update(final String resourceName, final Long id, final JsonNode node, final OutputStream out) throws IOException {
+		final CRestResource resource = getResource(resourceName);
+		writeEntity(update(resource, id, node), CRestFieldSet.of(resource.entityClass()).select(null), out);
+	}
+
+	/** Writes one page of the comment stream of an activity, newest first: {"items": [...], "nextCursor": token or null}.
+	 * @param activityId the activity
+	 * @param cursor     token of the previous page, null for the newest comments
+	 * @param limit      the page size
+	 * @param fields     the sparse fieldset
+	 * @param out        response stream */
+	@Transactional (readOnly = true)
+	public void writeComments(final Long activityId, final String cursor, final int limit, final String fields, final OutputStream out)
+			throws IOException {
+		final List<CRestField> selected = CRestFieldSet.of(CComment.class).select(fields);
+		final CCommentStreamPage page = commentService.findPageByActivity(getActivity(activityId), decodeCursor(cursor), validateLimit(limit));
+		try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("items");
+			for (final CComment comment : page.getComments()) {
+				codec.write(generator, comment, selected);
+			}
+			generator.writeEndArray();
+			generator.writeStringField("nextCursor", encodeCursor(page.getNextCursor()));
+			generator.writeEndObject();
+		}
+	}
+
+	/** Writes one page of the change history of an entity, newest first: {"items": [{"action", "changedBy", "changedAt", "changes": {"field":
+	 * [old, new]}}], "nextCursor": token or null}. The history of deleted entities stays readable.
+	 * @param resourceName the resource, activities, orders and decisions are audited
+	 * @param id           the entity id
+	 * @param cursor       the cursor of the previous page, null for the newest entries
+	 * @param limit        the page size
+	 * @param out          response stream */
+	public void writeHistory(final String resourceName, final Long id, final String cursor, final int limit, final OutputStream out)
+			throws IOException {
+		final CRestResource resource = getResource(resourceName);
+		Check.notNull(id, "Id cannot be null");
+		final CAuditHistoryPage page = auditService.getHistory(resource.entityClass(), id,
+				(cursor == null) || cursor.isBlank() ? null : CAuditCursor.parse(cursor), validateLimit(limit));
+		try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("items");
+			for (final CAuditEntry entry : page.getEntries()) {
+				generator.writeStartObject();
+				generator.writeStringField("action", entry.action().name());
+				generator.writeStringField("changedBy", entry.changedBy());
+				generator.writeStringField("changedAt", entry.changedAt().toString());
+				generator.writeObjectFieldStart("changes");
+				for (final CFieldChange change : entry.changes()) {
+					generator.writeArrayFieldStart(change.field());
+					generator.writeString(change.oldValue());
+					generator.writeString(change.newValue());
+					generator.writeEndArray();
+				}
+				generator.writeEndObject();
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeStringField("nextCursor", page.hasMore() ? page.getNextCursor().toToken() : null);
+			generator.writeEndObject();
+		}
+	}
+
+	private void writeEntity(final Object entity, final List<CRestField> fields, final OutputStream out) throws IOException {
+		try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			codec.write(generator, (CEntityDB<?>) entity, fields);
+		}
+	}
+
+	/** Writes one entity.
+	 * @param resourceName the resource
+	 * @param id           the entity id
+	 * @param fields       the sparse fieldset
+	 * @param out          response stream */
+	@Transactional (readOnly = true)
+	public void writeEntity(final String resourceName, final Long id, final String fields, final OutputStream out) throws IOException {
+		final CRestResource resource = getResource(resourceName);
+		writeEntity(getEntity(resource.service(), id), CRestFieldSet.of(resource.entityClass()).select(fields), out);
+	}
+
+	/** Streams one cursor page of the active entities of the project: {"items": [...], "nextCursor": id or null}. Rows are loaded and written in
+	 * batches of {@link #BATCH_SIZE}; the generator is flushed and the persistence context cleared after each batch.
+	 * @param resourceName the resource
+	 * @param projectId    the project
+	 * @param after        id of the last entity of the previous page, null for the first page
+	 * @param limit        the page size, at most {@link #MAX_LIMIT}
+	 * @param fields       the sparse fieldset
+	 * @param out          response stream */
+	@Transactional (readOnly = true)
+	public void writePage(final String resourceName, final Long projectId, final Long after, final int limit, final String fields,
+			final OutputStream out) throws IOException {
+		final CRestResource resource = getResource(resourceName);
+		final List<CRestField> selected = CRestFieldSet.of(resource.entityClass()).select(fields);
+		final CProject project = getProject(projectId);
+		validateLimit(limit);
+		int written = 0;
+		Long cursor = after;
+		try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeArrayFieldStart("items");
+			boolean exhausted = false;
+			while (!exhausted && (written < limit)) {
+				final int requested = Math.min(BATCH_SIZE, limit - written);
+				final List<? extends CEntityOfProject<?>> batch = resource.service().listByProjectAfter(project, cursor, requested);
+				for (final CEntityOfProject<?> entity : batch) {
+					codec.write(generator, entity, selected);
+					cursor = entity.getId();
+				}
+				written += batch.size();
+				exhausted = batch.size() < requested;
+				generator.flush();
+				// the written rows are not needed anymore, keep the persistence context at one batch
+				entityManager.clear();
+			}
+			generator.writeEndArray();
+			if (written == limit) {
+				generator.writeNumberField("nextCursor", cursor);
+			} else {
+				generator.writeNullField("nextCursor");
+			}
+			generator.writeEndObject();
+		}
+		LOGGER.debug("Streamed {} {} of project {} after {}", written, resourceName, projectId, after);
+	}
+}
@@ -0,0 +1,155 @@
+package tech.derbent.api.rest;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.api.rest.CRestFieldSet.CRestField;
+import tech.derbent.api.utils.Check;
+
+/** CRestEntityCodec - Reads and writes entities as JSON for the REST API. Layer: Utility Entities are written field by field to a
+ * {@link JsonGenerator}, so a page is streamed to the response instead of being converted to a tree or a list of maps first. References to other
+ * entities are written as {"id", "name"} when loaded and as {"id"} when still a lazy proxy, so writing never triggers a query per row; collections
+ * are written as id arrays. Incoming JSON is applied through the setters of the exposed fields; references are given by id. */
+public final class CRestEntityCodec {
+
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	// values are part of a larger document, the response is flushed by the caller once per batch
+	private final ObjectWriter valueWriter;
+
+	public CRestEntityCodec(final ObjectMapper objectMapper, final EntityManager entityManager) {
+		Check.notNull(objectMapper, "Object mapper cannot be null");
+		Check.notNull(entityManager, "Entity manager cannot be null");
+		this.objectMapper = objectMapper;
+		this.entityManager = entityManager;
+		valueWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	/** Sets the fields given in the JSON object on the entity. The id is ignored, unknown and read only fields are rejected.
+	 * @param entity the entity
+	 * @param node   JSON object with field values
+	 * @throws IllegalArgumentException if a field is unknown, read only or has a value of the wrong type */
+	public void apply(final CEntityDB<?> entity, final JsonNode node) {
+		Check.notNull(entity, "Entity cannot be null");
+		if ((node == null) || !node.isObject()) {
+			throw new IllegalArgumentException("Request body must be a JSON object");
+		}
+		final CRestFieldSet fieldSet = CRestFieldSet.of(entity.getClass());
+		final Iterator<Map.Entry<String, JsonNode>> values = node.fields();
+		while (values.hasNext()) {
+			final Map.Entry<String, JsonNode> value = values.next();
+			if (CRestFieldSet.ID.equals(value.getKey())) {
+				continue;
+			}
+			final CRestField field = fieldSet.get(value.getKey());
+			if (!field.isWritable()) {
+				throw new IllegalArgumentException("Field is read only: " + field.name());
+			}
+			try {
+				field.setter().invoke(entity, convert(field, value.getValue()));
+			} catch (final InvocationTargetException e) {
+				if (e.getCause() instanceof final RuntimeException cause) {
+					throw cause;
+				}
+				throw new IllegalStateException("Failed to set " + field.name(), e.getCause());
+			} catch (final IllegalAccessException e) {
+				throw new IllegalStateException("Failed to set " + field.name(), e);
+			}
+		}
+	}
+
+	private Object convert(final CRestField field, final JsonNode node) {
+		if ((node == null) || node.isNull()) {
+			return null;
+		}
+		if (CEntityDB.class.isAssignableFrom(field.type())) {
+			return reference(field.type(), node);
+		}
+		if (field.isCollection() && (field.elementType() != null) && CEntityDB.class.isAssignableFrom(field.elementType())) {
+			if (!node.isArray()) {
+				throw new IllegalArgumentException("Field " + field.name() + " expects an array of ids");
+			}
+			final Collection<Object> references = Set.class.isAssignableFrom(field.type()) ? new LinkedHashSet<>() : new ArrayList<>();
+			node.forEach(element -> references.add(reference(field.elementType(), element)));
+			return references;
+		}
+		try {
+			return objectMapper.treeToValue(node, field.type());
+		} catch (final IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid value for field " + field.name() + ": " + node, e);
+		}
+	}
+
+	private Object reference(final Class<?> type, final JsonNode node) {
+		final JsonNode id = node.isObject() ? node.get(CRestFieldSet.ID) : node;
+		if ((id == null) || !id.canConvertToLong()) {
+			throw new IllegalArgumentException("Reference to " + type.getSimpleName() + " needs a numeric id: " + node);
+		}
+		final Object entity = entityManager.find(type, id.asLong());
+		if (entity == null) {
+			throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " id: " + id.asLong());
+		}
+		return entity;
+	}
+
+	/** Writes the entity as a JSON object with its id and the given fields.
+	 * @param generator the generator
+	 * @param entity    the entity
+	 * @param fields    the fields to write, see {@link CRestFieldSet#select(String)} */
+	public void write(final JsonGenerator generator, final CEntityDB<?> entity, final List<CRestField> fields) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField(CRestFieldSet.ID, entity.getId());
+		for (final CRestField field : fields) {
+			if (CRestFieldSet.ID.equals(field.name())) {
+				continue;
+			}
+			generator.writeFieldName(field.name());
+			writeValue(generator, field.read(entity));
+		}
+		generator.writeEndObject();
+	}
+
+	private void writeReference(final JsonGenerator generator, final CEntityDB<?> reference) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField(CRestFieldSet.ID, reference.getId());
+		if (Hibernate.isInitialized(reference) && (reference instanceof final CEntityNamed<?> named)) {
+			generator.writeStringField("name", named.getName());
+		}
+		generator.writeEndObject();
+	}
+
+	private void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+		if (value == null) {
+			generator.writeNull();
+		} else if (value instanceof final CEntityDB<?> reference) {
+			writeReference(generator, reference);
+		} else if (value instanceof final Collection<?> collection) {
+			generator.writeStartArray();
+			for (final Object element : collection) {
+				if (element instanceof final CEntityDB<?> reference) {
+					generator.writeNumber(reference.getId());
+				} else {
+					valueWriter.writeValue(generator, element);
+				}
+			}
+			generator.writeEndArray();
+		} else {
+			valueWriter.writeValue(generator, value);
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package tech.derbent.api.rest;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import tech.derbent.api.annotations.AMetaData;
+import tech.derbent.api.utils.CAccessors;
+import tech.derbent.api.utils.Check;
+
+/** CRestFieldSet - The fields of an entity class exposed by the REST API. Layer: Utility Every field annotated with {@link AMetaData} is exposed,
+ * except password and image data fields. The list is built once per class and ordered like the forms (AMetaData order, then name). Values are read
+ * with the cached field getters of {@link CAccessors}; writes go through the public setter so the validation of the entity runs. Fields marked
+ * readOnly, and fields without setter, cannot be written. */
+public final class CRestFieldSet {
+
+	/** One exposed field. The element type is only set for collections of entities. */
+	public record CRestField(String name, Class<?> type, Class<?> elementType, Function<Object, Object> getter, Method setter, int order) {
+
+		public boolean isCollection() { return Collection.class.isAssignableFrom(type); }
+
+		public boolean isWritable() { return setter != null; }
+
+		public Object read(final Object entity) {
+			return getter.apply(entity);
+		}
+	}
+
+	private static final ClassValue<CRestFieldSet> FIELD_SETS = new ClassValue<>() {
+
+		@Override
+		protected CRestFieldSet computeValue(final Class<?> type) {
+			return new CRestFieldSet(type);
+		}
+	};
+	public static final String ID = "id";
+
+	private static Class<?> elementType(final Field field) {
+		if (!Collection.class.isAssignableFrom(field.getType()) || !(field.getGenericType() instanceof final ParameterizedType parameterized)) {
+			return null;
+		}
+		return parameterized.getActualTypeArguments()[0] instanceof final Class<?> element ? element : null;
+	}
+
+	/** Returns the exposed fields of the entity class, built once per class.
+	 * @param entityClass the entity class
+	 * @return the field set */
+	public static CRestFieldSet of(final Class<?> entityClass) {
+		Check.notNull(entityClass, "Entity class cannot be null");
+		return FIELD_SETS.get(entityClass);
+	}
+
+	private final Map<String, CRestField> fields = new LinkedHashMap<>();
+	private final List<CRestField> scalarFields;
+
+	private CRestFieldSet(final Class<?> entityClass) {
+		final List<CRestField> found = new ArrayList<>();
+		for (Class<?> type = entityClass; (type != null) && (type != Object.class); type = type.getSuperclass()) {
+			for (final Field field : type.getDeclaredFields()) {
+				final AMetaData meta = field.getAnnotation(AMetaData.class);
+				if ((meta == null) || Modifier.isStatic(field.getModifiers()) || meta.passwordField() || meta.imageData()
+						|| found.stream().anyMatch(existing -> existing.name().equals(field.getName()))) {
+					continue;
+				}
+				final String setterName = "set" + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+				final Method setter = meta.readOnly() || ID.equals(field.getName()) ? null : CAccessors.method(entityClass, setterName, field.getType());
+				found.add(new CRestField(field.getName(), field.getType(), elementType(field), CAccessors.fieldGetter(field), setter, meta.order()));
+			}
+		}
+		found.sort(Comparator.comparingInt(CRestField::order).thenComparing(CRestField::name));
+		found.forEach(field -> fields.put(field.name(), field));
+		scalarFields = found.stream().filter(field -> !field.isCollection()).toList();
+	}
+
+	/** Returns the field with the given name.
+	 * @param name the field name
+	 * @return the field
+	 * @throws IllegalArgumentException if the field is not exposed */
+	public CRestField get(final String name) {
+		final CRestField field = fields.get(name);
+		if (field == null) {
+			throw new IllegalArgumentException("Unknown field: " + name);
+		}
+		return field;
+	}
+
+	/** All exposed fields, including collections. */
+	public Collection<CRestField> getAll() { return fields.values(); }
+
+	/** Returns the fields of a sparse fieldset. Without selection every field except collections is returned; collections are only written when
+	 * requested, since each one is a further query per entity unless the service fetches it with the page.
+	 * @param selection comma separated field names, null or blank for the default fields
+	 * @return the selected fields in the requested order
+	 * @throws IllegalArgumentException if a name is not exposed */
+	public List<CRestField> select(final String selection) {
+		if ((selection == null) || selection.isBlank()) {
+			return scalarFields;
+		}
+		final List<CRestField> selected = new ArrayList<>();
+		for (final String name : selection.split(",")) {
+			final String trimmed = name.trim();
+			if (!trimmed.isEmpty() && !ID.equals(trimmed)) {
+				selected.add(get(trimmed));
+			}
+		}
+		return selected;
+	}
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.function.Function;
 import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.api.events.CEntityChange;
 import tech.derbent.api.utils.Check;
 import tech.derbent.session.service.ISessionService;
 
@@ -30,6 +31,7 @@ public abstract class CAbstractNamedEntityService<EntityClass extends CEntityNam
 	public EntityClass createEntity(final String name) {
 		final EntityClass entity = newEntity(name);
 		repository.saveAndFlush(entity);
+		publishChange(entity, CEntityChange.Kind.CREATED);
 		return entity;
 	}
 
@@ -10,6 +10,8 @@ import java.util.function.Function;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -18,17 +20,22 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.annotations.CSpringAuxillaries;
+import tech.derbent.api.components.CProfiler;
 import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.EntityChangeEvent;
 import tech.derbent.api.interfaces.ISearchable;
 import tech.derbent.api.utils.CPageableUtils;
 import tech.derbent.api.utils.Check;
 import tech.derbent.session.service.ISessionService;
 
 /** CAbstractService - Abstract base service class for entity operations. Layer: Service (MVC) Provides common CRUD operations and lazy loading
- * support for all entity types. */
+ * support for all entity types. Every save, delete, soft delete and restore publishes an EntityChangeEvent, which CEntityEventBus delivers to the
+ * open UIs after commit. Subclasses that write through the repository directly call {@link #publishChange}. */
 public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass>> {
 
 	protected final Clock clock;
+	protected @Nullable ApplicationEventPublisher eventPublisher;
 	protected final Logger LOGGER = LoggerFactory.getLogger(getClass());
 	protected final IAbstractRepository<EntityClass> repository;
 	protected @Nullable ISessionService sessionService;
@@ -95,7 +102,9 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 
 	public long count() {
 		// LOGGER.debug("Counting entities in {}", getClass().getSimpleName());
-		return repository.count();
+		try (CProfiler.CSpan span = profile("count")) {
+			return repository.count();
+		}
 	}
 
 	@Transactional
@@ -103,6 +112,7 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		try {
 			final EntityClass entity = newEntity();
 			repository.saveAndFlush(entity);
+			publishChange(entity, CEntityChange.Kind.CREATED);
 			return entity;
 		} catch (final Exception e) {
 			throw new RuntimeException("Failed to create instance of " + getEntityClass().getName(), e);
@@ -115,37 +125,40 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		Check.notNull(entity.getId(), "Entity ID cannot be null");
 		LOGGER.debug("Deleting entity: {}", CSpringAuxillaries.safeToString(entity));
 		repository.deleteById(entity.getId());
+		publishChange(entity, CEntityChange.Kind.DELETED);
 	}
 
 	@Transactional
 	public void delete(final Long id) {
 		Check.notNull(id, "Entity ID cannot be null");
 		LOGGER.debug("Deleting entity with ID: {}", id);
+		// deleteById loads the entity anyway, the event needs its project
+		final Optional<EntityClass> entity = repository.findById(id);
 		repository.deleteById(id);
+		entity.ifPresent(deleted -> publishChange(deleted, CEntityChange.Kind.DELETED));
 	}
 
 	public void deleteAllInBatch() {
 		repository.deleteAllInBatch();
 	}
 
-	/** Enhanced delete method that attempts soft delete using reflection before hard delete.
+	/** Soft delete: marks the entity inactive instead of removing the row, see {@link CEntityDB#performSoftDelete()}. Falls back to a hard delete
+	 * only for entities that refuse the soft delete.
 	 * @param entity the entity to delete */
 	@Transactional
 	public void deleteWithReflection(final EntityClass entity) {
 		Check.notNull(entity, "Entity cannot be null");
-		// Try soft delete first using reflection
 		if (entity.performSoftDelete()) {
-			// Soft delete was successful, save the entity
 			repository.save(entity);
 			LOGGER.info("Performed soft delete for entity: {}", entity.getClass().getSimpleName());
 		} else {
-			// No soft delete field found, perform hard delete
 			repository.delete(entity);
 			LOGGER.info("Performed hard delete for entity: {}", entity.getClass().getSimpleName());
 		}
+		publishChange(entity, CEntityChange.Kind.DELETED);
 	}
 
-	/** Enhanced delete by ID method that attempts soft delete using reflection.
+	/** Soft delete by ID, see {@link #deleteWithReflection(CEntityDB)}.
 	 * @param id the ID of the entity to delete */
 	@Transactional
 	public void deleteWithReflection(final Long id) {
@@ -153,6 +166,19 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		deleteWithReflection(entity);
 	}
 
+	/** Makes a soft deleted entity active again. Entities already moved to the archive tables cannot be restored this way.
+	 * @param entity the entity to restore
+	 * @return the saved entity */
+	@Transactional
+	public EntityClass restore(final EntityClass entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		entity.performRestore();
+		LOGGER.info("Restored entity: {}", entity.getClass().getSimpleName());
+		final EntityClass restored = repository.save(entity);
+		publishChange(restored, CEntityChange.Kind.CREATED);
+		return restored;
+	}
+
 	@PreAuthorize ("permitAll()")
 	public List<EntityClass> findAll() {
 		return repository.findAll();
@@ -225,9 +251,9 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		// Validate and fix pageable to prevent "max-results cannot be negative" error
 		final Pageable safePage = CPageableUtils.validateAndFix(pageable);
 		// LOGGER.debug("Listing entities with pageable: {}", safePage);
-		final Page<EntityClass> entities = repository.findAll(safePage);
-		// Initialize lazy fields for all entities
-		return entities;
+		try (CProfiler.CSpan span = profile("list")) {
+			return repository.findAll(safePage);
+		}
 	}
 
 	@Transactional (readOnly = true)
@@ -236,9 +262,9 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		// Validate and fix pageable to prevent "max-results cannot be negative" error
 		final Pageable safePage = CPageableUtils.validateAndFix(pageable);
 		// LOGGER.debug("Listing entities with filter and pageable");
-		final Page<EntityClass> page = repository.findAll(filter, safePage);
-		// Initialize lazy fields for all entities in the page
-		return page;
+		try (CProfiler.CSpan span = profile("list")) {
+			return repository.findAll(filter, safePage);
+		}
 	}
 
 	@Transactional (readOnly = true)
@@ -246,7 +272,10 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		final Pageable safePage = CPageableUtils.validateAndFix(pageable);
 		final String term = (searchText == null) ? "" : searchText.trim();
 		// Pull all for project (ensure repo method DOES NOT fetch to-many relations!)
-		final List<EntityClass> all = repository.findAll(Pageable.unpaged()).getContent();
+		final List<EntityClass> all;
+		try (CProfiler.CSpan span = profile("list")) {
+			all = repository.findAll(Pageable.unpaged()).getContent();
+		}
 		final boolean searchable = ISearchable.class.isAssignableFrom(getEntityClass());
 		final List<EntityClass> filtered = (term.isEmpty() || !searchable) ? all : all.stream().filter(e -> ((ISearchable) e).matches(term)).toList();
 		// --- apply sort from Pageable (name/id supported here; override to extend)
@@ -258,6 +287,13 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		return new PageImpl<>(content, safePage, filtered.size());
 	}
 
+	/** Starts a profiler span for a repository operation of this service, tagged with the service class and the operation name.
+	 * @param operation the operation, e.g. list, count or save
+	 * @return the span, to be closed with try-with-resources */
+	protected CProfiler.CSpan profile(final String operation) {
+		return CProfiler.start(CProfiler.METRIC_SERVICE, "service", getClass().getSimpleName(), "operation", operation);
+	}
+
 	public EntityClass newEntity() {
 		try {
 			// Get constructor that takes a String parameter and invoke it with the name
@@ -277,12 +313,32 @@ public abstract class CAbstractService<EntityClass extends CEntityDB<EntityClass
 		return true;
 	}
 
+	/** Publishes the change of an entity, delivered to the open UIs after the transaction commits.
+	 * @param entity the saved or deleted entity
+	 * @param kind   the kind of change */
+	protected void publishChange(final EntityClass entity, final CEntityChange.Kind kind) {
+		if ((eventPublisher == null) || (entity == null) || (entity.getId() == null)) {
+			return;
+		}
+		eventPublisher.publishEvent(new EntityChangeEvent(this, CEntityChange.of(entity, kind)));
+	}
+
 	@Transactional
 	public EntityClass save(final EntityClass entity) {
 		Check.notNull(entity, "Entity cannot be null");
-		return repository.save(entity);
+		final CEntityChange.Kind kind = entity.getId() == null ? CEntityChange.Kind.CREATED : CEntityChange.Kind.UPDATED;
+		final EntityClass saved;
+		try (CProfiler.CSpan span = profile("save")) {
+			saved = repository.save(entity);
+		}
+		publishChange(saved, kind);
+		return saved;
 	}
 
+	/** Sets the publisher of entity change events. Injected by Spring; a service created without a context publishes nothing. */
+	@Autowired
+	public void setEventPublisher(final ApplicationEventPublisher eventPublisher) { this.eventPublisher = eventPublisher; }
+
 	/** Sets the session service. This method is used to break circular dependencies through configuration classes. */
 	public void setSessionService(final ISessionService sessionService) {
 		this.sessionService = sessionService;
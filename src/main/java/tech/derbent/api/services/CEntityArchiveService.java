@@ -0,0 +1,236 @@
+package tech.derbent.api.services;
+
+import java.sql.Connection;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.persistence.EntityManagerFactory;
+import tech.derbent.api.domains.CEntityOfProject;
+import tech.derbent.api.utils.Check;
+
+/** CEntityArchiveService - Keeps the operational tables of project entities small. Layer: Service (MVC) Soft deleted rows (is_active = false, see
+ * CEntityDB.performSoftDelete) that were not modified for derbent.archive.inactive-days are moved to a mirror table named table_archive, which
+ * has the columns of the live table plus archived_date. Rows still referenced by a foreign key stay in the live table and are retried on the next
+ * run. The {@link IArchiveListener} beans remove what a batch contributes to derived stores, such as roll-ups and the closure table, in the
+ * transaction of the batch. On PostgreSQL a partial index on project_id over the active rows is created for every project entity table, so the listing queries of
+ * IEntityOfProjectRepository never read soft deleted rows. Settings:
+ * <ul>
+ * <li>derbent.archive.enabled - CArchiveJob runs the archiver on derbent.archive.cron, default false</li>
+ * <li>derbent.archive.cron - schedule of the archiver, default daily at 03:30</li>
+ * <li>derbent.archive.inactive-days - days a row stays inactive before it is archived, default 180</li>
+ * <li>derbent.archive.batch-size - rows moved per transaction, default 500</li>
+ * </ul>
+ */
+@Service
+public class CEntityArchiveService {
+
+	/** Live table of a project entity with the columns the archiver needs. The table name is used as Hibernate renders it, quoted if the mapping
+	 * quotes it. */
+	public record CArchivedTable(String table, String idColumn, Class<?> entityClass) {
+
+		/** Returns the archive table name, quoted like the live table. */
+		public String archiveTable() {
+			return isQuoted() ? table.substring(0, table.length() - 1) + ARCHIVE_SUFFIX + "\"" : table + ARCHIVE_SUFFIX;
+		}
+
+		private boolean isQuoted() { return table.startsWith("\"") && table.endsWith("\""); }
+
+		/** Returns the table name without quotes. */
+		public String name() {
+			return isQuoted() ? table.substring(1, table.length() - 1) : table;
+		}
+	}
+
+	public static final String ARCHIVE_SUFFIX = "_archive";
+	private static final String ARCHIVED_DATE_COLUMN = "archived_date";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CEntityArchiveService.class);
+	private final int batchSize;
+	private final Clock clock;
+	private final DataSource dataSource;
+	private final boolean enabled;
+	private final EntityManagerFactory entityManagerFactory;
+	private final int inactiveDays;
+	private final JdbcTemplate jdbcTemplate;
+	private final List<IArchiveListener> listeners;
+	private List<CArchivedTable> tables;
+	private final TransactionTemplate transactionTemplate;
+
+	public CEntityArchiveService(final DataSource dataSource, final EntityManagerFactory entityManagerFactory,
+			final PlatformTransactionManager transactionManager, final Clock clock, final List<IArchiveListener> listeners, @Value ("${derbent.archive.enabled:false}") final boolean enabled,
+			@Value ("${derbent.archive.inactive-days:180}") final int inactiveDays, @Value ("${derbent.archive.batch-size:500}") final int batchSize) {
+		Check.isTrue(inactiveDays >= 0, "Inactive days cannot be negative");
+		Check.isTrue(batchSize > 0, "Batch size must be positive");
+		this.dataSource = dataSource;
+		this.entityManagerFactory = entityManagerFactory;
+		this.clock = clock;
+		this.enabled = enabled;
+		this.inactiveDays = inactiveDays;
+		this.batchSize = batchSize;
+		this.listeners = listeners;
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		// every batch commits on its own, independent of a caller's transaction
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/** Moves the rows of all project entity tables that are inactive and unmodified since the cutoff into the archive tables.
+	 * @param cutoff rows last modified before this time are archived
+	 * @return number of archived rows */
+	public int archiveInactive(final LocalDateTime cutoff) {
+		Check.notNull(cutoff, "Cutoff cannot be null");
+		int archived = 0;
+		for (final CArchivedTable table : getTables()) {
+			try {
+				archived += archiveTable(table, cutoff);
+			} catch (final DataAccessException e) {
+				LOGGER.error("Archiving {} failed: {}", table.table(), e.getMessage(), e);
+			}
+		}
+		LOGGER.info("Archived {} inactive rows modified before {}", archived, cutoff);
+		return archived;
+	}
+
+	private int archiveTable(final CArchivedTable table, final LocalDateTime cutoff) {
+		final List<String> columns = prepareArchiveTable(table);
+		final String columnList = String.join(", ", columns);
+		final Timestamp cutoffTimestamp = Timestamp.valueOf(cutoff);
+		int archived = 0;
+		long lastId = 0;
+		while (true) {
+			// keyset paging, so rows kept back by a foreign key are not selected again
+			final List<Long> ids = jdbcTemplate.queryForList(
+					"SELECT " + table.idColumn() + " FROM " + table.table() + " WHERE is_active = false AND last_modified_date < ? AND "
+							+ table.idColumn() + " > ? ORDER BY " + table.idColumn() + " FETCH FIRST " + batchSize + " ROWS ONLY",
+					Long.class, cutoffTimestamp, lastId);
+			if (ids.isEmpty()) {
+				return archived;
+			}
+			lastId = ids.get(ids.size() - 1);
+			try {
+				archived += moveRows(table, columnList, ids);
+			} catch (final DataIntegrityViolationException e) {
+				// at least one row is still referenced, move the batch row by row
+				for (final Long id : ids) {
+					try {
+						archived += moveRows(table, columnList, List.of(id));
+					} catch (final DataIntegrityViolationException referenced) {
+						LOGGER.debug("Kept {} {} in place, it is still referenced", table.table(), id);
+					}
+				}
+			}
+		}
+	}
+
+	/** Creates the partial indexes over the active rows on PostgreSQL. Other databases keep the plain project_id foreign key index. */
+	@EventListener (ApplicationReadyEvent.class)
+	public void createActiveRowIndexes() {
+		if (!isPostgreSql()) {
+			LOGGER.debug("Partial indexes are only created on PostgreSQL");
+			return;
+		}
+		for (final CArchivedTable table : getTables()) {
+			try {
+				jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + table.name() + "_active_project_idx ON " + table.table() + " (project_id, "
+						+ table.idColumn() + ") WHERE is_active = true");
+			} catch (final DataAccessException e) {
+				LOGGER.warn("Could not create the active row index of {}: {}", table.table(), e.getMessage());
+			}
+		}
+	}
+
+	private List<String> getColumns(final String table) {
+		return jdbcTemplate.query("SELECT * FROM " + table + " WHERE 1 = 0", resultSet -> {
+			final ResultSetMetaData metaData = resultSet.getMetaData();
+			final List<String> columns = new ArrayList<>();
+			for (int i = 1; i <= metaData.getColumnCount(); i++) {
+				columns.add(metaData.getColumnName(i).toLowerCase(Locale.ROOT));
+			}
+			return columns;
+		});
+	}
+
+	/** Returns the tables of all project entities, resolved from the Hibernate metamodel on first use. */
+	public List<CArchivedTable> getTables() {
+		if (tables == null) {
+			final Map<String, CArchivedTable> byTable = new TreeMap<>();
+			entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(persister -> {
+				if (CEntityOfProject.class.isAssignableFrom(persister.getMappedClass())
+						&& (persister instanceof final AbstractEntityPersister entityPersister)) {
+					final String table = entityPersister.getTableName();
+					byTable.put(table, new CArchivedTable(table, entityPersister.getIdentifierColumnNames()[0], persister.getMappedClass()));
+				}
+			});
+			tables = Collections.unmodifiableList(new ArrayList<>(byTable.values()));
+		}
+		return tables;
+	}
+
+	private boolean isPostgreSql() {
+		try (Connection connection = dataSource.getConnection()) {
+			return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgresql");
+		} catch (final SQLException e) {
+			LOGGER.warn("Could not read the database product name: {}", e.getMessage());
+			return false;
+		}
+	}
+
+	private int moveRows(final CArchivedTable table, final String columnList, final List<Long> ids) {
+		final String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(", "));
+		final Integer moved = transactionTemplate.execute(status -> {
+			listeners.forEach(listener -> listener.onArchiving(table.entityClass(), ids));
+			jdbcTemplate.update("INSERT INTO " + table.archiveTable() + " (" + columnList + ", " + ARCHIVED_DATE_COLUMN + ") SELECT " + columnList
+					+ ", ? FROM " + table.table() + " WHERE " + table.idColumn() + " IN (" + idList + ")", Timestamp.valueOf(LocalDateTime.now(clock)));
+			return jdbcTemplate.update("DELETE FROM " + table.table() + " WHERE " + table.idColumn() + " IN (" + idList + ")");
+		});
+		return moved == null ? 0 : moved;
+	}
+
+	/** Creates the archive table on first use and returns the columns shared by the live and the archive table. Columns added to the entity later
+	 * are not archived until they are added to the archive table by hand. */
+	private List<String> prepareArchiveTable(final CArchivedTable table) {
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.archiveTable() + " AS SELECT * FROM " + table.table() + " WHERE 1 = 0");
+		jdbcTemplate.execute("ALTER TABLE " + table.archiveTable() + " ADD COLUMN IF NOT EXISTS " + ARCHIVED_DATE_COLUMN + " TIMESTAMP");
+		final List<String> archiveColumns = getColumns(table.archiveTable());
+		final List<String> columns = new ArrayList<>();
+		for (final String column : getColumns(table.table())) {
+			if (archiveColumns.contains(column)) {
+				columns.add(column);
+			} else {
+				LOGGER.warn("Column {}.{} is missing in {} and is not archived", table.table(), column, table.archiveTable());
+			}
+		}
+		return columns;
+	}
+
+	/** Archives the rows inactive for more than derbent.archive.inactive-days, the scheduled run of CArchiveJob.
+	 * @return number of archived rows */
+	public int archiveDue() {
+		return archiveInactive(LocalDateTime.now(clock).minusDays(inactiveDays));
+	}
+
+	public boolean isEnabled() { return enabled; }
+}
@@ -1,13 +1,21 @@
 package tech.derbent.api.services;
 
 import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.api.components.CProfiler;
 import tech.derbent.api.domains.CEntityOfProject;
+import tech.derbent.api.events.CEntityChange;
 import tech.derbent.api.interfaces.ISearchable;
 import tech.derbent.api.utils.CPageableUtils;
 import tech.derbent.api.utils.Check;
@@ -42,7 +50,7 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 	@Transactional (readOnly = true)
 	public long countByProject(final CProject project) {
 		Check.notNull(project, "Project cannot be null");
-		try {
+		try (CProfiler.CSpan span = profile("count")) {
 			return ((IEntityOfProjectRepository<EntityClass>) repository).countByProject(project);
 		} catch (final Exception e) {
 			LOGGER.error("Error counting entities by project '{}' in {}: {}", project.getName(), getClass().getSimpleName(), e.getMessage(), e);
@@ -50,12 +58,23 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 		}
 	}
 
+	/** Counts the entities of every project with one grouped statement instead of one count per project.
+	 * @return entity count by project id, projects without entities are missing */
+	@Transactional (readOnly = true)
+	public Map<Long, Long> countByProjects() {
+		try (CProfiler.CSpan span = profile("countByProjects")) {
+			return ((IEntityOfProjectRepository<EntityClass>) repository).countGroupedByProject().stream()
+					.collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+		}
+	}
+
 	public EntityClass createEntity(final String name, final CProject project) {
 		try {
 			Check.notNull(project, "Project cannot be null");
 			Check.notBlank(name, "Entity name cannot be null or empty");
 			final EntityClass entity = newEntity(name, project);
 			repository.saveAndFlush(entity);
+			publishChange(entity, CEntityChange.Kind.CREATED);
 			return entity;
 		} catch (final Exception e) {
 			throw new RuntimeException("Failed to create instance of " + getEntityClass().getName(), e);
@@ -82,6 +101,21 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 		}
 	}
 
+	/** Validator of the list responses of a project: the number of active rows and the latest modification of any row. Changes on every save,
+	 * soft delete and hard delete, so REST clients can revalidate a cached list with one aggregate query.
+	 * @param project the project
+	 * @return the marker, e.g. 42-2026-01-31T10:15:30 */
+	@Transactional (readOnly = true)
+	public String getChangeMarker(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		final List<Object[]> rows = ((IEntityOfProjectRepository<EntityClass>) repository).findChangeMarker(project);
+		if (rows.isEmpty()) {
+			return "0-0";
+		}
+		final LocalDateTime latest = (LocalDateTime) rows.get(0)[1];
+		return rows.get(0)[0] + "-" + (latest != null ? latest : "0");
+	}
+
 	public EntityClass getRandom(final CProject project) {
 		Check.notNull(project, "Project cannot be null");
 		final List<EntityClass> all = listByProject(project);
@@ -111,7 +145,7 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 	@Transactional (readOnly = true)
 	public List<EntityClass> listByProject(final CProject project) {
 		Check.notNull(project, "Project cannot be null");
-		try {
+		try (CProfiler.CSpan span = profile("list")) {
 			final List<EntityClass> entities = ((IEntityOfProjectRepository<EntityClass>) repository).listByProject(project);
 			return entities;
 		} catch (final RuntimeException ex) {
@@ -124,7 +158,7 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 	public Page<EntityClass> listByProject(final CProject project, final Pageable pageable) {
 		Check.notNull(project, "Project cannot be null");
 		final Pageable safe = CPageableUtils.validateAndFix(pageable);
-		try {
+		try (CProfiler.CSpan span = profile("list")) {
 			return ((IEntityOfProjectRepository<EntityClass>) repository).listByProject(project, safe);
 		} catch (final RuntimeException ex) {
 			LOGGER.error("findByProject failed (project: {}, page: {}): {}", Optional.ofNullable(project.getName()).orElse("<no-name>"), safe,
@@ -133,6 +167,49 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 		}
 	}
 
+	/** Cursor paging: the next active entities of the project after the given id, in id order. Pages the ids in the database and loads the rows
+	 * through {@link #listByIds(List)}, so the page stays stable while rows are added and no OFFSET is scanned.
+	 * @param project the project
+	 * @param afterId id of the last entity of the previous page, null for the first page
+	 * @param limit   maximum number of entities
+	 * @return the entities in id order */
+	@Transactional (readOnly = true)
+	public List<EntityClass> listByProjectAfter(final CProject project, final Long afterId, final int limit) {
+		Check.notNull(project, "Project cannot be null");
+		Check.isTrue(limit > 0, "Limit must be positive");
+		try (CProfiler.CSpan span = profile("list")) {
+			return listByIds(((IEntityOfProjectRepository<EntityClass>) repository).listIdsByProjectAfter(project, afterId != null ? afterId : 0L,
+					PageRequest.of(0, limit)));
+		}
+	}
+
+	/** Two-phase paging for entities with to-many collections: pages the ids in the database, then loads only the entities of that page through
+	 * {@link #listByIds(List)}. Subclasses whose repository fetch-joins collections call this from listByProject instead of combining the fetch joins
+	 * with a Pageable, which would make Hibernate paginate the whole result in memory.
+	 * @param project  the project
+	 * @param pageable the page request
+	 * @return the page */
+	protected Page<EntityClass> listByProjectInTwoPhases(final CProject project, final Pageable pageable) {
+		Check.notNull(project, "Project cannot be null");
+		final Pageable safe = CPageableUtils.validateAndFix(pageable);
+		try (CProfiler.CSpan span = profile("list")) {
+			final Page<Long> ids = ((IEntityOfProjectRepository<EntityClass>) repository).listIdsByProject(project, safe);
+			return new PageImpl<>(listByIds(ids.getContent()), safe, ids.getTotalElements());
+		}
+	}
+
+	/** Loads the entities with the given ids in the order of the ids. Override to fetch further collections of the same entities.
+	 * @param ids the entity ids
+	 * @return the entities, in id list order */
+	protected List<EntityClass> listByIds(final List<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		final Map<Long, EntityClass> byId = ((IEntityOfProjectRepository<EntityClass>) repository).listByIds(ids).stream()
+				.collect(Collectors.toMap(EntityClass::getId, Function.identity(), (first, second) -> first));
+		return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+	}
+
 	@Transactional (readOnly = true)
 	public Page<EntityClass> listByProject(final CProject project, final Pageable pageable, final String searchText) {
 		LOGGER.debug("Listing entities for project:'{}' with search text: '{}'", project != null ? project.getName() : "<null>", searchText);
@@ -140,7 +217,10 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 		final Pageable safePage = CPageableUtils.validateAndFix(pageable);
 		final String term = (searchText == null) ? "" : searchText.trim();
 		// Pull all for project (ensure repo method DOES NOT fetch to-many relations!)
-		final List<EntityClass> all = ((IEntityOfProjectRepository<EntityClass>) repository).listByProject(project, Pageable.unpaged()).getContent();
+		final List<EntityClass> all;
+		try (CProfiler.CSpan span = profile("list")) {
+			all = ((IEntityOfProjectRepository<EntityClass>) repository).listByProject(project, Pageable.unpaged()).getContent();
+		}
 		final boolean searchable = ISearchable.class.isAssignableFrom(getEntityClass());
 		final List<EntityClass> filtered = (term.isEmpty() || !searchable) ? all : all.stream().filter(e -> ((ISearchable) e).matches(term)).toList();
 		// --- apply sort from Pageable (name/id supported here; override to extend)
@@ -200,8 +280,10 @@ public abstract class CEntityOfProjectService<EntityClass extends CEntityOfProje
 			throw new IllegalArgumentException(
 					"Entity with name '" + trimmedName + "' already exists in project '" + entity.getProject().getName() + "'");
 		}
+		final CEntityChange.Kind kind = entity.getId() == null ? CEntityChange.Kind.CREATED : CEntityChange.Kind.UPDATED;
 		try {
 			final EntityClass savedStatus = repository.save(entity);
+			publishChange(savedStatus, kind);
 			return savedStatus;
 		} catch (final Exception e) {
 			LOGGER.error("save(entity={}) - Error saving entity: {}", entity.getId(), e.getMessage(), e);
@@ -1,3 +0,0 @@
-package tech.derbent.api.services;
-public class CParentChildRelationRepository {
-}
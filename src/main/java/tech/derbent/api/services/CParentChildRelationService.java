@@ -1,3 +1,247 @@
 package tech.derbent.api.services;
-public class CParentChildRelationService {
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.util.ProxyUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import tech.derbent.api.domains.CHierarchyAggregate;
+import tech.derbent.api.domains.CParentChildRelation;
+import tech.derbent.api.domains.CProjectItem;
+import tech.derbent.api.utils.Check;
+import tech.derbent.projects.domain.CProject;
+
+/** CParentChildRelationService - Maintains the closure table of the project item hierarchy. Layer: Service (MVC) The parent of a project item is
+ * still stored as parentId/parentType on the item itself; this service mirrors it into CParentChildRelation rows for every ancestor/descendant pair.
+ * Re-parenting a node only rewrites the rows that connect its subtree to its old and new ancestors, so the cost is proportional to (ancestors x
+ * subtree size) and independent of the size of the rest of the tree. Nodes are identified by their entity simple class name and id, matching
+ * CProjectItem.setParent, so activities, pages and any future project item type can be mixed in one hierarchy. An empty table is built from the
+ * parent columns at startup, and CAggregateRebuildJob rebuilds it to repair any drift. */
+@Service
+@Transactional (readOnly = true)
+public class CParentChildRelationService extends CAbstractService<CParentChildRelation> implements IArchiveListener {
+
+	/** A node of the hierarchy, keyed like the closure rows. */
+	private record CNode(String type, Long id) {}
+
+	/** Returns the type name used for the given item in the hierarchy. */
+	public static String getNodeType(final Object item) {
+		Check.notNull(item, "Item cannot be null");
+		return ProxyUtils.getUserClass(item).getSimpleName();
+	}
+
+	@PersistenceContext
+	private EntityManager entityManager;
+	private List<String> itemEntityNames;
+
+	public CParentChildRelationService(final IParentChildRelationRepository repository, final Clock clock) {
+		super(repository, clock);
+	}
+
+	/** Ancestors of the node ordered from the direct parent (depth 1) up to the root. */
+	public List<CParentChildRelation> getAncestors(final String type, final Long id) {
+		Check.notBlank(type, "Type cannot be blank");
+		Check.notNull(id, "Id cannot be null");
+		return getRelationRepository().findAncestors(type, id);
+	}
+
+	/** Depth of every activity of the project keyed by activity id, computed in one query. Root activities are not part of the map.
+	 * @param project the project
+	 * @return map of activity id to hierarchy depth */
+	public Map<Long, Integer> getActivityDepths(final CProject project) {
+		Check.notNull(project, "Project cannot be null");
+		final Map<Long, Integer> depths = new HashMap<>();
+		for (final Object[] row : getRelationRepository().findActivityDepths(project)) {
+			depths.put((Long) row[0], ((Number) row[1]).intValue());
+		}
+		return depths;
+	}
+
+	/** Rolled-up hours, cost and progress of all activities below the given item, computed by the database in one query.
+	 * @param root the subtree root, which is not included in the aggregate
+	 * @return the subtree aggregate */
+	public CHierarchyAggregate getActivitySubtreeAggregate(final CProjectItem<?> root) {
+		Check.notNull(root, "Root cannot be null");
+		Check.notNull(root.getId(), "Root must be persisted");
+		return getRelationRepository().sumActivitySubtree(getNodeType(root), root.getId());
+	}
+
+	/** Depth of the node in the hierarchy, 0 for root nodes. */
+	public int getDepth(final String type, final Long id) {
+		Check.notBlank(type, "Type cannot be blank");
+		Check.notNull(id, "Id cannot be null");
+		return getRelationRepository().findDepth(type, id);
+	}
+
+	/** All descendants of the node ordered by depth. */
+	public List<CParentChildRelation> getDescendants(final String type, final Long id) {
+		Check.notBlank(type, "Type cannot be blank");
+		Check.notNull(id, "Id cannot be null");
+		return getRelationRepository().findDescendants(type, id);
+	}
+
+	@Override
+	protected Class<CParentChildRelation> getEntityClass() { return CParentChildRelation.class; }
+
+	/** Entity names of the project item classes, which are also their node types. Resolved from the metamodel on first use. */
+	private List<String> getItemEntityNames() {
+		if (itemEntityNames == null) {
+			itemEntityNames = entityManager.getMetamodel().getEntities().stream()
+					.filter(type -> CProjectItem.class.isAssignableFrom(type.getJavaType())).map(EntityType::getName).sorted().toList();
+		}
+		return itemEntityNames;
+	}
+
+	private IParentChildRelationRepository getRelationRepository() { return (IParentChildRelationRepository) repository; }
+
+	/** Builds the closure rows at startup if the table is empty, for hierarchies written before the table existed. */
+	@EventListener (ApplicationReadyEvent.class)
+	@Transactional
+	public void initializeIndex() {
+		if (repository.count() == 0) {
+			rebuild();
+		}
+	}
+
+	/** Moves a node (with its whole subtree) below a new parent, or makes it a root when parentType/parentId are null.
+	 * @param childType  the node type
+	 * @param childId    the node id
+	 * @param parentType the new parent type, or null
+	 * @param parentId   the new parent id, or null */
+	@Transactional
+	public void moveNode(final String childType, final Long childId, final String parentType, final Long parentId) {
+		Check.notBlank(childType, "Child type cannot be blank");
+		Check.notNull(childId, "Child id cannot be null");
+		final List<CParentChildRelation> subtree = getRelationRepository().findDescendants(childType, childId);
+		if ((parentType != null) && (parentId != null)) {
+			Check.isTrue(!(parentType.equals(childType) && parentId.equals(childId)), "An item cannot be parent of itself");
+			Check.isTrue(subtree.stream().noneMatch(r -> r.getChildType().equals(parentType) && r.getChildId().equals(parentId)),
+					"An item cannot be moved below one of its own descendants");
+		}
+		final List<CParentChildRelation> oldAncestors = getRelationRepository().findAncestors(childType, childId);
+		// subtree members grouped by type, including the node itself
+		final Map<String, List<Long>> subtreeIdsByType =
+				subtree.stream().collect(Collectors.groupingBy(CParentChildRelation::getChildType, HashMap::new,
+						Collectors.mapping(CParentChildRelation::getChildId, Collectors.toList())));
+		subtreeIdsByType.computeIfAbsent(childType, key -> new ArrayList<>()).add(childId);
+		// 1. detach the subtree from all of its old ancestors
+		for (final CParentChildRelation ancestor : oldAncestors) {
+			for (final Map.Entry<String, List<Long>> entry : subtreeIdsByType.entrySet()) {
+				getRelationRepository().deleteLinks(ancestor.getParentType(), ancestor.getParentId(), entry.getKey(), entry.getValue());
+			}
+		}
+		if ((parentType == null) || (parentId == null)) {
+			LOGGER.debug("Node {}#{} is now a root, {} subtree links detached", childType, childId, oldAncestors.size());
+			return;
+		}
+		// 2. attach the subtree to the new parent and all of its ancestors
+		final List<CParentChildRelation> newAncestors = new ArrayList<>();
+		newAncestors.add(new CParentChildRelation(childId, childType, parentId, parentType, 0));
+		newAncestors.addAll(getRelationRepository().findAncestors(parentType, parentId));
+		final List<CParentChildRelation> links = new ArrayList<>();
+		for (final CParentChildRelation ancestor : newAncestors) {
+			// ancestor depth relative to the new parent: the parent itself is 0
+			final int ancestorDepth = ancestor.getDepth();
+			links.add(new CParentChildRelation(childId, childType, ancestor.getParentId(), ancestor.getParentType(), ancestorDepth + 1));
+			for (final CParentChildRelation descendant : subtree) {
+				links.add(new CParentChildRelation(descendant.getChildId(), descendant.getChildType(), ancestor.getParentId(), ancestor.getParentType(),
+						ancestorDepth + descendant.getDepth() + 1));
+			}
+		}
+		repository.saveAll(links);
+		LOGGER.debug("Node {}#{} moved below {}#{}, {} links written", childType, childId, parentType, parentId, links.size());
+	}
+
+	/** Removes archived project items from the hierarchy, their rows would otherwise point at items no longer in the live table. */
+	@Override
+	@Transactional
+	public void onArchiving(final Class<?> entityClass, final List<Long> ids) {
+		if (!CProjectItem.class.isAssignableFrom(entityClass)) {
+			return;
+		}
+		for (final Long id : ids) {
+			removeNode(entityClass.getSimpleName(), id);
+		}
+	}
+
+	/** Recomputes all closure rows from the parentId/parentType columns of every project item type, read as id triples without loading the
+	 * items. Only needed to initialize or repair the index, normal changes are applied per node.
+	 * @return number of written rows */
+	@Transactional
+	public int rebuild() {
+		final Map<CNode, CNode> parents = new HashMap<>();
+		for (final String entityName : getItemEntityNames()) {
+			final String query = "SELECT e.id, e.parentType, e.parentId FROM " + entityName + " e WHERE e.parentId IS NOT NULL";
+			for (final Object[] row : entityManager.createQuery(query, Object[].class).getResultList()) {
+				if (row[1] != null) {
+					parents.put(new CNode(entityName, (Long) row[0]), new CNode((String) row[1], (Long) row[2]));
+				}
+			}
+		}
+		repository.deleteAllInBatch();
+		final List<CParentChildRelation> links = new ArrayList<>();
+		for (final Map.Entry<CNode, CNode> entry : parents.entrySet()) {
+			final CNode child = entry.getKey();
+			CNode ancestor = entry.getValue();
+			// a cycle in the parent columns cannot be deeper than the number of nodes
+			for (int depth = 1; (ancestor != null) && (depth <= parents.size()); depth++) {
+				links.add(new CParentChildRelation(child.id(), child.type(), ancestor.id(), ancestor.type(), depth));
+				ancestor = parents.get(ancestor);
+			}
+		}
+		repository.saveAll(links);
+		LOGGER.info("Rebuilt {} closure rows of {} project items with a parent", links.size(), parents.size());
+		return links.size();
+	}
+
+	/** Rebuilds the closure rows of the given items from their parentId/parentType columns. Used to initialize the index for existing data.
+	 * @param items the project items to index, parents may appear in any order */
+	@Transactional
+	public void rebuild(final List<? extends CProjectItem<?>> items) {
+		Check.notNull(items, "Items cannot be null");
+		for (final CProjectItem<?> item : items) {
+			if (item.getId() != null) {
+				getRelationRepository().deleteNode(getNodeType(item), item.getId());
+			}
+		}
+		for (final CProjectItem<?> item : items) {
+			if ((item.getId() != null) && (item.getParentId() != null)) {
+				moveNode(getNodeType(item), item.getId(), item.getParentType(), item.getParentId());
+			}
+		}
+	}
+
+	/** Removes a node from the hierarchy. Its former children become roots of their own subtrees, their parent columns are cleared.
+	 * @param type the node type
+	 * @param id   the node id */
+	@Transactional
+	public void removeNode(final String type, final Long id) {
+		Check.notBlank(type, "Type cannot be blank");
+		Check.notNull(id, "Id cannot be null");
+		// detach the subtree from the ancestors first, then drop the rows of the node itself
+		moveNode(type, id, null, null);
+		getRelationRepository().deleteNode(type, id);
+		for (final String entityName : getItemEntityNames()) {
+			entityManager.createQuery("UPDATE " + entityName + " e SET e.parentId = NULL, e.parentType = NULL WHERE e.parentType = :type"
+					+ " AND e.parentId = :id").setParameter("type", type).setParameter("id", id).executeUpdate();
+		}
+	}
+
+	/** Synchronizes the closure rows of a saved project item with its parentId/parentType columns.
+	 * @param item the persisted project item */
+	@Transactional
+	public void updateParent(final CProjectItem<?> item) {
+		Check.notNull(item, "Item cannot be null");
+		Check.notNull(item.getId(), "Item must be persisted");
+		moveNode(getNodeType(item), item.getId(), item.getParentType(), item.getParentId());
+	}
 }
@@ -0,0 +1,14 @@
+package tech.derbent.api.services;
+
+import java.util.List;
+
+/** A store derived from project entity rows, kept in step with the archiver. {@link CEntityArchiveService} moves rows with plain SQL, past the
+ * services that maintain such stores, so it calls every bean implementing this interface before it deletes a batch from the live table. The call
+ * runs in the transaction of the batch, a batch that cannot be moved rolls the listener's changes back with it. */
+public interface IArchiveListener {
+
+	/** Removes what the rows contribute to the derived store. The rows are still in the live table.
+	 * @param entityClass the project entity class of the rows
+	 * @param ids         ids of the rows about to be archived */
+	void onArchiving(Class<?> entityClass, List<Long> ids);
+}
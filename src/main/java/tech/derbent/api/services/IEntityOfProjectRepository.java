@@ -1,5 +1,6 @@
 package tech.derbent.api.services;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -11,20 +12,45 @@ import tech.derbent.api.domains.CEntityOfProject;
 import tech.derbent.projects.domain.CProject;
 
 /** CEntityOfProjectRepository - Base repository interface for entities that extend CEntityOfProject. Layer: Service (MVC) - Repository interface
- * Provides common query methods for project-aware entities using standard pagination patterns. */
+ * Provides common query methods for project-aware entities using standard pagination patterns. Entities with to-many collections page in two
+ * phases: {@link #listIdsByProject} pages plain ids in the database, then {@link #listByIds} loads just those rows. Repositories of such entities
+ * override listByIds with their fetch joins, so collection fetch joins are never combined with a Pageable. The listing and counting queries only
+ * return active rows, soft deleted entities are reached through {@link #listInactiveByProject}. The name lookups include inactive rows so that a
+ * name stays taken until the entity is archived. Repositories overriding a listing query keep the isActive condition. */
 @NoRepositoryBean
 public interface IEntityOfProjectRepository<EntityClass extends CEntityOfProject<EntityClass>> extends IAbstractNamedRepository<EntityClass> {
 
-	@Query ("SELECT COUNT(s) FROM #{#entityName} s WHERE s.project = :project")
+	@Query ("SELECT COUNT(s) FROM #{#entityName} s WHERE s.project = :project AND s.isActive = true")
 	long countByProject(@Param ("project") CProject project);
+	/** Counts the entities of all projects in one statement, each row is the project id and its count. */
+	@Query ("SELECT s.project.id, COUNT(s) FROM #{#entityName} s WHERE s.isActive = true GROUP BY s.project.id")
+	List<Object[]> countGroupedByProject();
 	@Query ("SELECT COUNT(s) > 0 FROM #{#entityName} s WHERE LOWER(s.name) = LOWER(:name) AND s.project = :project")
 	boolean existsByNameProject(@Param ("name") String name, @Param ("project") CProject project);
+	/** Number of active rows and latest modification of any row of the project, the validator of list responses. */
+	@Query ("SELECT COUNT(CASE WHEN e.isActive = true THEN 1 END), MAX(e.lastModifiedDate) FROM #{#entityName} e WHERE e.project = :project")
+	List<Object[]> findChangeMarker(@Param ("project") CProject project);
 	@Query ("SELECT s FROM #{#entityName} s WHERE LOWER(s.name) = LOWER(:name) AND s.project = :project")
 	Optional<EntityClass> findByNameAndProject(@Param ("name") String name, @Param ("project") CProject project);
-	@Query ("SELECT e FROM #{#entityName} e WHERE e.project = :project")
+	/** Soft deleted entities of a project, for restoring them. */
+	@Query ("SELECT e FROM #{#entityName} e WHERE e.project = :project AND e.isActive = false")
+	Page<EntityClass> listInactiveByProject(@Param ("project") CProject project, Pageable pageable);
+	@Query ("SELECT e FROM #{#entityName} e WHERE e.project = :project AND e.isActive = true")
 	List<EntityClass> listByProject(@Param ("project") CProject project);
-	@Query ("SELECT e FROM #{#entityName} e WHERE e.project.id = :pid")
+	@Query ("SELECT e FROM #{#entityName} e WHERE e.project.id = :pid AND e.isActive = true")
 	List<EntityClass> listByProjectId(@Param ("pid") Long pid);
-	@Query ("SELECT e FROM #{#entityName} e WHERE e.project = :project")
+	@Query ("SELECT e FROM #{#entityName} e WHERE e.project = :project AND e.isActive = true")
 	Page<EntityClass> listByProject(@Param ("project") CProject project, Pageable pageable);
+	/** Phase 2 of two-phase paging: loads the entities with the given ids, in no particular order. */
+	@Query ("SELECT e FROM #{#entityName} e WHERE e.id IN :ids")
+	List<EntityClass> listByIds(@Param ("ids") Collection<Long> ids);
+	/** Phase 1 of two-phase paging: one page of entity ids, sorted and limited by the database. */
+	@Query (
+			value = "SELECT e.id FROM #{#entityName} e WHERE e.project = :project AND e.isActive = true",
+			countQuery = "SELECT COUNT(e) FROM #{#entityName} e WHERE e.project = :project AND e.isActive = true"
+	)
+	Page<Long> listIdsByProject(@Param ("project") CProject project, Pageable pageable);
+	/** Cursor paging: ids of the active entities after the cursor id, in id order. Only the page size of the pageable is used. */
+	@Query ("SELECT e.id FROM #{#entityName} e WHERE e.project = :project AND e.isActive = true AND e.id > :afterId ORDER BY e.id")
+	List<Long> listIdsByProjectAfter(@Param ("project") CProject project, @Param ("afterId") Long afterId, Pageable pageable);
 }
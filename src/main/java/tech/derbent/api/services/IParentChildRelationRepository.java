@@ -0,0 +1,48 @@
+package tech.derbent.api.services;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.derbent.api.domains.CHierarchyAggregate;
+import tech.derbent.api.domains.CParentChildRelation;
+import tech.derbent.projects.domain.CProject;
+
+/** IParentChildRelationRepository - Repository interface for the project item closure table. Layer: Data Access (MVC) Every query is answered from
+ * the (type, id, depth) indexes without walking the hierarchy level by level. */
+@Repository
+public interface IParentChildRelationRepository extends IAbstractRepository<CParentChildRelation> {
+
+	@Modifying
+	@Query (
+		"DELETE FROM CParentChildRelation r WHERE r.parentType = :parentType AND r.parentId = :parentId AND r.childType = :childType AND r.childId IN :childIds"
+	)
+	int deleteLinks(@Param ("parentType") String parentType, @Param ("parentId") Long parentId, @Param ("childType") String childType,
+			@Param ("childIds") Collection<Long> childIds);
+	@Modifying
+	@Query ("DELETE FROM CParentChildRelation r WHERE (r.parentType = :type AND r.parentId = :id) OR (r.childType = :type AND r.childId = :id)")
+	int deleteNode(@Param ("type") String type, @Param ("id") Long id);
+	/** Ancestors of a node ordered from the direct parent up to the root. */
+	@Query ("SELECT r FROM CParentChildRelation r WHERE r.childType = :type AND r.childId = :id ORDER BY r.depth")
+	List<CParentChildRelation> findAncestors(@Param ("type") String type, @Param ("id") Long id);
+	/** Depth of every activity of the project that has at least one ancestor. Activities missing from the result are roots (depth 0). */
+	@Query (
+		"SELECT r.childId, MAX(r.depth) FROM CParentChildRelation r, CActivity a WHERE r.childType = 'CActivity' AND a.id = r.childId AND a.project = :project GROUP BY r.childId"
+	)
+	List<Object[]> findActivityDepths(@Param ("project") CProject project);
+	/** All descendants of a node ordered by depth, i.e. breadth first. */
+	@Query ("SELECT r FROM CParentChildRelation r WHERE r.parentType = :type AND r.parentId = :id ORDER BY r.depth, r.childType, r.childId")
+	List<CParentChildRelation> findDescendants(@Param ("type") String type, @Param ("id") Long id);
+	@Query ("SELECT COALESCE(MAX(r.depth), 0) FROM CParentChildRelation r WHERE r.childType = :type AND r.childId = :id")
+	int findDepth(@Param ("type") String type, @Param ("id") Long id);
+	/** Sums hours, cost and progress of the active activities of the subtree below the given node (the node itself excluded) in a single query. */
+	@Query ("""
+			SELECT new tech.derbent.api.domains.CHierarchyAggregate(COUNT(a), SUM(a.estimatedHours), SUM(a.actualHours), SUM(a.remainingHours),
+				SUM(a.estimatedCost), SUM(a.actualCost), AVG(a.progressPercentage))
+			FROM CParentChildRelation r, CActivity a
+			WHERE r.parentType = :type AND r.parentId = :id AND r.childType = 'CActivity' AND a.id = r.childId AND a.isActive = true
+			""")
+	CHierarchyAggregate sumActivitySubtree(@Param ("type") String type, @Param ("id") Long id);
+}
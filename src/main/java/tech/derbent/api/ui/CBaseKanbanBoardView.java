@@ -1,16 +1,24 @@
 package tech.derbent.api.ui;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.shared.Registration;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.CEntityEventBus;
 import tech.derbent.api.interfaces.IKanbanEntity;
 import tech.derbent.api.interfaces.IKanbanService;
 import tech.derbent.api.interfaces.IKanbanStatus;
@@ -20,7 +28,8 @@ import tech.derbent.projects.domain.CProject;
 import tech.derbent.session.service.ISessionService;
 
 /** CBaseKanbanBoardView - Abstract base class for Kanban board views. Layer: Base View (MVC) Provides common functionality for any kanban board
- * implementation. Handles project awareness, layout setup, and basic kanban operations.
+ * implementation. Handles project awareness, layout setup, and basic kanban operations. While attached, the board subscribes to the change events
+ * of its entity class and moves, updates, adds or removes only the cards of the changed entities.
  * @param <T> the type of entity displayed in this kanban board
  * @param <S> the type of status used for organizing entities */
 public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IKanbanStatus> extends VerticalLayout
@@ -28,7 +37,10 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CBaseKanbanBoardView.class);
 	private static final long serialVersionUID = 1L;
+	protected final Map<Long, CBaseKanbanColumn<T, S>> columnsByStatusId = new LinkedHashMap<>();
 	protected Div emptyStateContainer;
+	private transient Registration entityChangeRegistration;
+	private CEntityEventBus entityEventBus;
 	protected HorizontalLayout kanbanContainer;
 	protected final IKanbanService<T, S> kanbanService;
 	protected final ISessionService sessionService;
@@ -58,6 +70,13 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 	 * @return the board title */
 	protected abstract String getBoardTitle();
 
+	/** Finds the column that currently displays the given entity.
+	 * @param entityId the entity id
+	 * @return the column holding the entity, or null if none */
+	protected CBaseKanbanColumn<T, S> findColumnOfEntity(final Long entityId) {
+		return columnsByStatusId.values().stream().filter(column -> column.containsEntity(entityId)).findFirst().orElse(null);
+	}
+
 	/** Initializes the view components and layout. */
 	private void initializeView() {
 		// Set CSS class for styling
@@ -106,18 +125,28 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 				showEmptyState("No items found for this project");
 				return;
 			}
-			// Clear container and show kanban columns
-			kanbanContainer.removeAll();
 			emptyStateContainer.setVisible(false);
 			kanbanContainer.setVisible(true);
-			// Create column for each status
+			// Drop columns of statuses that are no longer present
+			for (final Long statusId : new ArrayList<>(columnsByStatusId.keySet())) {
+				if (entitiesByStatus.keySet().stream().noneMatch(status -> Objects.equals(status.getId(), statusId))) {
+					kanbanContainer.remove(columnsByStatusId.remove(statusId));
+				}
+			}
+			// Update existing columns with a card diff, create columns only for new statuses
 			for (final Map.Entry<S, List<T>> entry : entitiesByStatus.entrySet()) {
 				final S status = entry.getKey();
 				final List<T> entities = entry.getValue();
+				final CBaseKanbanColumn<T, S> existing = columnsByStatusId.get(status.getId());
+				if (existing != null) {
+					existing.updateEntities(entities);
+					continue;
+				}
 				LOGGER.debug("Creating column for status: {} with {} entities", status.getName(), entities.size());
 				final CBaseKanbanColumn<T, S> column = createKanbanColumn(status, entities);
 				// Set up drag and drop handling
 				column.setStatusUpdateHandler(this::onEntityStatusUpdated);
+				columnsByStatusId.put(status.getId(), column);
 				kanbanContainer.add(column);
 				kanbanContainer.setFlexGrow(1, column);
 			}
@@ -127,11 +156,40 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 		}
 	}
 
-	/** Called when the component is attached to the UI. Registers the project change listener. */
+	/** Applies the change of one entity to its card.
+	 * @return false if the board has no column for the entity, which needs a full reload */
+	private boolean applyEntityChange(final CEntityChange change) {
+		final CBaseKanbanColumn<T, S> sourceColumn = findColumnOfEntity(change.id());
+		final T entity = change.kind() == CEntityChange.Kind.DELETED ? null : kanbanService.getById(change.id()).orElse(null);
+		if (entity == null) {
+			if (sourceColumn != null) {
+				sourceColumn.removeEntity(change.id());
+			}
+			return true;
+		}
+		final IKanbanStatus status = entity.getStatus();
+		final CBaseKanbanColumn<T, S> targetColumn = status != null ? columnsByStatusId.get(status.getId()) : null;
+		if (targetColumn == null) {
+			return false;
+		}
+		if (sourceColumn == targetColumn) {
+			// same column: the card is rebound in place
+			targetColumn.addEntity(entity, null);
+			return true;
+		}
+		final Component card = sourceColumn != null ? sourceColumn.removeEntity(change.id()) : null;
+		targetColumn.addEntity(entity, card);
+		return true;
+	}
+
+	/** Called when the component is attached to the UI. Registers the project change listener and subscribes to the changes of the board entities. */
 	@Override
 	protected void onAttach(final AttachEvent attachEvent) {
 		super.onAttach(attachEvent);
 		sessionService.addProjectChangeListener(this);
+		if (entityEventBus != null) {
+			entityChangeRegistration = entityEventBus.subscribe(attachEvent.getUI(), kanbanService.getKanbanEntityClass(), this::onEntitiesChanged);
+		}
 	}
 
 	/** Called when the component is detached from the UI. Unregisters the project change listener to prevent memory leaks. */
@@ -139,6 +197,31 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 	protected void onDetach(final DetachEvent detachEvent) {
 		super.onDetach(detachEvent);
 		sessionService.removeProjectChangeListener(this);
+		if (entityChangeRegistration != null) {
+			entityChangeRegistration.remove();
+			entityChangeRegistration = null;
+		}
+	}
+
+	/** Applies entity changes committed by any user. Each change touches only its own card; the board is reloaded only when a card belongs to a
+	 * column the board does not show yet.
+	 * @param changes coalesced changes of the board entity class */
+	protected void onEntitiesChanged(final List<CEntityChange> changes) {
+		final Optional<CProject> activeProject = sessionService.getActiveProject();
+		if (activeProject.isEmpty()) {
+			return;
+		}
+		final Long projectId = activeProject.get().getId();
+		for (final CEntityChange change : changes) {
+			if ((change.projectId() != null) && !change.projectId().equals(projectId)) {
+				continue;
+			}
+			if (!applyEntityChange(change)) {
+				LOGGER.debug("Reloading kanban board, no column for changed entity {}", change.id());
+				loadKanbanData();
+				return;
+			}
+		}
 	}
 
 	/** Handles when an entity status is updated via drag and drop. Subclasses can override this to add custom behavior.
@@ -146,12 +229,21 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 	 * @param newStatus the new status */
 	protected void onEntityStatusUpdated(final T entity, final S newStatus) {
 		try {
-			kanbanService.updateEntityStatus(entity, newStatus);
-			// Refresh the board to reflect changes
-			loadKanbanData();
+			final CBaseKanbanColumn<T, S> sourceColumn = findColumnOfEntity(entity.getId());
+			final T saved = kanbanService.updateEntityStatus(entity, newStatus);
+			final CBaseKanbanColumn<T, S> targetColumn = columnsByStatusId.get(newStatus.getId());
+			if ((sourceColumn == null) || (targetColumn == null)) {
+				// Board is out of sync with the data, fall back to a full reload
+				loadKanbanData();
+				return;
+			}
+			// Move only the dropped card, all other cards stay untouched
+			final Component card = sourceColumn.removeEntity(entity.getId());
+			targetColumn.addEntity(saved != null ? saved : entity, card);
 		} catch (final Exception e) {
 			LOGGER.error("Error updating entity status: {}", e.getMessage(), e);
-			// You could show a notification here
+			// Reload to revert the visual change
+			loadKanbanData();
 		}
 	}
 
@@ -163,10 +255,16 @@ public abstract class CBaseKanbanBoardView<T extends IKanbanEntity, S extends IK
 		loadKanbanData();
 	}
 
+	/** Sets the bus delivering entity changes of other users. Injected by Spring; without it the board only updates on reload. */
+	@Autowired
+	public void setEntityEventBus(final CEntityEventBus entityEventBus) { this.entityEventBus = entityEventBus; }
+
 	/** Shows empty state with given message.
 	 * @param message the message to display */
 	private void showEmptyState(final String message) {
 		kanbanContainer.setVisible(false);
+		kanbanContainer.removeAll();
+		columnsByStatusId.clear();
 		emptyStateContainer.removeAll();
 		emptyStateContainer.add(new H2("No Items"));
 		emptyStateContainer.add(new Div(message));
@@ -1,9 +1,8 @@
 package tech.derbent.api.ui;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.Component;
@@ -12,7 +11,6 @@ import com.vaadin.flow.component.dnd.DropTarget;
 import com.vaadin.flow.component.dnd.EffectAllowed;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
-import com.vaadin.flow.component.html.H5;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import tech.derbent.api.interfaces.IKanbanEntity;
@@ -33,8 +31,10 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 	protected H3 headerElement;
 	protected Span countElement;
 	protected VerticalLayout cardsContainer;
+	protected Div emptyMessage;
 	protected List<T> entities;
 	protected BiConsumer<T, S> statusUpdateHandler;
+	protected CKanbanTypeSections<T> typeSections;
 
 	/** Constructor for CBaseKanbanColumn.
 	 * @param status   the status this column represents
@@ -44,11 +44,41 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 				entities != null ? entities.size() : 0);
 		Check.notNull(status, "Status cannot be null");
 		this.status = status;
-		this.entities = entities != null ? entities : List.of();
+		this.entities = entities != null ? new ArrayList<>(entities) : new ArrayList<>();
 		initializeColumn();
 		setupDropTarget();
 	}
 
+	/** Adds a single entity to this column without rebuilding the other cards.
+	 * @param entity the entity to add
+	 * @param card   the draggable card of the entity when it is moved from another column, or null to create a new one */
+	public void addEntity(final T entity, final Component card) {
+		Check.notNull(entity, "Entity cannot be null");
+		entities.removeIf(existing -> existing.getId().equals(entity.getId()));
+		entities.add(entity);
+		typeSections.addEntity(entity, card);
+		updateCount();
+	}
+
+	/** Rebinds an existing draggable card to an updated entity instance. The wrapper and its drag listeners are kept; only the drag data and the
+	 * inner card are replaced.
+	 * @param card   the draggable wrapper created by {@link #createDraggableCard(IKanbanEntity, Component)}
+	 * @param entity the updated entity */
+	protected void bindEntityCard(final Component card, final T entity) {
+		if (card instanceof final Div wrapper) {
+			DragSource.configure(wrapper).setDragData(entity);
+			wrapper.removeAll();
+			wrapper.add(createEntityCard(entity));
+		}
+	}
+
+	/** Checks whether the entity with the given id is displayed in this column.
+	 * @param entityId the entity id
+	 * @return true if this column holds the entity */
+	public boolean containsEntity(final Long entityId) {
+		return typeSections.contains(entityId);
+	}
+
 	/** Creates a draggable card wrapper for the entity.
 	 * @param entity        the entity to wrap
 	 * @param cardComponent the card component to wrap
@@ -77,47 +107,6 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 	 * @return the created card component */
 	protected abstract Component createEntityCard(T entity);
 
-	/** Creates a type section with entities for the given type.
-	 * @param typeName     the entity type name for this section
-	 * @param typeEntities the list of entities with this type */
-	private void createTypeSection(final String typeName, final List<T> typeEntities) {
-		LOGGER.debug("Creating type section for: {} with {} entities", typeName, typeEntities.size());
-		// Create type section container
-		final Div typeSection = new Div();
-		typeSection.addClassName("kanban-type-section");
-		// Create type header
-		final H5 typeHeader = new H5(typeName != null ? typeName : "No Type");
-		typeHeader.addClassName("kanban-type-header");
-		// Create type count
-		final Span typeCount = new Span("(" + typeEntities.size() + ")");
-		typeCount.addClassName("kanban-type-count");
-		// Create header container for type
-		final Div typeHeaderContainer = new Div();
-		typeHeaderContainer.addClassName("kanban-type-header-container");
-		typeHeaderContainer.add(typeHeader, typeCount);
-		// Create cards container for this type
-		final VerticalLayout typeCardsContainer = new VerticalLayout();
-		typeCardsContainer.addClassName("kanban-type-cards");
-		typeCardsContainer.setSpacing(true);
-		typeCardsContainer.setPadding(false);
-		typeCardsContainer.setMargin(false);
-		// Add entity cards for this type
-		for (final T entity : typeEntities) {
-			try {
-				final Component card = createEntityCard(entity);
-				final Component draggableCard = createDraggableCard(entity, card);
-				typeCardsContainer.add(draggableCard);
-				LOGGER.debug("Added card for entity: {} with type: {}", entity.getName(), typeName);
-			} catch (final Exception e) {
-				LOGGER.error("Error creating card for entity: {} with type: {}", entity != null ? entity.getName() : "null", typeName, e);
-			}
-		}
-		// Add components to type section
-		typeSection.add(typeHeaderContainer, typeCardsContainer);
-		// Add type section to main container
-		cardsContainer.add(typeSection);
-	}
-
 	/** Gets the current entities in this column.
 	 * @return list of entities */
 	public List<T> getEntities() { return entities; }
@@ -158,30 +147,24 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 		cardsContainer.setSpacing(true);
 		cardsContainer.setPadding(false);
 		cardsContainer.setMargin(false);
+		// Create empty message
+		emptyMessage = new Div("No items");
+		emptyMessage.addClassName("kanban-empty-message");
+		cardsContainer.add(emptyMessage);
+		typeSections = new CKanbanTypeSections<>(cardsContainer, this::getEntityTypeName,
+				name -> new CKanbanTypeSection<>(name, entity -> createDraggableCard(entity, createEntityCard(entity)), this::bindEntityCard));
 		// Populate with entity cards
 		populateCards();
 		// Add components to column
 		add(headerContainer, cardsContainer);
 	}
 
-	/** Populates the column with entity cards grouped by type. */
+	/** Populates the column with entity cards grouped by type. Existing type sections are updated with a diff so that cards of unchanged entities
+	 * are kept, sections that became empty are removed and only new entities get new cards. */
 	private void populateCards() {
 		LOGGER.debug("Populating {} entity cards for status: {} with type grouping", entities.size(), status.getName());
-		cardsContainer.removeAll();
-		if (entities.isEmpty()) {
-			final Div emptyMessage = new Div("No items");
-			emptyMessage.addClassName("kanban-empty-message");
-			cardsContainer.add(emptyMessage);
-			return;
-		}
-		// Group entities by type
-		final Map<String, List<T>> entitiesByType = entities.stream().collect(Collectors.groupingBy(this::getEntityTypeName, Collectors.toList()));
-		// Create a type section for each group
-		for (final Map.Entry<String, List<T>> typeEntry : entitiesByType.entrySet()) {
-			final String typeName = typeEntry.getKey();
-			final List<T> typeEntities = typeEntry.getValue();
-			createTypeSection(typeName, typeEntities);
-		}
+		typeSections.setEntities(entities);
+		updateEmptyState();
 	}
 
 	/** Refreshes the entire column display. Useful for real-time updates. */
@@ -190,6 +173,16 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 		populateCards();
 	}
 
+	/** Removes a single entity from this column without rebuilding the other cards.
+	 * @param entityId the id of the entity to remove
+	 * @return the detached draggable card so it can be reused in the target column, or null if it was not rendered */
+	public Component removeEntity(final Long entityId) {
+		entities.removeIf(existing -> existing.getId().equals(entityId));
+		final Component card = typeSections.removeEntity(entityId);
+		updateCount();
+		return card;
+	}
+
 	/** Sets the handler for status updates.
 	 * @param handler the handler to call when an entity status should be updated */
 	public void setStatusUpdateHandler(final BiConsumer<T, S> handler) {
@@ -217,17 +210,28 @@ public abstract class CBaseKanbanColumn<T extends IKanbanEntity, S extends IKanb
 		});
 	}
 
-	/** Updates the column with new entities.
+	private void updateCount() {
+		if (countElement != null) {
+			countElement.setText("(" + entities.size() + ")");
+		}
+		updateEmptyState();
+	}
+
+	/** Updates the column with new entities. Only the differences to the current content are applied.
 	 * @param newEntities the updated list of entities */
 	public void updateEntities(final List<T> newEntities) {
 		LOGGER.debug("Updating entities for status: {} from {} to {} entities", status.getName(), this.entities.size(),
 				newEntities != null ? newEntities.size() : 0);
-		this.entities = newEntities != null ? newEntities : List.of();
+		this.entities = newEntities != null ? new ArrayList<>(newEntities) : new ArrayList<>();
 		// Update count
-		if (countElement != null) {
-			countElement.setText("(" + entities.size() + ")");
-		}
-		// Repopulate cards
+		updateCount();
+		// Apply card diff
 		populateCards();
 	}
+
+	private void updateEmptyState() {
+		if (emptyMessage != null) {
+			emptyMessage.setVisible(entities.isEmpty());
+		}
+	}
 }
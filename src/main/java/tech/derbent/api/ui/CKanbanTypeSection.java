@@ -0,0 +1,201 @@
+package tech.derbent.api.ui;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H5;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import tech.derbent.api.interfaces.IKanbanEntity;
+import tech.derbent.api.utils.Check;
+
+/** CKanbanTypeSection - Type group inside a kanban column. Layer: Base View (MVC) Keeps the cards of one type keyed by entity id so that a drop or a
+ * data refresh only touches the cards that actually changed. Cards are rendered in batches of {@link #RENDER_BATCH_SIZE}; the remaining entities are
+ * kept as data only and rendered when the user asks for more, so large boards do not create thousands of components up front.
+ * @param <T> the type of entity displayed in this section */
+public class CKanbanTypeSection<T extends IKanbanEntity> extends Div {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CKanbanTypeSection.class);
+	public static final int RENDER_BATCH_SIZE = 50;
+	private static final long serialVersionUID = 1L;
+	private final BiConsumer<Component, T> cardBinder;
+	private final Function<T, Component> cardFactory;
+	private final VerticalLayout cardsContainer;
+	private final Span countElement;
+	private final Map<Long, T> entities = new LinkedHashMap<>();
+	private final Map<Long, Component> renderedCards = new HashMap<>();
+	private final Button showMoreButton;
+	private final String typeName;
+
+	/** Constructor for CKanbanTypeSection.
+	 * @param typeName    the type name shown in the section header
+	 * @param cardFactory creates a new card component for an entity
+	 * @param cardBinder  rebinds an existing card component to an updated entity instance */
+	public CKanbanTypeSection(final String typeName, final Function<T, Component> cardFactory, final BiConsumer<Component, T> cardBinder) {
+		Check.notNull(cardFactory, "Card factory cannot be null");
+		Check.notNull(cardBinder, "Card binder cannot be null");
+		this.typeName = typeName != null ? typeName : "No Type";
+		this.cardFactory = cardFactory;
+		this.cardBinder = cardBinder;
+		addClassName("kanban-type-section");
+		final H5 typeHeader = new H5(this.typeName);
+		typeHeader.addClassName("kanban-type-header");
+		countElement = new Span("(0)");
+		countElement.addClassName("kanban-type-count");
+		final Div typeHeaderContainer = new Div();
+		typeHeaderContainer.addClassName("kanban-type-header-container");
+		typeHeaderContainer.add(typeHeader, countElement);
+		cardsContainer = new VerticalLayout();
+		cardsContainer.addClassName("kanban-type-cards");
+		cardsContainer.setSpacing(true);
+		cardsContainer.setPadding(false);
+		cardsContainer.setMargin(false);
+		showMoreButton = new Button();
+		showMoreButton.addClassName("kanban-show-more");
+		showMoreButton.addThemeVariants(ButtonVariant.LUMO_SMALL, ButtonVariant.LUMO_TERTIARY);
+		showMoreButton.addClickListener(event -> renderNextBatch());
+		showMoreButton.setVisible(false);
+		add(typeHeaderContainer, cardsContainer, showMoreButton);
+	}
+
+	/** Adds an entity to this section. If a card component is supplied (e.g. a card moved from another column) it is reused instead of creating a new
+	 * one, and replaces the card the entity already has here. The card is only rendered if the section has not reached its current render window.
+	 * @param entity the entity to add
+	 * @param card   an existing card for the entity, or null to create one lazily */
+	public void addEntity(final T entity, final Component card) {
+		Check.notNull(entity, "Entity cannot be null");
+		Check.notNull(entity.getId(), "Entity id cannot be null");
+		final Component existing = renderedCards.get(entity.getId());
+		entities.put(entity.getId(), entity);
+		if ((existing != null) && ((card == null) || (card == existing))) {
+			cardBinder.accept(existing, entity);
+			return;
+		}
+		if (existing != null) {
+			// the supplied card takes the place of the old one, which must not stay attached
+			renderedCards.remove(entity.getId());
+			cardsContainer.remove(existing);
+		}
+		// a moved card stays visible; new cards are rendered only while the render window has room
+		if (card != null) {
+			cardBinder.accept(card, entity);
+			renderedCards.put(entity.getId(), card);
+			cardsContainer.addComponentAtIndex(0, card);
+		} else if (renderedCards.size() < RENDER_BATCH_SIZE) {
+			final Component created = cardFactory.apply(entity);
+			renderedCards.put(entity.getId(), created);
+			cardsContainer.addComponentAtIndex(0, created);
+		}
+		updateCounts();
+	}
+
+	public boolean contains(final Long entityId) {
+		return entities.containsKey(entityId);
+	}
+
+	public int getEntityCount() { return entities.size(); }
+
+	public List<T> getEntities() { return new ArrayList<>(entities.values()); }
+
+	public String getTypeName() { return typeName; }
+
+	/** Removes an entity from this section without destroying its card so that the caller can reuse the component in another column.
+	 * @param entityId the id of the entity to remove
+	 * @return the detached card component, or null if the card was never rendered */
+	public Component removeEntity(final Long entityId) {
+		if (entities.remove(entityId) == null) {
+			return null;
+		}
+		final Component card = renderedCards.remove(entityId);
+		if (card != null) {
+			cardsContainer.remove(card);
+		}
+		// keep the render window filled after a removal
+		if ((renderedCards.size() < RENDER_BATCH_SIZE) && (renderedCards.size() < entities.size())) {
+			renderNextBatch(1);
+		}
+		updateCounts();
+		return card;
+	}
+
+	private void renderNextBatch() {
+		renderNextBatch(RENDER_BATCH_SIZE);
+	}
+
+	private void renderNextBatch(final int batchSize) {
+		int rendered = 0;
+		for (final T entity : entities.values()) {
+			if (rendered >= batchSize) {
+				break;
+			}
+			if (renderedCards.containsKey(entity.getId())) {
+				continue;
+			}
+			try {
+				final Component card = cardFactory.apply(entity);
+				renderedCards.put(entity.getId(), card);
+				cardsContainer.add(card);
+				rendered++;
+			} catch (final Exception e) {
+				LOGGER.error("Error creating card for entity: {} with type: {}", entity.getName(), typeName, e);
+			}
+		}
+		updateCounts();
+	}
+
+	/** Replaces the content of this section with the given entities using a diff: cards of entities that are still present are kept (and rebound to
+	 * the new entity instance), cards of removed entities are dropped and only new entities get new cards.
+	 * @param newEntities the new entities of this section */
+	public void setEntities(final List<T> newEntities) {
+		final Map<Long, T> incoming = new LinkedHashMap<>();
+		if (newEntities != null) {
+			for (final T entity : newEntities) {
+				if ((entity != null) && (entity.getId() != null)) {
+					incoming.put(entity.getId(), entity);
+				}
+			}
+		}
+		// drop cards that are no longer part of this section
+		for (final Long removedId : new ArrayList<>(entities.keySet())) {
+			if (!incoming.containsKey(removedId)) {
+				entities.remove(removedId);
+				final Component card = renderedCards.remove(removedId);
+				if (card != null) {
+					cardsContainer.remove(card);
+				}
+			}
+		}
+		// rebind kept cards and register new entities
+		for (final T entity : incoming.values()) {
+			final Component card = renderedCards.get(entity.getId());
+			if (card != null) {
+				cardBinder.accept(card, entity);
+			}
+		}
+		entities.clear();
+		entities.putAll(incoming);
+		if (renderedCards.size() < Math.min(RENDER_BATCH_SIZE, entities.size())) {
+			renderNextBatch(RENDER_BATCH_SIZE - renderedCards.size());
+		}
+		updateCounts();
+	}
+
+	private void updateCounts() {
+		countElement.setText("(" + entities.size() + ")");
+		final int hidden = entities.size() - renderedCards.size();
+		showMoreButton.setVisible(hidden > 0);
+		if (hidden > 0) {
+			showMoreButton.setText("Show " + Math.min(hidden, RENDER_BATCH_SIZE) + " more of " + hidden);
+		}
+	}
+}
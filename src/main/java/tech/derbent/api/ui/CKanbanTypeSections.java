@@ -0,0 +1,106 @@
+package tech.derbent.api.ui;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasComponents;
+import tech.derbent.api.interfaces.IKanbanEntity;
+import tech.derbent.api.utils.Check;
+
+/** CKanbanTypeSections - The type sections of one kanban column, keyed by type name. Layer: Base View (MVC) Holds the section bookkeeping shared by
+ * the kanban columns: an entity lives in the section of its type, a section is created with its first entity and removed with its last one, and an
+ * entity whose type changed moves to its new section together with its card.
+ * @param <T> the type of entity displayed in the sections */
+public class CKanbanTypeSections<T extends IKanbanEntity> {
+
+	private final HasComponents container;
+	private final Function<String, CKanbanTypeSection<T>> sectionFactory;
+	private final Map<String, CKanbanTypeSection<T>> sections = new LinkedHashMap<>();
+	private final Function<T, String> typeNameProvider;
+
+	/** Constructor for CKanbanTypeSections.
+	 * @param container        the component the sections are added to
+	 * @param typeNameProvider the type name of an entity, which selects its section
+	 * @param sectionFactory   creates the section of a type name */
+	public CKanbanTypeSections(final HasComponents container, final Function<T, String> typeNameProvider,
+			final Function<String, CKanbanTypeSection<T>> sectionFactory) {
+		Check.notNull(container, "Container cannot be null");
+		Check.notNull(typeNameProvider, "Type name provider cannot be null");
+		Check.notNull(sectionFactory, "Section factory cannot be null");
+		this.container = container;
+		this.typeNameProvider = typeNameProvider;
+		this.sectionFactory = sectionFactory;
+	}
+
+	/** Adds or updates an entity in the section of its type. If the entity is still in the section of another type it leaves that section, and its
+	 * card moves along unless a card is supplied.
+	 * @param entity the entity to add
+	 * @param card   the card of the entity when it is moved from another column, or null to keep or create one */
+	public void addEntity(final T entity, final Component card) {
+		Check.notNull(entity, "Entity cannot be null");
+		final String typeName = typeNameProvider.apply(entity);
+		Component reused = card;
+		for (final Map.Entry<String, CKanbanTypeSection<T>> entry : new ArrayList<>(sections.entrySet())) {
+			if (!entry.getKey().equals(typeName) && entry.getValue().contains(entity.getId())) {
+				final Component previous = removeFrom(entry.getKey(), entry.getValue(), entity.getId());
+				reused = reused != null ? reused : previous;
+			}
+		}
+		getOrCreateSection(typeName).addEntity(entity, reused);
+	}
+
+	/** Checks whether the entity with the given id is in one of the sections.
+	 * @param entityId the entity id
+	 * @return true if a section holds the entity */
+	public boolean contains(final Long entityId) {
+		return sections.values().stream().anyMatch(section -> section.contains(entityId));
+	}
+
+	private CKanbanTypeSection<T> getOrCreateSection(final String typeName) {
+		return sections.computeIfAbsent(typeName, name -> {
+			final CKanbanTypeSection<T> section = sectionFactory.apply(name);
+			container.add(section);
+			return section;
+		});
+	}
+
+	/** Removes an entity from its section, and the section if it became empty.
+	 * @param entityId the id of the entity to remove
+	 * @return the detached card so it can be reused in another column, or null if it was not rendered */
+	public Component removeEntity(final Long entityId) {
+		for (final Map.Entry<String, CKanbanTypeSection<T>> entry : sections.entrySet()) {
+			if (entry.getValue().contains(entityId)) {
+				return removeFrom(entry.getKey(), entry.getValue(), entityId);
+			}
+		}
+		return null;
+	}
+
+	private Component removeFrom(final String typeName, final CKanbanTypeSection<T> section, final Long entityId) {
+		final Component card = section.removeEntity(entityId);
+		if (section.getEntityCount() == 0) {
+			container.remove(sections.remove(typeName));
+		}
+		return card;
+	}
+
+	/** Replaces the content of the sections with a diff: sections whose type has no entities left are removed, the others keep the cards of their
+	 * unchanged entities, and only new entities get new cards.
+	 * @param entities the entities of the column */
+	public void setEntities(final List<T> entities) {
+		final Map<String, List<T>> entitiesByType =
+				entities.stream().collect(Collectors.groupingBy(typeNameProvider, LinkedHashMap::new, Collectors.toList()));
+		for (final String typeName : new ArrayList<>(sections.keySet())) {
+			if (!entitiesByType.containsKey(typeName)) {
+				container.remove(sections.remove(typeName));
+			}
+		}
+		for (final Map.Entry<String, List<T>> typeEntry : entitiesByType.entrySet()) {
+			getOrCreateSection(typeEntry.getKey()).setEntities(typeEntry.getValue());
+		}
+	}
+}
@@ -1,9 +1,7 @@
 package tech.derbent.api.ui.component;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.ClickEvent;
@@ -18,7 +16,6 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.AfterNavigationEvent;
 import com.vaadin.flow.router.AfterNavigationObserver;
 import com.vaadin.flow.server.menu.MenuConfiguration;
-import com.vaadin.flow.server.menu.MenuEntry;
 import com.vaadin.flow.theme.lumo.LumoUtility.AlignItems;
 import com.vaadin.flow.theme.lumo.LumoUtility.Display;
 import com.vaadin.flow.theme.lumo.LumoUtility.FontSize;
@@ -28,208 +25,42 @@ import com.vaadin.flow.theme.lumo.LumoUtility.IconSize;
 import com.vaadin.flow.theme.lumo.LumoUtility.Margin;
 import com.vaadin.flow.theme.lumo.LumoUtility.Padding;
 import com.vaadin.flow.theme.lumo.LumoUtility.TextColor;
-import tech.derbent.api.utils.CColorUtils;
+import tech.derbent.api.ui.component.CMenuModel.CMenuItemModel;
+import tech.derbent.api.ui.component.CMenuModel.CMenuLevelModel;
 import tech.derbent.api.utils.Check;
 import tech.derbent.api.views.components.CButton;
 import tech.derbent.api.views.components.CDiv;
-import tech.derbent.page.domain.CPageEntity;
 import tech.derbent.page.service.CPageMenuIntegrationService;
-import tech.derbent.page.view.CDynamicPageRouter;
 
 /** CHierarchicalSideMenu - A hierarchical side menu component with up to 4 levels of navigation. Layer: View (MVC) Features: - Supports up to 4
- * levels of menu hierarchy - Sliding animations between levels - Back button navigation - Parses menu entries from route annotations in format:
- * parentItem2.childItem1.childofchileitem1 - Responsive design with proper styling - Current page highlighting */
+ * levels of menu hierarchy - Sliding animations between levels - Back button navigation - Renders the shared CMenuModel of the active project, built
+ * from route annotations in format: parentItem2.childItem1.childofchileitem1 - Responsive design with proper styling - Current page highlighting */
 public final class CHierarchicalSideMenu extends Div implements AfterNavigationObserver {
 
-	/** Inner class representing a single menu item. */
-	private final class CMenuItem {
-
-		private final String iconColor;
-		private final String iconName;
-		private final boolean isNavigation;
-		private final String name;
-		private final String path;
-		private final String targetLevelKey;
-
-		public CMenuItem(final Class<? extends Component> clazz, final String name, final String iconName, final String path,
-				final String targetLevelKey, final boolean isNavigation) throws Exception {
-			this.name = name;
-			if (iconName.startsWith("class:")) {
-				// get icon from class
-				try {
-					this.iconName = CColorUtils.getStaticIconFilename(iconName.replace("class:", ""));
-				} catch (Exception e) {
-					LOGGER.warn("Check route information for icon retrieval. Probably missing Class path or function.");
-					throw e;
-				}
-			} else {
-				// get icon directly
-				this.iconName = iconName;
-			}
-			this.path = path;
-			this.targetLevelKey = targetLevelKey;
-			this.isNavigation = isNavigation;
-			// get icon color - use CPageEntity color for dynamic pages, otherwise use class color
-			if (isDynamicPagePath(path)) {
-				iconColor = getDynamicPageIconColor(path);
-			} else {
-				iconColor = CColorUtils.getStaticIconColorCode(clazz.getName());
-			}
-		}
-
-		public Component createComponent() {
-			final HorizontalLayout itemLayout = new HorizontalLayout();
-			itemLayout.addClassNames(Display.FLEX, AlignItems.CENTER, Padding.MEDIUM, Gap.MEDIUM, MENU_ITEM_CLASS);
-			itemLayout.setWidthFull();
-			// Check if this item represents the current page
-			final boolean isCurrentPage = (path != null) && !path.trim().isEmpty() && (currentRoute != null) && currentRoute.equals(path.trim());
-			// Add icon with consistent sizing and colorful styling
-			Icon icon;
-			if ((iconName != null) && !iconName.trim().isEmpty()) {
-				icon = new Icon(iconName);
-			} else {
-				// Use a transparent placeholder icon to maintain consistent spacing
-				icon = VaadinIcon.CIRCLE.create();
-				icon.getStyle().set("visibility", "hidden");
-			}
-			// set color from iconColor if available
-			if ((iconColor != null) && !iconColor.trim().isEmpty()) {
-				icon.getStyle().set("color", iconColor);
-			}
-			icon.addClassNames(IconSize.MEDIUM);
-			icon.getStyle().set("min-width", "24px").set("min-height", "24px");
-			itemLayout.add(icon);
-			// Add text with highlighting
-			final Span itemText = new Span(name);
-			itemText.addClassNames(FontSize.LARGE, isCurrentPage ? FontWeight.BOLD : FontWeight.NORMAL);
-			if (isCurrentPage) {
-				itemText.addClassNames(TextColor.PRIMARY);
-			}
-			itemLayout.add(itemText);
-			// Add navigation arrow for navigation items
-			if (isNavigation) {
-				final Div spacer = new Div();
-				spacer.setWidthFull();
-				itemLayout.add(spacer);
-				itemLayout.setFlexGrow(1, spacer);
-				final Icon navIcon = VaadinIcon.ANGLE_RIGHT.create();
-				navIcon.addClassNames(IconSize.MEDIUM);
-				navIcon.getStyle().set("color", "var(--lumo-primary-color)");
-				navIcon.getStyle().set("min-width", "24px").set("min-height", "24px");
-				itemLayout.add(navIcon);
-			}
-			// Apply current page highlighting styles
-			if (isCurrentPage) {
-				itemLayout.getElement().getStyle().set("background-color", "var(--lumo-primary-color-10pct)").set("border-left",
-						"4px solid var(--lumo-primary-color)");
-			}
-			// Add click listener
-			itemLayout.addClickListener(this::handleItemClick);
-			// Style as clickable
-			itemLayout.getElement().getStyle().set("cursor", "pointer").set("border-radius", "var(--lumo-border-radius-m)").set("transition",
-					"all 0.2s ease");
-			// Add hover effects (only if not current page to avoid conflicts)
-			if (!isCurrentPage) {
-				itemLayout.getElement().addEventListener("mouseenter",
-						e -> itemLayout.getElement().getStyle().set("background-color", "var(--lumo-contrast-5pct)"));
-				itemLayout.getElement().addEventListener("mouseleave", e -> itemLayout.getElement().getStyle().remove("background-color"));
-			}
-			return itemLayout;
-		}
-
-		private void handleItemClick(final ClickEvent<HorizontalLayout> event) {
-			if (isNavigation && (targetLevelKey != null)) {
-				// Navigate to sub-level
-				showLevel(targetLevelKey);
-			} else if ((path != null) && !path.trim().isEmpty()) {
-				// Navigate to actual page
-				LOGGER.debug("Navigating to path: {}", path);
-				if (path.startsWith("dynamic.")) {
-					// Remove "dynamic." prefix and navigate
-					String dynamicPath = path.substring("dynamic.".length());
-					// give rest of path as a parameter to dynamicview page
-					String dynamicViewPath = "cdynamicpagerouter/" + dynamicPath;
-					UI.getCurrent().navigate(dynamicViewPath);
-					return;
-				} else {
-					UI.getCurrent().navigate(path);
-				}
-			}
-		}
-	}
-
-	/** Inner class representing a single level in the menu hierarchy. */
-	private final class CMenuLevel {
-
-		private final String displayName;
-		private final List<CMenuItem> items;
-		private final String levelKey;
-		private final CMenuLevel parent;
-
-		public CMenuLevel(final String levelKey, final String displayName, final CMenuLevel parent) {
-			this.levelKey = levelKey;
-			this.displayName = displayName;
-			this.parent = parent;
-			items = new ArrayList<>();
-		}
-
-		public void addMenuItem(final Class<? extends Component> clazz, final String name, final String iconName, final String path)
-				throws Exception {
-			final CMenuItem item = new CMenuItem(clazz, name, iconName, path, null, false);
-			items.add(item);
-		}
-
-		public void addNavigationItem(final Class<? extends Component> clazz, final String name, final String iconName, final String targetLevelKey)
-				throws Exception {
-			final CMenuItem item = new CMenuItem(clazz, name, iconName, null, targetLevelKey, true);
-			items.add(item);
-		}
-
-		public Component createLevelComponent() {
-			final VerticalLayout levelLayout = new VerticalLayout();
-			levelLayout.addClassNames(Padding.NONE, Gap.SMALL);
-			levelLayout.setWidthFull();
-			for (final CMenuItem item : items) {
-				levelLayout.add(item.createComponent());
-			}
-			return levelLayout;
-		}
-
-		public String getDisplayName() { return displayName; }
-
-		// Getters
-		public String getLevelKey() { return levelKey; }
-
-		public CMenuLevel getParent() { return parent; }
-	}
-
 	private static final String BACK_BUTTON_CLASS = "hierarchical-back-button";
 	private static final String HEADER_CLASS = "hierarchical-header";
 	private static final String LEVEL_CONTAINER_CLASS = "hierarchical-level-container";
-	private static final int MAX_MENU_LEVELS = 4;
 	// Styling constants
 	private static final String MENU_ITEM_CLASS = "hierarchical-menu-item";
 	private static final long serialVersionUID = 1L;
-	private CMenuLevel currentLevel;
+	private CMenuLevelModel currentLevel;
 	private final Div currentLevelContainer;
 	private String currentRoute; // Track current route for highlighting
 	private final HorizontalLayout headerLayout;
 	protected final Logger LOGGER = LoggerFactory.getLogger(getClass());
 	// Menu structure components
 	private final VerticalLayout menuContainer;
-	private final Map<String, CMenuLevel> menuLevels;
+	// Shared immutable menu tree of the active project
+	private final CMenuModel menuModel;
 	// Navigation state
 	private final List<String> navigationPath;
-	// Services for dynamic menu integration
-	private final CPageMenuIntegrationService pageMenuService;
 
 	/** Constructor initializes the hierarchical side menu component.
 	 * @param pageMenuService Service for dynamic page menu integration
 	 * @throws Exception */
 	public CHierarchicalSideMenu(CPageMenuIntegrationService pageMenuService) throws Exception {
-		this.pageMenuService = pageMenuService;
+		Check.notNull(pageMenuService, "Page menu service must not be null");
 		navigationPath = new ArrayList<>();
-		menuLevels = new HashMap<>();
 		// Initialize main container
 		menuContainer = new VerticalLayout();
 		menuContainer.addClassNames(Padding.NONE, Gap.SMALL);
@@ -242,16 +73,16 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 		currentLevelContainer = new Div();
 		currentLevelContainer.addClassNames(LEVEL_CONTAINER_CLASS);
 		currentLevelContainer.setWidthFull();
-		// Build menu structure from annotations
-		buildMenuHierarchy();
+		// Menu structure is built once per project and role set and shared by all UIs
+		menuModel = pageMenuService.getMenuModel(MenuConfiguration.getMenuEntries());
 		// Add components to main container
 		menuContainer.add(headerLayout, currentLevelContainer);
 		add(menuContainer);
 		// Apply CSS styling
 		initializeStyles();
 		// Show root level initially
-		showLevel("root");
-		LOGGER.info("CHierarchicalSideMenu initialized successfully with {} menu levels", menuLevels.size());
+		showLevel(CMenuModel.ROOT_LEVEL_KEY);
+		LOGGER.info("CHierarchicalSideMenu initialized successfully with {} menu levels", menuModel.getLevelCount());
 	}
 
 	@Override
@@ -264,60 +95,106 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 		}
 	}
 
-	/** Builds the menu hierarchy from route annotations. Parses menu entries in format: parentItem2.childItem1.childofchileitem1
-	 * @throws Exception */
-	private void buildMenuHierarchy() throws Exception {
-		final var rootLevel = new CMenuLevel("root", "Homepage", null);
-		menuLevels.put("root", rootLevel);
-		List<MenuEntry> allMenuEntries = new ArrayList<>();
-		// Get static menu entries from MenuConfiguration
-		final var staticMenuEntries = MenuConfiguration.getMenuEntries();
-		allMenuEntries.addAll(staticMenuEntries);
-		Check.notNull(pageMenuService, "Page menu service must not be null");
-		final var dynamicMenuEntries = pageMenuService.getDynamicMenuEntries();
-		allMenuEntries.addAll(dynamicMenuEntries);
-		// Process all menu entries (both static and dynamic)
-		for (final MenuEntry menuEntry : allMenuEntries) {
-			processMenuEntry(menuEntry);
+	/** Creates the component of a single menu item.
+	 * @param item the menu item model
+	 * @return the item component */
+	private Component createItemComponent(final CMenuItemModel item) {
+		final HorizontalLayout itemLayout = new HorizontalLayout();
+		itemLayout.addClassNames(Display.FLEX, AlignItems.CENTER, Padding.MEDIUM, Gap.MEDIUM, MENU_ITEM_CLASS);
+		itemLayout.setWidthFull();
+		final String path = item.getPath();
+		// Check if this item represents the current page
+		final boolean isCurrentPage = (path != null) && !path.trim().isEmpty() && (currentRoute != null) && currentRoute.equals(path.trim());
+		// Add icon with consistent sizing and colorful styling
+		Icon icon;
+		if ((item.getIconName() != null) && !item.getIconName().trim().isEmpty()) {
+			icon = new Icon(item.getIconName());
+		} else {
+			// Use a transparent placeholder icon to maintain consistent spacing
+			icon = VaadinIcon.CIRCLE.create();
+			icon.getStyle().set("visibility", "hidden");
 		}
+		// set color from iconColor if available
+		if ((item.getIconColor() != null) && !item.getIconColor().trim().isEmpty()) {
+			icon.getStyle().set("color", item.getIconColor());
+		}
+		icon.addClassNames(IconSize.MEDIUM);
+		icon.getStyle().set("min-width", "24px").set("min-height", "24px");
+		itemLayout.add(icon);
+		// Add text with highlighting
+		final Span itemText = new Span(item.getName());
+		itemText.addClassNames(FontSize.LARGE, isCurrentPage ? FontWeight.BOLD : FontWeight.NORMAL);
+		if (isCurrentPage) {
+			itemText.addClassNames(TextColor.PRIMARY);
+		}
+		itemLayout.add(itemText);
+		// Add navigation arrow for navigation items
+		if (item.isNavigation()) {
+			final Div spacer = new Div();
+			spacer.setWidthFull();
+			itemLayout.add(spacer);
+			itemLayout.setFlexGrow(1, spacer);
+			final Icon navIcon = VaadinIcon.ANGLE_RIGHT.create();
+			navIcon.addClassNames(IconSize.MEDIUM);
+			navIcon.getStyle().set("color", "var(--lumo-primary-color)");
+			navIcon.getStyle().set("min-width", "24px").set("min-height", "24px");
+			itemLayout.add(navIcon);
+		}
+		// Apply current page highlighting styles
+		if (isCurrentPage) {
+			itemLayout.getElement().getStyle().set("background-color", "var(--lumo-primary-color-10pct)").set("border-left",
+					"4px solid var(--lumo-primary-color)");
+		}
+		// Add click listener
+		itemLayout.addClickListener(event -> handleItemClick(item));
+		// Style as clickable
+		itemLayout.getElement().getStyle().set("cursor", "pointer").set("border-radius", "var(--lumo-border-radius-m)").set("transition",
+				"all 0.2s ease");
+		// Add hover effects (only if not current page to avoid conflicts)
+		if (!isCurrentPage) {
+			itemLayout.getElement().addEventListener("mouseenter",
+					e -> itemLayout.getElement().getStyle().set("background-color", "var(--lumo-contrast-5pct)"));
+			itemLayout.getElement().addEventListener("mouseleave", e -> itemLayout.getElement().getStyle().remove("background-color"));
+		}
+		return itemLayout;
 	}
 
-	/** Get icon color for a dynamic page.
-	 * @param path The dynamic page path (format: "dynamic.{pageId}")
-	 * @return The color code from CPageEntity, or default color if not found */
-	private String getDynamicPageIconColor(final String path) {
-		try {
-			if ((path == null) || !path.startsWith("dynamic.")) {
-				return CColorUtils.getStaticIconColorCode(CDynamicPageRouter.class.getName());
-			}
-			// Extract page ID from path
-			String pageIdStr = path.substring("dynamic.".length());
-			Long pageId = Long.parseLong(pageIdStr);
-			// Get the page entity and its color
-			CPageEntity pageEntity = pageMenuService.getPageEntityById(pageId);
-			if (pageEntity != null) {
-				return pageEntity.getColor();
-			} else {
-				return CPageEntity.DEFAULT_COLOR;
-			}
-		} catch (Exception e) {
-			LOGGER.warn("Failed to get dynamic page icon color for path {}: {}", path, e.getMessage());
-		}
-		// Fallback to default dynamic page color
-		try {
-			return CColorUtils.getStaticIconColorCode(CDynamicPageRouter.class.getName());
-		} catch (Exception e) {
-			LOGGER.warn("Failed to get fallback icon color: {}", e.getMessage());
-			return "#102bff"; // Hard-coded fallback
+	/** Creates the component of a menu level with all of its items.
+	 * @param level the level model
+	 * @return the level component */
+	private Component createLevelComponent(final CMenuLevelModel level) {
+		final VerticalLayout levelLayout = new VerticalLayout();
+		levelLayout.addClassNames(Padding.NONE, Gap.SMALL);
+		levelLayout.setWidthFull();
+		for (final CMenuItemModel item : level.getItems()) {
+			levelLayout.add(createItemComponent(item));
 		}
+		return levelLayout;
 	}
 
 	/** Handles back button click events.
 	 * @param event The click event */
 	private void handleBackButtonClick(final ClickEvent<com.vaadin.flow.component.button.Button> event) {
 		LOGGER.debug("Back button clicked from level: {}", currentLevel != null ? currentLevel.getLevelKey() : "unknown");
-		if ((currentLevel != null) && (currentLevel.getParent() != null)) {
-			showLevel(currentLevel.getParent().getLevelKey());
+		if ((currentLevel != null) && (currentLevel.getParentKey() != null)) {
+			showLevel(currentLevel.getParentKey());
+		}
+	}
+
+	private void handleItemClick(final CMenuItemModel item) {
+		final String path = item.getPath();
+		if (item.isNavigation() && (item.getTargetLevelKey() != null)) {
+			// Navigate to sub-level
+			showLevel(item.getTargetLevelKey());
+		} else if ((path != null) && !path.trim().isEmpty()) {
+			// Navigate to actual page
+			LOGGER.debug("Navigating to path: {}", path);
+			if (CMenuModel.isDynamicPagePath(path)) {
+				// give rest of path as a parameter to dynamicview page
+				UI.getCurrent().navigate("cdynamicpagerouter/" + path.substring(CMenuModel.DYNAMIC_PATH_PREFIX.length()));
+			} else {
+				UI.getCurrent().navigate(path);
+			}
 		}
 	}
 
@@ -327,68 +204,18 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 		addClassNames("hierarchical-side-menu");
 	}
 
-	/** Check if a path represents a dynamic page.
-	 * @param path The path to check
-	 * @return true if this is a dynamic page path */
-	private boolean isDynamicPagePath(final String path) {
-		return (path != null) && path.startsWith("dynamic.");
-	}
-
-	/** Processes a single menu entry and adds it to the appropriate level.
-	 * @param menuEntry The menu entry to process
-	 * @throws Exception */
-	private void processMenuEntry(final MenuEntry menuEntry) throws Exception {
-		Check.notNull(menuEntry, "Menu entry must not be null");
-		String title = menuEntry.title();
-		final String path = menuEntry.path();
-		final String icon = menuEntry.icon();
-		boolean isDynamic = title.startsWith("dynamic/");
-		if (isDynamic) {
-			// remove dynamic/ from path
-			title = title.replace("dynamic/", "");
-		}
-		// get menu view class color
-		// final String iconColor = CIconSetLoadergetStaticIconColorCode(menuEntry.menu);
-		Check.notBlank(title, "Menu entry title must not be blank");
-		// Split title by dots to get hierarchy levels (up to 4 levels)
-		final String[] titleParts = title.split("\\.");
-		final int levelCount = Math.min(titleParts.length, MAX_MENU_LEVELS);
-		// Ensure all parent levels exist
-		String currentLevelKey = "root";
-		for (int i = 0; i < (levelCount - 1); i++) {
-			final String levelName = titleParts[i].trim();
-			final String childLevelKey = currentLevelKey + "." + levelName;
-			if (!menuLevels.containsKey(childLevelKey)) {
-				final CMenuLevel parentLevel = menuLevels.get(currentLevelKey);
-				final CMenuLevel newLevel = new CMenuLevel(childLevelKey, levelName, parentLevel);
-				menuLevels.put(childLevelKey, newLevel);
-				// Add navigation item to parent level
-				parentLevel.addNavigationItem(menuEntry.menuClass(), levelName, icon, childLevelKey);
-			}
-			currentLevelKey = childLevelKey;
-		}
-		// Add final menu item (leaf node) to the current level
-		if (levelCount > 0) {
-			final String itemName = titleParts[levelCount - 1].trim();
-			final CMenuLevel targetLevel = menuLevels.get(currentLevelKey);
-			if (targetLevel != null) {
-				targetLevel.addMenuItem(menuEntry.menuClass(), itemName, icon, path);
-			}
-		}
-	}
-
 	/** Refreshes the current level display to update highlighting. */
 	private void refreshCurrentLevel() {
 		if (currentLevel != null) {
 			currentLevelContainer.removeAll();
-			currentLevelContainer.add(currentLevel.createLevelComponent());
+			currentLevelContainer.add(createLevelComponent(currentLevel));
 		}
 	}
 
 	/** Shows the specified menu level with sliding animation.
 	 * @param levelKey The key of the level to show */
 	private void showLevel(final String levelKey) {
-		final CMenuLevel level = menuLevels.get(levelKey);
+		final CMenuLevelModel level = menuModel.getLevel(levelKey);
 		if (level == null) {
 			LOGGER.warn("Menu level '{}' not found", levelKey);
 			return;
@@ -399,7 +226,7 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 		updateHeader(level);
 		// Clear current level container and add new level
 		currentLevelContainer.removeAll();
-		currentLevelContainer.add(level.createLevelComponent());
+		currentLevelContainer.add(createLevelComponent(level));
 		// Add sliding animation class
 		currentLevelContainer.addClassName("slide-in");
 		// Store current level reference
@@ -409,11 +236,11 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 
 	/** Updates the header with appropriate back button and title.
 	 * @param level The current menu level */
-	private void updateHeader(final CMenuLevel level) {
+	private void updateHeader(final CMenuLevelModel level) {
 		headerLayout.removeAll();
 		// Always add an icon area with consistent width
 		Icon levelIcon;
-		if (level.getParent() != null) {
+		if (level.getParentKey() != null) {
 			// Add back button with consistent sizing
 			levelIcon = VaadinIcon.ARROW_LEFT.create();
 			levelIcon.addClassNames(IconSize.MEDIUM);
@@ -446,7 +273,7 @@ public final class CHierarchicalSideMenu extends Div implements AfterNavigationO
 	 * @param levelKey The current level key */
 	private void updateNavigationPath(final String levelKey) {
 		navigationPath.clear();
-		if ("root".equals(levelKey)) {
+		if (CMenuModel.ROOT_LEVEL_KEY.equals(levelKey)) {
 			return;
 		}
 		// Build path from root to current level
@@ -0,0 +1,192 @@
+package tech.derbent.api.ui.component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.vaadin.flow.server.menu.MenuEntry;
+import tech.derbent.api.utils.CColorUtils;
+import tech.derbent.api.utils.Check;
+import tech.derbent.page.view.CDynamicPageRouter;
+
+/** CMenuModel - Immutable tree of side menu levels and items. Layer: View (MVC) Built once from the static route menu entries and the dynamic page
+ * entries of a project: titles in the format parentItem2.childItem1.childofchileitem1 are split into up to {@link #MAX_MENU_LEVELS} levels and
+ * icons and colors are resolved while building. The model holds no components, so a single instance is shared by all UIs of a project and each
+ * CHierarchicalSideMenu only renders it. */
+public final class CMenuModel {
+
+	/** A single immutable menu item, either a link to a route or a navigation entry that opens a sub-level. */
+	public static final class CMenuItemModel {
+
+		private final String iconColor;
+		private final String iconName;
+		private final boolean navigation;
+		private final String name;
+		private final String path;
+		private final String targetLevelKey;
+
+		CMenuItemModel(final String name, final String iconName, final String iconColor, final String path, final String targetLevelKey,
+				final boolean navigation) {
+			this.name = name;
+			this.iconName = iconName;
+			this.iconColor = iconColor;
+			this.path = path;
+			this.targetLevelKey = targetLevelKey;
+			this.navigation = navigation;
+		}
+
+		public String getIconColor() { return iconColor; }
+
+		public String getIconName() { return iconName; }
+
+		public String getName() { return name; }
+
+		public String getPath() { return path; }
+
+		public String getTargetLevelKey() { return targetLevelKey; }
+
+		public boolean isNavigation() { return navigation; }
+	}
+
+	/** A single immutable level of the menu hierarchy. */
+	public static final class CMenuLevelModel {
+
+		private final String displayName;
+		private List<CMenuItemModel> items = new ArrayList<>();
+		private final String levelKey;
+		private final String parentKey;
+
+		CMenuLevelModel(final String levelKey, final String displayName, final String parentKey) {
+			this.levelKey = levelKey;
+			this.displayName = displayName;
+			this.parentKey = parentKey;
+		}
+
+		public String getDisplayName() { return displayName; }
+
+		public List<CMenuItemModel> getItems() { return items; }
+
+		public String getLevelKey() { return levelKey; }
+
+		/** Key of the parent level, null for the root level. */
+		public String getParentKey() { return parentKey; }
+	}
+
+	public static final String DYNAMIC_PATH_PREFIX = "dynamic.";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CMenuModel.class);
+	public static final int MAX_MENU_LEVELS = 4;
+	public static final String ROOT_LEVEL_KEY = "root";
+
+	/** Builds the menu tree.
+	 * @param menuEntries       static and dynamic menu entries in display order
+	 * @param dynamicPageColors icon color of each dynamic page keyed by page id, pages missing from the map use the dynamic page router color
+	 * @return the immutable menu model
+	 * @throws Exception if an icon or color of a route class cannot be resolved */
+	public static CMenuModel build(final List<MenuEntry> menuEntries, final Map<Long, String> dynamicPageColors) throws Exception {
+		Check.notNull(menuEntries, "Menu entries must not be null");
+		final Map<String, CMenuLevelModel> levels = new LinkedHashMap<>();
+		levels.put(ROOT_LEVEL_KEY, new CMenuLevelModel(ROOT_LEVEL_KEY, "Homepage", null));
+		for (final MenuEntry menuEntry : menuEntries) {
+			processMenuEntry(levels, menuEntry, dynamicPageColors != null ? dynamicPageColors : Map.of());
+		}
+		// freeze the item lists
+		for (final CMenuLevelModel level : levels.values()) {
+			level.items = Collections.unmodifiableList(level.items);
+		}
+		return new CMenuModel(levels);
+	}
+
+	private static CMenuItemModel createItem(final MenuEntry menuEntry, final String name, final String path, final String targetLevelKey,
+			final boolean navigation, final Map<Long, String> dynamicPageColors) throws Exception {
+		final String icon = menuEntry.icon();
+		final String iconName;
+		if ((icon != null) && icon.startsWith("class:")) {
+			// get icon from class
+			try {
+				iconName = CColorUtils.getStaticIconFilename(icon.replace("class:", ""));
+			} catch (final Exception e) {
+				LOGGER.warn("Check route information for icon retrieval. Probably missing Class path or function.");
+				throw e;
+			}
+		} else {
+			iconName = icon;
+		}
+		// use the CPageEntity color for dynamic pages, otherwise the route class color
+		final String iconColor;
+		if (isDynamicPagePath(path)) {
+			iconColor = getDynamicPageIconColor(path, dynamicPageColors);
+		} else {
+			iconColor = CColorUtils.getStaticIconColorCode(menuEntry.menuClass().getName());
+		}
+		return new CMenuItemModel(name, iconName, iconColor, path, targetLevelKey, navigation);
+	}
+
+	private static String getDynamicPageIconColor(final String path, final Map<Long, String> dynamicPageColors) {
+		try {
+			final String color = dynamicPageColors.get(Long.parseLong(path.substring(DYNAMIC_PATH_PREFIX.length())));
+			if (color != null) {
+				return color;
+			}
+		} catch (final NumberFormatException e) {
+			LOGGER.warn("Invalid dynamic page path {}: {}", path, e.getMessage());
+		}
+		try {
+			return CColorUtils.getStaticIconColorCode(CDynamicPageRouter.class.getName());
+		} catch (final Exception e) {
+			LOGGER.warn("Failed to get fallback icon color: {}", e.getMessage());
+			return "#102bff"; // Hard-coded fallback
+		}
+	}
+
+	/** Check if a path represents a dynamic page.
+	 * @param path The path to check
+	 * @return true if this is a dynamic page path */
+	public static boolean isDynamicPagePath(final String path) {
+		return (path != null) && path.startsWith(DYNAMIC_PATH_PREFIX);
+	}
+
+	private static void processMenuEntry(final Map<String, CMenuLevelModel> levels, final MenuEntry menuEntry,
+			final Map<Long, String> dynamicPageColors) throws Exception {
+		Check.notNull(menuEntry, "Menu entry must not be null");
+		String title = menuEntry.title();
+		if (title.startsWith("dynamic/")) {
+			title = title.replace("dynamic/", "");
+		}
+		Check.notBlank(title, "Menu entry title must not be blank");
+		// Split title by dots to get hierarchy levels (up to 4 levels)
+		final String[] titleParts = title.split("\\.");
+		final int levelCount = Math.min(titleParts.length, MAX_MENU_LEVELS);
+		// Ensure all parent levels exist
+		String currentLevelKey = ROOT_LEVEL_KEY;
+		for (int i = 0; i < (levelCount - 1); i++) {
+			final String levelName = titleParts[i].trim();
+			final String childLevelKey = currentLevelKey + "." + levelName;
+			if (!levels.containsKey(childLevelKey)) {
+				levels.put(childLevelKey, new CMenuLevelModel(childLevelKey, levelName, currentLevelKey));
+				levels.get(currentLevelKey).items.add(createItem(menuEntry, levelName, null, childLevelKey, true, dynamicPageColors));
+			}
+			currentLevelKey = childLevelKey;
+		}
+		// Add final menu item (leaf node) to the current level
+		if (levelCount > 0) {
+			final String itemName = titleParts[levelCount - 1].trim();
+			levels.get(currentLevelKey).items.add(createItem(menuEntry, itemName, menuEntry.path(), null, false, dynamicPageColors));
+		}
+	}
+
+	private final Map<String, CMenuLevelModel> levels;
+
+	private CMenuModel(final Map<String, CMenuLevelModel> levels) {
+		this.levels = Collections.unmodifiableMap(levels);
+	}
+
+	/** Returns the level with the given key, or null if it does not exist. */
+	public CMenuLevelModel getLevel(final String levelKey) {
+		return levels.get(levelKey);
+	}
+
+	public int getLevelCount() { return levels.size(); }
+}
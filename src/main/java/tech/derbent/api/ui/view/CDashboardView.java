@@ -159,9 +159,12 @@ public final class CDashboardView extends CAbstractPage {
 			long totalUsers = 0;
 			long totalActivities = 0;
 			final Map<String, Map<String, Long>> projectMetrics = new HashMap<>();
+			// one grouped count per kind instead of two counts per project
+			final Map<Long, Long> usersByProject = userService.countUsersByProjects();
+			final Map<Long, Long> activitiesByProject = activityService.countByProjects();
 			for (final CProject project : allProjects) {
-				final long usersInProject = userService.countUsersByProjectId(project.getId());
-				final long activitiesInProject = activityService.countByProject(project);
+				final long usersInProject = usersByProject.getOrDefault(project.getId(), 0L);
+				final long activitiesInProject = activitiesByProject.getOrDefault(project.getId(), 0L);
 				totalUsers += usersInProject;
 				totalActivities += activitiesInProject;
 				// Store project metrics for detailed view
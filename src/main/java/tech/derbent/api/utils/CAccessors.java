@@ -0,0 +1,196 @@
+package tech.derbent.api.utils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** CAccessors - Cached accessors for properties that are only known by name. Layer: Utility Grid columns, Gantt items and data providers read
+ * values by method or field name for every cell or item. Looking the member up with getMethod and calling it reflectively each time dominates
+ * those loops, so every accessor is created once per (class, name) and kept in a {@link ClassValue}, which is dropped together with the class
+ * when a class loader is discarded (devtools restarts). Instance getters are compiled into a {@link Function} with {@link LambdaMetafactory}, a
+ * call then costs the same as a lambda calling the getter directly. Where the metafactory cannot link the method (e.g. a class not visible from
+ * this class loader) a plain {@link MethodHandle} is used. Missing members are cached too, lookups for optional methods stay cheap. */
+public final class CAccessors {
+
+	/** Accessors of one class, created on first use. Keys are prefixed by the kind of member. */
+	private static final class CClassAccessors {
+
+		private final ConcurrentMap<String, Optional<Object>> accessors = new ConcurrentHashMap<>();
+	}
+
+	private static final ClassValue<CClassAccessors> ACCESSORS = new ClassValue<>() {
+
+		@Override
+		protected CClassAccessors computeValue(final Class<?> type) {
+			return new CClassAccessors();
+		}
+	};
+	private static final Logger LOGGER = LoggerFactory.getLogger(CAccessors.class);
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+
+	@SuppressWarnings ("unchecked")
+	private static <T> T cached(final Class<?> type, final String key, final Supplier<T> factory) {
+		final ConcurrentMap<String, Optional<Object>> accessors = ACCESSORS.get(type).accessors;
+		Optional<Object> accessor = accessors.get(key);
+		if (accessor == null) {
+			// created outside of the map, factories look up other members of the same class; a lost race only creates one accessor too many
+			final Optional<Object> created = Optional.ofNullable(factory.get());
+			accessor = accessors.putIfAbsent(key, created);
+			if (accessor == null) {
+				accessor = created;
+			}
+		}
+		return (T) accessor.orElse(null);
+	}
+
+	@SuppressWarnings ("unchecked")
+	private static Function<Object, Object> compileGetter(final Method method) {
+		try {
+			final MethodHandle handle = LOOKUP.unreflect(method);
+			try {
+				final CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class), OBJECT_GETTER,
+						handle, handle.type().wrap());
+				return (Function<Object, Object>) site.getTarget().invokeExact();
+			} catch (final Throwable e) {
+				LOGGER.debug("Using a method handle for {}.{}: {}", method.getDeclaringClass().getSimpleName(), method.getName(), e.getMessage());
+				return handleGetter(handle.asType(OBJECT_GETTER));
+			}
+		} catch (final IllegalAccessException e) {
+			LOGGER.debug("Using reflection for {}.{}: {}", method.getDeclaringClass().getSimpleName(), method.getName(), e.getMessage());
+			method.setAccessible(true);
+			return target -> {
+				try {
+					return method.invoke(target);
+				} catch (final ReflectiveOperationException invokeException) {
+					throw new IllegalStateException("Failed to call " + method.getName(), invokeException);
+				}
+			};
+		}
+	}
+
+	/** Returns a reader of the field, bypassing its getter like {@link Field#get(Object)} does. Created once per field.
+	 * @param field the field, may be private
+	 * @return function returning the field value of its argument */
+	public static Function<Object, Object> fieldGetter(final Field field) {
+		Check.notNull(field, "Field cannot be null");
+		return cached(field.getDeclaringClass(), "field:" + field.getName(), () -> {
+			try {
+				final MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectGetter(field);
+				return handleGetter(handle.asType(OBJECT_GETTER));
+			} catch (final IllegalAccessException e) {
+				LOGGER.debug("Using reflection for field {}.{}: {}", field.getDeclaringClass().getSimpleName(), field.getName(), e.getMessage());
+				field.setAccessible(true);
+				return (Function<Object, Object>) target -> {
+					try {
+						return field.get(target);
+					} catch (final IllegalAccessException getException) {
+						throw new IllegalStateException("Failed to read " + field.getName(), getException);
+					}
+				};
+			}
+		});
+	}
+
+	/** Returns the value of a public no-argument instance method of the target.
+	 * @param target     the object, may be null
+	 * @param methodName the method name
+	 * @return the value, null if the target is null or has no such method */
+	public static Object get(final Object target, final String methodName) {
+		if (target == null) {
+			return null;
+		}
+		final Function<Object, Object> getter = getter(target.getClass(), methodName);
+		return getter == null ? null : getter.apply(target);
+	}
+
+	/** Returns a function calling the public no-argument instance method of the type, created once per (type, name).
+	 * @param type       the class of the objects the function is applied to
+	 * @param methodName the method name, e.g. getName
+	 * @return the function, or null if the type has no such method */
+	public static Function<Object, Object> getter(final Class<?> type, final String methodName) {
+		Check.notNull(type, "Type cannot be null");
+		Check.notBlank(methodName, "Method name cannot be blank");
+		return cached(type, "getter:" + methodName, () -> {
+			final Method method = method(type, methodName);
+			if ((method == null) || Modifier.isStatic(method.getModifiers()) || (method.getReturnType() == void.class)) {
+				return null;
+			}
+			return compileGetter(method);
+		});
+	}
+
+	private static Function<Object, Object> handleGetter(final MethodHandle handle) {
+		return target -> {
+			try {
+				return handle.invokeExact(target);
+			} catch (final RuntimeException | Error e) {
+				throw e;
+			} catch (final Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	/** Returns the public method of the type with the given parameter types, looked up once per (type, name, parameter types).
+	 * @param type           the class
+	 * @param methodName     the method name
+	 * @param parameterTypes the parameter types
+	 * @return the method, or null if there is no such public method */
+	public static Method method(final Class<?> type, final String methodName, final Class<?>... parameterTypes) {
+		Check.notNull(type, "Type cannot be null");
+		Check.notBlank(methodName, "Method name cannot be blank");
+		return cached(type, "method:" + methodName + Arrays.toString(parameterTypes), () -> {
+			try {
+				return type.getMethod(methodName, parameterTypes);
+			} catch (final NoSuchMethodException e) {
+				return null;
+			}
+		});
+	}
+
+	/** Returns a supplier calling the public static no-argument method of the type, created once per (type, name).
+	 * @param type       the class declaring or inheriting the method
+	 * @param methodName the method name
+	 * @return the supplier, or null if the type has no such static method */
+	public static Supplier<Object> staticGetter(final Class<?> type, final String methodName) {
+		Check.notNull(type, "Type cannot be null");
+		Check.notBlank(methodName, "Method name cannot be blank");
+		return cached(type, "static:" + methodName, () -> {
+			final Method method = method(type, methodName);
+			if ((method == null) || !Modifier.isStatic(method.getModifiers()) || (method.getReturnType() == void.class)) {
+				return null;
+			}
+			try {
+				final MethodHandle handle = LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class));
+				return (Supplier<Object>) () -> {
+					try {
+						return handle.invokeExact();
+					} catch (final RuntimeException | Error e) {
+						throw e;
+					} catch (final Throwable e) {
+						throw new IllegalStateException(e);
+					}
+				};
+			} catch (final IllegalAccessException e) {
+				LOGGER.debug("Static method {}.{} is not accessible: {}", type.getSimpleName(), methodName, e.getMessage());
+				return null;
+			}
+		});
+	}
+
+	private CAccessors() {}
+}
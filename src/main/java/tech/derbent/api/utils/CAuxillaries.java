@@ -4,6 +4,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.Component;
@@ -123,7 +124,7 @@ public class CAuxillaries {
 		try {
 			Check.notBlank(methodName, "methodName is blank");
 			Check.notNull(clazz, "clazz is null");
-			final Method method = clazz.getMethod(methodName);
+			final Method method = CAccessors.method(clazz, methodName);
 			Check.notNull(method, "Method " + methodName + " not found in class " + clazz.getName());
 			Check.isTrue(method.getParameterCount() == 0, "Method " + methodName + " in class " + clazz.getName() + " has parameters");
 			return method;
@@ -137,7 +138,8 @@ public class CAuxillaries {
 		try {
 			Check.notBlank(methodName, "methodName is blank");
 			Check.notNull(clazz, "clazz is null");
-			final Method method = clazz.getMethod(methodName);
+			final Method method = CAccessors.method(clazz, methodName);
+			Check.notNull(method, "Method " + methodName + " not found in class " + clazz.getName());
 			if (Modifier.isStatic(method.getModifiers())) {
 				return method;
 			} else {
@@ -557,9 +559,8 @@ public class CAuxillaries {
 			// check the method returns String
 			Check.isTrue(method.getReturnType() == String.class,
 					"Method " + methodName + " in class " + entity.getClass().getName() + " does not return String");
-			// invoke the method and get the result
-			final String result = (String) method.invoke(entity);
-			return result;
+			// invoke the cached getter and get the result
+			return (String) CAccessors.getter(entity.getClass(), methodName).apply(entity);
 		} catch (final Exception e) {
 			LOGGER.error("Error invoking method " + methodName + " of class " + entity.getClass().getName(), e);
 			throw e;
@@ -637,22 +638,17 @@ public class CAuxillaries {
 		component.setId(id);
 	}
 
-	/** Get a method from a class without caching.
+	/** Get a public method from a class, looked up once per class, name and parameter types (see CAccessors).
 	 * @param clazz          the class containing the method
 	 * @param methodName     the method name
 	 * @param parameterTypes the parameter types (if any)
 	 * @return the Method object or null if not found */
 	public static Method getMethod(final Class<?> clazz, final String methodName, final Class<?>... parameterTypes) {
-		try {
-			Check.notNull(clazz, "clazz is null");
-			Check.notBlank(methodName, "methodName is blank");
-			final Method method = clazz.getMethod(methodName, parameterTypes);
-			method.setAccessible(true);
-			return method;
-		} catch (final NoSuchMethodException e) {
+		final Method method = CAccessors.method(clazz, methodName, parameterTypes);
+		if (method == null) {
 			LOGGER.debug("Method not found: {}.{}", clazz.getSimpleName(), methodName);
-			return null;
 		}
+		return method;
 	}
 
 	/** Safely invokes a method on an object.
@@ -666,6 +662,13 @@ public class CAuxillaries {
 		}
 		try {
 			Check.notBlank(methodName, "methodName is blank");
+			if (args.length == 0) {
+				// getters are called per grid cell and Gantt item, use the compiled accessor
+				final Function<Object, Object> getter = CAccessors.getter(target.getClass(), methodName);
+				if (getter != null) {
+					return getter.apply(target);
+				}
+			}
 			Class<?>[] paramTypes = new Class<?>[args.length];
 			for (int i = 0; i < args.length; i++) {
 				paramTypes[i] = args[i] != null ? args[i].getClass() : Object.class;
@@ -0,0 +1,257 @@
+package tech.derbent.api.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.util.ProxyUtils;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.UI;
+
+/** CColorStyles - Registry of the styles derived from entity colors. Layer: Utility Status and type cells used to parse the color and compute the
+ * contrast text color for every rendered row and sent both as inline styles with every cell. Each color is resolved once into a
+ * {@link CColorStyle} with its background, foreground and CSS class name; hex codes and rgb/hsl functions are normalized to hex RGBA, which
+ * also names the class, so equal colors share a class and different colors never do. The first time a UI renders a color, the rule of its class
+ * is appended to a single style element of the page; the rules of one round trip are sent together before the response. Cells then only carry
+ * the class name. The static cell layout (styles/grid-cells.css on the classpath) goes into the same element with the first rule. The static
+ * color and icon of entity classes (DEFAULT_COLOR, DEFAULT_ICON) are cached per class. */
+public final class CColorStyles {
+
+	/** Background and foreground of one color and the CSS class that applies both. */
+	public record CColorStyle(String background, String foreground, String className) {
+
+		/** Returns the CSS rule of the class. */
+		public String cssRule() {
+			return "." + className + "{background-color:" + background + ";color:" + foreground + ";}";
+		}
+	}
+
+	/** Classes already sent to one UI and the rules waiting for the next response. Only used from the session lock of the UI. */
+	private static final class CUiStyles {
+
+		private final Set<String> sent = new HashSet<>();
+		private final List<String> pending = new ArrayList<>();
+	}
+
+	private static final String CELL_STYLES_KEY = "cgrid-cell";
+	private static final String CLASS_PREFIX = "cgrid-color-";
+	/** Colors that may go into a style sheet as they are: hex codes, names and rgb/hsl functions. Anything else is only set inline. */
+	private static final Pattern CSS_COLOR = Pattern.compile("#[0-9a-f]{3,8}|[a-z]{3,20}|(rgb|rgba|hsl|hsla)\\([0-9.,%\\s]{1,60}\\)");
+	private static final Map<Class<?>, Optional<String>> ENTITY_COLORS = new ConcurrentHashMap<>();
+	private static final Map<Class<?>, Optional<String>> ENTITY_ICONS = new ConcurrentHashMap<>();
+	private static final Logger LOGGER = LoggerFactory.getLogger(CColorStyles.class);
+	private static final String CELL_STYLES = readCellStyles("/styles/grid-cells.css");
+	/** Upper bound of cached colors, colors are user data. Further colors are still styled, but inline. */
+	static final int MAX_COLORS = 2048;
+	private static final Map<String, Optional<CColorStyle>> STYLES = new ConcurrentHashMap<>();
+	private static final String STYLE_ELEMENT_SCRIPT = "let s=document.getElementById('cgrid-color-styles');"
+			+ "if(!s){s=document.createElement('style');s.id='cgrid-color-styles';document.head.appendChild(s);}"
+			+ "s.appendChild(document.createTextNode($0));";
+
+	/** Styles the component with the background color and, if autoContrast is set, its contrast text color. Uses the class of the color when the
+	 * component is rendered in a UI, inline styles otherwise.
+	 * @param component    the component
+	 * @param color        the background color
+	 * @param autoContrast whether the text color follows the background
+	 * @return the class name added to the component, or null if the color was set inline */
+	public static String apply(final HasStyle component, final String color, final boolean autoContrast) {
+		Check.notNull(component, "Component cannot be null");
+		Check.notBlank(color, "Color cannot be null or blank");
+		final CColorStyle style = style(color);
+		final UI ui = UI.getCurrent();
+		if ((style == null) || !autoContrast || (ui == null)) {
+			component.getStyle().set("background-color", color.trim());
+			if (autoContrast) {
+				component.getStyle().set("color", style != null ? style.foreground() : CColorUtils.getContrastTextColor(color));
+			}
+			return null;
+		}
+		register(ui, style.className(), style.cssRule());
+		component.addClassName(style.className());
+		return style.className();
+	}
+
+	/** A channel of rgb(), 0 to 255 or a percentage. */
+	private static double channel(final String value) {
+		return value.endsWith("%") ? (fraction(value) * 255) : Math.min(255, Double.parseDouble(value));
+	}
+
+	/** Returns the static DEFAULT_COLOR of the entity class, looked up once per class. Hibernate proxies resolve to their entity class.
+	 * @param entityClass the entity class
+	 * @return the color, or null if the class declares none */
+	public static String entityColor(final Class<?> entityClass) {
+		Check.notNull(entityClass, "Entity class cannot be null");
+		return ENTITY_COLORS.computeIfAbsent(ProxyUtils.getUserClass(entityClass), clazz -> staticValue(clazz, "DEFAULT_COLOR")).orElse(null);
+	}
+
+	/** Returns the static DEFAULT_ICON of the entity class, looked up once per class.
+	 * @param entityClass the entity class
+	 * @return the icon name, or null if the class declares none */
+	public static String entityIcon(final Class<?> entityClass) {
+		Check.notNull(entityClass, "Entity class cannot be null");
+		return ENTITY_ICONS.computeIfAbsent(ProxyUtils.getUserClass(entityClass), clazz -> staticValue(clazz, "DEFAULT_ICON")).orElse(null);
+	}
+
+	private static void flush(final UI ui) {
+		final CUiStyles styles = ComponentUtil.getData(ui, CUiStyles.class);
+		if ((styles == null) || styles.pending.isEmpty()) {
+			return;
+		}
+		ui.getPage().executeJs(STYLE_ELEMENT_SCRIPT, String.join("\n", styles.pending));
+		styles.pending.clear();
+	}
+
+	/** An alpha value or a saturation or lightness of hsl(), 0 to 1 or a percentage. */
+	private static double fraction(final String value) {
+		return Math.min(1, value.endsWith("%") ? Double.parseDouble(value.substring(0, value.length() - 1)) / 100 : Double.parseDouble(value));
+	}
+
+	/** The red, green and blue of hsl() as in CSS Color 4, 0 to 255. */
+	private static double[] hslToRgb(final double hue, final double saturation, final double lightness) {
+		final double[] rgb = new double[3];
+		final int[] offsets = {
+				0, 8, 4
+		};
+		for (int i = 0; i < 3; i++) {
+			final double k = (offsets[i] + (((hue % 360) / 360) * 12)) % 12;
+			final double a = saturation * Math.min(lightness, 1 - lightness);
+			rgb[i] = (lightness - (a * Math.max(-1, Math.min(Math.min(k - 3, 9 - k), 1)))) * 255;
+		}
+		return rgb;
+	}
+
+	private static String readCellStyles(final String resource) {
+		try (InputStream input = CColorStyles.class.getResourceAsStream(resource)) {
+			Check.notNull(input, "Missing " + resource);
+			return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (final IOException e) {
+			throw new UncheckedIOException("Cannot read " + resource, e);
+		}
+	}
+
+	private static void register(final UI ui, final String key, final String css) {
+		CUiStyles styles = ComponentUtil.getData(ui, CUiStyles.class);
+		if (styles == null) {
+			// a reload creates a new UI, the style element of the old page is never reused
+			styles = new CUiStyles();
+			ComponentUtil.setData(ui, CUiStyles.class, styles);
+			styles.sent.add(CELL_STYLES_KEY);
+			styles.pending.add(CELL_STYLES);
+			ui.beforeClientResponse(ui, context -> flush(ui));
+		}
+		if (!styles.sent.add(key)) {
+			return;
+		}
+		if (styles.pending.isEmpty()) {
+			ui.beforeClientResponse(ui, context -> flush(ui));
+		}
+		styles.pending.add(css);
+	}
+
+	private static Optional<String> staticValue(final Class<?> clazz, final String fieldName) {
+		try {
+			return Optional.ofNullable(CColorUtils.getStaticStringValue(clazz, fieldName));
+		} catch (final Exception e) {
+			LOGGER.debug("{} has no {}", clazz.getSimpleName(), fieldName);
+			return Optional.empty();
+		}
+	}
+
+	/** Makes sure the static cell layout is on the page of the current UI. Called by every CGridCell, costs a set lookup after the first cell.
+	 * @param component the component, gets the class name of the cell layout */
+	public static void useCellStyles(final HasStyle component) {
+		Check.notNull(component, "Component cannot be null");
+		final UI ui = UI.getCurrent();
+		if (ui != null) {
+			register(ui, CELL_STYLES_KEY, CELL_STYLES);
+		}
+		component.addClassName(CELL_STYLES_KEY);
+	}
+
+	/** Returns the style of a color, resolved once per color.
+	 * @param color the background color, e.g. #1976d2
+	 * @return the style, or null if the color cannot be used in a style sheet */
+	public static CColorStyle style(final String color) {
+		Check.notBlank(color, "Color cannot be null or blank");
+		final String key = color.trim().toLowerCase(Locale.ROOT);
+		final Optional<CColorStyle> cached = STYLES.get(key);
+		if (cached != null) {
+			return cached.orElse(null);
+		}
+		final Optional<CColorStyle> style = toStyle(key);
+		if (STYLES.size() < MAX_COLORS) {
+			STYLES.putIfAbsent(key, style);
+		}
+		return style.orElse(null);
+	}
+
+	/** Normalizes a color to its hex digits, red, green, blue and, unless opaque, alpha. Equal colors written differently get the same digits.
+	 * @param color a color matching CSS_COLOR, in lower case
+	 * @return the digits, or null for a color name or a color that cannot be parsed */
+	static String toHex(final String color) {
+		if (color.startsWith("#")) {
+			String digits = color.substring(1);
+			if ((digits.length() == 3) || (digits.length() == 4)) {
+				final StringBuilder expanded = new StringBuilder();
+				for (final char digit : digits.toCharArray()) {
+					expanded.append(digit).append(digit);
+				}
+				digits = expanded.toString();
+			}
+			if (digits.length() == 6) {
+				return digits;
+			}
+			return digits.length() == 8 ? (digits.endsWith("ff") ? digits.substring(0, 6) : digits) : null;
+		}
+		final int open = color.indexOf('(');
+		if (open < 0) {
+			return null;
+		}
+		final String function = color.substring(0, open);
+		final String[] parts = color.substring(open + 1, color.length() - 1).trim().split("[,\\s]+");
+		if ((parts.length != 3) && (parts.length != 4)) {
+			return null;
+		}
+		try {
+			final double[] rgb = function.startsWith("rgb") ? new double[] {
+					channel(parts[0]), channel(parts[1]), channel(parts[2])
+			} : hslToRgb(Double.parseDouble(parts[0]), fraction(parts[1]), fraction(parts[2]));
+			final long alpha = parts.length == 4 ? Math.round(fraction(parts[3]) * 255) : 255;
+			final String hex = String.format("%02x%02x%02x", Math.round(rgb[0]), Math.round(rgb[1]), Math.round(rgb[2]));
+			return alpha == 255 ? hex : hex + String.format("%02x", alpha);
+		} catch (final NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private static Optional<CColorStyle> toStyle(final String color) {
+		if (!CSS_COLOR.matcher(color).matches()) {
+			LOGGER.debug("Color {} is only set inline", color);
+			return Optional.empty();
+		}
+		if (color.matches("[a-z]+")) {
+			return Optional.of(new CColorStyle(color, CColorUtils.getContrastTextColor(color), CLASS_PREFIX + color));
+		}
+		// the class is named by the color itself, so two colors never share a class
+		final String hex = toHex(color);
+		if (hex == null) {
+			LOGGER.debug("Color {} is only set inline", color);
+			return Optional.empty();
+		}
+		return Optional.of(new CColorStyle("#" + hex, CColorUtils.getContrastTextColor("#" + hex.substring(0, 6)), CLASS_PREFIX + hex));
+	}
+
+	private CColorStyles() {}
+}
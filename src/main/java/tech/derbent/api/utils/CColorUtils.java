@@ -3,6 +3,7 @@ package tech.derbent.api.utils;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.avatar.Avatar;
@@ -143,7 +144,9 @@ public final class CColorUtils {
 			return typeEntity.getColor();
 		}
 		if (entity instanceof CEntityDB) {
-			return getStaticIconColorCode(entity.getClass());
+			final String color = CColorStyles.entityColor(entity.getClass());
+			Check.notNull(color, "Entity class " + entity.getClass().getSimpleName() + " has no DEFAULT_COLOR");
+			return color;
 		}
 		final String errorMsg = String.format("Entity of type %s does not support color extraction", entity.getClass().getSimpleName());
 		LOGGER.debug(errorMsg);
@@ -162,8 +165,12 @@ public final class CColorUtils {
 			if (color.startsWith("#")) {
 				color = color.substring(1);
 			}
-			// Parse RGB values
-			if (color.length() == 6) {
+			if (color.matches("[0-9a-fA-F]{3}")) {
+				// Convert 3-digit hex to 6-digit
+				color = "" + color.charAt(0) + color.charAt(0) + color.charAt(1) + color.charAt(1) + color.charAt(2) + color.charAt(2);
+			}
+			// Parse RGB values, names like "orange" are not hex
+			if (color.matches("[0-9a-fA-F]{6}")) {
 				final int r = Integer.parseInt(color.substring(0, 2), 16);
 				final int g = Integer.parseInt(color.substring(2, 4), 16);
 				final int b = Integer.parseInt(color.substring(4, 6), 16);
@@ -185,19 +192,20 @@ public final class CColorUtils {
 		}
 		// Try to get the name property if the object has one
 		if (item instanceof CEntityDB) {
-			try {
-				final Method m = item.getClass().getMethod("getName");
-				final Object v = m.invoke(item);
+			final Function<Object, Object> getName = CAccessors.getter(item.getClass(), "getName");
+			// Fallback to toString if getName() is not available
+			if (getName != null) {
+				final Object v = getName.apply(item);
 				return v == null ? "" : v.toString();
-			} catch (final ReflectiveOperationException ignore) {
-				// Fallback to toString if getName() is not available
 			}
 		}
 		return item.toString();
 	}
 
 	public static Icon getIconForEntity(final CEntityDB<?> entity) throws Exception {
-		return new Icon(getStaticIconFilename(entity.getClass().getName()));
+		final String iconFilename = CColorStyles.entityIcon(entity.getClass());
+		Check.notNull(iconFilename, "Entity class " + entity.getClass().getSimpleName() + " has no DEFAULT_ICON");
+		return new Icon(iconFilename);
 	}
 
 	public static Icon getIconForViewClass(final CAbstractNamedEntityPage<?> view) throws Exception {
@@ -4,6 +4,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,10 +25,13 @@ import com.vaadin.flow.data.binder.ValidationException;
 import com.vaadin.flow.data.provider.CallbackDataProvider;
 import com.vaadin.flow.data.provider.QuerySortOrder;
 import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.shared.Registration;
 import jakarta.annotation.PostConstruct;
 import tech.derbent.api.components.CEnhancedBinder;
 import tech.derbent.api.domains.CEntity;
 import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.CEntityEventBus;
 import tech.derbent.api.interfaces.IContentOwner;
 import tech.derbent.api.interfaces.ILayoutChangeListener;
 import tech.derbent.api.interfaces.ISearchable;
@@ -59,6 +63,8 @@ public abstract class CAbstractEntityDBPage<EntityClass extends CEntityDB<Entity
 	protected String currentSearchText = "";
 	// private final VerticalLayout baseDetailsLayout = new VerticalLayout();
 	private final Div detailsTabLayout = new Div();
+	private transient Registration entityChangeRegistration;
+	private CEntityEventBus entityEventBus; // Optional injection
 	protected final Class<EntityClass> entityClass;
 	protected final CAbstractService<EntityClass> entityService;
 	protected CLayoutService layoutService; // Optional injection
@@ -419,6 +425,9 @@ public abstract class CAbstractEntityDBPage<EntityClass extends CEntityDB<Entity
 			// Update layout based on current mode
 			updateLayoutOrientation();
 		}
+		if ((entityEventBus != null) && (masterViewSection != null)) {
+			entityChangeRegistration = entityEventBus.subscribe(attachEvent.getUI(), entityClass, this::onEntitiesChanged);
+		}
 	}
 
 	protected boolean onBeforeSaveEvent() {
@@ -440,6 +449,37 @@ public abstract class CAbstractEntityDBPage<EntityClass extends CEntityDB<Entity
 		if (layoutService != null) {
 			layoutService.removeLayoutChangeListener(this);
 		}
+		if (entityChangeRegistration != null) {
+			entityChangeRegistration.remove();
+			entityChangeRegistration = null;
+		}
+	}
+
+	/** Applies entity changes committed by any user to the grid. An update replaces its row in place; created and deleted entities change the row
+	 * count, so they reload the grid once per batch. Changes of other projects are ignored. The selection and the form are left alone, a conflicting
+	 * save is still caught by the optimistic lock.
+	 * @param changes coalesced changes of the page entity class */
+	protected void onEntitiesChanged(final List<CEntityChange> changes) {
+		final Long projectId = sessionService.getActiveProject().map(project -> project.getId()).orElse(null);
+		boolean reload = false;
+		for (final CEntityChange change : changes) {
+			if ((change.projectId() != null) && (projectId != null) && !change.projectId().equals(projectId)) {
+				continue;
+			}
+			if (change.kind() != CEntityChange.Kind.UPDATED) {
+				reload = true;
+				continue;
+			}
+			final Optional<EntityClass> changed = entityService.getById(change.id());
+			if (changed.isPresent()) {
+				masterViewSection.refreshItem(changed.get());
+			} else {
+				reload = true;
+			}
+		}
+		if (reload) {
+			masterViewSection.refreshMasterView();
+		}
 	}
 
 	@Override
@@ -468,6 +508,10 @@ public abstract class CAbstractEntityDBPage<EntityClass extends CEntityDB<Entity
 		});
 	}
 
+	/** Sets the bus delivering entity changes of other users. Injected by Spring; without it the grid only updates on refresh. */
+	@Autowired
+	public void setEntityEventBus(final CEntityEventBus entityEventBus) { this.entityEventBus = entityEventBus; }
+
 	protected void refreshGrid() {
 		LOGGER.info("Refreshing grid for {}", getClass().getSimpleName());
 		// Store the currently selected entity ID to preserve selection after refresh
@@ -6,6 +6,7 @@ import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.api.utils.CColorStyles;
 import tech.derbent.api.utils.CColorUtils;
 
 /** CEntityLabel - Base label component for displaying entities with both icons and colors.
@@ -43,6 +44,7 @@ public class CEntityLabel extends HorizontalLayout {
 	private static final Logger LOGGER = LoggerFactory.getLogger(CEntityLabel.class);
 	private static final long serialVersionUID = 1L;
 	private final boolean autoContrast;
+	private String colorClassName;
 	private final CEntityNamed<?> entity;
 	private final String padding;
 	private final boolean roundedCorners;
@@ -75,12 +77,13 @@ public class CEntityLabel extends HorizontalLayout {
 	private void applyColorStyling() throws Exception {
 		// Get entity color or fallback to default
 		final String backgroundColor = CColorUtils.getColorFromEntity(entity);
-		// Apply background color
-		getStyle().set("background-color", backgroundColor);
-		// Apply automatic text contrast
+		// Apply background color and automatic text contrast, shared class per color
+		if (colorClassName != null) {
+			removeClassName(colorClassName);
+		}
+		colorClassName = CColorStyles.apply(this, backgroundColor, autoContrast);
 		if (autoContrast) {
 			final String textColor = CColorUtils.getContrastTextColor(backgroundColor);
-			getStyle().set("color", textColor);
 			// Also apply color to any child icons for consistency
 			getChildren().forEach(component -> {
 				if (component instanceof Icon) {
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.icon.Icon;
 import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.utils.CColorStyles;
 import tech.derbent.api.utils.CColorUtils;
 
 /** CGridCell - Enhanced grid cell component that supports both regular text and color-aware rendering.
@@ -39,6 +40,8 @@ public class CGridCell extends Div {
 	private static final Logger LOGGER = LoggerFactory.getLogger(CGridCell.class);
 	private static final long serialVersionUID = 1L;
 	private Boolean autoContrast = Boolean.TRUE;
+	/** Color class of CColorStyles currently on the cell, removed when the value changes. */
+	private String colorClassName;
 	// Simplified styling configuration - only essential properties
 	private Boolean showIcon = Boolean.FALSE;
 
@@ -70,21 +73,15 @@ public class CGridCell extends Div {
 	 * @param displayText the text to display
 	 * @throws Exception */
 	private void applyColorStyling(final CEntityDB<?> entity, final String color, final String displayText) throws Exception {
-		// Apply background color
-		getStyle().set("background-color", color);
-		// Apply contrasting text color if auto-contrast is enabled
-		if (Boolean.TRUE.equals(autoContrast)) {
-			final String textColor = CColorUtils.getContrastTextColor(color);
-			getStyle().set("color", textColor);
-		}
+		// Background and contrasting text color, shared class per color
+		applyColor(color);
 		// Create content with icon if enabled
 		if (Boolean.TRUE.equals(showIcon)) {
 			final Icon icon = CColorUtils.getIconForEntity(entity);
 			if (icon != null) {
 				// Configure icon styling
 				icon.setSize("16px");
-				icon.getStyle().set("margin-right", "6px");
-				icon.getStyle().set("flex-shrink", "0");
+				icon.addClassName("cgrid-cell-icon");
 				add(icon);
 			}
 		}
@@ -92,21 +89,32 @@ public class CGridCell extends Div {
 		add(displayText);
 	}
 
+	/** Apply the background color and, with auto-contrast, the text color. Uses the shared class of the color, see CColorStyles.
+	 * @param color the background color */
+	private void applyColor(final String color) {
+		clearColor();
+		colorClassName = CColorStyles.apply(this, color, Boolean.TRUE.equals(autoContrast));
+	}
+
 	/** Apply default styling for status cells when color is not available. */
 	private void applyDefaultStatusStyling() {
-		getStyle().set("background-color", "#f8f9fa");
-		getStyle().set("color", "#495057");
-		getStyle().set("border", "1px solid #dee2e6");
+		clearColor();
+		addClassName("cgrid-cell-status-empty");
 	}
 
-	/** Apply default styling to the cell. */
+	/** Apply default styling to the cell. Layout is in styles/grid-cells.css, sent to the page once by CColorStyles. */
 	private void applyDefaultStyling() {
-		getStyle().set("width", "100%");
-		getStyle().set("height", "100%");
-		getStyle().set("display", "flex");
-		getStyle().set("align-items", "center");
-		getStyle().set("padding", "4px 8px");
-		getStyle().set("box-sizing", "border-box");
+		CColorStyles.useCellStyles(this);
+	}
+
+	/** Removes the color of the previous value. */
+	private void clearColor() {
+		if (colorClassName != null) {
+			removeClassName(colorClassName);
+			colorClassName = null;
+		}
+		getStyle().remove("background-color");
+		getStyle().remove("color");
 	}
 
 	/** Initialize the cell with default configuration. */
@@ -141,24 +149,11 @@ public class CGridCell extends Div {
 		if ((displayText != null) && !displayText.isBlank()) {
 			setText(displayText);
 			// Apply boolean-specific styling
-			getStyle().set("padding", "4px 8px");
-			getStyle().set("border-radius", "12px");
-			getStyle().set("font-size", "12px");
-			getStyle().set("font-weight", "bold");
-			getStyle().set("text-align", "center");
+			addClassName("cgrid-cell-boolean");
 			// Apply colors based on the boolean value
-			if (value && (trueColor != null)) {
-				getStyle().set("background-color", trueColor);
-				if (Boolean.TRUE.equals(autoContrast)) {
-					final String textColor = CColorUtils.getContrastTextColor(trueColor);
-					getStyle().set("color", textColor);
-				}
-			} else if (!value && (falseColor != null)) {
-				getStyle().set("background-color", falseColor);
-				if (Boolean.TRUE.equals(autoContrast)) {
-					final String textColor = CColorUtils.getContrastTextColor(falseColor);
-					getStyle().set("color", textColor);
-				}
+			final String color = value ? trueColor : falseColor;
+			if (color != null) {
+				applyColor(color);
 			}
 		}
 	}
@@ -182,8 +177,8 @@ public class CGridCell extends Div {
 		removeAll(); // Clear any existing content
 		if (entity == null) {
 			setText("N/A");
-			getStyle().set("color", "#666666");
-			getStyle().set("font-style", "italic");
+			clearColor();
+			addClassName("cgrid-cell-empty");
 			return;
 		}
 		try {
@@ -198,14 +193,14 @@ public class CGridCell extends Div {
 				// Regular text rendering
 				setText(displayText);
 				// Reset any color styling
-				getStyle().remove("background-color");
-				getStyle().remove("color");
-				getStyle().remove("font-style");
+				clearColor();
+				removeClassName("cgrid-cell-empty");
 			}
 		} catch (final Exception e) {
 			LOGGER.error("Error setting entity value: {}", e.getMessage());
 			setText("Error");
-			getStyle().set("color", "#dc3545");
+			clearColor();
+			addClassName("cgrid-cell-error");
 		}
 	}
 
@@ -243,8 +238,7 @@ public class CGridCell extends Div {
 			// Apply color-aware styling with status-specific enhancements
 			applyColorStyling(statusEntity, color, displayText);
 			// Add status-specific styling
-			getStyle().set("border-radius", "4px");
-			getStyle().set("font-weight", "500");
+			addClassName("cgrid-cell-status");
 		} catch (final Exception e) {
 			LOGGER.error("Error applying color to status cell: {}", e.getMessage());
 			setEntityValue(statusEntity);
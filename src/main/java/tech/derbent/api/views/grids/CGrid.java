@@ -1,12 +1,12 @@
 package tech.derbent.api.views.grids;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Function;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +17,7 @@ import com.vaadin.flow.function.ValueProvider;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.domains.CEntityConstants;
 import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.utils.CAccessors;
 import tech.derbent.api.utils.CAuxillaries;
 import tech.derbent.api.utils.CImageUtils;
 import tech.derbent.api.utils.Check;
@@ -44,13 +45,12 @@ public class CGrid<EntityClass extends CEntityDB<EntityClass>> extends Grid<Enti
 
 	/** Prefer calling ref.getName(); fall back to toString() if not present. */
 	private static String entityName(final CEntityDB<?> ref) {
-		try {
-			final Method m = ref.getClass().getMethod("getName");
-			final Object v = m.invoke(ref);
-			return v == null ? "" : v.toString();
-		} catch (final ReflectiveOperationException ignore) {
+		final Function<Object, Object> getName = CAccessors.getter(ref.getClass(), "getName");
+		if (getName == null) {
 			return String.valueOf(ref);
 		}
+		final Object v = getName.apply(ref);
+		return v == null ? "" : v.toString();
 	}
 
 	/** Constructor for CGrid with entity class.
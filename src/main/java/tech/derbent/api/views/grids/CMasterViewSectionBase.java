@@ -35,6 +35,13 @@ public abstract class CMasterViewSectionBase<EntityClass extends CEntityDB<Entit
 	// Additional methods and properties can be added here
 	public abstract EntityClass getSelectedItem();
 	public abstract void refreshMasterView();
+
+	/** Refreshes the row of one changed entity. Sections that cannot refresh a single row reload everything.
+	 * @param item the changed entity, equal to the displayed one by id */
+	public void refreshItem(final EntityClass item) {
+		refreshMasterView();
+	}
+
 	public abstract void select(EntityClass object);
 	public abstract void selectLastOrFirst(EntityClass orElse);
 	public abstract void setDataProvider(CallbackDataProvider<EntityClass, Void> masterQuery);
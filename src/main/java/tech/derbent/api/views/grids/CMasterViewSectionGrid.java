@@ -73,6 +73,12 @@ public class CMasterViewSectionGrid<EntityClass extends CEntityDB<EntityClass>>
 		fireEvent(new SelectionChangeEvent<>(this, value));
 	}
 
+	/** Replaces the row of the entity in place, without querying the other rows again. */
+	@Override
+	public void refreshItem(final EntityClass item) {
+		getGrid().getDataProvider().refreshItem(item);
+	}
+
 	@Override
 	public void refreshMasterView() {
 		getGrid().getDataProvider().refreshAll();
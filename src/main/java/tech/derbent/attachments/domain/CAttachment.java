@@ -0,0 +1,115 @@
+package tech.derbent.attachments.domain;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.utils.Check;
+
+/** CAttachment - One version of a file attached to an activity, decision or order. Layer: Domain (MVC) Only the metadata is stored here; the content
+ * is a blob in the file storage named by its SHA-256, shared by every version and owner with the same content. The versions of a file name on an
+ * owner are one range of the index of uk_attachment_owner_file_version, the latest first when read backwards. */
+@Entity
+@Table (name = "cattachment", uniqueConstraints = {
+		@UniqueConstraint (name = "uk_attachment_owner_file_version", columnNames = {
+				"owner_type", "owner_id", "file_name", "version"
+		})
+}, indexes = {
+		@Index (name = "idx_attachment_sha256", columnList = "sha256")
+})
+public class CAttachment extends CEntityDB<CAttachment> {
+
+	public static final int MAX_FILE_NAME_LENGTH = 255;
+	@Column (name = "content_type", nullable = false, length = 100)
+	private String contentType;
+	@NotNull
+	@Column (name = "file_name", nullable = false, length = MAX_FILE_NAME_LENGTH)
+	private String fileName;
+	@NotNull
+	@Column (name = "owner_id", nullable = false)
+	private Long ownerId;
+	@NotNull
+	@Enumerated (EnumType.STRING)
+	@Column (name = "owner_type", nullable = false, length = 20)
+	private EAttachmentOwnerType ownerType;
+	@NotNull
+	@Column (name = "sha256", nullable = false, length = 64)
+	private String sha256;
+	@Column (name = "size_bytes", nullable = false)
+	private Long sizeBytes;
+	@Column (name = "uploaded_by_id", nullable = true)
+	private Long uploadedById;
+	@Column (name = "uploaded_date", nullable = false)
+	private LocalDateTime uploadedDate;
+	@Column (name = "version", nullable = false)
+	private Integer version;
+
+	/** Default constructor for JPA. */
+	public CAttachment() {
+		super(CAttachment.class);
+	}
+
+	public CAttachment(final EAttachmentOwnerType ownerType, final Long ownerId, final String fileName, final Integer version) {
+		super(CAttachment.class);
+		Check.notNull(ownerType, "Owner type cannot be null");
+		Check.notNull(ownerId, "Owner id cannot be null");
+		Check.notBlank(fileName, "File name cannot be empty");
+		Check.isTrue((version != null) && (version > 0), "Version must be positive");
+		this.ownerType = ownerType;
+		this.ownerId = ownerId;
+		this.fileName = fileName;
+		this.version = version;
+	}
+
+	public String getContentType() { return contentType; }
+
+	public String getFileName() { return fileName; }
+
+	public Long getOwnerId() { return ownerId; }
+
+	public EAttachmentOwnerType getOwnerType() { return ownerType; }
+
+	public String getSha256() { return sha256; }
+
+	public Long getSizeBytes() { return sizeBytes; }
+
+	public Long getUploadedById() { return uploadedById; }
+
+	public LocalDateTime getUploadedDate() { return uploadedDate; }
+
+	public Integer getVersion() { return version; }
+
+	@Override
+	public void initializeAllFields() {
+		// no lazy relations
+	}
+
+	/** Points the attachment at new content. */
+	public void setContent(final String sha256, final long sizeBytes, final String contentType, final Long uploadedById,
+			final LocalDateTime uploadedDate) {
+		Check.notBlank(sha256, "Hash cannot be empty");
+		Check.notBlank(contentType, "Content type cannot be empty");
+		Check.notNull(uploadedDate, "Upload date cannot be null");
+		this.sha256 = sha256;
+		this.sizeBytes = sizeBytes;
+		this.contentType = contentType;
+		this.uploadedById = uploadedById;
+		this.uploadedDate = uploadedDate;
+	}
+
+	/** The metadata as a projection. */
+	public CAttachmentInfo toInfo() {
+		return new CAttachmentInfo(getId(), ownerType, ownerId, fileName, contentType, sizeBytes, sha256, version, uploadedDate);
+	}
+
+	@Override
+	public String toString() {
+		return "CAttachment{ownerType=" + ownerType + ", ownerId=" + ownerId + ", fileName=" + fileName + ", version=" + version + '}';
+	}
+}
@@ -0,0 +1,16 @@
+package tech.derbent.attachments.domain;
+
+import java.time.LocalDateTime;
+
+/** CAttachmentInfo - Metadata of one attachment version, read without loading the entity. Layer: Domain (MVC)
+ * @param id           attachment id, the key of its download
+ * @param ownerType    kind of the owning entity
+ * @param ownerId      id of the owning entity
+ * @param fileName     file name as uploaded, without directories
+ * @param contentType  media type of the content
+ * @param sizeBytes    size of the content
+ * @param sha256       hex SHA-256 of the content, the name of its blob
+ * @param version      version of the file name on the owner, starting at 1
+ * @param uploadedDate time of the upload */
+public record CAttachmentInfo(Long id, EAttachmentOwnerType ownerType, Long ownerId, String fileName, String contentType, Long sizeBytes,
+		String sha256, Integer version, LocalDateTime uploadedDate) {}
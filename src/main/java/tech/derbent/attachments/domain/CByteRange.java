@@ -0,0 +1,63 @@
+package tech.derbent.attachments.domain;
+
+import java.util.Optional;
+
+/** CByteRange - A single byte range of an HTTP Range request, both ends inclusive. Layer: Domain (MVC)
+ * @param start first byte
+ * @param end   last byte */
+public record CByteRange(long start, long end) {
+
+	private static final String UNIT = "bytes=";
+
+	/** Parses a Range header for content of the size. Only single ranges are served; a missing, malformed or multi range header yields no range,
+	 * and the whole content is served as RFC 9110 allows. Positions are plain digits, a signed one such as bytes=--5 is malformed. An end past the
+	 * content is cut to its last byte.
+	 * @param header the Range header, may be null
+	 * @param size   size of the content
+	 * @return the range, not satisfiable if it starts past the content */
+	public static Optional<CByteRange> parse(final String header, final long size) {
+		if ((header == null) || !header.startsWith(UNIT) || header.contains(",")) {
+			return Optional.empty();
+		}
+		final String spec = header.substring(UNIT.length()).trim();
+		final int dash = spec.indexOf('-');
+		if (dash < 0) {
+			return Optional.empty();
+		}
+		try {
+			if (dash == 0) {
+				// suffix range, the last n bytes
+				final long suffix = position(spec.substring(1));
+				return Optional.of(suffix == 0 ? new CByteRange(size, size) : new CByteRange(Math.max(0, size - suffix), size - 1));
+			}
+			final long start = position(spec.substring(0, dash));
+			if (dash == (spec.length() - 1)) {
+				return Optional.of(new CByteRange(start, size - 1));
+			}
+			final long end = position(spec.substring(dash + 1));
+			if (end < start) {
+				return Optional.empty();
+			}
+			return Optional.of(new CByteRange(start, Math.min(end, size - 1)));
+		} catch (final NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	/** Parses a byte position, digits only; Long.parseLong alone would take a sign. */
+	private static long position(final String value) {
+		if (value.isEmpty() || !value.chars().allMatch(character -> (character >= '0') && (character <= '9'))) {
+			throw new NumberFormatException("Not a byte position: " + value);
+		}
+		return Long.parseLong(value);
+	}
+
+	/** Whether the range lies within content of the size. */
+	public boolean isSatisfiable(final long size) {
+		return (start < size) && (start <= end);
+	}
+
+	public long length() {
+		return (end - start) + 1;
+	}
+}
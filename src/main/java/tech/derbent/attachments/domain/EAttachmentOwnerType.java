@@ -0,0 +1,28 @@
+package tech.derbent.attachments.domain;
+
+import java.util.Arrays;
+
+/** The kinds of entities files can be attached to, with the name of their REST resource. */
+public enum EAttachmentOwnerType {
+	/** Attached to a CActivity. */
+	ACTIVITY("activities"),
+	/** Attached to a CDecision. */
+	DECISION("decisions"),
+	/** Attached to a COrder. */
+	ORDER("orders");
+
+	/** The owner type of a REST resource name.
+	 * @throws IllegalArgumentException if nothing can be attached to the resource */
+	public static EAttachmentOwnerType fromResource(final String resource) {
+		return Arrays.stream(values()).filter(type -> type.resource.equals(resource)).findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Attachments are not supported for " + resource));
+	}
+
+	private final String resource;
+
+	EAttachmentOwnerType(final String resource) {
+		this.resource = resource;
+	}
+
+	public String getResource() { return resource; }
+}
@@ -0,0 +1,340 @@
+package tech.derbent.attachments.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.exceptions.CEntityNotFoundException;
+import tech.derbent.api.services.CAbstractService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.attachments.domain.CAttachment;
+import tech.derbent.attachments.domain.CAttachmentInfo;
+import tech.derbent.attachments.domain.EAttachmentOwnerType;
+import tech.derbent.decisions.service.IDecisionRepository;
+import tech.derbent.orders.service.IOrderRepository;
+import tech.derbent.session.service.CSessionService;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.CSystemSettingsService;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.CUserService;
+
+/** CAttachmentService - Files attached to activities, decisions and orders. Layer: Service (MVC) An upload is streamed from the request through
+ * a fixed buffer into a temporary file under the fileStoragePath of the system settings while its SHA-256 is computed, and is cut off as soon as
+ * it passes maxFileUploadSizeMb; no upload is held in memory. The finished file becomes the blob blobs/ab/cd/&lt;sha256&gt;, or is dropped if
+ * that blob already exists, so the same content is stored once for every owner and version. Only then is the metadata row written, in a short
+ * transaction of its own, tried again when a concurrent upload of the same file name took the version number. With enableFileVersioning an upload
+ * of an existing file name adds a version, without it replaces the content of the latest one. Downloads are copied from the blob with FileChannel.transferTo, for a whole file or a byte range. Blobs are shared, so deleting an
+ * attachment leaves its blob; CAttachmentCleanupJob deletes the blobs no row refers to any more. Settings:
+ * <ul>
+ * <li>derbent.attachments.blob-grace-hours - an unreferenced blob is kept this long after its last upload, default 24, so the cleanup does not
+ * race an upload whose row is not committed yet</li>
+ * </ul>
+ */
+@Service
+@PreAuthorize ("isAuthenticated()")
+@Transactional (readOnly = true)
+public class CAttachmentService extends CAbstractService<CAttachment> {
+
+	private static final String BLOB_DIRECTORY = "blobs";
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+	private static final String DEFAULT_STORAGE_PATH = "./uploads";
+	/** Transactions tried for the row of an upload while concurrent uploads of the same file name take the next version number. */
+	private static final int MAX_SAVE_ATTEMPTS = 5;
+	private static final long MEGABYTE = 1024L * 1024L;
+	private static final String TEMP_DIRECTORY = "tmp";
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (final NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/** Strips any directories from the uploaded name. */
+	static String sanitizeFileName(final String fileName) {
+		Check.notBlank(fileName, "File name cannot be empty");
+		final String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1).trim();
+		Check.notBlank(name, "File name cannot be empty");
+		Check.isTrue(!name.equals(".") && !name.equals(".."), "Invalid file name: " + fileName);
+		Check.isTrue(name.length() <= CAttachment.MAX_FILE_NAME_LENGTH, "File name is longer than " + CAttachment.MAX_FILE_NAME_LENGTH + " characters");
+		return name;
+	}
+
+	private final IActivityRepository activityRepository;
+	private final long blobGraceMillis;
+	private final IDecisionRepository decisionRepository;
+	private final IOrderRepository orderRepository;
+	private final CSystemSettingsService settingsService;
+	private final TransactionTemplate transactionTemplate;
+	private final CUserService userService;
+
+	public CAttachmentService(final IAttachmentRepository repository, final Clock clock, final CSessionService sessionService,
+			final CSystemSettingsService settingsService, final IActivityRepository activityRepository, final IDecisionRepository decisionRepository,
+			final IOrderRepository orderRepository, final CUserService userService, final PlatformTransactionManager transactionManager,
+			@Value ("${derbent.attachments.blob-grace-hours:24}") final long blobGraceHours) {
+		super(repository, clock, sessionService);
+		Check.isTrue(blobGraceHours >= 0, "Blob grace hours cannot be negative");
+		this.settingsService = settingsService;
+		this.activityRepository = activityRepository;
+		this.decisionRepository = decisionRepository;
+		this.orderRepository = orderRepository;
+		this.userService = userService;
+		this.blobGraceMillis = TimeUnit.HOURS.toMillis(blobGraceHours);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	private void checkExtension(final String fileName) {
+		final String name = fileName.toLowerCase(Locale.ROOT);
+		final String[] allowed = settingsService.getAllowedFileExtensions();
+		Check.isTrue(Arrays.stream(allowed).map(extension -> extension.toLowerCase(Locale.ROOT)).filter(extension -> !extension.isEmpty())
+				.anyMatch(extension -> name.endsWith(extension.startsWith(".") ? extension : "." + extension)), "File type is not allowed: " + fileName);
+	}
+
+	private void checkOwner(final EAttachmentOwnerType ownerType, final Long ownerId) {
+		Check.notNull(ownerType, "Owner type cannot be null");
+		Check.notNull(ownerId, "Owner id cannot be null");
+		final boolean exists = switch (ownerType) {
+		case ACTIVITY -> activityRepository.existsById(ownerId);
+		case DECISION -> decisionRepository.existsById(ownerId);
+		case ORDER -> orderRepository.existsById(ownerId);
+		};
+		if (!exists) {
+			throw new CEntityNotFoundException("No " + ownerType.getResource() + " with id " + ownerId);
+		}
+	}
+
+	/** Soft deletes one version of an attachment. The blob stays until the cleanup finds no row referring to it. */
+	@Transactional
+	public void deleteAttachment(final Long id) {
+		deleteWithReflection(getAttachment(id));
+	}
+
+	/** The active attachment version.
+	 * @throws CEntityNotFoundException if there is none with the id */
+	public CAttachment getAttachment(final Long id) {
+		Check.notNull(id, "Attachment id cannot be null");
+		return ((IAttachmentRepository) repository).findActiveById(id).orElseThrow(() -> new CEntityNotFoundException("No attachment with id " + id));
+	}
+
+	/** The id of the authenticated user, from the security context so REST uploads without a Vaadin session are attributed too. */
+	private Long getAuthenticatedUserId() {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null) {
+			return null;
+		}
+		final CUser user = userService.findByLogin(authentication.getName());
+		return user != null ? user.getId() : null;
+	}
+
+	/** The file of the blob with the hash, blobs/ab/cd/abcd... under the storage path. */
+	Path getBlobPath(final String sha256) {
+		return getStorageRoot().resolve(BLOB_DIRECTORY).resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+	}
+
+	@Override
+	protected Class<CAttachment> getEntityClass() { return CAttachment.class; }
+
+	private Path getStorageRoot() {
+		final String path = settingsService.getSystemSettings().map(CSystemSettings::getFileStoragePath).filter(value -> !value.isBlank())
+				.orElse(DEFAULT_STORAGE_PATH);
+		return Paths.get(path).toAbsolutePath().normalize();
+	}
+
+	/** The latest active version of every file of the owner, by file name. */
+	public List<CAttachmentInfo> listAttachments(final EAttachmentOwnerType ownerType, final Long ownerId) {
+		Check.notNull(ownerType, "Owner type cannot be null");
+		Check.notNull(ownerId, "Owner id cannot be null");
+		return ((IAttachmentRepository) repository).listLatestByOwner(ownerType, ownerId);
+	}
+
+	/** The active versions of the file of an attachment, newest first. */
+	public List<CAttachmentInfo> listVersions(final Long attachmentId) {
+		final CAttachment attachment = getAttachment(attachmentId);
+		return ((IAttachmentRepository) repository).listVersions(attachment.getOwnerType(), attachment.getOwnerId(), attachment.getFileName());
+	}
+
+	/** Deletes the blobs no attachment row refers to, and temporary files of uploads that never finished. Rows of soft deleted versions refer to
+	 * their blob too, they can be restored. Files touched within the grace period are kept, their upload may not be committed yet.
+	 * @return number of deleted files */
+	@PreAuthorize ("permitAll()")
+	public int purgeUnreferencedBlobs() throws IOException {
+		final Path root = getStorageRoot();
+		final long cutoff = clock.millis() - blobGraceMillis;
+		int deleted = 0;
+		for (final String directory : List.of(BLOB_DIRECTORY, TEMP_DIRECTORY)) {
+			final Path base = root.resolve(directory);
+			if (!Files.isDirectory(base)) {
+				continue;
+			}
+			try (Stream<Path> files = Files.walk(base)) {
+				for (final Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+					if (Files.getLastModifiedTime(file).toMillis() >= cutoff) {
+						continue;
+					}
+					final boolean orphan =
+							TEMP_DIRECTORY.equals(directory) || !((IAttachmentRepository) repository).existsBySha256(file.getFileName().toString());
+					// an upload of the same content renews the time of the blob before its row is committed, look again after the query
+					if (orphan && (Files.getLastModifiedTime(file).toMillis() < cutoff) && Files.deleteIfExists(file)) {
+						deleted++;
+					}
+				}
+			}
+		}
+		LOGGER.info("Deleted {} unreferenced attachment files under {}", deleted, root);
+		return deleted;
+	}
+
+	/** Moves the finished upload to its blob, or drops it if the blob exists. The blob's time is renewed either way, so the cleanup keeps it until
+	 * the new row is committed. */
+	private void storeBlob(final Path part, final String sha256) throws IOException {
+		final Path blob = getBlobPath(sha256);
+		if (Files.exists(blob)) {
+			Files.delete(part);
+		} else {
+			Files.createDirectories(blob.getParent());
+			try {
+				Files.move(part, blob, StandardCopyOption.ATOMIC_MOVE);
+			} catch (final FileAlreadyExistsException e) {
+				// stored by a concurrent upload of the same content
+				Files.delete(part);
+			}
+		}
+		Files.setLastModifiedTime(blob, FileTime.from(Instant.now(clock)));
+	}
+
+	/** Copies a range of the content of the attachment to the target with FileChannel.transferTo, which lets the operating system copy the file
+	 * without passing it through the heap where the target allows.
+	 * @param attachment the attachment version
+	 * @param position   first byte
+	 * @param count      number of bytes
+	 * @param target     the channel of the response
+	 * @return number of bytes written */
+	public long transferContent(final CAttachment attachment, final long position, final long count, final WritableByteChannel target)
+			throws IOException {
+		Check.notNull(attachment, "Attachment cannot be null");
+		Check.isTrue((position >= 0) && (count >= 0) && ((position + count) <= attachment.getSizeBytes()), "Range is outside of the content");
+		try (FileChannel channel = FileChannel.open(getBlobPath(attachment.getSha256()), StandardOpenOption.READ)) {
+			long written = 0;
+			while (written < count) {
+				final long transferred = channel.transferTo(position + written, count - written, target);
+				if (transferred <= 0) {
+					throw new IOException("Blob " + attachment.getSha256() + " ended before " + (position + count) + " bytes");
+				}
+				written += transferred;
+			}
+			return written;
+		}
+	}
+
+	/** Streams an upload into the file storage and records it as the newest version of the file name on the owner.
+	 * @param ownerType   kind of the owning entity
+	 * @param ownerId     id of the owning entity
+	 * @param fileName    name of the file, directories are stripped
+	 * @param contentType media type of the content, guessed from the name if null
+	 * @param content     the content, read to its end but not closed
+	 * @return the stored version
+	 * @throws IllegalArgumentException if the file type is not allowed or the content is larger than the upload limit */
+	@Transactional (propagation = Propagation.NOT_SUPPORTED)
+	public CAttachmentInfo upload(final EAttachmentOwnerType ownerType, final Long ownerId, final String fileName, final String contentType,
+			final InputStream content) throws IOException {
+		Check.notNull(content, "Content cannot be null");
+		final String name = sanitizeFileName(fileName);
+		checkExtension(name);
+		checkOwner(ownerType, ownerId);
+		final long maxBytes = (long) (settingsService.getMaxFileUploadSizeMb() * MEGABYTE);
+		final Path temp = Files.createDirectories(getStorageRoot().resolve(TEMP_DIRECTORY));
+		final Path part = Files.createTempFile(temp, "upload-", ".part");
+		final MessageDigest digest = newDigest();
+		long size = 0;
+		try {
+			try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE);
+					ReadableByteChannel source = Channels.newChannel(content)) {
+				final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+				while (source.read(buffer) != -1) {
+					buffer.flip();
+					size += buffer.remaining();
+					Check.isTrue(size <= maxBytes, "File is larger than the upload limit of " + settingsService.getMaxFileUploadSizeMb() + " MB");
+					digest.update(buffer.duplicate());
+					while (buffer.hasRemaining()) {
+						channel.write(buffer);
+					}
+					buffer.clear();
+				}
+				channel.force(true);
+			}
+		} catch (final IOException | RuntimeException e) {
+			Files.deleteIfExists(part);
+			throw e;
+		}
+		final String sha256 = HexFormat.of().formatHex(digest.digest());
+		storeBlob(part, sha256);
+		final long sizeBytes = size;
+		final String type = (contentType != null) && !contentType.isBlank() ? contentType
+				: (URLConnection.guessContentTypeFromName(name) != null ? URLConnection.guessContentTypeFromName(name) : DEFAULT_CONTENT_TYPE);
+		final Long uploadedById = getAuthenticatedUserId();
+		final boolean versioning = settingsService.getSystemSettings().map(CSystemSettings::getEnableFileVersioning).orElse(Boolean.TRUE);
+		CAttachment saved = null;
+		for (int attempt = 1; saved == null; attempt++) {
+			try {
+				saved = transactionTemplate.execute(status -> {
+					final List<CAttachment> versions =
+							((IAttachmentRepository) repository).findVersions(ownerType, ownerId, name, PageRequest.of(0, 1));
+					final CAttachment latest = versions.isEmpty() ? null : versions.get(0);
+					final CAttachment attachment;
+					if ((latest == null) || versioning) {
+						attachment = new CAttachment(ownerType, ownerId, name, latest == null ? 1 : latest.getVersion() + 1);
+					} else {
+						attachment = latest;
+						attachment.performRestore();
+					}
+					attachment.setContent(sha256, sizeBytes, type, uploadedById, LocalDateTime.now(clock));
+					return save(attachment);
+				});
+			} catch (final DataIntegrityViolationException e) {
+				// a concurrent upload of the file name took the version number, the next attempt reads it as the latest
+				if (attempt >= MAX_SAVE_ATTEMPTS) {
+					throw e;
+				}
+				LOGGER.debug("Version of {} on {} {} was taken by a concurrent upload, retrying", name, ownerType, ownerId);
+			}
+		}
+		LOGGER.info("Stored {} version {} of {} {} ({} bytes, blob {})", name, saved.getVersion(), ownerType, ownerId, sizeBytes, sha256);
+		return saved.toInfo();
+	}
+}
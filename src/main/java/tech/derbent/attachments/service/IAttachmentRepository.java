@@ -0,0 +1,49 @@
+package tech.derbent.attachments.service;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.derbent.api.services.IAbstractRepository;
+import tech.derbent.attachments.domain.CAttachment;
+import tech.derbent.attachments.domain.CAttachmentInfo;
+import tech.derbent.attachments.domain.EAttachmentOwnerType;
+
+/** IAttachmentRepository - Repository interface for the attachment metadata. Layer: Data Access (MVC) */
+@Repository
+public interface IAttachmentRepository extends IAbstractRepository<CAttachment> {
+
+	/** Whether any row refers to the blob, soft deleted versions included: they can be restored and their blob must outlive them. */
+	@Query ("SELECT COUNT(a) > 0 FROM CAttachment a WHERE a.sha256 = :sha256")
+	boolean existsBySha256(@Param ("sha256") String sha256);
+	/** Latest version of a file name on an owner, soft deleted versions included so a new upload continues their numbering. */
+	@Query ("""
+			SELECT a FROM CAttachment a WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId AND a.fileName = :fileName
+			ORDER BY a.version DESC
+			""")
+	List<CAttachment> findVersions(@Param ("ownerType") EAttachmentOwnerType ownerType, @Param ("ownerId") Long ownerId,
+			@Param ("fileName") String fileName, Pageable pageable);
+	@Query ("SELECT a FROM CAttachment a WHERE a.id = :id AND a.isActive = true")
+	Optional<CAttachment> findActiveById(@Param ("id") Long id);
+	/** The latest active version of every file of the owner, by file name. */
+	@Query ("""
+			SELECT new tech.derbent.attachments.domain.CAttachmentInfo(a.id, a.ownerType, a.ownerId, a.fileName, a.contentType, a.sizeBytes,
+			a.sha256, a.version, a.uploadedDate)
+			FROM CAttachment a WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId AND a.isActive = true
+			AND a.version = (SELECT MAX(b.version) FROM CAttachment b WHERE b.ownerType = a.ownerType AND b.ownerId = a.ownerId
+			AND b.fileName = a.fileName AND b.isActive = true)
+			ORDER BY a.fileName
+			""")
+	List<CAttachmentInfo> listLatestByOwner(@Param ("ownerType") EAttachmentOwnerType ownerType, @Param ("ownerId") Long ownerId);
+	/** The active versions of a file name on an owner, newest first. */
+	@Query ("""
+			SELECT new tech.derbent.attachments.domain.CAttachmentInfo(a.id, a.ownerType, a.ownerId, a.fileName, a.contentType, a.sizeBytes,
+			a.sha256, a.version, a.uploadedDate)
+			FROM CAttachment a WHERE a.ownerType = :ownerType AND a.ownerId = :ownerId AND a.fileName = :fileName AND a.isActive = true
+			ORDER BY a.version DESC
+			""")
+	List<CAttachmentInfo> listVersions(@Param ("ownerType") EAttachmentOwnerType ownerType, @Param ("ownerId") Long ownerId,
+			@Param ("fileName") String fileName);
+}
@@ -0,0 +1,59 @@
+package tech.derbent.audit.domain;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import tech.derbent.api.utils.Check;
+
+/** CAuditCursor - Position in the newest-first history of an entity. Layer: Domain (MVC) Holds the monthly partition and the id of the last entry
+ * that was delivered; the next page continues strictly after it, in the same partition and then in the older ones, so pages stay stable while new
+ * entries are appended. */
+public final class CAuditCursor implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Creates the cursor that continues after the given entry.
+	 * @param entry the last delivered entry, written
+	 * @return the cursor */
+	public static CAuditCursor after(final CAuditEntry entry) {
+		Check.notNull(entry, "Entry cannot be null");
+		return new CAuditCursor(YearMonth.from(entry.changedAt()), entry.id());
+	}
+
+	/** Parses a cursor written by {@link #toToken()}.
+	 * @param token the token
+	 * @return the cursor
+	 * @throws IllegalArgumentException if the token is not a cursor */
+	public static CAuditCursor parse(final String token) {
+		Check.notBlank(token, "Cursor cannot be empty");
+		final int separator = token.indexOf(':');
+		try {
+			return new CAuditCursor(YearMonth.parse(token.substring(0, separator)), Long.valueOf(token.substring(separator + 1)));
+		} catch (final RuntimeException e) {
+			throw new IllegalArgumentException("Invalid audit cursor: " + token, e);
+		}
+	}
+
+	private final Long id;
+	private final YearMonth partition;
+
+	public CAuditCursor(final YearMonth partition, final Long id) {
+		Check.notNull(partition, "Partition cannot be null");
+		Check.notNull(id, "Id cannot be null");
+		this.partition = partition;
+		this.id = id;
+	}
+
+	public Long getId() { return id; }
+
+	public YearMonth getPartition() { return partition; }
+
+	/** Opaque token of the cursor, for URLs. */
+	public String toToken() {
+		return partition + ":" + id;
+	}
+
+	@Override
+	public String toString() {
+		return "CAuditCursor{partition=" + partition + ", id=" + id + '}';
+	}
+}
@@ -0,0 +1,44 @@
+package tech.derbent.audit.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import tech.derbent.api.utils.Check;
+
+/** CAuditEntry - One recorded change of an audited entity. Layer: Domain (MVC) Holds who changed the entity when, and the old and new value of
+ * every audited field that changed. Values are kept as display text: references as the name of the referenced entity, or its id when it was not
+ * loaded. Entries are written once and never updated.
+ * @param id         id within its monthly partition, null until written
+ * @param entityType class name of the entity
+ * @param entityId   the entity id
+ * @param action     what happened to the entity
+ * @param changedBy  name of the authenticated user, "system" for background work
+ * @param changedAt  time of the change
+ * @param changes    the changed fields, in mapping order */
+public record CAuditEntry(Long id, String entityType, Long entityId, Action action, String changedBy, LocalDateTime changedAt,
+		List<CFieldChange> changes) implements Serializable {
+
+	/** Kind of change. A soft delete is an update of the active field. */
+	public enum Action {
+		CREATED, DELETED, UPDATED
+	}
+
+	/** Old and new value of one field, null for an empty value.
+	 * @param field    the field name
+	 * @param oldValue the value before the change
+	 * @param newValue the value after the change */
+	public record CFieldChange(String field, String oldValue, String newValue) implements Serializable {}
+
+	public CAuditEntry {
+		Check.notNull(entityType, "Entity type cannot be null");
+		Check.notNull(entityId, "Entity id cannot be null");
+		Check.notNull(action, "Action cannot be null");
+		Check.notNull(changedAt, "Changed at cannot be null");
+		changes = changes != null ? List.copyOf(changes) : List.of();
+	}
+
+	/** Returns this entry with the id it was written with. */
+	public CAuditEntry withId(final Long writtenId) {
+		return new CAuditEntry(writtenId, entityType, entityId, action, changedBy, changedAt, changes);
+	}
+}
@@ -0,0 +1,26 @@
+package tech.derbent.audit.domain;
+
+import java.util.List;
+
+/** CAuditHistoryPage - One page of the newest-first history of an entity. Layer: Domain (MVC) Carries the entries of the page and the cursor to
+ * request the next (older) page with; the cursor is null when there are no older entries. */
+public final class CAuditHistoryPage {
+
+	private final List<CAuditEntry> entries;
+	private final CAuditCursor nextCursor;
+
+	public CAuditHistoryPage(final List<CAuditEntry> entries, final CAuditCursor nextCursor) {
+		this.entries = entries != null ? List.copyOf(entries) : List.of();
+		this.nextCursor = nextCursor;
+	}
+
+	/** Entries of this page ordered newest first. */
+	public List<CAuditEntry> getEntries() { return entries; }
+
+	/** Cursor of the next (older) page, or null if this is the last page. */
+	public CAuditCursor getNextCursor() { return nextCursor; }
+
+	public boolean hasMore() {
+		return nextCursor != null;
+	}
+}
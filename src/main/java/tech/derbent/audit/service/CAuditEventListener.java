@@ -0,0 +1,156 @@
+package tech.derbent.audit.service;
+
+import java.lang.reflect.Field;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Hibernate;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tech.derbent.api.annotations.AAudited;
+import tech.derbent.api.annotations.AMetaData;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.audit.domain.CAuditEntry;
+import tech.derbent.audit.domain.CAuditEntry.Action;
+import tech.derbent.audit.domain.CAuditEntry.CFieldChange;
+
+/** Hibernate listener that turns the flushed inserts, updates and deletes of {@link AAudited} entities into audit entries. The diff is taken from the
+ * old and new state Hibernate already holds for the flush, so it costs no query; the entries are handed to {@link CAuditService} only after the
+ * transaction committed, a rolled back change leaves no trace. */
+final class CAuditEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+	// kept by every entry anyway
+	private static final Set<String> BOOKKEEPING_FIELDS = Set.of("createdDate", "lastModifiedDate");
+	static final int MAX_VALUE_LENGTH = 1000;
+	private static final long serialVersionUID = 1L;
+
+	/** Display text of a field value, null for an empty value. Lazy references are written as #id so the flush never loads them. */
+	static String format(final Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof final CEntityDB<?> entity) {
+			if ((entity instanceof final CEntityNamed<?> named) && Hibernate.isInitialized(entity) && (named.getName() != null)) {
+				return named.getName();
+			}
+			return "#" + entity.getId();
+		}
+		final String text = value.toString();
+		return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "…" : text;
+	}
+
+	/** Properties of the entity class that are audited: the AMetaData fields except passwords, images and bookkeeping dates. Empty if the class is not
+	 * audited. */
+	private static Set<String> resolveAuditedProperties(final Class<?> entityClass) {
+		if (!entityClass.isAnnotationPresent(AAudited.class)) {
+			return Set.of();
+		}
+		final Set<String> properties = new HashSet<>();
+		for (Class<?> type = entityClass; (type != null) && (type != Object.class); type = type.getSuperclass()) {
+			for (final Field field : type.getDeclaredFields()) {
+				final AMetaData meta = field.getAnnotation(AMetaData.class);
+				if ((meta != null) && !meta.passwordField() && !meta.imageData() && !BOOKKEEPING_FIELDS.contains(field.getName())) {
+					properties.add(field.getName());
+				}
+			}
+		}
+		return Set.copyOf(properties);
+	}
+
+	private final Map<Class<?>, Set<String>> auditedProperties = new ConcurrentHashMap<>();
+	private final CAuditService auditService;
+	private final Clock clock;
+
+	CAuditEventListener(final CAuditService auditService, final Clock clock) {
+		this.auditService = auditService;
+		this.clock = clock;
+	}
+
+	private List<CFieldChange> diff(final EntityPersister persister, final Set<String> audited, final Object[] oldState, final Object[] newState) {
+		final String[] names = persister.getPropertyNames();
+		final List<CFieldChange> changes = new ArrayList<>();
+		for (int i = 0; i < names.length; i++) {
+			final Object newValue = newState[i];
+			final Object oldValue = oldState != null ? oldState[i] : null;
+			if (!audited.contains(names[i]) || (newValue instanceof Collection) || (oldValue instanceof Collection)) {
+				continue;
+			}
+			final String oldText = format(oldValue);
+			final String newText = format(newValue);
+			if (!Objects.equals(oldText, newText)) {
+				changes.add(new CFieldChange(names[i], oldText, newText));
+			}
+		}
+		return changes;
+	}
+
+	private Set<String> getAuditedProperties(final EntityPersister persister) {
+		return auditedProperties.computeIfAbsent(persister.getMappedClass(), CAuditEventListener::resolveAuditedProperties);
+	}
+
+	@Override
+	public void onPostDelete(final PostDeleteEvent event) {
+		if (getAuditedProperties(event.getPersister()).isEmpty()) {
+			return;
+		}
+		record(event.getSession(), event.getPersister(), event.getId(), Action.DELETED, List.of());
+	}
+
+	@Override
+	public void onPostInsert(final PostInsertEvent event) {
+		final Set<String> audited = getAuditedProperties(event.getPersister());
+		if (audited.isEmpty()) {
+			return;
+		}
+		record(event.getSession(), event.getPersister(), event.getId(), Action.CREATED, diff(event.getPersister(), audited, null, event.getState()));
+	}
+
+	@Override
+	public void onPostUpdate(final PostUpdateEvent event) {
+		final Set<String> audited = getAuditedProperties(event.getPersister());
+		if (audited.isEmpty()) {
+			return;
+		}
+		// without the loaded state (an update of a detached instance without merge) the entry records that, not what, changed
+		final List<CFieldChange> changes =
+				event.getOldState() != null ? diff(event.getPersister(), audited, event.getOldState(), event.getState()) : List.of();
+		if ((event.getOldState() != null) && changes.isEmpty()) {
+			// only bookkeeping or unaudited fields changed
+			return;
+		}
+		record(event.getSession(), event.getPersister(), event.getId(), Action.UPDATED, changes);
+	}
+
+	private void record(final EventSource session, final EntityPersister persister, final Object id, final Action action,
+			final List<CFieldChange> changes) {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		final CAuditEntry entry = new CAuditEntry(null, persister.getMappedClass().getName(), ((Number) id).longValue(), action,
+				authentication != null ? authentication.getName() : "system", LocalDateTime.now(clock), changes);
+		session.getActionQueue().registerProcess((success, completedSession) -> {
+			if (success) {
+				auditService.enqueue(entry);
+			}
+		});
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(final EntityPersister persister) {
+		return false;
+	}
+}
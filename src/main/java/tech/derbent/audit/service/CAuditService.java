@@ -0,0 +1,278 @@
+package tech.derbent.audit.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import tech.derbent.api.utils.Check;
+import tech.derbent.audit.domain.CAuditCursor;
+import tech.derbent.audit.domain.CAuditEntry;
+import tech.derbent.audit.domain.CAuditEntry.Action;
+import tech.derbent.audit.domain.CAuditEntry.CFieldChange;
+import tech.derbent.audit.domain.CAuditHistoryPage;
+
+/** CAuditService - Append-only change history of the {@link tech.derbent.api.annotations.AAudited} entities. Layer: Service (MVC) A Hibernate
+ * listener diffs the audited fields of every flushed insert, update and delete and hands the entries over after commit; they are queued and
+ * written in batches by a background thread, so a save only pays for the diff. Entries go to one table per month, caudit_history_yyyymm, created
+ * on first use; the changes are stored as compact JSON, {"field": [old, new]}. Rows are only ever inserted, old months can be dropped as a whole.
+ * The history of an entity is read newest first with a cursor, partition by partition. A full queue is written by the caller instead of dropping
+ * entries. Settings:
+ * <ul>
+ * <li>derbent.audit.batch-size - entries per insert batch, default 200</li>
+ * <li>derbent.audit.flush-ms - delay of the background writer, default 500; the history lags the saves by at most this</li>
+ * <li>derbent.audit.queue-capacity - entries waiting for the writer, default 10000</li>
+ * </ul>
+ */
+@Service
+public class CAuditService {
+
+	public static final int MAX_LIMIT = 1000;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CAuditService.class);
+	private static final DateTimeFormatter PARTITION_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+	static final String TABLE_PREFIX = "caudit_history_";
+	private static final Pattern PARTITION_TABLE = Pattern.compile(TABLE_PREFIX + "(\\d{6})");
+
+	static String tableOf(final YearMonth partition) {
+		return TABLE_PREFIX + partition.format(PARTITION_FORMAT);
+	}
+
+	private final int batchSize;
+	private final Clock clock;
+	private final EntityManagerFactory entityManagerFactory;
+	private final JdbcTemplate jdbcTemplate;
+	private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+	private final ObjectMapper objectMapper;
+	private final BlockingQueue<CAuditEntry> queue;
+	private final ScheduledExecutorService writer;
+
+	public CAuditService(final DataSource dataSource, final EntityManagerFactory entityManagerFactory, final ObjectMapper objectMapper,
+			final Clock clock, @Value ("${derbent.audit.batch-size:200}") final int batchSize, @Value ("${derbent.audit.flush-ms:500}") final long flushMillis,
+			@Value ("${derbent.audit.queue-capacity:10000}") final int queueCapacity) {
+		Check.isTrue(batchSize > 0, "Batch size must be positive");
+		Check.isTrue(flushMillis > 0, "Flush interval must be positive");
+		Check.isTrue(queueCapacity > 0, "Queue capacity must be positive");
+		this.entityManagerFactory = entityManagerFactory;
+		this.objectMapper = objectMapper;
+		this.clock = clock;
+		this.batchSize = batchSize;
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-audit-writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		writer.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+	}
+
+	private String encodeChanges(final List<CFieldChange> changes) throws JsonProcessingException {
+		final ObjectNode node = objectMapper.createObjectNode();
+		for (final CFieldChange change : changes) {
+			node.putArray(change.field()).add(change.oldValue()).add(change.newValue());
+		}
+		return objectMapper.writeValueAsString(node);
+	}
+
+	private List<CFieldChange> decodeChanges(final String json) {
+		final List<CFieldChange> changes = new ArrayList<>();
+		if (json == null) {
+			return changes;
+		}
+		try {
+			final Iterator<Map.Entry<String, JsonNode>> fields = objectMapper.readTree(json).fields();
+			while (fields.hasNext()) {
+				final Map.Entry<String, JsonNode> field = fields.next();
+				final ArrayNode values = (ArrayNode) field.getValue();
+				changes.add(new CFieldChange(field.getKey(), values.get(0).isNull() ? null : values.get(0).asText(),
+						values.get(1).isNull() ? null : values.get(1).asText()));
+			}
+		} catch (final JsonProcessingException | RuntimeException e) {
+			LOGGER.warn("Unreadable audit changes: {}", e.getMessage());
+		}
+		return changes;
+	}
+
+	/** Queues an entry of a committed transaction. A full queue is written through on the calling thread. */
+	void enqueue(final CAuditEntry entry) {
+		if (!queue.offer(entry)) {
+			LOGGER.warn("Audit queue is full, writing on the caller");
+			flush();
+			write(List.of(entry));
+		}
+	}
+
+	private void createPartition(final YearMonth partition) {
+		final String table = tableOf(partition);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+				+ " entity_type VARCHAR(255) NOT NULL, entity_id BIGINT NOT NULL, action VARCHAR(16) NOT NULL, changed_by VARCHAR(255),"
+				+ " changed_at TIMESTAMP NOT NULL, changes VARCHAR(100000))");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + table + "_entity_idx ON " + table + " (entity_type, entity_id, id)");
+		knownPartitions.add(partition);
+	}
+
+	private void ensurePartition(final YearMonth partition) {
+		if (!knownPartitions.contains(partition)) {
+			createPartition(partition);
+		}
+	}
+
+	/** Creates the history table of a month if it does not exist, for a table of a backup restored into a database without it. Checks the database
+	 * rather than the known partitions, the table may have been dropped since it was created.
+	 * @param table a table name
+	 * @return true if the name is the one of a history table */
+	public boolean ensurePartitionTable(final String table) {
+		final Matcher matcher = PARTITION_TABLE.matcher(table.toLowerCase(Locale.ROOT));
+		if (!matcher.matches()) {
+			return false;
+		}
+		createPartition(YearMonth.parse(matcher.group(1), PARTITION_FORMAT));
+		return true;
+	}
+
+	/** Writes all queued entries now. Runs on the writer thread, and on shutdown. */
+	public synchronized void flush() {
+		final List<CAuditEntry> batch = new ArrayList<>(batchSize);
+		while (queue.drainTo(batch, batchSize) > 0) {
+			write(batch);
+			batch.clear();
+		}
+	}
+
+	/** Reads one page of the history of an entity, newest first. Entries still queued for the writer are not included yet.
+	 * @param entityClass the entity class
+	 * @param entityId    the entity id
+	 * @param cursor      the cursor of the previous page, null for the newest entries
+	 * @param limit       the page size, at most {@link #MAX_LIMIT}
+	 * @return the page */
+	@PreAuthorize ("isAuthenticated()")
+	public CAuditHistoryPage getHistory(final Class<?> entityClass, final Long entityId, final CAuditCursor cursor, final int limit) {
+		Check.notNull(entityClass, "Entity class cannot be null");
+		Check.notNull(entityId, "Entity id cannot be null");
+		Check.isTrue((limit > 0) && (limit <= MAX_LIMIT), "Limit must be between 1 and " + MAX_LIMIT);
+		final List<CAuditEntry> entries = new ArrayList<>();
+		for (final YearMonth partition : listPartitions()) {
+			if ((cursor != null) && partition.isAfter(cursor.getPartition())) {
+				continue;
+			}
+			final boolean afterCursor = (cursor != null) && partition.equals(cursor.getPartition());
+			final List<Object> parameters = new ArrayList<>(List.of(entityClass.getName(), entityId));
+			if (afterCursor) {
+				parameters.add(cursor.getId());
+			}
+			// one more than the page, to know whether there is a next page
+			entries.addAll(jdbcTemplate.query("SELECT id, action, changed_by, changed_at, changes FROM " + tableOf(partition)
+					+ " WHERE entity_type = ? AND entity_id = ?" + (afterCursor ? " AND id < ?" : "") + " ORDER BY id DESC FETCH FIRST "
+					+ ((limit + 1) - entries.size()) + " ROWS ONLY",
+					(rs, rowNum) -> new CAuditEntry(rs.getLong("id"), entityClass.getName(), entityId, Action.valueOf(rs.getString("action")),
+							rs.getString("changed_by"), rs.getTimestamp("changed_at").toLocalDateTime(), decodeChanges(rs.getString("changes"))),
+					parameters.toArray()));
+			if (entries.size() > limit) {
+				break;
+			}
+		}
+		if (entries.size() <= limit) {
+			return new CAuditHistoryPage(entries, null);
+		}
+		final List<CAuditEntry> page = entries.subList(0, limit);
+		return new CAuditHistoryPage(page, CAuditCursor.after(page.get(limit - 1)));
+	}
+
+	/** Months with a history table, newest first. Read from the database, so partitions created by other nodes are included. */
+	List<YearMonth> listPartitions() {
+		final Set<YearMonth> partitions = new TreeSet<>(Comparator.reverseOrder());
+		for (final String table : jdbcTemplate.queryForList(
+				"SELECT table_name FROM information_schema.tables WHERE LOWER(table_name) LIKE '" + TABLE_PREFIX + "%'", String.class)) {
+			final Matcher matcher = PARTITION_TABLE.matcher(table.toLowerCase(Locale.ROOT));
+			if (matcher.matches()) {
+				partitions.add(YearMonth.parse(matcher.group(1), PARTITION_FORMAT));
+			}
+		}
+		return new ArrayList<>(partitions);
+	}
+
+	/** Appends the listener to the insert, update and delete events of the session factory. */
+	@PostConstruct
+	public void registerListener() {
+		final CAuditEventListener listener = new CAuditEventListener(this, clock);
+		final EventListenerRegistry registry =
+				entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		registry.appendListeners(EventType.POST_DELETE, listener);
+		LOGGER.info("Audit trail listener registered");
+	}
+
+	/** Stops the writer and writes what is still queued. */
+	@PreDestroy
+	public void shutdown() {
+		writer.shutdown();
+		try {
+			writer.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+	}
+
+	private void write(final List<CAuditEntry> batch) {
+		final Map<YearMonth, List<Object[]>> rowsByPartition = new LinkedHashMap<>();
+		for (final CAuditEntry entry : batch) {
+			try {
+				rowsByPartition.computeIfAbsent(YearMonth.from(entry.changedAt()), partition -> new ArrayList<>())
+						.add(new Object[] {
+								entry.entityType(), entry.entityId(), entry.action().name(), entry.changedBy(), Timestamp.valueOf(entry.changedAt()),
+								encodeChanges(entry.changes())
+						});
+			} catch (final JsonProcessingException e) {
+				LOGGER.error("Audit entry of {} {} could not be encoded: {}", entry.entityType(), entry.entityId(), e.getMessage());
+			}
+		}
+		rowsByPartition.forEach((partition, rows) -> {
+			try {
+				ensurePartition(partition);
+				jdbcTemplate.batchUpdate("INSERT INTO " + tableOf(partition)
+						+ " (entity_type, entity_id, action, changed_by, changed_at, changes) VALUES (?, ?, ?, ?, ?, ?)", rows);
+			} catch (final DataAccessException e) {
+				// keep the entries in the log, they cannot be written again once dropped from the queue
+				LOGGER.error("Writing {} audit entries to {} failed: {}", rows.size(), tableOf(partition), e.getMessage(), e);
+				rows.forEach(row -> LOGGER.error("Lost audit entry: {} {} {} by {} at {}: {}", row));
+			}
+		});
+	}
+}
@@ -0,0 +1,9 @@
+package tech.derbent.backup.domain;
+
+import java.time.LocalDateTime;
+
+/** CBackupInfo - A backup archive in the backup directory. Layer: Domain (MVC)
+ * @param fileName  name of the archive file
+ * @param createdAt time the snapshot was taken, from the file name
+ * @param sizeBytes size of the compressed archive */
+public record CBackupInfo(String fileName, LocalDateTime createdAt, long sizeBytes) {}
@@ -0,0 +1,31 @@
+package tech.derbent.backup.events;
+
+import org.springframework.context.ApplicationEvent;
+
+/** Event published after a backup was restored and the caches of this node were evicted. Listeners reload what they keep warm; the rows they
+ * read are the restored ones. */
+public class DatabaseRestoredEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+	private final String fileName;
+	private final long rows;
+
+	/** Creates a new DatabaseRestoredEvent.
+	 * @param source   The object that published the event
+	 * @param fileName The name of the restored archive
+	 * @param rows     The number of restored rows */
+	public DatabaseRestoredEvent(final Object source, final String fileName, final long rows) {
+		super(source);
+		this.fileName = fileName;
+		this.rows = rows;
+	}
+
+	public String getFileName() { return fileName; }
+
+	public long getRows() { return rows; }
+
+	@Override
+	public String toString() {
+		return String.format("DatabaseRestoredEvent{fileName=%s, rows=%d}", fileName, rows);
+	}
+}
@@ -0,0 +1,129 @@
+package tech.derbent.backup.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+/** Database independent encoding of column values in a backup archive. Every column is stored with one of the value kinds below, chosen from its
+ * JDBC type; a value is a presence byte followed by its payload. Dates and times are written as ISO strings, decimals as plain strings, so an
+ * archive restores into another database product as long as the tables and columns match. */
+final class CBackupCodec {
+
+	static final byte BOOLEAN = 1;
+	static final byte BYTES = 2;
+	static final byte DATE = 3;
+	static final byte DECIMAL = 4;
+	static final byte DOUBLE = 5;
+	static final byte LONG = 6;
+	static final byte OFFSET_TIMESTAMP = 7;
+	static final byte STRING = 8;
+	static final byte TIME = 9;
+	static final byte TIMESTAMP = 10;
+
+	/** The value kind of a JDBC column type; types without a kind of their own, such as enums, are stored as strings. */
+	static byte kindOf(final int sqlType) {
+		return switch (sqlType) {
+		case Types.BIT, Types.BOOLEAN -> BOOLEAN;
+		case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> LONG;
+		case Types.REAL, Types.FLOAT, Types.DOUBLE -> DOUBLE;
+		case Types.NUMERIC, Types.DECIMAL -> DECIMAL;
+		case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> BYTES;
+		case Types.DATE -> DATE;
+		case Types.TIME -> TIME;
+		case Types.TIMESTAMP -> TIMESTAMP;
+		case Types.TIMESTAMP_WITH_TIMEZONE -> OFFSET_TIMESTAMP;
+		default -> STRING;
+		};
+	}
+
+	private static byte[] readBytes(final DataInputStream input) throws IOException {
+		final byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return bytes;
+	}
+
+	static String readString(final DataInputStream input) throws IOException {
+		return new String(readBytes(input), StandardCharsets.UTF_8);
+	}
+
+	/** Reads the next value of the kind from the archive.
+	 * @return the value, null for SQL NULL */
+	static Object readValue(final DataInputStream input, final byte kind) throws IOException {
+		if (!input.readBoolean()) {
+			return null;
+		}
+		return switch (kind) {
+		case BOOLEAN -> input.readBoolean();
+		case BYTES -> readBytes(input);
+		case DATE -> LocalDate.parse(readString(input));
+		case DECIMAL -> new BigDecimal(readString(input));
+		case DOUBLE -> input.readDouble();
+		case LONG -> input.readLong();
+		case OFFSET_TIMESTAMP -> OffsetDateTime.parse(readString(input));
+		case STRING -> readString(input);
+		case TIME -> LocalTime.parse(readString(input));
+		case TIMESTAMP -> LocalDateTime.parse(readString(input));
+		default -> throw new IOException("Unknown value kind " + kind);
+		};
+	}
+
+	/** Binds a value read from the archive to an insert parameter. */
+	static void setValue(final PreparedStatement statement, final int index, final Object value, final int sqlType) throws SQLException {
+		if (value == null) {
+			statement.setNull(index, sqlType);
+		} else {
+			statement.setObject(index, value);
+		}
+	}
+
+	/** Writes the column of the current row to the archive. */
+	static void writeValue(final DataOutputStream output, final ResultSet resultSet, final int column, final byte kind)
+			throws IOException, SQLException {
+		final Object value = switch (kind) {
+		case BOOLEAN -> resultSet.getBoolean(column);
+		case BYTES -> resultSet.getBytes(column);
+		case DATE -> resultSet.getObject(column, LocalDate.class);
+		case DECIMAL -> resultSet.getBigDecimal(column);
+		case DOUBLE -> resultSet.getDouble(column);
+		case LONG -> resultSet.getLong(column);
+		case OFFSET_TIMESTAMP -> resultSet.getObject(column, OffsetDateTime.class);
+		case TIME -> resultSet.getObject(column, LocalTime.class);
+		case TIMESTAMP -> resultSet.getObject(column, LocalDateTime.class);
+		default -> resultSet.getString(column);
+		};
+		if ((value == null) || resultSet.wasNull()) {
+			output.writeBoolean(false);
+			return;
+		}
+		output.writeBoolean(true);
+		switch (kind) {
+		case BOOLEAN -> output.writeBoolean((Boolean) value);
+		case BYTES -> writeBytes(output, (byte[]) value);
+		case DECIMAL -> writeString(output, ((BigDecimal) value).toPlainString());
+		case DOUBLE -> output.writeDouble((Double) value);
+		case LONG -> output.writeLong((Long) value);
+		default -> writeString(output, value.toString());
+		}
+	}
+
+	private static void writeBytes(final DataOutputStream output, final byte[] bytes) throws IOException {
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	static void writeString(final DataOutputStream output, final String value) throws IOException {
+		writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private CBackupCodec() {}
+}
@@ -0,0 +1,672 @@
+package tech.derbent.backup.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.derbent.api.events.IEntityCache;
+import tech.derbent.api.utils.Check;
+import tech.derbent.audit.service.CAuditService;
+import tech.derbent.backup.domain.CBackupInfo;
+import tech.derbent.backup.events.DatabaseRestoredEvent;
+
+/** CBackupService - Online backup and restore of the database. Layer: Service (MVC) A backup reads all tables of the schema in one read only,
+ * repeatable read transaction, so it is a consistent snapshot taken while the application keeps running. Tables are read in chunks of
+ * derbent.backup.batch-size rows, by primary key, and each chunk is streamed straight into a ZIP archive written through a file channel; no table
+ * is held in memory. The archive has a manifest and one entry per table with its columns and rows in the database independent encoding of
+ * CBackupCodec, parents before the tables referencing them. It is written to a .part file and moved in place when complete.
+ * <p>
+ * A restore streams the archive back in one transaction: it empties the archived tables, inserts the rows in batches and moves the identity columns
+ * past the restored ids. References that cannot be inserted in order - self references and the cycles between users, user types and companies -
+ * are inserted as null and set by a second pass over the archive. Audit history tables missing in the target database are created, other tables and
+ * columns missing there are skipped. The caches of this node are evicted after the restore; other nodes keep theirs and should be restarted.
+ * Settings:
+ * <ul>
+ * <li>derbent.backup.directory - directory of the archives, default ./backups</li>
+ * <li>derbent.backup.batch-size - rows per read chunk and insert batch, default 1000</li>
+ * <li>derbent.backup.excluded-tables - comma separated tables left out, default the node state tables cjob_lock and derbent_entity_change</li>
+ * </ul>
+ */
+@Service
+public class CBackupService {
+
+	/** Rows written from one result set and the key of the last one. */
+	private static final class CChunk {
+
+		private long count;
+		private Object lastKey;
+	}
+
+	/** A column of a table as the database reports it. */
+	private record CColumn(String name, int sqlType, boolean nullable) {}
+
+	/** A table of the schema with its primary key columns and its foreign key columns with the tables they reference. */
+	private record CTable(String name, List<String> primaryKey, Map<String, String> foreignKeys) {}
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final byte END = 0;
+	static final String FILE_PREFIX = "derbent-backup-";
+	static final String FILE_SUFFIX = ".zip";
+	static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+	private static final Pattern FILE_NAME = Pattern.compile(Pattern.quote(FILE_PREFIX) + "(\\d{8}-\\d{6})" + Pattern.quote(FILE_SUFFIX));
+	private static final String FORMAT = "derbent-backup";
+	private static final String FORMAT_VERSION = "1";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CBackupService.class);
+	private static final String MANIFEST = "manifest.properties";
+	private static final byte ROW = 1;
+	private static final String TABLE_ENTRY_PREFIX = "tables/";
+
+	private static String key(final String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	private static String quote(final String identifier) {
+		return "\"" + identifier.replace("\"", "\"\"") + "\"";
+	}
+
+	/** Reads the column header of a table entry. */
+	private static void readHeader(final DataInputStream input, final List<String> names, final List<Byte> kinds) throws IOException {
+		final int count = input.readInt();
+		for (int i = 0; i < count; i++) {
+			names.add(CBackupCodec.readString(input));
+			kinds.add(input.readByte());
+		}
+	}
+
+	/** Reads the manifest, the first entry of the archive.
+	 * @return the archived tables in the order of their entries */
+	private static List<String> readManifest(final ZipInputStream zip, final Path file) throws IOException {
+		final ZipEntry entry = zip.getNextEntry();
+		Check.isTrue((entry != null) && MANIFEST.equals(entry.getName()), "Not a backup archive: " + file.getFileName());
+		final Properties manifest = new Properties();
+		manifest.load(zip);
+		Check.isTrue(FORMAT.equals(manifest.getProperty("format")) && FORMAT_VERSION.equals(manifest.getProperty("version")),
+				"Unsupported backup format in " + file.getFileName());
+		return Arrays.stream(manifest.getProperty("tables", "").split(",")).filter(table -> !table.isEmpty()).toList();
+	}
+
+	/** Sorts the tables so that every table comes after the tables it references, as far as the references allow. Self references are ignored,
+	 * tables in a reference cycle are appended by name. */
+	private static List<CTable> sortByReferences(final Map<String, CTable> tables) {
+		final List<CTable> sorted = new ArrayList<>();
+		final Set<String> placed = new LinkedHashSet<>();
+		boolean progress = true;
+		while (progress) {
+			progress = false;
+			for (final CTable table : tables.values()) {
+				if (!placed.contains(table.name()) && table.foreignKeys().values().stream()
+						.allMatch(reference -> reference.equals(table.name()) || placed.contains(reference) || !tables.containsKey(reference))) {
+					sorted.add(table);
+					placed.add(table.name());
+					progress = true;
+				}
+			}
+		}
+		tables.values().stream().filter(table -> !placed.contains(table.name())).forEach(sorted::add);
+		return sorted;
+	}
+
+	/** Runs the database work and rethrows the IOException it wrapped. */
+	private static long unwrapping(final Supplier<Long> work) throws IOException {
+		try {
+			final Long result = work.get();
+			return result == null ? 0 : result;
+		} catch (final UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static CChunk writeRows(final ResultSet resultSet, final List<Byte> kinds, final DataOutputStream output, final int keyIndex)
+			throws SQLException, IOException {
+		final CChunk chunk = new CChunk();
+		while (resultSet.next()) {
+			output.writeByte(ROW);
+			for (int i = 0; i < kinds.size(); i++) {
+				CBackupCodec.writeValue(output, resultSet, i + 1, kinds.get(i));
+			}
+			if (keyIndex > 0) {
+				chunk.lastKey = resultSet.getObject(keyIndex);
+			}
+			chunk.count++;
+		}
+		return chunk;
+	}
+
+	private final CAuditService auditService;
+	private final int batchSize;
+	private final List<IEntityCache> caches;
+	private final Clock clock;
+	private final Path directory;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Set<String> excludedTables;
+	private final JdbcTemplate jdbcTemplate;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final TransactionTemplate readTransaction;
+	private final TransactionTemplate writeTransaction;
+
+	public CBackupService(final DataSource dataSource, final PlatformTransactionManager transactionManager, final Clock clock,
+			final CAuditService auditService, final List<IEntityCache> caches, final ApplicationEventPublisher eventPublisher,
+			@Value ("${derbent.backup.directory:./backups}") final String directory, @Value ("${derbent.backup.batch-size:1000}") final int batchSize,
+			@Value ("${derbent.backup.excluded-tables:cjob_lock,derbent_entity_change}") final String excludedTables) {
+		Check.notBlank(directory, "Backup directory cannot be empty");
+		Check.isTrue(batchSize > 0, "Batch size must be positive");
+		this.clock = clock;
+		this.auditService = auditService;
+		this.caches = caches;
+		this.eventPublisher = eventPublisher;
+		this.directory = Paths.get(directory).toAbsolutePath().normalize();
+		this.batchSize = batchSize;
+		this.excludedTables = Arrays.stream(excludedTables.split(",")).map(String::trim).filter(table -> !table.isEmpty()).map(CBackupService::key)
+				.collect(Collectors.toSet());
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readTransaction = new TransactionTemplate(transactionManager);
+		readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		readTransaction.setReadOnly(true);
+		writeTransaction = new TransactionTemplate(transactionManager);
+		writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/** Writes a snapshot of all tables to a new archive in the backup directory.
+	 * @return the archive
+	 * @throws IllegalStateException if a backup or restore is already running on this node */
+	public CBackupInfo backup() throws IOException {
+		if (!lock.tryLock()) {
+			throw new IllegalStateException("A backup or restore is already running");
+		}
+		try {
+			Files.createDirectories(directory);
+			final LocalDateTime createdAt = LocalDateTime.now(clock).truncatedTo(ChronoUnit.SECONDS);
+			final String fileName = FILE_PREFIX + FILE_TIME_FORMAT.format(createdAt) + FILE_SUFFIX;
+			final Path file = directory.resolve(fileName);
+			final Path part = directory.resolve(fileName + ".part");
+			Check.isTrue(!Files.exists(file), "Backup already exists: " + fileName);
+			final long start = System.currentTimeMillis();
+			final long rows;
+			try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+					ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE))) {
+				rows = unwrapping(() -> readTransaction
+						.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> writeSnapshot(connection, zip, createdAt))));
+				zip.finish();
+				zip.flush();
+				channel.force(true);
+			} catch (final IOException | RuntimeException e) {
+				Files.deleteIfExists(part);
+				throw e;
+			}
+			Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+			final CBackupInfo info = new CBackupInfo(fileName, createdAt, Files.size(file));
+			LOGGER.info("Backed up {} rows to {} ({} bytes) in {} ms", rows, file, info.sizeBytes(), System.currentTimeMillis() - start);
+			return info;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** The foreign key columns of the archived tables that are inserted as null and set afterwards: the nullable columns referencing the table
+	 * itself or a table restored after it. Tables without a single column primary key are restored as they are. */
+	private Map<String, Set<String>> findDeferredColumns(final Connection connection, final List<String> archived, final Map<String, CTable> targets)
+			throws SQLException {
+		final Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < archived.size(); i++) {
+			positions.put(key(archived.get(i)), i);
+		}
+		final Map<String, Set<String>> deferred = new LinkedHashMap<>();
+		for (final String name : archived) {
+			final CTable table = targets.get(key(name));
+			if ((table == null) || (table.primaryKey().size() != 1) || table.foreignKeys().isEmpty()) {
+				continue;
+			}
+			final int position = positions.get(key(name));
+			for (final CColumn column : readColumns(connection, table.name())) {
+				final String reference = table.foreignKeys().get(column.name());
+				final Integer referencePosition = reference != null ? positions.get(key(reference)) : null;
+				if ((referencePosition != null) && (referencePosition >= position) && column.nullable()) {
+					deferred.computeIfAbsent(key(name), ignored -> new LinkedHashSet<>()).add(column.name());
+				}
+			}
+		}
+		return deferred;
+	}
+
+	public Path getDirectory() { return directory; }
+
+	/** The archives in the backup directory, newest first. */
+	public List<CBackupInfo> listBackups() throws IOException {
+		final List<CBackupInfo> backups = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return backups;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+			for (final Path file : files) {
+				final Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) {
+					backups.add(new CBackupInfo(file.getFileName().toString(), LocalDateTime.parse(matcher.group(1), FILE_TIME_FORMAT), Files.size(file)));
+				}
+			}
+		}
+		backups.sort(Comparator.comparing(CBackupInfo::createdAt).reversed());
+		return backups;
+	}
+
+	private ZipInputStream openArchive(final FileChannel channel) {
+		return new ZipInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+	}
+
+	/** Deletes the archives taken more than the retention days ago.
+	 * @param retentionDays days an archive is kept
+	 * @return number of deleted archives */
+	public int pruneBackups(final int retentionDays) throws IOException {
+		Check.isTrue(retentionDays > 0, "Retention days must be positive");
+		final LocalDateTime cutoff = LocalDateTime.now(clock).minusDays(retentionDays);
+		int deleted = 0;
+		for (final CBackupInfo backup : listBackups()) {
+			if (backup.createdAt().isBefore(cutoff) && Files.deleteIfExists(directory.resolve(backup.fileName()))) {
+				deleted++;
+			}
+		}
+		LOGGER.info("Deleted {} backups taken before {}", deleted, cutoff);
+		return deleted;
+	}
+
+	private List<CColumn> readColumns(final Connection connection, final String table) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + quote(table) + " WHERE 1 = 0");
+				ResultSet resultSet = statement.executeQuery()) {
+			final ResultSetMetaData metaData = resultSet.getMetaData();
+			final List<CColumn> columns = new ArrayList<>();
+			for (int i = 1; i <= metaData.getColumnCount(); i++) {
+				columns.add(new CColumn(metaData.getColumnName(i), metaData.getColumnType(i), metaData.isNullable(i) != ResultSetMetaData.columnNoNulls));
+			}
+			return columns;
+		}
+	}
+
+	/** Reads the tables of the current schema, sorted parents first. */
+	private List<CTable> readTables(final Connection connection) throws SQLException {
+		final DatabaseMetaData metaData = connection.getMetaData();
+		final String catalog = connection.getCatalog();
+		final String schema = connection.getSchema();
+		final Map<String, CTable> tables = new TreeMap<>();
+		try (ResultSet resultSet = metaData.getTables(catalog, schema, "%", new String[] {
+				"TABLE"
+		})) {
+			while (resultSet.next()) {
+				final String name = resultSet.getString("TABLE_NAME");
+				if (!excludedTables.contains(key(name))) {
+					tables.put(name, new CTable(name, new ArrayList<>(), new HashMap<>()));
+				}
+			}
+		}
+		for (final CTable table : tables.values()) {
+			final Map<Short, String> keyColumns = new TreeMap<>();
+			try (ResultSet resultSet = metaData.getPrimaryKeys(catalog, schema, table.name())) {
+				while (resultSet.next()) {
+					keyColumns.put(resultSet.getShort("KEY_SEQ"), resultSet.getString("COLUMN_NAME"));
+				}
+			}
+			table.primaryKey().addAll(keyColumns.values());
+			try (ResultSet resultSet = metaData.getImportedKeys(catalog, schema, table.name())) {
+				while (resultSet.next()) {
+					table.foreignKeys().put(resultSet.getString("FKCOLUMN_NAME"), resultSet.getString("PKTABLE_NAME"));
+				}
+			}
+		}
+		return sortByReferences(tables);
+	}
+
+	/** Creates the audit history tables of the archive missing in the database, the months of the backup with no entry since. Run before the
+	 * restore transaction, the DDL commits on some databases. A table that cannot be created fails the restore before any row changed. */
+	private void ensureAuditPartitions(final Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ); ZipInputStream zip = openArchive(channel)) {
+			for (final String table : readManifest(zip, file)) {
+				auditService.ensurePartitionTable(table);
+			}
+		}
+	}
+
+	/** Evicts the caches of this node, which hold entries of the replaced rows, and tells the listeners to reload. */
+	private void onRestored(final String fileName, final long rows) {
+		for (final IEntityCache cache : caches) {
+			cache.evictAll();
+		}
+		eventPublisher.publishEvent(new DatabaseRestoredEvent(this, fileName, rows));
+	}
+
+	/** Replaces the rows of the archived tables with the rows of the archive, in one transaction. The audit history tables of the archive are
+	 * created first if they are missing, then the caches of this node are evicted and a {@link DatabaseRestoredEvent} is published.
+	 * @param fileName name of an archive in the backup directory
+	 * @return number of restored rows
+	 * @throws IllegalStateException if a backup or restore is already running on this node */
+	public long restore(final String fileName) throws IOException {
+		Check.isTrue((fileName != null) && FILE_NAME.matcher(fileName).matches(), "Not a backup file name: " + fileName);
+		final Path file = directory.resolve(fileName);
+		Check.isTrue(Files.isRegularFile(file), "Backup not found: " + fileName);
+		if (!lock.tryLock()) {
+			throw new IllegalStateException("A backup or restore is already running");
+		}
+		try {
+			final long start = System.currentTimeMillis();
+			ensureAuditPartitions(file);
+			final long rows = unwrapping(() -> writeTransaction
+					.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) connection -> restoreArchive(connection, file))));
+			LOGGER.info("Restored {} rows from {} in {} ms", rows, file, System.currentTimeMillis() - start);
+			onRestored(fileName, rows);
+			return rows;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private long restoreArchive(final Connection connection, final Path file) throws SQLException {
+		try {
+			final Map<String, CTable> targets = new HashMap<>();
+			for (final CTable table : readTables(connection)) {
+				targets.put(key(table.name()), table);
+			}
+			final List<String> archived;
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ); ZipInputStream zip = openArchive(channel)) {
+				archived = readManifest(zip, file);
+			}
+			final Map<String, Set<String>> deferred = findDeferredColumns(connection, archived, targets);
+			// clearing the deferred references breaks the cycles, then the tables are emptied children first
+			for (final Map.Entry<String, Set<String>> entry : deferred.entrySet()) {
+				try (PreparedStatement statement = connection.prepareStatement("UPDATE " + quote(targets.get(entry.getKey()).name()) + " SET "
+						+ entry.getValue().stream().map(column -> quote(column) + " = NULL").collect(Collectors.joining(", ")))) {
+					statement.executeUpdate();
+				}
+			}
+			for (int i = archived.size() - 1; i >= 0; i--) {
+				final CTable target = targets.get(key(archived.get(i)));
+				if (target != null) {
+					try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + quote(target.name()))) {
+						statement.executeUpdate();
+					}
+				}
+			}
+			long rows = 0;
+			final List<CTable> restored = new ArrayList<>();
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ); ZipInputStream zip = openArchive(channel)) {
+				readManifest(zip, file);
+				ZipEntry entry;
+				while ((entry = zip.getNextEntry()) != null) {
+					final String name = entry.getName().substring(TABLE_ENTRY_PREFIX.length());
+					final CTable target = targets.get(key(name));
+					if (target == null) {
+						LOGGER.warn("Table {} of the backup does not exist and is skipped", name);
+						continue;
+					}
+					rows += restoreRows(connection, target, new DataInputStream(zip), deferred.getOrDefault(key(name), Set.of()));
+					restored.add(target);
+				}
+			}
+			if (!deferred.isEmpty()) {
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ); ZipInputStream zip = openArchive(channel)) {
+					readManifest(zip, file);
+					ZipEntry entry;
+					while ((entry = zip.getNextEntry()) != null) {
+						final String name = entry.getName().substring(TABLE_ENTRY_PREFIX.length());
+						if (deferred.containsKey(key(name))) {
+							restoreDeferred(connection, targets.get(key(name)), new DataInputStream(zip), deferred.get(key(name)));
+						}
+					}
+				}
+			}
+			// identity changes are DDL, which commits the transaction on some databases, so they come after all rows
+			for (final CTable table : restored) {
+				restartIdentity(connection, table);
+			}
+			return rows;
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/** Second pass over a table entry, sets the deferred references of the inserted rows. */
+	private void restoreDeferred(final Connection connection, final CTable table, final DataInputStream input, final Set<String> deferred)
+			throws SQLException, IOException {
+		final List<String> names = new ArrayList<>();
+		final List<Byte> kinds = new ArrayList<>();
+		readHeader(input, names, kinds);
+		final Map<String, CColumn> columns = new HashMap<>();
+		readColumns(connection, table.name()).forEach(column -> columns.put(key(column.name()), column));
+		// parameter index of every archived deferred column and of the key, 0 for the other columns
+		final int[] parameters = new int[names.size()];
+		final List<String> assignments = new ArrayList<>();
+		int keyIndex = -1;
+		for (int i = 0; i < names.size(); i++) {
+			final CColumn column = columns.get(key(names.get(i)));
+			if ((column != null) && deferred.contains(column.name())) {
+				assignments.add(quote(column.name()) + " = ?");
+				parameters[i] = assignments.size();
+			} else if (names.get(i).equalsIgnoreCase(table.primaryKey().get(0))) {
+				keyIndex = i;
+			}
+		}
+		if (assignments.isEmpty()) {
+			return;
+		}
+		Check.isTrue(keyIndex >= 0, "Primary key of " + table.name() + " is missing in the backup");
+		final String update = "UPDATE " + quote(table.name()) + " SET " + String.join(", ", assignments) + " WHERE " + quote(table.primaryKey().get(0))
+				+ " = ?";
+		long updated = 0;
+		try (PreparedStatement statement = connection.prepareStatement(update)) {
+			while (input.readByte() == ROW) {
+				boolean referencing = false;
+				for (int i = 0; i < names.size(); i++) {
+					final Object value = CBackupCodec.readValue(input, kinds.get(i));
+					if (parameters[i] > 0) {
+						CBackupCodec.setValue(statement, parameters[i], value, columns.get(key(names.get(i))).sqlType());
+						referencing |= value != null;
+					} else if (i == keyIndex) {
+						statement.setObject(assignments.size() + 1, value);
+					}
+				}
+				if (referencing) {
+					statement.addBatch();
+					if ((++updated % batchSize) == 0) {
+						statement.executeBatch();
+					}
+				}
+			}
+			statement.executeBatch();
+		}
+		LOGGER.debug("Set the deferred references of {} rows of {}", updated, table.name());
+	}
+
+	/** First pass over a table entry, inserts its rows with the deferred references left null. */
+	private long restoreRows(final Connection connection, final CTable table, final DataInputStream input, final Set<String> deferred)
+			throws SQLException, IOException {
+		final List<String> names = new ArrayList<>();
+		final List<Byte> kinds = new ArrayList<>();
+		readHeader(input, names, kinds);
+		final Map<String, CColumn> columns = new HashMap<>();
+		readColumns(connection, table.name()).forEach(column -> columns.put(key(column.name()), column));
+		// parameter index of every archived column, 0 for a column the table no longer has
+		final int[] parameters = new int[names.size()];
+		final int[] types = new int[names.size()];
+		final boolean[] nulled = new boolean[names.size()];
+		final List<String> insertColumns = new ArrayList<>();
+		for (int i = 0; i < names.size(); i++) {
+			final CColumn column = columns.get(key(names.get(i)));
+			if (column == null) {
+				LOGGER.warn("Column {}.{} of the backup does not exist and is skipped", table.name(), names.get(i));
+				continue;
+			}
+			insertColumns.add(quote(column.name()));
+			parameters[i] = insertColumns.size();
+			types[i] = column.sqlType();
+			nulled[i] = deferred.contains(column.name());
+		}
+		final String insert = "INSERT INTO " + quote(table.name()) + " (" + String.join(", ", insertColumns) + ") VALUES ("
+				+ insertColumns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+		long rows = 0;
+		try (PreparedStatement statement = connection.prepareStatement(insert)) {
+			while (input.readByte() == ROW) {
+				for (int i = 0; i < names.size(); i++) {
+					final Object value = CBackupCodec.readValue(input, kinds.get(i));
+					if (parameters[i] > 0) {
+						CBackupCodec.setValue(statement, parameters[i], nulled[i] ? null : value, types[i]);
+					}
+				}
+				statement.addBatch();
+				if ((++rows % batchSize) == 0) {
+					statement.executeBatch();
+				}
+			}
+			statement.executeBatch();
+		}
+		LOGGER.debug("Restored {} rows of {}", rows, table.name());
+		return rows;
+	}
+
+	/** Moves the identity column of the table past the highest restored id. */
+	private void restartIdentity(final Connection connection, final CTable table) throws SQLException {
+		if (table.primaryKey().size() != 1) {
+			return;
+		}
+		final String key = quote(table.primaryKey().get(0));
+		try (PreparedStatement statement = connection.prepareStatement("SELECT " + key + " FROM " + quote(table.name()) + " WHERE 1 = 0");
+				ResultSet resultSet = statement.executeQuery()) {
+			if (!resultSet.getMetaData().isAutoIncrement(1)) {
+				return;
+			}
+		}
+		final long next;
+		try (PreparedStatement statement = connection.prepareStatement("SELECT MAX(" + key + ") FROM " + quote(table.name()));
+				ResultSet resultSet = statement.executeQuery()) {
+			resultSet.next();
+			next = resultSet.getLong(1) + 1;
+		}
+		try (PreparedStatement statement = connection
+				.prepareStatement("ALTER TABLE " + quote(table.name()) + " ALTER COLUMN " + key + " RESTART WITH " + next)) {
+			statement.execute();
+		}
+	}
+
+	private long writeSnapshot(final Connection connection, final ZipOutputStream zip, final LocalDateTime createdAt) throws SQLException {
+		try {
+			final List<CTable> tables = readTables(connection);
+			final Properties manifest = new Properties();
+			manifest.setProperty("format", FORMAT);
+			manifest.setProperty("version", FORMAT_VERSION);
+			manifest.setProperty("createdAt", createdAt.toString());
+			manifest.setProperty("database", connection.getMetaData().getDatabaseProductName());
+			manifest.setProperty("tables", tables.stream().map(CTable::name).collect(Collectors.joining(",")));
+			zip.putNextEntry(new ZipEntry(MANIFEST));
+			manifest.store(zip, "Derbent backup");
+			zip.closeEntry();
+			long rows = 0;
+			for (final CTable table : tables) {
+				zip.putNextEntry(new ZipEntry(TABLE_ENTRY_PREFIX + table.name()));
+				final DataOutputStream output = new DataOutputStream(zip);
+				rows += writeTable(connection, table, output);
+				output.flush();
+				zip.closeEntry();
+			}
+			return rows;
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private long writeTable(final Connection connection, final CTable table, final DataOutputStream output) throws SQLException, IOException {
+		final List<CColumn> columns = readColumns(connection, table.name());
+		final List<Byte> kinds = new ArrayList<>();
+		int keyIndex = 0;
+		output.writeInt(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			final byte kind = CBackupCodec.kindOf(columns.get(i).sqlType());
+			CBackupCodec.writeString(output, columns.get(i).name());
+			output.writeByte(kind);
+			kinds.add(kind);
+			if ((table.primaryKey().size() == 1) && columns.get(i).name().equals(table.primaryKey().get(0))) {
+				keyIndex = i + 1;
+			}
+		}
+		final String select = "SELECT * FROM " + quote(table.name());
+		long rows = 0;
+		if (keyIndex == 0) {
+			// no single column key to page on, one streamed query
+			try (PreparedStatement statement = connection.prepareStatement(select)) {
+				statement.setFetchSize(batchSize);
+				try (ResultSet resultSet = statement.executeQuery()) {
+					rows = writeRows(resultSet, kinds, output, 0).count;
+				}
+			}
+		} else {
+			// keyset paging, each chunk is a short query on the primary key index of the snapshot
+			final String key = quote(table.primaryKey().get(0));
+			final String order = " ORDER BY " + key + " FETCH FIRST " + batchSize + " ROWS ONLY";
+			Object lastKey = null;
+			while (true) {
+				final CChunk chunk;
+				try (PreparedStatement statement = connection.prepareStatement(select + (lastKey != null ? " WHERE " + key + " > ?" : "") + order)) {
+					if (lastKey != null) {
+						statement.setObject(1, lastKey);
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						chunk = writeRows(resultSet, kinds, output, keyIndex);
+					}
+				}
+				rows += chunk.count;
+				if (chunk.count < batchSize) {
+					break;
+				}
+				lastKey = chunk.lastKey;
+			}
+		}
+		output.writeByte(END);
+		return rows;
+	}
+}
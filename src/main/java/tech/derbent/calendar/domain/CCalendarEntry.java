@@ -0,0 +1,97 @@
+package tech.derbent.calendar.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/** CCalendarEntry - A meeting or activity placed on the calendar. Layer: Domain (MVC) Built by JPQL constructor expressions of the time window
+ * queries, so a calendar page never loads the entities or their collections. Meetings span meeting date to end date, activities span the whole days
+ * from start date to due date. A missing end makes the entry end where it starts. */
+public class CCalendarEntry {
+
+	public static final String TYPE_ACTIVITY = "CActivity";
+	public static final String TYPE_MEETING = "CMeeting";
+	private final String color;
+	private final LocalDateTime end;
+	private final String entityType;
+	private final Long id;
+	private final String name;
+	private final Long projectId;
+	private final String projectName;
+	private final LocalDateTime start;
+
+	/** Entry of an activity, used by IActivityRepository. */
+	public CCalendarEntry(final Long id, final String name, final Long projectId, final String projectName, final LocalDate startDate,
+			final LocalDate dueDate, final String color) {
+		this(TYPE_ACTIVITY, id, name, projectId, projectName, startDate.atStartOfDay(), (dueDate != null ? dueDate : startDate).atTime(LocalTime.MAX),
+				color);
+	}
+
+	/** Entry of a meeting, used by IMeetingRepository. */
+	public CCalendarEntry(final Long id, final String name, final Long projectId, final String projectName, final LocalDateTime meetingDate,
+			final LocalDateTime endDate, final String color) {
+		this(TYPE_MEETING, id, name, projectId, projectName, meetingDate, endDate != null ? endDate : meetingDate, color);
+	}
+
+	public CCalendarEntry(final String entityType, final Long id, final String name, final Long projectId, final String projectName,
+			final LocalDateTime start, final LocalDateTime end, final String color) {
+		this.entityType = entityType;
+		this.id = id;
+		this.name = name;
+		this.projectId = projectId;
+		this.projectName = projectName;
+		this.start = start;
+		// an end before the start is a data entry error, the entry still shows at its start
+		this.end = end.isBefore(start) ? start : end;
+		this.color = color;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof final CCalendarEntry other)) {
+			return false;
+		}
+		return Objects.equals(entityType, other.entityType) && Objects.equals(id, other.id);
+	}
+
+	/** Status color of the entry, null without status. */
+	public String getColor() { return color; }
+
+	public LocalDateTime getEnd() { return end; }
+
+	public String getEntityType() { return entityType; }
+
+	public Long getId() { return id; }
+
+	public String getName() { return name; }
+
+	public Long getProjectId() { return projectId; }
+
+	public String getProjectName() { return projectName; }
+
+	public LocalDateTime getStart() { return start; }
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(entityType, id);
+	}
+
+	/** End used for overlaps, an entry without duration still occupies its start. */
+	private LocalDateTime occupiedUntil() {
+		return end.equals(start) ? end.plusNanos(1) : end;
+	}
+
+	/** Whether both entries share at least one instant. Entries that only touch (one ends when the other starts) do not overlap. */
+	public boolean overlaps(final CCalendarEntry other) {
+		return start.isBefore(other.occupiedUntil()) && other.start.isBefore(occupiedUntil());
+	}
+
+	@Override
+	public String toString() {
+		return "CCalendarEntry{" + entityType + "#" + id + ", name=" + name + ", start=" + start + ", end=" + end + '}';
+	}
+}
@@ -0,0 +1,138 @@
+package tech.derbent.calendar.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.utils.Check;
+import tech.derbent.calendar.domain.CCalendarEntry;
+import tech.derbent.meetings.service.IMeetingRepository;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.session.service.CSessionService;
+import tech.derbent.users.domain.CUser;
+
+/** CCalendarService - Meetings and activities within a time window. Layer: Service (MVC) Every lookup is one projection query per entity type that
+ * reads only the rows overlapping the window through the time indexes of cmeeting and cactivity, instead of loading whole projects. The indexes
+ * lead with the end column, so a query scans from the window start and never reads the entries that ended before it, however long any entry
+ * lasts. A window is inclusive on both ends; entries that start at its end or end at its start are part of it. */
+@Service
+@PreAuthorize ("isAuthenticated()")
+@Transactional (readOnly = true)
+public class CCalendarService {
+
+	/** Two entries of the same user that overlap in time. */
+	public record CConflict(CCalendarEntry first, CCalendarEntry second) {}
+
+	static final Comparator<CCalendarEntry> BY_START =
+			Comparator.comparing(CCalendarEntry::getStart).thenComparing(CCalendarEntry::getEnd).thenComparing(CCalendarEntry::getEntityType)
+					.thenComparing(CCalendarEntry::getId);
+	private static final Logger LOGGER = LoggerFactory.getLogger(CCalendarService.class);
+
+	/** Returns the overlapping pairs of a list sorted by start. Sweeps once over the list and only compares entries that are still running. */
+	static List<CConflict> findConflicts(final List<CCalendarEntry> sortedEntries) {
+		final List<CConflict> conflicts = new ArrayList<>();
+		final List<CCalendarEntry> running = new ArrayList<>();
+		for (final CCalendarEntry entry : sortedEntries) {
+			running.removeIf(previous -> !previous.overlaps(entry) && !previous.getEnd().isAfter(entry.getStart()));
+			for (final CCalendarEntry previous : running) {
+				if (previous.overlaps(entry)) {
+					conflicts.add(new CConflict(previous, entry));
+				}
+			}
+			running.add(entry);
+		}
+		return conflicts;
+	}
+
+	private static List<CCalendarEntry> merge(final List<CCalendarEntry> meetings, final List<CCalendarEntry> activities, final LocalDateTime from,
+			final LocalDateTime to) {
+		final List<CCalendarEntry> entries = new ArrayList<>(meetings.size() + activities.size());
+		for (final CCalendarEntry activity : activities) {
+			// activities are selected by day, drop those that end before the window starts within the first day
+			if (!activity.getEnd().isBefore(from) && !activity.getStart().isAfter(to)) {
+				entries.add(activity);
+			}
+		}
+		entries.addAll(meetings);
+		entries.sort(BY_START);
+		return entries;
+	}
+
+	private static void validateWindow(final LocalDateTime from, final LocalDateTime to) {
+		Check.notNull(from, "Window start cannot be null");
+		Check.notNull(to, "Window end cannot be null");
+		Check.isTrue(!to.isBefore(from), "Window end cannot be before its start");
+	}
+
+	private final IActivityRepository activityRepository;
+	private final IMeetingRepository meetingRepository;
+	private final CSessionService sessionService;
+
+	public CCalendarService(final IMeetingRepository meetingRepository, final IActivityRepository activityRepository,
+			final CSessionService sessionService) {
+		this.meetingRepository = meetingRepository;
+		this.activityRepository = activityRepository;
+		this.sessionService = sessionService;
+	}
+
+	/** Returns the overlapping entries of the user within the window, e.g. meetings the user attends while working on an activity.
+	 * @param user the user
+	 * @param from window start
+	 * @param to   window end
+	 * @return the conflicting pairs, ordered by the start of the later entry */
+	public List<CConflict> findConflicts(final CUser user, final LocalDateTime from, final LocalDateTime to) {
+		return findConflicts(listEntriesOfUser(user, from, to));
+	}
+
+	/** Returns the entries of the projects within the window.
+	 * @param projects the projects
+	 * @param from     window start
+	 * @param to       window end
+	 * @return the entries ordered by start */
+	public List<CCalendarEntry> listEntries(final Collection<CProject> projects, final LocalDateTime from, final LocalDateTime to) {
+		Check.notNull(projects, "Projects cannot be null");
+		validateWindow(from, to);
+		if (projects.isEmpty()) {
+			return List.of();
+		}
+		final List<Long> projectIds = projects.stream().map(CProject::getId).toList();
+		final List<CCalendarEntry> entries = merge(meetingRepository.listCalendarEntries(projectIds, from, to),
+				activityRepository.listCalendarEntries(projectIds, from.toLocalDate(), to.toLocalDate()), from, to);
+		LOGGER.debug("Found {} calendar entries in {} projects between {} and {}", entries.size(), projectIds.size(), from, to);
+		return entries;
+	}
+
+	/** Returns the entries of the projects available to the session user within the window.
+	 * @param from window start
+	 * @param to   window end
+	 * @return the entries ordered by start */
+	public List<CCalendarEntry> listEntriesOfAvailableProjects(final LocalDateTime from, final LocalDateTime to) {
+		return listEntries(sessionService.getAvailableProjects(), from, to);
+	}
+
+	/** Returns the entries of the user within the window across all projects: assigned activities, and meetings the user is assigned to, responsible
+	 * for, attends or participates in.
+	 * @param user the user
+	 * @param from window start
+	 * @param to   window end
+	 * @return the entries ordered by start */
+	public List<CCalendarEntry> listEntriesOfUser(final CUser user, final LocalDateTime from, final LocalDateTime to) {
+		Check.notNull(user, "User cannot be null");
+		validateWindow(from, to);
+		// one indexed query per way of taking part, a meeting the user has several roles in is listed once
+		final Set<CCalendarEntry> meetings = new LinkedHashSet<>(meetingRepository.listCalendarEntriesOfOwner(user, from, to));
+		meetings.addAll(meetingRepository.listCalendarEntriesOfAttendee(user, from, to));
+		meetings.addAll(meetingRepository.listCalendarEntriesOfParticipant(user, from, to));
+		return merge(new ArrayList<>(meetings), activityRepository.listCalendarEntriesOfUser(user, from.toLocalDate(), to.toLocalDate()), from,
+				to);
+	}
+}
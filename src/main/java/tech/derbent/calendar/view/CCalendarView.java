@@ -0,0 +1,125 @@
+package tech.derbent.calendar.view;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import com.vaadin.flow.component.checkbox.Checkbox;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.H1;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.Menu;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.theme.lumo.LumoUtility.Margin;
+import jakarta.annotation.security.PermitAll;
+import tech.derbent.api.utils.CColorStyles;
+import tech.derbent.api.views.CAbstractPage;
+import tech.derbent.api.views.components.CButton;
+import tech.derbent.calendar.domain.CCalendarEntry;
+import tech.derbent.calendar.service.CCalendarService;
+import tech.derbent.session.service.CSessionService;
+import tech.derbent.users.domain.CUser;
+
+/** CCalendarView - Week calendar of meetings and activities. Layer: View (MVC) Shows one week at a time, either of all projects available to the user
+ * or only the entries of the user. Every navigation loads just the visible week through CCalendarService; nothing outside the window is read. */
+@Route ("calendar")
+@PageTitle ("Calendar")
+@Menu (order = 1.2, icon = "class:tech.derbent.calendar.view.CCalendarView", title = "Project.Calendar")
+@PermitAll
+public class CCalendarView extends CAbstractPage {
+
+	public static final String DEFAULT_COLOR = "#6f42c1";
+	public static final String DEFAULT_ICON = "vaadin:calendar-clock";
+	private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEE dd.MM");
+	private static final long serialVersionUID = 1L;
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM HH:mm");
+	public static final String VIEW_NAME = "Calendar View";
+	private final CCalendarService calendarService;
+	private Grid<CCalendarEntry> grid;
+	private Checkbox onlyMine;
+	private final CSessionService sessionService;
+	private LocalDate weekStart;
+	private DatePicker weekPicker;
+
+	public CCalendarView(final CCalendarService calendarService, final CSessionService sessionService) {
+		super();
+		this.calendarService = calendarService;
+		this.sessionService = sessionService;
+		createGrid();
+		refresh();
+	}
+
+	@Override
+	public void beforeEnter(final BeforeEnterEvent event) {
+		LOGGER.debug("BeforeEnter event for CCalendarView");
+	}
+
+	private void createGrid() {
+		grid = new Grid<>(CCalendarEntry.class, false);
+		grid.addThemeVariants(GridVariant.LUMO_COMPACT, GridVariant.LUMO_ROW_STRIPES);
+		grid.setSizeFull();
+		grid.addColumn(entry -> DAY_FORMAT.format(entry.getStart())).setHeader("Day").setWidth("110px").setFlexGrow(0);
+		grid.addColumn(entry -> TIME_FORMAT.format(entry.getStart())).setHeader("Start").setWidth("120px").setFlexGrow(0);
+		grid.addColumn(entry -> TIME_FORMAT.format(entry.getEnd())).setHeader("End").setWidth("120px").setFlexGrow(0);
+		grid.addComponentColumn(entry -> {
+			final Span type = new Span(CCalendarEntry.TYPE_MEETING.equals(entry.getEntityType()) ? "Meeting" : "Activity");
+			if (entry.getColor() != null && !entry.getColor().isBlank()) {
+				CColorStyles.apply(type, entry.getColor(), true);
+				type.addClassName("cgrid-cell-status");
+			}
+			return type;
+		}).setHeader("Type").setWidth("110px").setFlexGrow(0);
+		grid.addColumn(CCalendarEntry::getName).setHeader("Name").setFlexGrow(2);
+		grid.addColumn(CCalendarEntry::getProjectName).setHeader("Project").setFlexGrow(1);
+		add(grid);
+	}
+
+	@Override
+	public String getPageTitle() { return "Calendar"; }
+
+	private void moveWeek(final int weeks) {
+		weekPicker.setValue(weekStart.plusWeeks(weeks));
+	}
+
+	/** Loads the entries of the visible week. */
+	private void refresh() {
+		final LocalDateTime from = weekStart.atStartOfDay();
+		final LocalDateTime to = weekStart.plusWeeks(1).atStartOfDay().minusNanos(1);
+		final CUser user = sessionService.getActiveUser().orElse(null);
+		final List<CCalendarEntry> entries = onlyMine.getValue() && (user != null) ? calendarService.listEntriesOfUser(user, from, to)
+				: calendarService.listEntriesOfAvailableProjects(from, to);
+		grid.setItems(entries);
+		LOGGER.debug("Calendar week {} shows {} entries", weekStart, entries.size());
+	}
+
+	@Override
+	protected void setupToolbar() {
+		final H1 title = new H1("Calendar");
+		title.addClassNames(Margin.Bottom.SMALL);
+		// called from the super constructor, before field initializers run
+		weekStart = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		weekPicker = new DatePicker("Week of", weekStart);
+		weekPicker.addValueChangeListener(event -> {
+			if (event.getValue() != null) {
+				weekStart = event.getValue().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+				refresh();
+			}
+		});
+		onlyMine = new Checkbox("Only my entries", false);
+		onlyMine.addValueChangeListener(event -> refresh());
+		final HorizontalLayout toolbar = new HorizontalLayout(CButton.createTertiary("Previous", VaadinIcon.ANGLE_LEFT.create(), event -> moveWeek(-1)),
+				CButton.createTertiary("Today", VaadinIcon.CALENDAR.create(), event -> weekPicker.setValue(LocalDate.now())),
+				CButton.createTertiary("Next", VaadinIcon.ANGLE_RIGHT.create(), event -> moveWeek(1)), weekPicker, onlyMine);
+		toolbar.setDefaultVerticalComponentAlignment(Alignment.BASELINE);
+		add(title, toolbar);
+	}
+}
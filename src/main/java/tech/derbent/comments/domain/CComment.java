@@ -6,6 +6,7 @@ import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -18,10 +19,12 @@ import tech.derbent.users.domain.CUser;
 
 /** CComment - Domain entity representing user comments on activities. Layer: Domain (MVC) Inherits from CEvent to provide event-based functionality
  * with audit fields. Comments are linked to activities and contain: - Command text (comment content) - Author information (inherited from CEvent) -
- * Date/timestamp (inherited from CEvent) - Priority level - Activity reference - Project context (inherited from CEvent) Comments are displayed in
- * historic order within activity views. */
+ * Date/timestamp (inherited from CEvent) - Priority level - Activity reference - Project context (inherited from CEvent) Comments are streamed
+ * newest-first in pages using the (activity, eventDate, id) index, see CCommentService#findPageByActivity. */
 @Entity
-@Table (name = "ccomment")
+@Table (name = "ccomment", indexes = {
+		@Index (name = "idx_comment_activity_stream", columnList = "activity_id, event_date, comment_id")
+})
 @AttributeOverride (name = "id", column = @Column (name = "comment_id"))
 public class CComment extends CEvent<CComment> {
 
@@ -0,0 +1,40 @@
+package tech.derbent.comments.domain;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import tech.derbent.api.utils.Check;
+
+/** CCommentCursor - Position in the newest-first comment stream of an activity. Layer: Domain (MVC) Holds the (eventDate, id) key of the last
+ * comment that was delivered; the next page continues strictly after it, so pages stay stable while new comments are added and the query never
+ * has to skip rows with OFFSET. */
+public final class CCommentCursor implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Creates the cursor that continues after the given comment.
+	 * @param comment the last delivered comment
+	 * @return the cursor */
+	public static CCommentCursor after(final CComment comment) {
+		Check.notNull(comment, "Comment cannot be null");
+		return new CCommentCursor(comment.getEventDate(), comment.getId());
+	}
+
+	private final LocalDateTime eventDate;
+	private final Long id;
+
+	public CCommentCursor(final LocalDateTime eventDate, final Long id) {
+		Check.notNull(eventDate, "Event date cannot be null");
+		Check.notNull(id, "Id cannot be null");
+		this.eventDate = eventDate;
+		this.id = id;
+	}
+
+	public LocalDateTime getEventDate() { return eventDate; }
+
+	public Long getId() { return id; }
+
+	@Override
+	public String toString() {
+		return "CCommentCursor{eventDate=" + eventDate + ", id=" + id + '}';
+	}
+}
@@ -0,0 +1,26 @@
+package tech.derbent.comments.domain;
+
+import java.util.List;
+
+/** CCommentStreamPage - One page of the newest-first comment stream of an activity. Layer: Domain (MVC) Carries the comments of the page and the
+ * cursor to request the next (older) page with; the cursor is null when there are no older comments. */
+public final class CCommentStreamPage {
+
+	private final List<CComment> comments;
+	private final CCommentCursor nextCursor;
+
+	public CCommentStreamPage(final List<CComment> comments, final CCommentCursor nextCursor) {
+		this.comments = comments != null ? List.copyOf(comments) : List.of();
+		this.nextCursor = nextCursor;
+	}
+
+	/** Comments of this page ordered newest first. */
+	public List<CComment> getComments() { return comments; }
+
+	/** Cursor of the next (older) page, or null if this is the last page. */
+	public CCommentCursor getNextCursor() { return nextCursor; }
+
+	public boolean hasMore() {
+		return nextCursor != null;
+	}
+}
@@ -2,35 +2,54 @@ package tech.derbent.comments.service;
 
 import java.time.Clock;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.derbent.activities.domain.CActivity;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.IEntityCache;
 import tech.derbent.api.services.CAbstractService;
 import tech.derbent.api.utils.Check;
 import tech.derbent.comments.domain.CComment;
+import tech.derbent.comments.domain.CCommentCursor;
+import tech.derbent.comments.domain.CCommentStreamPage;
 import tech.derbent.session.service.CSessionService;
 import tech.derbent.users.domain.CUser;
 
 /** CCommentService - Service class for CComment entities. Layer: Service (MVC) Provides business logic operations for comment management including: -
  * CRUD operations - Activity-based comment queries - Project-based comment queries - Author-based comment queries - Comment creation with validation
- * - Data provider functionality for UI components */
+ * - Data provider functionality for UI components - Newest-first cursor paging of the comment stream - Cached comment counts per activity */
 @Service
 @PreAuthorize ("isAuthenticated()")
 @Transactional (readOnly = true)
-public class CCommentService extends CAbstractService<CComment> {
+public class CCommentService extends CAbstractService<CComment> implements IEntityCache {
+
+	// comment count per activity id, evicted when a comment of the activity is saved or deleted
+	private final Map<Long, Long> countCache = new ConcurrentHashMap<>();
 
 	public CCommentService(final ICommentRepository repository, final CCommentPriorityService commentPriorityService, final Clock clock,
 			final CSessionService sessionService) {
 		super(repository, clock, sessionService);
 	}
 
+	/** Number of comments of the activity. The count is cached per activity and evicted whenever a comment of the activity changes, so activity
+	 * lists and badges do not run a COUNT query per row.
+	 * @param activity the activity
+	 * @return the number of comments */
 	@PreAuthorize ("permitAll()")
 	public long countByActivity(final CActivity activity) {
 		Check.notNull(activity, "Activity cannot be null");
-		return ((ICommentRepository) repository).countByActivity(activity);
+		if (activity.getId() == null) {
+			return 0;
+		}
+		return countCache.computeIfAbsent(activity.getId(), id -> getCommentRepository().countByActivity(activity));
 	}
 
 	@Transactional
@@ -42,6 +61,63 @@ public class CCommentService extends CAbstractService<CComment> {
 		return save(comment);
 	}
 
+	@Override
+	@Transactional
+	public void delete(final CComment entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final Long activityId = entity.getId() != null ? getCommentRepository().findActivityIdById(entity.getId()).orElse(null) : null;
+		super.delete(entity);
+		evictCount(activityId);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		Check.notNull(id, "Entity ID cannot be null");
+		final Long activityId = getCommentRepository().findActivityIdById(id).orElse(null);
+		super.delete(id);
+		evictCount(activityId);
+	}
+
+	@Override
+	public void deleteAllInBatch() {
+		super.deleteAllInBatch();
+		countCache.clear();
+	}
+
+	/** Evicts the counts of the activities whose comments changed on any node. A deleted comment no longer names its activity, so its change drops
+	 * all counts. */
+	@Override
+	@PreAuthorize ("permitAll()")
+	public void evict(final List<CEntityChange> changes) {
+		for (final CEntityChange change : changes) {
+			final Long activityId =
+					change.kind() != CEntityChange.Kind.DELETED ? getCommentRepository().findActivityIdById(change.id()).orElse(null) : null;
+			if (activityId == null) {
+				countCache.clear();
+				return;
+			}
+			countCache.remove(activityId);
+		}
+	}
+
+	/** Evicts the cached count now and again when the surrounding transaction completes, so a count read inside the transaction is not kept. */
+	private void evictCount(final Long activityId) {
+		if (activityId == null) {
+			return;
+		}
+		countCache.remove(activityId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(final int status) {
+					countCache.remove(activityId);
+				}
+			});
+		}
+	}
+
 	/** Finds all comments for a specific activity, ordered by event date (chronological).
 	 * @param activity the activity
 	 * @return list of comments for the activity ordered by event date */
@@ -69,9 +145,55 @@ public class CCommentService extends CAbstractService<CComment> {
 		return ((ICommentRepository) repository).findByActivity(master, pageable);
 	}
 
+	/** Loads one page of the comment stream of an activity, newest first. Uses keyset pagination on (activity, eventDate, id), so each page costs
+	 * one indexed range scan regardless of how many comments the activity has.
+	 * @param master   the activity
+	 * @param cursor   position after which to continue, null for the newest comments
+	 * @param pageSize maximum number of comments in the page
+	 * @return the page with the cursor of the next (older) page */
+	@PreAuthorize ("permitAll()")
+	public CCommentStreamPage findPageByActivity(final CActivity master, final CCommentCursor cursor, final int pageSize) {
+		Check.notNull(master, "Master cannot be null");
+		Check.isTrue(pageSize > 0, "Page size must be positive");
+		if (master.getId() == null) {
+			return new CCommentStreamPage(List.of(), null);
+		}
+		// one extra row tells whether an older page exists without a COUNT query
+		final Pageable limit = PageRequest.of(0, pageSize + 1);
+		final List<CComment> rows = cursor == null ? getCommentRepository().findLatestByActivity(master, limit)
+				: getCommentRepository().findOlderByActivity(master, cursor.getEventDate(), cursor.getId(), limit);
+		if (rows.size() <= pageSize) {
+			return new CCommentStreamPage(rows, null);
+		}
+		final List<CComment> page = rows.subList(0, pageSize);
+		return new CCommentStreamPage(page, CCommentCursor.after(page.get(pageSize - 1)));
+	}
+
+	@Override
+	@PreAuthorize ("permitAll()")
+	public void evictAll() {
+		countCache.clear();
+	}
+
+	@Override
+	public List<Class<?>> getCachedEntityClasses() { return List.of(CComment.class); }
+
+	private ICommentRepository getCommentRepository() { return (ICommentRepository) repository; }
+
 	@Override
 	protected Class<CComment> getEntityClass() { return CComment.class; }
 
+	@Override
+	@Transactional
+	public CComment save(final CComment entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final Long previousActivityId = entity.getId() != null ? getCommentRepository().findActivityIdById(entity.getId()).orElse(null) : null;
+		final CComment saved = super.save(entity);
+		evictCount(previousActivityId);
+		evictCount(saved.getActivity() != null ? saved.getActivity().getId() : null);
+		return saved;
+	}
+
 	/** Updates comment text.
 	 * @param comment the comment to update
 	 * @param newText the new comment text
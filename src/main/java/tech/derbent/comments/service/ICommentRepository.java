@@ -1,6 +1,8 @@
 package tech.derbent.comments.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
@@ -10,12 +12,28 @@ import tech.derbent.activities.domain.CActivity;
 import tech.derbent.comments.domain.CComment;
 
 /** CCommentRepository - Repository interface for CComment entities. Layer: Service (MVC) - Repository interface Provides data access methods for
- * comment entities with support for: - Activity-based queries - Author-based queries - Chronological ordering - Pagination support */
+ * comment entities with support for: - Activity-based queries - Author-based queries - Chronological ordering - Pagination support - Keyset
+ * (cursor) pagination on (activity, eventDate, id) */
 public interface ICommentRepository extends IAbstractRepository<CComment> {
 
 	long countByActivity(CActivity activity);
+	@Query ("SELECT c.activity.id FROM CComment c WHERE c.id = :id")
+	Optional<Long> findActivityIdById(@Param ("id") Long id);
 	@Query ("SELECT c FROM CComment c WHERE c.activity = :activity ORDER BY c.eventDate ASC")
 	List<CComment> findByActivity(@Param ("activity") CActivity activity);
 	@Query ("SELECT c FROM CComment c WHERE c.activity = :activity ORDER BY c.eventDate ASC")
 	Page<CComment> findByActivity(@Param ("activity") CActivity activity, Pageable pageable);
+	/** Newest comments of the activity, first page of the stream. Only the page size of the pageable is used. */
+	@Query (
+		"SELECT c FROM CComment c LEFT JOIN FETCH c.author LEFT JOIN FETCH c.priority WHERE c.activity = :activity ORDER BY c.eventDate DESC, c.id DESC"
+	)
+	List<CComment> findLatestByActivity(@Param ("activity") CActivity activity, Pageable pageable);
+	/** Comments strictly older than the (eventDate, id) cursor, newest first. Only the page size of the pageable is used. */
+	@Query ("""
+			SELECT c FROM CComment c LEFT JOIN FETCH c.author LEFT JOIN FETCH c.priority
+			WHERE c.activity = :activity AND (c.eventDate < :eventDate OR (c.eventDate = :eventDate AND c.id < :id))
+			ORDER BY c.eventDate DESC, c.id DESC
+			""")
+	List<CComment> findOlderByActivity(@Param ("activity") CActivity activity, @Param ("eventDate") LocalDateTime eventDate, @Param ("id") Long id,
+			Pageable pageable);
 }
@@ -4,15 +4,21 @@ import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -117,6 +123,8 @@ public class CDataInitializer {
 	// Company Names
 	private static final String COMPANY_OF_TEKNOLOJI = "Of Teknoloji Çözümleri";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CDataInitializer.class);
+	/** Upper bound of projects seeded at the same time, each holds a database connection. */
+	private static final int MAX_PARALLEL_PROJECTS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
 	// Profile picture filenames mapping for users
 	private static final java.util.Map<String, String> PROFILE_PICTURE_MAPPING = java.util.Map.of("admin", "admin.svg", "mkaradeniz",
 			"michael_chen.svg", "msahin", "sophia_brown.svg", "bozkan", "david_kim.svg", "ademir", "emma_wilson.svg");
@@ -237,6 +245,9 @@ public class CDataInitializer {
 			// ---- 2) Fallback: JPA batch silme (FK sırasına dikkat)
 			commentService.deleteAllInBatch();
 			commentPriorityService.deleteAllInBatch();
+			activityService.getWorkloadService().deleteAllInBatch();
+			CSpringContext.getBean(tech.derbent.orders.service.CPendingApprovalService.class).deleteAllInBatch();
+			CSpringContext.getBean(tech.derbent.orders.service.CExchangeRateService.class).deleteAllInBatch();
 			meetingService.deleteAllInBatch();
 			meetingStatusService.deleteAllInBatch();
 			meetingTypeService.deleteAllInBatch();
@@ -293,9 +304,9 @@ public class CDataInitializer {
 		userResearch.setEstimatedHours(new BigDecimal("22.00"));
 		userResearch.setActualHours(new BigDecimal("22.00"));
 		userResearch.setRemainingHours(new BigDecimal("0.00"));
-		userResearch.setStartDate(LocalDate.now().minusDays(20));
-		userResearch.setDueDate(LocalDate.now().minusDays(10));
-		userResearch.setCompletionDate(LocalDate.now().minusDays(10));
+		userResearch.setStartDate(sampleDay(project).minusDays(20));
+		userResearch.setDueDate(sampleDay(project).minusDays(10));
+		userResearch.setCompletionDate(sampleDay(project).minusDays(10));
 		final CActivityStatus completedStatus = activityStatusService.findByNameAndProject("Completed", project).orElseThrow();
 		userResearch.setStatus(completedStatus);
 		userResearch.setProgressPercentage(100);
@@ -312,8 +323,8 @@ public class CDataInitializer {
 		uxDesign.setEstimatedHours(new BigDecimal("28.00"));
 		uxDesign.setActualHours(new BigDecimal("15.00"));
 		uxDesign.setRemainingHours(new BigDecimal("13.00"));
-		uxDesign.setStartDate(LocalDate.now().minusDays(8));
-		uxDesign.setDueDate(LocalDate.now().plusDays(5));
+		uxDesign.setStartDate(sampleDay(project).minusDays(8));
+		uxDesign.setDueDate(sampleDay(project).plusDays(5));
 		final CActivityStatus inProgressStatus = activityStatusService.findByNameAndProject("In Progress", project).orElseThrow();
 		uxDesign.setStatus(inProgressStatus);
 		uxDesign.setProgressPercentage(55);
@@ -346,8 +357,8 @@ public class CDataInitializer {
 		frontendDev.setEstimatedHours(new BigDecimal("32.00"));
 		frontendDev.setActualHours(new BigDecimal("28.00"));
 		frontendDev.setRemainingHours(new BigDecimal("4.00"));
-		frontendDev.setStartDate(LocalDate.now().minusDays(12));
-		frontendDev.setDueDate(LocalDate.now().plusDays(8));
+		frontendDev.setStartDate(sampleDay(project).minusDays(12));
+		frontendDev.setDueDate(sampleDay(project).plusDays(8));
 		final CActivityStatus inProgressStatus = activityStatusService.findByNameAndProject("In Progress", project).orElseThrow();
 		frontendDev.setStatus(inProgressStatus);
 		frontendDev.setProgressPercentage(70);
@@ -367,8 +378,8 @@ public class CDataInitializer {
 		dbMigration.setEstimatedHours(new BigDecimal("20.00"));
 		dbMigration.setActualHours(new BigDecimal("5.00"));
 		dbMigration.setRemainingHours(new BigDecimal("15.00"));
-		dbMigration.setStartDate(LocalDate.now().plusDays(5));
-		dbMigration.setDueDate(LocalDate.now().plusDays(15));
+		dbMigration.setStartDate(sampleDay(project).plusDays(5));
+		dbMigration.setDueDate(sampleDay(project).plusDays(15));
 		final CActivityStatus notStartedStatus = activityStatusService.findByNameAndProject("Not Started", project).orElseThrow();
 		dbMigration.setStatus(notStartedStatus);
 		dbMigration.setProgressPercentage(0);
@@ -393,8 +404,8 @@ public class CDataInitializer {
 		securityAudit.setEstimatedHours(new BigDecimal("25.00"));
 		securityAudit.setActualHours(new BigDecimal("0.00"));
 		securityAudit.setRemainingHours(new BigDecimal("25.00"));
-		securityAudit.setStartDate(LocalDate.now().plusDays(10));
-		securityAudit.setDueDate(LocalDate.now().plusDays(18));
+		securityAudit.setStartDate(sampleDay(project).plusDays(10));
+		securityAudit.setDueDate(sampleDay(project).plusDays(18));
 		final CActivityStatus notStartedStatus = activityStatusService.findByNameAndProject("Not Started", project).orElseThrow();
 		securityAudit.setStatus(notStartedStatus);
 		securityAudit.setProgressPercentage(0);
@@ -414,8 +425,8 @@ public class CDataInitializer {
 		serverMigration.setEstimatedHours(new BigDecimal("35.00"));
 		serverMigration.setActualHours(new BigDecimal("20.00"));
 		serverMigration.setRemainingHours(new BigDecimal("15.00"));
-		serverMigration.setStartDate(LocalDate.now().minusDays(8));
-		serverMigration.setDueDate(LocalDate.now().plusDays(12));
+		serverMigration.setStartDate(sampleDay(project).minusDays(8));
+		serverMigration.setDueDate(sampleDay(project).plusDays(12));
 		final CActivityStatus onHoldStatus = activityStatusService.findByNameAndProject("On Hold", project).orElseThrow();
 		serverMigration.setStatus(onHoldStatus);
 		serverMigration.setProgressPercentage(55);
@@ -442,9 +453,9 @@ public class CDataInitializer {
 		codeReview.setEstimatedHours(new BigDecimal("12.00"));
 		codeReview.setActualHours(new BigDecimal("12.00"));
 		codeReview.setRemainingHours(new BigDecimal("0.00"));
-		codeReview.setStartDate(LocalDate.now().minusDays(3));
-		codeReview.setDueDate(LocalDate.now().minusDays(1));
-		codeReview.setCompletionDate(LocalDate.now().minusDays(1));
+		codeReview.setStartDate(sampleDay(project).minusDays(3));
+		codeReview.setDueDate(sampleDay(project).minusDays(1));
+		codeReview.setCompletionDate(sampleDay(project).minusDays(1));
 		final CActivityStatus completedStatus = activityStatusService.findByNameAndProject("Completed", project).orElseThrow();
 		codeReview.setStatus(completedStatus);
 		codeReview.setProgressPercentage(100);
@@ -464,8 +475,8 @@ public class CDataInitializer {
 		perfTesting.setEstimatedHours(new BigDecimal("18.00"));
 		perfTesting.setActualHours(new BigDecimal("10.00"));
 		perfTesting.setRemainingHours(new BigDecimal("8.00"));
-		perfTesting.setStartDate(LocalDate.now().minusDays(5));
-		perfTesting.setDueDate(LocalDate.now().plusDays(2));
+		perfTesting.setStartDate(sampleDay(project).minusDays(5));
+		perfTesting.setDueDate(sampleDay(project).plusDays(2));
 		final CActivityStatus inProgressStatus = activityStatusService.findByNameAndProject("In Progress", project).orElseThrow();
 		perfTesting.setStatus(inProgressStatus);
 		perfTesting.setProgressPercentage(60);
@@ -499,9 +510,10 @@ public class CDataInitializer {
 	}
 
 	private void createApprovalStatus(final String name, final CProject project, final String description, final String color, final boolean isFinal,
-			final int sortOrder) {
+			final int sortOrder, final tech.derbent.orders.domain.EApprovalDecision decision) {
 		final tech.derbent.orders.domain.CApprovalStatus status = new tech.derbent.orders.domain.CApprovalStatus(name, project);
 		status.setDescription(description);
+		status.setDecision(decision);
 		status.setColor(color);
 		status.setSortOrder(sortOrder);
 		CSpringContext.getBean(tech.derbent.orders.service.CApprovalStatusService.class).save(status);
@@ -527,8 +539,8 @@ public class CDataInitializer {
 		backendDev.setActualHours(new BigDecimal("35.50"));
 		backendDev.setRemainingHours(new BigDecimal("4.50"));
 		// Set date information using auxiliary method
-		backendDev.setStartDate(LocalDate.now().minusDays(10));
-		backendDev.setDueDate(LocalDate.now().plusDays(5));
+		backendDev.setStartDate(sampleDay(project).minusDays(10));
+		backendDev.setDueDate(sampleDay(project).plusDays(5));
 		// Set status and priority using auxiliary method
 		final CActivityStatus inProgressStatus = activityStatusService.findByNameAndProject("In Progress", project).orElseThrow();
 		backendDev.setStatus(inProgressStatus);
@@ -744,7 +756,7 @@ public class CDataInitializer {
 		decision.setDescription("Budget allocation for additional development resources to meet project deadlines");
 		decision.setDecisionType(decisionTypeService.getRandom(project));
 		decision.setDecisionStatus(decisionStatusService.getRandom(project));
-		decision.setReviewDate(LocalDateTime.now().plusDays(3).withHour(16).withMinute(0));
+		decision.setReviewDate(sampleDay(project).atStartOfDay().plusDays(3).withHour(16).withMinute(0));
 		decision.setEstimatedCost(new BigDecimal("25000.00"));
 		decision.setAccountableUser(userService.getRandom());
 		// Set missing fields
@@ -769,8 +781,8 @@ public class CDataInitializer {
 		final CCurrency tryCurrency = currencyService.getRandom(project);
 		order.setCurrency(tryCurrency);
 		// Set date information
-		order.setOrderDate(LocalDate.now().minusDays(10));
-		order.setDeliveryDate(LocalDate.now().plusDays(5));
+		order.setOrderDate(sampleDay(project).minusDays(10));
+		order.setDeliveryDate(sampleDay(project).plusDays(5));
 		order.setProviderCompanyName("asfdsafsaf");
 		orderService.save(order);
 	}
@@ -781,7 +793,7 @@ public class CDataInitializer {
 		decision.setDescription("Change daily standup meeting time from 9:00 AM to 10:00 AM to accommodate remote team members");
 		decision.setDecisionType(decisionTypeService.getRandom(project));
 		decision.setDecisionStatus(decisionStatusService.getRandom(project));
-		decision.setImplementationDate(LocalDateTime.now().minusDays(2).withHour(10).withMinute(0));
+		decision.setImplementationDate(sampleDay(project).atStartOfDay().minusDays(2).withHour(10).withMinute(0));
 		decision.setAccountableUser(userService.getRandom());
 		// Set missing fields
 		decision.setCreatedBy(userService.getRandom());
@@ -792,8 +804,8 @@ public class CDataInitializer {
 	private void createSamplePlanningMeeting(final CProject project) {
 		final CMeeting meeting = new CMeeting("Sprint Planning - Q1 2024", project);
 		meeting.setDescription("Planning for next sprint with story estimation and task assignment");
-		meeting.setMeetingDate(LocalDateTime.now().plusDays(3).withHour(14).withMinute(0));
-		meeting.setEndDate(LocalDateTime.now().plusDays(3).withHour(16).withMinute(0));
+		meeting.setMeetingDate(sampleDay(project).atStartOfDay().plusDays(3).withHour(14).withMinute(0));
+		meeting.setEndDate(sampleDay(project).atStartOfDay().plusDays(3).withHour(16).withMinute(0));
 		meeting.setLocation("Meeting Room B");
 		// Add participants
 		final Set<CUser> participants = new HashSet<>();
@@ -820,8 +832,8 @@ public class CDataInitializer {
 		final CMeeting meeting = new CMeeting("Weekly Project Status Meeting", project);
 		meeting.setDescription("Weekly status update on project progress, blockers discussion, and next steps planning");
 		// Set meeting details using entity methods
-		meeting.setMeetingDate(LocalDateTime.now().plusDays(1).withHour(14).withMinute(0));
-		meeting.setEndDate(LocalDateTime.now().plusDays(1).withHour(15).withMinute(0));
+		meeting.setMeetingDate(sampleDay(project).atStartOfDay().plusDays(1).withHour(14).withMinute(0));
+		meeting.setEndDate(sampleDay(project).atStartOfDay().plusDays(1).withHour(15).withMinute(0));
 		meeting.setLocation("Conference Room A");
 		// Set meeting content using entity methods
 		final CUser responsible = userService.findByLogin("mkaradeniz");
@@ -849,8 +861,8 @@ public class CDataInitializer {
 	private void createSampleRetrospectiveMeeting(final CProject project) {
 		final CMeeting meeting = new CMeeting("Sprint Retrospective", project);
 		meeting.setDescription("Team reflection on what went well, what could be improved, and action items");
-		meeting.setMeetingDate(LocalDateTime.now().minusDays(7).withHour(15).withMinute(0));
-		meeting.setEndDate(LocalDateTime.now().minusDays(7).withHour(16).withMinute(0));
+		meeting.setMeetingDate(sampleDay(project).atStartOfDay().minusDays(7).withHour(15).withMinute(0));
+		meeting.setEndDate(sampleDay(project).atStartOfDay().minusDays(7).withHour(16).withMinute(0));
 		meeting.setLocation("Conference Room C");
 		// Set proper status for completed meeting
 		final CMeetingStatus completedStatus = meetingStatusService.findByNameAndProject("Completed", project).orElseThrow();
@@ -876,8 +888,8 @@ public class CDataInitializer {
 	private void createSampleReviewMeeting(final CProject project) {
 		final CMeeting meeting = new CMeeting("Code Review Session", project);
 		meeting.setDescription("Review of architectural changes and code quality improvements");
-		meeting.setMeetingDate(LocalDateTime.now().minusDays(2).withHour(10).withMinute(0));
-		meeting.setEndDate(LocalDateTime.now().minusDays(2).withHour(11).withMinute(30));
+		meeting.setMeetingDate(sampleDay(project).atStartOfDay().minusDays(2).withHour(10).withMinute(0));
+		meeting.setEndDate(sampleDay(project).atStartOfDay().minusDays(2).withHour(11).withMinute(30));
 		meeting.setLocation("Virtual - Zoom");
 		// Add participants
 		final Set<CUser> participants = new HashSet<>();
@@ -915,8 +927,8 @@ public class CDataInitializer {
 		final CCurrency usdCurrency = currencyService.getRandom(project);
 		order.setCurrency(usdCurrency);
 		// Set date information
-		order.setOrderDate(LocalDate.now().minusDays(3));
-		order.setDeliveryDate(LocalDate.now().plusDays(7));
+		order.setOrderDate(sampleDay(project).minusDays(3));
+		order.setDeliveryDate(sampleDay(project).plusDays(7));
 		order.setProviderCompanyName("poiopiopoipiopi");
 		orderService.save(order);
 	}
@@ -925,8 +937,8 @@ public class CDataInitializer {
 	private void createSampleStandupMeeting(final CProject project) {
 		final CMeeting meeting = new CMeeting("Daily Standup - Sprint 3", project);
 		meeting.setDescription("Daily progress sync and impediment discussion");
-		meeting.setMeetingDate(LocalDateTime.now().plusDays(1).withHour(9).withMinute(0));
-		meeting.setEndDate(LocalDateTime.now().plusDays(1).withHour(9).withMinute(30));
+		meeting.setMeetingDate(sampleDay(project).atStartOfDay().plusDays(1).withHour(9).withMinute(0));
+		meeting.setEndDate(sampleDay(project).atStartOfDay().plusDays(1).withHour(9).withMinute(30));
 		meeting.setLocation("Conference Room A");
 		// Set proper status
 		meeting.setStatus(meetingStatusService.getRandom(project));
@@ -959,7 +971,7 @@ public class CDataInitializer {
 		decision.setDescription("Decision on the primary technology stack for the digital transformation initiative");
 		decision.setDecisionType(decisionTypeService.getRandom(project));
 		decision.setDecisionStatus(decisionStatusService.getRandom(project));
-		decision.setReviewDate(LocalDateTime.now().plusDays(7).withHour(14).withMinute(0));
+		decision.setReviewDate(sampleDay(project).atStartOfDay().plusDays(7).withHour(14).withMinute(0));
 		// Set accountable user
 		decision.setAccountableUser(userService.getRandom());
 		// Set missing fields
@@ -973,7 +985,7 @@ public class CDataInitializer {
 		decision.setDescription("Technical approach for migrating legacy database to modern architecture");
 		decision.setDecisionType(decisionTypeService.getRandom(project));
 		decision.setDecisionStatus(decisionStatusService.getRandom(project));
-		decision.setImplementationDate(LocalDateTime.now().minusDays(5).withHour(10).withMinute(0));
+		decision.setImplementationDate(sampleDay(project).atStartOfDay().minusDays(5).withHour(10).withMinute(0));
 		decision.setAccountableUser(userService.getRandom());
 		// Set missing fields
 		decision.setCreatedBy(userService.getRandom());
@@ -993,8 +1005,8 @@ public class CDataInitializer {
 		archDesign.setActualHours(new BigDecimal("45.00"));
 		archDesign.setRemainingHours(new BigDecimal("15.00"));
 		// Set date information using auxiliary method
-		archDesign.setStartDate(LocalDate.now().minusDays(15));
-		archDesign.setDueDate(LocalDate.now().plusDays(10));
+		archDesign.setStartDate(sampleDay(project).minusDays(15));
+		archDesign.setDueDate(sampleDay(project).plusDays(10));
 		// Set status and priority using auxiliary method
 		archDesign.setStatus(activityStatusService.getRandom(project));
 		archDesign.setProgressPercentage(65);
@@ -1117,9 +1129,9 @@ public class CDataInitializer {
 		techDoc.setActualHours(new BigDecimal("16.00"));
 		techDoc.setRemainingHours(new BigDecimal("0.00"));
 		// Set date information using entity methods (completed activity)
-		techDoc.setStartDate(LocalDate.now().minusDays(5));
-		techDoc.setDueDate(LocalDate.now().minusDays(1));
-		techDoc.setCompletionDate(LocalDate.now().minusDays(1));
+		techDoc.setStartDate(sampleDay(project).minusDays(5));
+		techDoc.setDueDate(sampleDay(project).minusDays(1));
+		techDoc.setCompletionDate(sampleDay(project).minusDays(1));
 		// Set status and priority using auxiliary method (completed activity)
 		techDoc.setStatus(activityStatusService.getRandom(project));
 		techDoc.setProgressPercentage(100);
@@ -1150,8 +1162,8 @@ public class CDataInitializer {
 		uiTesting.setActualHours(new BigDecimal("20.00"));
 		uiTesting.setRemainingHours(new BigDecimal("4.00"));
 		// Set date information using auxiliary method
-		uiTesting.setStartDate(LocalDate.now().minusDays(7));
-		uiTesting.setDueDate(LocalDate.now().plusDays(3));
+		uiTesting.setStartDate(sampleDay(project).minusDays(7));
+		uiTesting.setDueDate(sampleDay(project).plusDays(3));
 		// Set status and priority using auxiliary method
 		final CActivityStatus inProgressStatus = activityStatusService.findByNameAndProject("In Progress", project).orElseThrow();
 		uiTesting.setStatus(inProgressStatus);
@@ -1272,10 +1284,14 @@ public class CDataInitializer {
 
 	private void initializeSampleApprovalStatuses(final CProject project) {
 		try {
-			createApprovalStatus("Draft", project, "Approval is in draft state", CColorUtils.getRandomColor(true), false, 1);
-			createApprovalStatus("Submitted", project, "Approval has been submitted", CColorUtils.getRandomColor(true), false, 2);
-			createApprovalStatus("Approved", project, "Approval has been approved", CColorUtils.getRandomColor(true), true, 3);
-			createApprovalStatus("Rejected", project, "Approval has been rejected", CColorUtils.getRandomColor(true), true, 4);
+			createApprovalStatus("Draft", project, "Approval is in draft state", CColorUtils.getRandomColor(true), false, 1,
+					tech.derbent.orders.domain.EApprovalDecision.PENDING);
+			createApprovalStatus("Submitted", project, "Approval has been submitted", CColorUtils.getRandomColor(true), false, 2,
+					tech.derbent.orders.domain.EApprovalDecision.PENDING);
+			createApprovalStatus("Approved", project, "Approval has been approved", CColorUtils.getRandomColor(true), true, 3,
+					tech.derbent.orders.domain.EApprovalDecision.APPROVED);
+			createApprovalStatus("Rejected", project, "Approval has been rejected", CColorUtils.getRandomColor(true), true, 4,
+					tech.derbent.orders.domain.EApprovalDecision.REJECTED);
 		} catch (final Exception e) {
 			LOGGER.error("Error initializing approval statuses for project: {}", project.getName(), e);
 			throw new RuntimeException("Failed to initialize approval statuses for project: " + project.getName(), e);
@@ -1351,6 +1367,20 @@ public class CDataInitializer {
 		}
 	}
 
+	private void initializeSampleExchangeRates() {
+		try {
+			final tech.derbent.orders.service.CExchangeRateService exchangeRateService =
+					CSpringContext.getBean(tech.derbent.orders.service.CExchangeRateService.class);
+			final LocalDate effectiveDate = LocalDate.of(2020, 1, 1);
+			exchangeRateService.save(new tech.derbent.orders.domain.CExchangeRate("USD", "EUR", effectiveDate, new BigDecimal("0.92")));
+			exchangeRateService.save(new tech.derbent.orders.domain.CExchangeRate("TRY", "EUR", effectiveDate, new BigDecimal("0.028")));
+			exchangeRateService.save(new tech.derbent.orders.domain.CExchangeRate("TRY", "USD", effectiveDate, new BigDecimal("0.031")));
+		} catch (final Exception e) {
+			LOGGER.error("Error initializing sample exchange rates", e);
+			throw new RuntimeException("Failed to initialize sample exchange rates", e);
+		}
+	}
+
 	private void initializeSampleDecisions(final CProject project) {
 		try {
 			createSampleStrategicDecision(project);
@@ -1750,6 +1780,84 @@ public class CDataInitializer {
 		}
 	}
 
+	/** Seeds the project specific data of every project, one project per task on a pool of at most {@link #MAX_PARALLEL_PROJECTS} threads. The
+	 * authentication of the calling thread is passed on to the pool, the services check it.
+	 * @param projects projects to seed */
+	private void initializeProjects(final List<CProject> projects) throws InterruptedException, ExecutionException {
+		if (projects.isEmpty()) {
+			return;
+		}
+		final ExecutorService executor = new DelegatingSecurityContextExecutorService(
+				Executors.newFixedThreadPool(Math.min(projects.size(), MAX_PARALLEL_PROJECTS)), SecurityContextHolder.getContext());
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (final CProject project : projects) {
+				futures.add(executor.submit(() -> {
+					initializeProject(project);
+					return null;
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/** Seeds the screens, types, statuses and sample items of one project.
+	 * @param project the project */
+	private void initializeProject(final CProject project) throws Exception {
+		CSystemSettingsInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
+		// Core system entities required for project operation
+		CActivityInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
+		CUserInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
+		CCompanyInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CDecisionInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CMeetingInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
+		COrderInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CProjectInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
+		CRiskInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CUserProjectRoleInitizerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CUserCompanyRoleInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		// Type/Status InitializerServices
+		CActivityStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CActivityTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CApprovalStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CCommentPriorityInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CCurrencyInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CDecisionStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CDecisionTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CMeetingStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CMeetingTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		COrderStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		COrderTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CRiskStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		CUserTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
+		// Project-specific type and configuration entities
+		initializeSampleMeetingStatuses(project);
+		initializeSampleActivityStatuses(project);
+		initializeSampleOrderStatuses(project);
+		initializeSampleApprovalStatuses(project);
+		initializeSampleRiskStatuses(project);
+		// types
+		initializeSampleUserTypes(project);
+		initializeSampleProjectRoles(project);
+		initializeSampleMeetingTypes(project);
+		initializeSampleDecisionTypes(project);
+		initializeSampleOrderTypes(project);
+		initializeSampleActivityTypes(project);
+		initializeSampleRisks(project);
+		// Sample data entities for demonstration
+		initializeSampleActivities(project);
+		initializeSampleDecisionStatuses(project);
+		initializeSampleCommentPriorities(project);
+		initializeSampleCurrencies(project);
+		initializeSampleMeetings(project);
+		initializeSampleDecisions(project);
+		initializeSampleOrders(project);
+	}
+
 	public boolean isDatabaseEmpty() {
 		final long cnt = userService.count();
 		LOGGER.info("User count = {}", cnt);
@@ -1798,60 +1906,12 @@ public class CDataInitializer {
 			/* create sample user company relationships */
 			initializeSampleUserCompanySettings();
 			// ========== PROJECT-SPECIFIC INITIALIZATION PHASE ==========
-			final List<CProject> projects = projectService.list(Pageable.unpaged()).getContent();
-			for (final CProject project : projects) {
-				CSystemSettingsInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
-				// Core system entities required for project operation
-				CActivityInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
-				CUserInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
-				CCompanyInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CDecisionInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CMeetingInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
-				COrderInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CProjectInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, true);
-				CRiskInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CUserProjectRoleInitizerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CUserCompanyRoleInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				// Type/Status InitializerServices
-				CActivityStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CActivityTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CApprovalStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CCommentPriorityInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CCurrencyInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CDecisionStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CDecisionTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CMeetingStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CMeetingTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				COrderStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				COrderTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CRiskStatusInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				CUserTypeInitializerService.initialize(project, gridEntityService, screenService, pageEntityService, false);
-				// TODO: Add similar calls for all other InitializerServices (user types, priorities, etc.)
-				// Project-specific type and configuration entities
-				initializeSampleMeetingStatuses(project);
-				initializeSampleActivityStatuses(project);
-				initializeSampleOrderStatuses(project);
-				initializeSampleApprovalStatuses(project);
-				initializeSampleRiskStatuses(project);
-				// types
-				initializeSampleUserTypes(project);
-				initializeSampleProjectRoles(project);
-				initializeSampleMeetingTypes(project);
-				initializeSampleDecisionTypes(project);
-				initializeSampleOrderTypes(project);
-				initializeSampleActivityTypes(project);
-				initializeSampleRisks(project);
-				// Sample data entities for demonstration
-				initializeSampleActivities(project);
-				initializeSampleDecisionStatuses(project);
-				initializeSampleCommentPriorities(project);
-				initializeSampleCurrencies(project);
-				initializeSampleMeetings(project);
-				initializeSampleDecisions(project);
-				initializeSampleOrders(project);
-			}
+			// projects share only the companies and users created above, so they are seeded in parallel
+			initializeProjects(projectService.list(Pageable.unpaged()).getContent());
 			// Initialize company roles (non-project specific)
 			initializeSampleCompanyRoles();
+			// exchange rates are keyed by currency code and shared by all projects
+			initializeSampleExchangeRates();
 			// createSampleOrders(); // Temporarily disabled due to missing dependencies
 			LOGGER.info("Sample data initialization completed successfully");
 		} catch (final Exception e) {
@@ -1866,6 +1926,14 @@ public class CDataInitializer {
 		loadSampleData(); // <<<<< SONRA YENİDEN OLUŞTUR
 		LOGGER.info("Sample data reload (forced) finished");
 	}
+
+	/** The day the sample items of a project are dated from, a few days back per project, so the projects seeded in parallel do not all book the
+	 * same users on the same days.
+	 * @param project the project
+	 * @return today shifted back by up to six days */
+	private static LocalDate sampleDay(final CProject project) {
+		return LocalDate.now().minusDays(Math.floorMod(project.getId(), 7));
+	}
 	// ========================================================================
 	// SYSTEM INITIALIZATION METHODS - Base entities required for operation
 	// ========================================================================
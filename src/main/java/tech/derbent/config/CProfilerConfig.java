@@ -0,0 +1,97 @@
+package tech.derbent.config;
+
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tech.derbent.api.components.CProfiler;
+
+/** CProfilerConfig - Wires the CProfiler into the application. Layer: Configuration Enables the profiler with the actuator meter registry, opens a
+ * root span for every HTTP request and times Vaadin navigation from BeforeEnter to AfterNavigation. Turned on by the profiling profile
+ * (application-profiling.properties), together with the metrics actuator endpoint that publishes the timers. Settings:
+ * <ul>
+ * <li>derbent.profiler.enabled - turns the profiler on, default false</li>
+ * <li>derbent.profiler.slow-request-ms - requests taking at least this long are logged with their span tree, default 1000</li>
+ * <li>derbent.profiler.histogram - publish percentile histograms for the timers, default false</li>
+ * </ul>
+ */
+@Configuration
+public class CProfilerConfig {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CProfilerConfig.class);
+	private static final String NAVIGATION_START_KEY = "derbent.profiler.navigationStart";
+	private final boolean enabled;
+
+	public CProfilerConfig(final MeterRegistry meterRegistry, @Value ("${derbent.profiler.enabled:false}") final boolean enabled,
+			@Value ("${derbent.profiler.slow-request-ms:1000}") final long slowRequestMillis,
+			@Value ("${derbent.profiler.histogram:false}") final boolean histogram) {
+		this.enabled = enabled;
+		if (enabled) {
+			CProfiler.configure(meterRegistry, slowRequestMillis, histogram);
+		} else {
+			LOGGER.debug("Profiler disabled");
+		}
+	}
+
+	@PreDestroy
+	public void disableProfiler() {
+		CProfiler.disable();
+	}
+
+	@Bean
+	public VaadinServiceInitListener profilerNavigationInitializer() {
+		return event -> event.getSource().addUIInitListener(uiEvent -> {
+			if (!enabled) {
+				return;
+			}
+			final UI ui = uiEvent.getUI();
+			ui.addBeforeEnterListener(beforeEnter -> ComponentUtil.setData(ui, NAVIGATION_START_KEY, System.nanoTime()));
+			ui.addAfterNavigationListener(afterNavigation -> {
+				final Object start = ComponentUtil.getData(ui, NAVIGATION_START_KEY);
+				if (start == null) {
+					return;
+				}
+				ComponentUtil.setData(ui, NAVIGATION_START_KEY, null);
+				final String view = ui.getCurrentView() != null ? ui.getCurrentView().getClass().getSimpleName() : "unknown";
+				CProfiler.record(CProfiler.METRIC_NAVIGATION, System.nanoTime() - (Long) start, "view", view);
+			});
+		});
+	}
+
+	@Bean
+	public FilterRegistrationBean<OncePerRequestFilter> profilerRequestFilter() {
+		final OncePerRequestFilter filter = new OncePerRequestFilter() {
+
+			@Override
+			protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain)
+					throws ServletException, IOException {
+				if (!CProfiler.isEnabled()) {
+					chain.doFilter(request, response);
+					return;
+				}
+				// the uri only goes to the slow request dump, the timer itself is not tagged with it to keep the cardinality fixed
+				try (CProfiler.CSpan span = CProfiler.startRoot(CProfiler.METRIC_REQUEST, request.getMethod() + " " + request.getRequestURI())) {
+					chain.doFilter(request, response);
+				}
+			}
+		};
+		final FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.setName("profilerRequestFilter");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
@@ -0,0 +1,120 @@
+package tech.derbent.config;
+
+import java.io.IOException;
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import tech.derbent.api.components.CQueryStatistics;
+
+/** CQueryStatisticsConfig - Wires CQueryStatistics into Hibernate, the servlet requests and the Vaadin navigation. Layer: Configuration Turned on
+ * by the profiling profile (application-profiling.properties), off otherwise. Settings:
+ * <ul>
+ * <li>derbent.query-stats.enabled - counts statements per request and per view, default false</li>
+ * <li>derbent.query-stats.n-plus-one-threshold - executions of one statement shape in a request that are logged as possible N+1, default 5</li>
+ * <li>derbent.query-stats.request-budget - requests with more statements are logged, default 100</li>
+ * <li>derbent.query-stats.view-budgets[route] - navigations to the route with more statements are logged, e.g.
+ * derbent.query-stats.view-budgets[activities-kanban]=5; views without an entry are only counted towards their request</li>
+ * <li>derbent.query-stats.slow-query-ms - statements slower than this are logged by Hibernate (logger org.hibernate.SQL_SLOW), 0 disables,
+ * default 0</li>
+ * </ul>
+ */
+@Configuration
+public class CQueryStatisticsConfig {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CQueryStatisticsConfig.class);
+	private static final String VIEW_SCOPE_KEY = "derbent.queryStatistics.viewScope";
+	private final boolean enabled;
+	private final long slowQueryMillis;
+
+	public CQueryStatisticsConfig(@Value ("${derbent.query-stats.enabled:false}") final boolean enabled,
+			@Value ("${derbent.query-stats.n-plus-one-threshold:5}") final int nPlusOneThreshold,
+			@Value ("${derbent.query-stats.request-budget:100}") final int requestBudget,
+			@Value ("${derbent.query-stats.slow-query-ms:0}") final long slowQueryMillis, final Environment environment) {
+		this.enabled = enabled;
+		this.slowQueryMillis = slowQueryMillis;
+		final Map<String, Integer> viewBudgets = Binder.get(environment)
+				.bind("derbent.query-stats.view-budgets", Bindable.mapOf(String.class, Integer.class)).orElse(Map.of());
+		CQueryStatistics.configure(nPlusOneThreshold, requestBudget);
+		CQueryStatistics.configureViewBudgets(viewBudgets);
+		LOGGER.debug("Query statistics enabled: {}, N+1 threshold {}, request budget {}, view budgets {}, slow query {} ms", enabled,
+				nPlusOneThreshold, requestBudget, viewBudgets, slowQueryMillis);
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer queryStatisticsHibernateCustomizer() {
+		return properties -> {
+			if (enabled) {
+				properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CQueryStatistics.CStatementInspector());
+			}
+			if (slowQueryMillis > 0) {
+				properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryMillis);
+			}
+		};
+	}
+
+	@Bean
+	public VaadinServiceInitListener queryStatisticsNavigationInitializer() {
+		return event -> event.getSource().addUIInitListener(uiEvent -> {
+			if (!enabled) {
+				return;
+			}
+			final UI ui = uiEvent.getUI();
+			ui.addBeforeEnterListener(beforeEnter -> {
+				// a rerouted navigation enters again before the previous target was shown
+				closeViewScope(ui);
+				final String route = beforeEnter.getLocation().getPath();
+				ComponentUtil.setData(ui, VIEW_SCOPE_KEY, CQueryStatistics.open(
+						"view " + beforeEnter.getNavigationTarget().getSimpleName() + " (" + route + ")", CQueryStatistics.getViewBudget(route)));
+			});
+			ui.addAfterNavigationListener(afterNavigation -> closeViewScope(ui));
+		});
+	}
+
+	private static void closeViewScope(final UI ui) {
+		final Object scope = ComponentUtil.getData(ui, VIEW_SCOPE_KEY);
+		if (scope != null) {
+			ComponentUtil.setData(ui, VIEW_SCOPE_KEY, null);
+			((CQueryStatistics.CQueryScope) scope).close();
+		}
+	}
+
+	@Bean
+	public FilterRegistrationBean<OncePerRequestFilter> queryStatisticsRequestFilter() {
+		final OncePerRequestFilter filter = new OncePerRequestFilter() {
+
+			@Override
+			protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain chain)
+					throws ServletException, IOException {
+				if (!enabled) {
+					chain.doFilter(request, response);
+					return;
+				}
+				try (CQueryStatistics.CQueryScope scope = CQueryStatistics.open(request.getMethod() + " " + request.getRequestURI())) {
+					chain.doFilter(request, response);
+				}
+			}
+		};
+		final FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+		registration.setName("queryStatisticsRequestFilter");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return registration;
+	}
+}
@@ -0,0 +1,350 @@
+package tech.derbent.config;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityStatus;
+import tech.derbent.activities.domain.CActivityType;
+import tech.derbent.activities.service.CActivityAggregateService;
+import tech.derbent.api.services.CParentChildRelationService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.comments.domain.CComment;
+import tech.derbent.comments.domain.CCommentPriority;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.domain.CMeetingStatus;
+import tech.derbent.meetings.domain.CMeetingType;
+import tech.derbent.orders.domain.CApprovalStatus;
+import tech.derbent.orders.domain.CCurrency;
+import tech.derbent.orders.domain.COrder;
+import tech.derbent.orders.domain.COrderApproval;
+import tech.derbent.orders.domain.COrderStatus;
+import tech.derbent.orders.domain.COrderType;
+import tech.derbent.orders.domain.EApprovalDecision;
+import tech.derbent.orders.service.CPendingApprovalService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.workload.service.CWorkloadService;
+
+/** CSyntheticDataGenerator - Generates large, reproducible data sets for performance testing. Layer: Configuration Creates a shared pool of users
+ * and then N projects, each with its own types and statuses, M activities with K comments each, meetings with attendees and orders with approval
+ * steps. Projects are independent of each other and are generated in parallel, every project draws from its own random generator seeded with
+ * seed + project index, so the same settings produce the same data regardless of the thread scheduling. Rows are written in transactions of
+ * batchSize entities with the persistence context flushed and cleared after each, so memory stays flat for million row data sets. The rows are
+ * written through the entity manager, past the services that keep the derived stores current, so a run ends with rebuilding the activity
+ * summaries of each generated project, the hierarchy index, the workload rows and the pending approval queue. Usage:
+ *
+ * <pre>
+ * mvn spring-boot:run -Preset-db -Dspring-boot.run.arguments="--derbent.synthetic.projects=100 --derbent.synthetic.activities-per-project=2000"
+ * </pre>
+ */
+@Component
+public class CSyntheticDataGenerator {
+
+	/** Lookup rows of one generated project, referenced by the generated items. */
+	private record CProjectLookups(CProject project, List<CActivityStatus> activityStatuses, List<CActivityType> activityTypes,
+			CApprovalStatus[] approvalStatuses, CCommentPriority commentPriority, CCurrency currency, CMeetingStatus meetingStatus,
+			CMeetingType meetingType, COrderStatus orderStatus, COrderType orderType) {}
+
+	/** Outcome of a run.
+	 * @param projectIds ids of the generated projects in project index order
+	 * @param rows       number of inserted rows, join table rows included
+	 * @param elapsed    wall clock time of the run */
+	public record CResult(List<Long> projectIds, long rows, Duration elapsed) {}
+
+	/** Size and shape of a generated data set. Read from derbent.synthetic.* by {@link #of(Environment)}. */
+	public record CSettings(int projects, int users, int activitiesPerProject, int commentsPerActivity, int meetingsPerProject,
+			int attendeesPerMeeting, int ordersPerProject, int approvalsPerOrder, long seed, int batchSize, int parallelism) {
+
+		public CSettings {
+			Check.isTrue(projects > 0, "At least one project is required");
+			Check.isTrue(users > 0, "At least one user is required");
+			Check.isTrue((activitiesPerProject >= 0) && (commentsPerActivity >= 0) && (meetingsPerProject >= 0) && (attendeesPerMeeting >= 0)
+					&& (ordersPerProject >= 0) && (approvalsPerOrder >= 0), "Row counts cannot be negative");
+			Check.isTrue(attendeesPerMeeting <= users, "A meeting cannot have more attendees than there are users");
+			Check.isTrue(batchSize > 0, "Batch size must be positive");
+			Check.isTrue(parallelism > 0, "Parallelism must be positive");
+		}
+
+		public static CSettings of(final Environment environment) {
+			return new CSettings(environment.getProperty("derbent.synthetic.projects", Integer.class, 10),
+					environment.getProperty("derbent.synthetic.users", Integer.class, 50),
+					environment.getProperty("derbent.synthetic.activities-per-project", Integer.class, 1000),
+					environment.getProperty("derbent.synthetic.comments-per-activity", Integer.class, 3),
+					environment.getProperty("derbent.synthetic.meetings-per-project", Integer.class, 100),
+					environment.getProperty("derbent.synthetic.attendees-per-meeting", Integer.class, 5),
+					environment.getProperty("derbent.synthetic.orders-per-project", Integer.class, 50),
+					environment.getProperty("derbent.synthetic.approvals-per-order", Integer.class, 2),
+					environment.getProperty("derbent.synthetic.seed", Long.class, 42L),
+					environment.getProperty("derbent.synthetic.batch-size", Integer.class, 500), environment.getProperty(
+							"derbent.synthetic.parallelism", Integer.class, Math.max(1, Runtime.getRuntime().availableProcessors() - 1)));
+		}
+
+		/** Returns the number of rows a run with these settings inserts, lookups and the user pool excluded. */
+		public long expectedRows() {
+			final long activities = (long) activitiesPerProject * (1 + commentsPerActivity);
+			final long meetings = (long) meetingsPerProject * (1 + attendeesPerMeeting);
+			final long orders = (long) ordersPerProject * (1 + approvalsPerOrder);
+			return projects * (1 + activities + meetings + orders);
+		}
+	}
+
+	/** Every fifth activity starts a group, the activities after it in the same batch are its children. */
+	private static final int ACTIVITY_GROUP_SIZE = 5;
+	private static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+	private static final Logger LOGGER = LoggerFactory.getLogger(CSyntheticDataGenerator.class);
+	@PersistenceContext
+	private EntityManager entityManager;
+	private final CActivityAggregateService activityAggregateService;
+	private final CParentChildRelationService parentChildRelationService;
+	private final CPendingApprovalService pendingApprovalService;
+	private final TransactionTemplate transactionTemplate;
+	private final CWorkloadService workloadService;
+
+	public CSyntheticDataGenerator(final PlatformTransactionManager transactionManager, final CActivityAggregateService activityAggregateService,
+			final CParentChildRelationService parentChildRelationService, final CWorkloadService workloadService,
+			final CPendingApprovalService pendingApprovalService) {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		this.activityAggregateService = activityAggregateService;
+		this.parentChildRelationService = parentChildRelationService;
+		this.pendingApprovalService = pendingApprovalService;
+		this.workloadService = workloadService;
+	}
+
+	private List<CUser> createUsers(final CSettings settings) {
+		// one hash for the whole pool, hashing is the slowest part of creating a user
+		final String password = new BCryptPasswordEncoder().encode("test123");
+		final List<CUser> users = new ArrayList<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < settings.users(); i++) {
+				final String login = "synthetic." + settings.seed() + "." + i;
+				final List<CUser> existing =
+						entityManager.createQuery("SELECT u FROM CUser u WHERE u.login = :login", CUser.class).setParameter("login", login).getResultList();
+				if (!existing.isEmpty()) {
+					users.add(existing.get(0));
+					continue;
+				}
+				final CUser user = new CUser(login, password, "Synthetic User " + i, login + "@example.com");
+				user.setLastname("Load " + i);
+				entityManager.persist(user);
+				users.add(user);
+			}
+		});
+		return users;
+	}
+
+	private CProjectLookups createLookups(final String name) {
+		return transactionTemplate.execute(status -> {
+			final CProject project = new CProject(name);
+			entityManager.persist(project);
+			final List<CActivityStatus> activityStatuses = new ArrayList<>();
+			for (final String statusName : List.of("Not Started", "In Progress", "On Hold", "Completed")) {
+				final CActivityStatus activityStatus = new CActivityStatus(statusName, project);
+				entityManager.persist(activityStatus);
+				activityStatuses.add(activityStatus);
+			}
+			final List<CActivityType> activityTypes = new ArrayList<>();
+			for (final String typeName : List.of("Development", "Testing", "Documentation")) {
+				final CActivityType activityType = new CActivityType(typeName, project);
+				entityManager.persist(activityType);
+				activityTypes.add(activityType);
+			}
+			final CApprovalStatus[] approvalStatuses = {
+					new CApprovalStatus("Pending", project), new CApprovalStatus("Approved", project), new CApprovalStatus("Rejected", project)
+			};
+			approvalStatuses[1].setDecision(EApprovalDecision.APPROVED);
+			approvalStatuses[2].setDecision(EApprovalDecision.REJECTED);
+			for (final CApprovalStatus approvalStatus : approvalStatuses) {
+				entityManager.persist(approvalStatus);
+			}
+			final CCommentPriority commentPriority = new CCommentPriority("Normal", project);
+			final CCurrency currency = new CCurrency(project, "Euro");
+			currency.setCurrencyCode("EUR");
+			final CMeetingStatus meetingStatus = new CMeetingStatus("Planned", project);
+			final CMeetingType meetingType = new CMeetingType("Review", project);
+			final COrderStatus orderStatus = new COrderStatus("Requested", project);
+			final COrderType orderType = new COrderType("Hardware", project);
+			entityManager.persist(commentPriority);
+			entityManager.persist(currency);
+			entityManager.persist(meetingStatus);
+			entityManager.persist(meetingType);
+			entityManager.persist(orderStatus);
+			entityManager.persist(orderType);
+			return new CProjectLookups(project, activityStatuses, activityTypes, approvalStatuses, commentPriority, currency, meetingStatus,
+					meetingType, orderStatus, orderType);
+		});
+	}
+
+	/** Generates a data set.
+	 * @param settings size and shape of the data set
+	 * @return the generated project ids and the number of inserted rows, the rebuilt derived rows not counted */
+	public CResult generate(final CSettings settings) {
+		Check.notNull(settings, "Settings cannot be null");
+		final long start = System.nanoTime();
+		LOGGER.info("Generating synthetic data: {}, about {} rows", settings, settings.expectedRows());
+		final List<CUser> users = createUsers(settings);
+		final AtomicLong rows = new AtomicLong();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(settings.parallelism(), settings.projects()));
+		try {
+			final List<Future<Long>> futures = new ArrayList<>();
+			for (int index = 0; index < settings.projects(); index++) {
+				final int projectIndex = index;
+				futures.add(executor.submit(() -> generateProject(settings, projectIndex, users, rows)));
+			}
+			final List<Long> projectIds = new ArrayList<>();
+			for (final Future<Long> future : futures) {
+				projectIds.add(future.get());
+			}
+			// the project summaries are rebuilt by the project tasks, these stores span projects
+			parentChildRelationService.rebuild();
+			workloadService.rebuild();
+			pendingApprovalService.rebuild();
+			final CResult result = new CResult(projectIds, rows.get(), Duration.ofNanos(System.nanoTime() - start));
+			LOGGER.info("Generated {} rows in {} projects in {} ms", result.rows(), projectIds.size(), result.elapsed().toMillis());
+			return result;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Synthetic data generation was interrupted", e);
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void generateActivities(final CSettings settings, final CProjectLookups lookups, final List<CUser> users, final Random random,
+			final AtomicLong rows) {
+		for (int offset = 0; offset < settings.activitiesPerProject(); offset += settings.batchSize()) {
+			final int first = offset;
+			final int last = Math.min(offset + settings.batchSize(), settings.activitiesPerProject());
+			transactionTemplate.executeWithoutResult(status -> {
+				int pending = 0;
+				CActivity groupHead = null;
+				for (int i = first; i < last; i++) {
+					final CActivity activity = new CActivity("Activity " + i, lookups.project());
+					if ((groupHead != null) && ((i % ACTIVITY_GROUP_SIZE) != 0)) {
+						activity.setParent(groupHead);
+					}
+					activity.setStatus(pick(lookups.activityStatuses(), random));
+					activity.setActivityType(pick(lookups.activityTypes(), random));
+					activity.setAssignedTo(pick(users, random));
+					activity.setStartDate(BASE_DATE.plusDays(random.nextInt(365)));
+					activity.setDueDate(activity.getStartDate().plusDays(1 + random.nextInt(60)));
+					activity.setEstimatedHours(BigDecimal.valueOf(1 + random.nextInt(80)));
+					activity.setProgressPercentage(random.nextInt(101));
+					entityManager.persist(activity);
+					if (activity.getParentId() == null) {
+						groupHead = activity;
+					}
+					for (int c = 0; c < settings.commentsPerActivity(); c++) {
+						entityManager.persist(new CComment("Comment " + c + " on activity " + i, activity, pick(users, random),
+								lookups.commentPriority()));
+					}
+					pending += 1 + settings.commentsPerActivity();
+					if (pending >= settings.batchSize()) {
+						flush();
+						pending = 0;
+					}
+				}
+				flush();
+			});
+			rows.addAndGet((long) (last - first) * (1 + settings.commentsPerActivity()));
+		}
+	}
+
+	private void generateMeetings(final CSettings settings, final CProjectLookups lookups, final List<CUser> users, final Random random,
+			final AtomicLong rows) {
+		for (int offset = 0; offset < settings.meetingsPerProject(); offset += settings.batchSize()) {
+			final int first = offset;
+			final int last = Math.min(offset + settings.batchSize(), settings.meetingsPerProject());
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int i = first; i < last; i++) {
+					final CMeeting meeting = new CMeeting("Meeting " + i, lookups.project(), lookups.meetingType());
+					final LocalDateTime start = BASE_DATE.plusDays(random.nextInt(365)).atTime(8 + random.nextInt(9), 15 * random.nextInt(4));
+					meeting.setMeetingDate(start);
+					meeting.setEndDate(start.plusMinutes(30 + (30 * random.nextInt(4))));
+					meeting.setStatus(lookups.meetingStatus());
+					meeting.setResponsible(pick(users, random));
+					// consecutive users from a random offset, distinct without a shuffle of the whole pool
+					final int firstAttendee = random.nextInt(users.size());
+					for (int a = 0; a < settings.attendeesPerMeeting(); a++) {
+						meeting.addAttendee(users.get((firstAttendee + a) % users.size()));
+					}
+					entityManager.persist(meeting);
+				}
+				flush();
+			});
+			rows.addAndGet((long) (last - first) * (1 + settings.attendeesPerMeeting()));
+		}
+	}
+
+	private void generateOrders(final CSettings settings, final CProjectLookups lookups, final List<CUser> users, final Random random,
+			final AtomicLong rows) {
+		for (int offset = 0; offset < settings.ordersPerProject(); offset += settings.batchSize()) {
+			final int first = offset;
+			final int last = Math.min(offset + settings.batchSize(), settings.ordersPerProject());
+			transactionTemplate.executeWithoutResult(status -> {
+				for (int i = first; i < last; i++) {
+					final COrder order = new COrder("Order " + i, lookups.project());
+					order.setOrderType(lookups.orderType());
+					order.setStatus(lookups.orderStatus());
+					order.setCurrency(lookups.currency());
+					order.setRequestor(pick(users, random));
+					order.setOrderDate(BASE_DATE.plusDays(random.nextInt(365)));
+					order.setEstimatedCost(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+					order.setProviderCompanyName("Provider " + random.nextInt(100));
+					for (int level = 1; level <= settings.approvalsPerOrder(); level++) {
+						final COrderApproval approval = new COrderApproval("Approval " + level);
+						approval.setApprovalLevel(level);
+						approval.setApprovalStatus(lookups.approvalStatuses()[random.nextInt(lookups.approvalStatuses().length)]);
+						approval.setApprover(pick(users, random));
+						// cascaded from the order
+						order.addApproval(approval);
+					}
+					entityManager.persist(order);
+				}
+				flush();
+			});
+			rows.addAndGet((long) (last - first) * (1 + settings.approvalsPerOrder()));
+		}
+	}
+
+	private Long generateProject(final CSettings settings, final int projectIndex, final List<CUser> users, final AtomicLong rows) {
+		final Random random = new Random(settings.seed() + projectIndex);
+		final CProjectLookups lookups = createLookups("Synthetic Project " + settings.seed() + "-" + projectIndex);
+		rows.incrementAndGet();
+		generateActivities(settings, lookups, users, random, rows);
+		generateMeetings(settings, lookups, users, random, rows);
+		generateOrders(settings, lookups, users, random, rows);
+		activityAggregateService.rebuild(lookups.project());
+		LOGGER.debug("Generated project {}", lookups.project().getName());
+		return lookups.project().getId();
+	}
+
+	private void flush() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	private static <T> T pick(final List<T> values, final Random random) {
+		return values.get(random.nextInt(values.size()));
+	}
+}
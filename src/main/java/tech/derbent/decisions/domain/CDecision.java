@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
+import tech.derbent.api.annotations.AAudited;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.domains.CEntityOfProject;
 import tech.derbent.projects.domain.CProject;
@@ -20,6 +21,7 @@ import tech.derbent.users.domain.CUser;
 /** CDecision - Domain entity representing project decisions with comprehensive management features. Layer: Domain (MVC) Supports: - Decision type
  * categorization - Cost estimation and tracking - Team collaboration and assignments - Multi-stage approval workflow - Accountable personnel
  * management - Descriptive documentation Follows the established patterns from CActivity for consistency. */
+@AAudited
 @Entity
 @Table (name = "cdecision")
 @AttributeOverride (name = "id", column = @Column (name = "decision_id"))
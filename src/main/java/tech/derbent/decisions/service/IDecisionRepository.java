@@ -18,7 +18,7 @@ public interface IDecisionRepository extends IEntityOfProjectRepository<CDecisio
 	Optional<CDecision> findById(@Param ("id") Long id);
 	@Override
 	@Query (
-		"SELECT d FROM #{#entityName} d LEFT JOIN FETCH d.project LEFT JOIN FETCH d.assignedTo LEFT JOIN FETCH d.createdBy LEFT JOIN FETCH d.decisionType LEFT JOIN FETCH d.decisionStatus LEFT JOIN FETCH d.accountableUser WHERE d.project = :project"
+		"SELECT d FROM #{#entityName} d LEFT JOIN FETCH d.project LEFT JOIN FETCH d.assignedTo LEFT JOIN FETCH d.createdBy LEFT JOIN FETCH d.decisionType LEFT JOIN FETCH d.decisionStatus LEFT JOIN FETCH d.accountableUser WHERE d.project = :project AND d.isActive = true"
 	)
 	Page<CDecision> listByProject(@Param ("project") CProject project, Pageable pageable);
 }
@@ -27,7 +27,7 @@ public class CGanttItem extends CEntityDB<CGanttItem> {
 		endDate = extractEndDate(entity);
 		parentId = extractParentId(entity);
 		parentType = extractParentType(entity);
-		hierarchyLevel = 0; // Will be calculated by hierarchy service
+		hierarchyLevel = 0; // Use the constructor with hierarchy level for items indexed by CParentChildRelationService
 	}
 
 	/** Constructor with hierarchy level.
@@ -134,9 +134,10 @@ public class CGanttItem extends CEntityDB<CGanttItem> {
 		}
 		// Fallback to reflection for backward compatibility
 		try {
-			Object result = tech.derbent.api.utils.CAuxillaries.invokeMethod(entity.getClass(), "getEntityColorCode");
-			if (result instanceof String) {
-				return (String) result;
+			final java.util.function.Supplier<Object> colorCode =
+					tech.derbent.api.utils.CAccessors.staticGetter(entity.getClass(), "getEntityColorCode");
+			if ((colorCode != null) && (colorCode.get() instanceof final String result)) {
+				return result;
 			}
 		} catch (final Exception e) {
 			// Ignore reflection errors
@@ -186,11 +187,16 @@ public class CGanttItem extends CEntityDB<CGanttItem> {
 	 * @return The icon filename */
 	public String getIconFilename() {
 		try {
-			final java.lang.reflect.Method method = entity.getClass().getMethod("getIconFilename");
-			return (String) method.invoke(null);
+			// missing methods are cached by CAccessors, entities without an icon do not pay for a failed lookup per item
+			final java.util.function.Supplier<Object> iconFilename =
+					tech.derbent.api.utils.CAccessors.staticGetter(entity.getClass(), "getIconFilename");
+			if ((iconFilename != null) && (iconFilename.get() instanceof final String result)) {
+				return result;
+			}
 		} catch (final Exception e) {
-			return "vaadin:question"; // Default icon
+			// Ignore reflection errors
 		}
+		return "vaadin:question"; // Default icon
 	}
 
 	/** Get the parent entity ID.
@@ -3,6 +3,7 @@ package tech.derbent.gannt.view.datasource;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -47,8 +48,10 @@ public class CGanttDataProvider extends AbstractBackEndDataProvider<CGanttItem,
 		final List<CGanttItem> items = new ArrayList<>();
 		// --- Activities ---
 		final List<CActivity> activities = activityService.listByProject(project);
+		// hierarchy levels of all activities come from the closure table in one query
+		final Map<Long, Integer> depths = activityService.getHierarchyDepths(project);
 		for (final CActivity a : activities) {
-			items.add(new CGanttItem(a));
+			items.add(new CGanttItem(a, depths.getOrDefault(a.getId(), 0)));
 		}
 		// --- Meetings ---
 		final List<CMeeting> meetings = meetingService.listByProject(project);
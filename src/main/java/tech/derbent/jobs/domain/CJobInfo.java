@@ -0,0 +1,11 @@
+package tech.derbent.jobs.domain;
+
+import java.time.LocalDateTime;
+
+/** CJobInfo - Scheduling state of a job on this node. Layer: Domain (MVC)
+ * @param name        name of the job
+ * @param schedule    the cron expression in effect, null while the job is disabled or its expression is invalid
+ * @param clusterWide whether one node runs each occurrence, or every node
+ * @param nextRun     next scheduled occurrence, null while disabled
+ * @param running     whether the job runs or waits for a worker on this node */
+public record CJobInfo(String name, String schedule, boolean clusterWide, LocalDateTime nextRun, boolean running) {}
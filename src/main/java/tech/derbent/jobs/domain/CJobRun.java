@@ -0,0 +1,14 @@
+package tech.derbent.jobs.domain;
+
+import java.time.LocalDateTime;
+
+/** CJobRun - One run of a scheduled job, read from the run history. Layer: Domain (MVC)
+ * @param id         row id
+ * @param jobName    name of the job
+ * @param nodeId     node that ran the job
+ * @param startedAt  start of the run, for a rejected run the time it was dropped
+ * @param finishedAt end of the run
+ * @param status     outcome
+ * @param message    summary of the job or the error, may be null */
+public record CJobRun(Long id, String jobName, String nodeId, LocalDateTime startedAt, LocalDateTime finishedAt, EJobRunStatus status,
+		String message) {}
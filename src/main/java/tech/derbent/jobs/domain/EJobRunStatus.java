@@ -0,0 +1,11 @@
+package tech.derbent.jobs.domain;
+
+/** Outcome of a scheduled job run, as recorded in the run history. */
+public enum EJobRunStatus {
+	/** The job threw, the message holds the error. */
+	FAILED,
+	/** The workers and their queue were full, the run was dropped. */
+	REJECTED,
+	/** The job completed, the message holds its summary. */
+	SUCCEEDED
+}
@@ -0,0 +1,58 @@
+package tech.derbent.jobs.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.derbent.activities.service.CActivityAggregateService;
+import tech.derbent.api.services.CParentChildRelationService;
+import tech.derbent.orders.service.CPendingApprovalService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.workload.service.CWorkloadService;
+
+/** Recomputes the materialized rows - workload buckets, pending approvals, the hierarchy closure table and activity summaries - from their
+ * sources on derbent.jobs.rebuild-cron, to repair any drift of the incremental updates. A blank schedule disables the job. Each project's summaries
+ * are rebuilt in a transaction of their own. */
+@Component
+public class CAggregateRebuildJob implements IScheduledJob {
+
+	private final CActivityAggregateService activityAggregateService;
+	private final CParentChildRelationService parentChildRelationService;
+	private final CPendingApprovalService pendingApprovalService;
+	private final IProjectRepository projectRepository;
+	private final String schedule;
+	private final CWorkloadService workloadService;
+
+	public CAggregateRebuildJob(final CWorkloadService workloadService, final CPendingApprovalService pendingApprovalService,
+			final CActivityAggregateService activityAggregateService, final CParentChildRelationService parentChildRelationService,
+			final IProjectRepository projectRepository,
+			@Value ("${derbent.jobs.rebuild-cron:0 0 4 * * SUN}") final String schedule) {
+		this.workloadService = workloadService;
+		this.pendingApprovalService = pendingApprovalService;
+		this.activityAggregateService = activityAggregateService;
+		this.parentChildRelationService = parentChildRelationService;
+		this.projectRepository = projectRepository;
+		this.schedule = schedule;
+	}
+
+	@Override
+	public String getName() { return "aggregate-rebuild"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		return schedule;
+	}
+
+	@Override
+	public String run() {
+		workloadService.rebuild();
+		pendingApprovalService.rebuild();
+		parentChildRelationService.rebuild();
+		int projects = 0;
+		for (final CProject project : projectRepository.findAll()) {
+			activityAggregateService.rebuild(project);
+			projects++;
+		}
+		return "Rebuilt workload, pending approvals, the hierarchy and activity summaries of " + projects + " projects";
+	}
+}
@@ -0,0 +1,32 @@
+package tech.derbent.jobs.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.derbent.api.services.CEntityArchiveService;
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** Moves the inactive rows to the archive tables on derbent.archive.cron while derbent.archive.enabled is set, see CEntityArchiveService. */
+@Component
+public class CArchiveJob implements IScheduledJob {
+
+	private final CEntityArchiveService archiveService;
+	private final String schedule;
+
+	public CArchiveJob(final CEntityArchiveService archiveService, @Value ("${derbent.archive.cron:0 30 3 * * *}") final String schedule) {
+		this.archiveService = archiveService;
+		this.schedule = schedule;
+	}
+
+	@Override
+	public String getName() { return "archive"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		return archiveService.isEnabled() ? schedule : null;
+	}
+
+	@Override
+	public String run() {
+		return "Archived " + archiveService.archiveDue() + " rows";
+	}
+}
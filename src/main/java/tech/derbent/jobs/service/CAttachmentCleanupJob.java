@@ -0,0 +1,34 @@
+package tech.derbent.jobs.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.derbent.attachments.service.CAttachmentService;
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** Deletes the attachment blobs no attachment row refers to any more, and the leftovers of broken uploads, on derbent.jobs.attachment-cleanup-cron.
+ * A blank schedule disables the job. The file storage is shared by the nodes, so the job runs on one node. */
+@Component
+public class CAttachmentCleanupJob implements IScheduledJob {
+
+	private final CAttachmentService attachmentService;
+	private final String schedule;
+
+	public CAttachmentCleanupJob(final CAttachmentService attachmentService,
+			@Value ("${derbent.jobs.attachment-cleanup-cron:0 0 5 * * *}") final String schedule) {
+		this.attachmentService = attachmentService;
+		this.schedule = schedule;
+	}
+
+	@Override
+	public String getName() { return "attachment-cleanup"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		return schedule;
+	}
+
+	@Override
+	public String run() throws Exception {
+		return "Deleted " + attachmentService.purgeUnreferencedBlobs() + " unreferenced attachment files";
+	}
+}
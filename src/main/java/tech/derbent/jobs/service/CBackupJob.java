@@ -0,0 +1,37 @@
+package tech.derbent.jobs.service;
+
+import org.springframework.stereotype.Component;
+import tech.derbent.backup.domain.CBackupInfo;
+import tech.derbent.backup.service.CBackupService;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.CSystemSettingsService;
+
+/** Takes a database backup on the backup schedule of the system settings while automatic backups are enabled, then deletes the archives older
+ * than the backup retention days. */
+@Component
+public class CBackupJob implements IScheduledJob {
+
+	private final CBackupService backupService;
+	private final CSystemSettingsService settingsService;
+
+	public CBackupJob(final CBackupService backupService, final CSystemSettingsService settingsService) {
+		this.backupService = backupService;
+		this.settingsService = settingsService;
+	}
+
+	@Override
+	public String getName() { return "backup"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		return (settings != null) && Boolean.TRUE.equals(settings.getEnableAutomaticBackups()) ? settings.getBackupScheduleCron() : null;
+	}
+
+	@Override
+	public String run() throws Exception {
+		final CBackupInfo backup = backupService.backup();
+		final Integer retentionDays = settingsService.getSystemSettings().map(CSystemSettings::getBackupRetentionDays).orElse(null);
+		final int pruned = retentionDays != null ? backupService.pruneBackups(retentionDays) : 0;
+		return "Wrote " + backup.fileName() + " (" + backup.sizeBytes() + " bytes), deleted " + pruned + " old backups";
+	}
+}
@@ -0,0 +1,37 @@
+package tech.derbent.jobs.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tech.derbent.orders.service.CExchangeRateService;
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** Loads the node local caches on derbent.jobs.cache-warmup-cron, so the first request after an eviction does not pay for the load. Runs on every
+ * node. A blank schedule disables the job. */
+@Component
+public class CCacheWarmupJob implements IScheduledJob {
+
+	private final CExchangeRateService exchangeRateService;
+	private final String schedule;
+
+	public CCacheWarmupJob(final CExchangeRateService exchangeRateService,
+			@Value ("${derbent.jobs.cache-warmup-cron:0 */10 * * * *}") final String schedule) {
+		this.exchangeRateService = exchangeRateService;
+		this.schedule = schedule;
+	}
+
+	@Override
+	public String getName() { return "cache-warmup"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		return schedule;
+	}
+
+	@Override
+	public boolean isClusterWide() { return false; }
+
+	@Override
+	public String run() {
+		return "Loaded exchange rates of " + exchangeRateService.warmUp() + " currency pairs";
+	}
+}
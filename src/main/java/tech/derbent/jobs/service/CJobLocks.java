@@ -0,0 +1,45 @@
+package tech.derbent.jobs.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Cluster wide job locks in the cjob_lock table, one row per job. A node takes the lock for one occurrence of the schedule with a conditional
+ * update: the lock must be free or expired, and the occurrence later than the last one taken, so an occurrence runs once even if another node
+ * finished it before this node's tick. A lock left by a node that died expires after the lock time of the scheduler. */
+final class CJobLocks {
+
+	static final String TABLE = "cjob_lock";
+	private final JdbcTemplate jdbcTemplate;
+
+	CJobLocks(final JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (job_name VARCHAR(100) PRIMARY KEY, locked_by VARCHAR(100) NOT NULL,"
+				+ " locked_until TIMESTAMP NOT NULL, last_occurrence TIMESTAMP NOT NULL)");
+	}
+
+	/** Takes the lock of the job for the occurrence.
+	 * @return false if another node holds the lock or already ran the occurrence */
+	boolean tryLock(final String jobName, final String nodeId, final LocalDateTime occurrence, final LocalDateTime now, final LocalDateTime until) {
+		final int updated = jdbcTemplate.update(
+				"UPDATE " + TABLE + " SET locked_by = ?, locked_until = ?, last_occurrence = ? WHERE job_name = ? AND locked_until <= ?"
+						+ " AND last_occurrence < ?",
+				nodeId, Timestamp.valueOf(until), Timestamp.valueOf(occurrence), jobName, Timestamp.valueOf(now), Timestamp.valueOf(occurrence));
+		if (updated == 1) {
+			return true;
+		}
+		try {
+			jdbcTemplate.update("INSERT INTO " + TABLE + " (job_name, locked_by, locked_until, last_occurrence) VALUES (?, ?, ?, ?)", jobName, nodeId,
+					Timestamp.valueOf(until), Timestamp.valueOf(occurrence));
+			return true;
+		} catch (final DuplicateKeyException e) {
+			return false;
+		}
+	}
+
+	/** Releases the lock if this node still holds it; the occurrence stays taken. */
+	void unlock(final String jobName, final String nodeId, final LocalDateTime now) {
+		jdbcTemplate.update("UPDATE " + TABLE + " SET locked_until = ? WHERE job_name = ? AND locked_by = ?", Timestamp.valueOf(now), jobName, nodeId);
+	}
+}
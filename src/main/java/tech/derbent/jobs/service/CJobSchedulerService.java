@@ -0,0 +1,305 @@
+package tech.derbent.jobs.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import tech.derbent.api.utils.Check;
+import tech.derbent.jobs.domain.CJobInfo;
+import tech.derbent.jobs.domain.CJobRun;
+import tech.derbent.jobs.domain.EJobRunStatus;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.CSystemSettingsService;
+
+/** CJobSchedulerService - Runs the IScheduledJob beans on their cron schedules. Layer: Service (MVC) A ticker thread asks every job for its
+ * schedule on each tick, from the system settings read through CSystemSettingsService, so a changed schedule or a disabled job applies on the next
+ * tick without a restart. Due jobs go to a fixed pool of worker threads with a bounded queue: a job still running or waiting is not queued again,
+ * and a run that finds the queue full is dropped and recorded as REJECTED, so slow jobs cannot pile up. Cluster wide jobs take the lock of the
+ * occurrence in cjob_lock first and run on one node only. Every run is recorded in cjob_run, kept for derbent.jobs.history-days, and timed in the
+ * derbent.jobs.run timer. Settings:
+ * <ul>
+ * <li>derbent.jobs.enabled - runs the scheduler, default true</li>
+ * <li>derbent.jobs.tick-ms - delay between schedule checks, default 15000</li>
+ * <li>derbent.jobs.workers - jobs running at the same time on a node, default 2</li>
+ * <li>derbent.jobs.queue-capacity - due jobs waiting for a worker, default 8</li>
+ * <li>derbent.jobs.lock-minutes - a lock of a node that died expires after this, default 120</li>
+ * <li>derbent.jobs.history-days - days the run history is kept, default 30</li>
+ * </ul>
+ */
+@Service
+public class CJobSchedulerService {
+
+	/** Scheduling state of one job on this node. */
+	private static final class CJobState {
+
+		private CronExpression cron;
+		private final IScheduledJob job;
+		private volatile LocalDateTime nextRun;
+		private final AtomicBoolean running = new AtomicBoolean();
+		private volatile String schedule;
+
+		private CJobState(final IScheduledJob job) {
+			this.job = job;
+		}
+	}
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CJobSchedulerService.class);
+	public static final int MAX_HISTORY_SIZE = 500;
+	private static final int MAX_MESSAGE_LENGTH = 1000;
+	static final String RUN_TABLE = "cjob_run";
+
+	/** Returns the schedule as a six field cron expression, a five field Unix expression gets a leading seconds field.
+	 * @param schedule the configured schedule
+	 * @return the expression, null for a blank schedule */
+	static String normalizeSchedule(final String schedule) {
+		if ((schedule == null) || schedule.isBlank()) {
+			return null;
+		}
+		final String trimmed = schedule.trim();
+		return trimmed.split("\\s+").length == 5 ? "0 " + trimmed : trimmed;
+	}
+
+	private static String truncate(final String message) {
+		return (message != null) && (message.length() > MAX_MESSAGE_LENGTH) ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+	}
+
+	private final Clock clock;
+	private final long historyDays;
+	private final JdbcTemplate jdbcTemplate;
+	private long lastCleanup;
+	private final long lockMinutes;
+	private final CJobLocks locks;
+	private final MeterRegistry meterRegistry;
+	private final String nodeId = UUID.randomUUID().toString();
+	private final CSystemSettingsService settingsService;
+	private final Map<String, CJobState> states = new LinkedHashMap<>();
+	private final ScheduledExecutorService ticker;
+	private final ThreadPoolExecutor workers;
+
+	public CJobSchedulerService(final DataSource dataSource, final List<IScheduledJob> jobs, final CSystemSettingsService settingsService,
+			final Clock clock, final MeterRegistry meterRegistry, @Value ("${derbent.jobs.enabled:true}") final boolean enabled,
+			@Value ("${derbent.jobs.tick-ms:15000}") final long tickMillis, @Value ("${derbent.jobs.workers:2}") final int workerCount,
+			@Value ("${derbent.jobs.queue-capacity:8}") final int queueCapacity, @Value ("${derbent.jobs.lock-minutes:120}") final long lockMinutes,
+			@Value ("${derbent.jobs.history-days:30}") final long historyDays) {
+		Check.notNull(jobs, "Jobs cannot be null");
+		Check.isTrue(tickMillis > 0, "Tick interval must be positive");
+		Check.isTrue(workerCount > 0, "Worker count must be positive");
+		Check.isTrue(queueCapacity > 0, "Queue capacity must be positive");
+		Check.isTrue(lockMinutes > 0, "Lock time must be positive");
+		Check.isTrue(historyDays > 0, "History days must be positive");
+		this.settingsService = settingsService;
+		this.clock = clock;
+		this.meterRegistry = meterRegistry;
+		this.lockMinutes = lockMinutes;
+		this.historyDays = historyDays;
+		for (final IScheduledJob job : jobs) {
+			Check.notBlank(job.getName(), "Job name cannot be empty");
+			Check.isTrue(states.putIfAbsent(job.getName(), new CJobState(job)) == null, "Duplicate job name: " + job.getName());
+		}
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + RUN_TABLE + " (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+				+ " job_name VARCHAR(100) NOT NULL, node_id VARCHAR(100) NOT NULL, started_at TIMESTAMP NOT NULL, finished_at TIMESTAMP NOT NULL,"
+				+ " status VARCHAR(16) NOT NULL, message VARCHAR(" + MAX_MESSAGE_LENGTH + "))");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + RUN_TABLE + "_job_idx ON " + RUN_TABLE + " (job_name, started_at)");
+		locks = new CJobLocks(jdbcTemplate);
+		final AtomicInteger workerNumber = new AtomicInteger();
+		workers = new ThreadPoolExecutor(workerCount, workerCount, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-job-" + workerNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		Gauge.builder("derbent.jobs.queued", workers, executor -> executor.getQueue().size()).register(meterRegistry);
+		Gauge.builder("derbent.jobs.active", workers, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+		ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-job-scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		if (enabled) {
+			ticker.scheduleWithFixedDelay(this::safeTick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		}
+		LOGGER.info("Job scheduler {} with jobs {}", enabled ? "started" : "disabled", states.keySet());
+	}
+
+	private void cleanup(final LocalDateTime now) {
+		final long millis = System.currentTimeMillis();
+		if ((millis - lastCleanup) < TimeUnit.HOURS.toMillis(1)) {
+			return;
+		}
+		lastCleanup = millis;
+		final int deleted = jdbcTemplate.update("DELETE FROM " + RUN_TABLE + " WHERE started_at < ?", Timestamp.valueOf(now.minusDays(historyDays)));
+		LOGGER.debug("Deleted {} job runs older than {} days", deleted, historyDays);
+	}
+
+	/** Scheduling state of all jobs on this node, in registration order. */
+	public List<CJobInfo> getJobs() {
+		final List<CJobInfo> jobs = new ArrayList<>();
+		for (final CJobState state : states.values()) {
+			jobs.add(new CJobInfo(state.job.getName(), state.cron != null ? state.schedule : null, state.job.isClusterWide(), state.nextRun,
+					state.running.get()));
+		}
+		return jobs;
+	}
+
+	/** Newest runs first, from all nodes.
+	 * @param jobName the job, null for all jobs
+	 * @param limit   number of runs, at most {@link #MAX_HISTORY_SIZE}
+	 * @return the runs */
+	public List<CJobRun> listRuns(final String jobName, final int limit) {
+		Check.isTrue((limit > 0) && (limit <= MAX_HISTORY_SIZE), "Limit must be between 1 and " + MAX_HISTORY_SIZE);
+		final String columns = "SELECT id, job_name, node_id, started_at, finished_at, status, message FROM " + RUN_TABLE;
+		final String order = " ORDER BY started_at DESC, id DESC FETCH FIRST " + limit + " ROWS ONLY";
+		final Object[] arguments = jobName != null ? new Object[] {
+				jobName
+		} : new Object[0];
+		return jdbcTemplate.query(columns + (jobName != null ? " WHERE job_name = ?" : "") + order,
+				(rs, rowNum) -> new CJobRun(rs.getLong("id"), rs.getString("job_name"), rs.getString("node_id"),
+						rs.getTimestamp("started_at").toLocalDateTime(), rs.getTimestamp("finished_at").toLocalDateTime(),
+						EJobRunStatus.valueOf(rs.getString("status")), rs.getString("message")),
+				arguments);
+	}
+
+	private void record(final String jobName, final LocalDateTime startedAt, final LocalDateTime finishedAt, final EJobRunStatus status,
+			final String message) {
+		try {
+			jdbcTemplate.update("INSERT INTO " + RUN_TABLE + " (job_name, node_id, started_at, finished_at, status, message) VALUES (?, ?, ?, ?, ?, ?)",
+					jobName, nodeId, Timestamp.valueOf(startedAt), Timestamp.valueOf(finishedAt), status.name(), truncate(message));
+		} catch (final RuntimeException e) {
+			LOGGER.error("Recording run of job {} failed: {}", jobName, e.getMessage(), e);
+		}
+	}
+
+	private void run(final CJobState state, final LocalDateTime occurrence) {
+		final String name = state.job.getName();
+		try {
+			final LocalDateTime startedAt = LocalDateTime.now(clock);
+			if (state.job.isClusterWide() && !locks.tryLock(name, nodeId, occurrence, startedAt, startedAt.plusMinutes(lockMinutes))) {
+				LOGGER.debug("Job {} of {} runs on another node", name, occurrence);
+				meterRegistry.counter("derbent.jobs.skipped", "job", name).increment();
+				return;
+			}
+			final long start = System.nanoTime();
+			EJobRunStatus status;
+			String message;
+			try {
+				message = state.job.run();
+				status = EJobRunStatus.SUCCEEDED;
+				LOGGER.info("Job {} finished: {}", name, message);
+			} catch (final Exception e) {
+				message = e.getClass().getSimpleName() + ": " + e.getMessage();
+				status = EJobRunStatus.FAILED;
+				LOGGER.error("Job {} failed: {}", name, e.getMessage(), e);
+			} finally {
+				if (state.job.isClusterWide()) {
+					locks.unlock(name, nodeId, LocalDateTime.now(clock));
+				}
+			}
+			Timer.builder("derbent.jobs.run").tag("job", name).tag("status", status.name()).register(meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			record(name, startedAt, LocalDateTime.now(clock), status, message);
+		} catch (final RuntimeException e) {
+			LOGGER.error("Running job {} failed: {}", name, e.getMessage(), e);
+		} finally {
+			state.running.set(false);
+		}
+	}
+
+	/** Runs the job now on this node, outside its schedule. A cluster wide job still takes its lock.
+	 * @param jobName the job
+	 * @return false if the job is already running or waiting, or the queue is full */
+	public boolean runNow(final String jobName) {
+		final CJobState state = states.get(jobName);
+		Check.notNull(state, "Unknown job: " + jobName);
+		return submit(state, LocalDateTime.now(clock));
+	}
+
+	private void safeTick() {
+		try {
+			tick();
+		} catch (final RuntimeException e) {
+			LOGGER.error("Job scheduler tick failed: {}", e.getMessage(), e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		ticker.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	private boolean submit(final CJobState state, final LocalDateTime occurrence) {
+		if (!state.running.compareAndSet(false, true)) {
+			LOGGER.debug("Job {} is still running, occurrence {} is skipped", state.job.getName(), occurrence);
+			return false;
+		}
+		try {
+			workers.execute(() -> run(state, occurrence));
+			return true;
+		} catch (final RejectedExecutionException e) {
+			state.running.set(false);
+			LOGGER.warn("Job {} rejected, {} jobs are waiting for a worker", state.job.getName(), workers.getQueue().size());
+			Counter.builder("derbent.jobs.rejected").tag("job", state.job.getName()).register(meterRegistry).increment();
+			final LocalDateTime now = LocalDateTime.now(clock);
+			record(state.job.getName(), now, now, EJobRunStatus.REJECTED, "Queue full");
+			return false;
+		}
+	}
+
+	/** Reads the schedules of all jobs and submits the due ones. Runs on the ticker thread. */
+	synchronized void tick() {
+		final CSystemSettings settings = settingsService.getSystemSettings().orElse(null);
+		final LocalDateTime now = LocalDateTime.now(clock);
+		for (final CJobState state : states.values()) {
+			final String schedule = normalizeSchedule(state.job.getSchedule(settings));
+			if (schedule == null) {
+				state.schedule = null;
+				state.cron = null;
+				state.nextRun = null;
+				continue;
+			}
+			if (!schedule.equals(state.schedule)) {
+				state.schedule = schedule;
+				try {
+					state.cron = CronExpression.parse(schedule);
+					state.nextRun = state.cron.next(now);
+					LOGGER.info("Job {} scheduled on '{}', next run {}", state.job.getName(), schedule, state.nextRun);
+				} catch (final IllegalArgumentException e) {
+					state.cron = null;
+					state.nextRun = null;
+					LOGGER.warn("Job {} is not run, invalid schedule '{}': {}", state.job.getName(), schedule, e.getMessage());
+				}
+				continue;
+			}
+			if ((state.nextRun != null) && !now.isBefore(state.nextRun)) {
+				final LocalDateTime occurrence = state.nextRun;
+				state.nextRun = state.cron.next(now);
+				submit(state, occurrence);
+			}
+		}
+		cleanup(now);
+	}
+}
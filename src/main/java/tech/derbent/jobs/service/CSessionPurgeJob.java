@@ -0,0 +1,87 @@
+package tech.derbent.jobs.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionIdListener;
+import jakarta.servlet.http.HttpSessionListener;
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** Invalidates the HTTP sessions of this node idle for longer than the session timeout of the system settings, so a shortened timeout applies to
+ * the open sessions too and not only through the container's own timeout. Runs on every node on derbent.jobs.session-purge-cron; a blank schedule
+ * disables the job. The sessions are tracked by id as a servlet session listener; the id changes at login. */
+@Component
+public class CSessionPurgeJob implements IScheduledJob, HttpSessionListener, HttpSessionIdListener {
+
+	private final String schedule;
+	private final Map<String, HttpSession> sessions = new ConcurrentHashMap<>();
+	private volatile int timeoutMinutes;
+
+	public CSessionPurgeJob(@Value ("${derbent.jobs.session-purge-cron:0 */5 * * * *}") final String schedule) {
+		this.schedule = schedule;
+	}
+
+	@Override
+	public String getName() { return "session-purge"; }
+
+	@Override
+	public String getSchedule(final CSystemSettings settings) {
+		if ((settings == null) || (settings.getSessionTimeoutMinutes() == null)) {
+			return null;
+		}
+		timeoutMinutes = settings.getSessionTimeoutMinutes();
+		return schedule;
+	}
+
+	/** Number of the tracked sessions of this node. */
+	public int getSessionCount() { return sessions.size(); }
+
+	@Override
+	public boolean isClusterWide() { return false; }
+
+	/** Invalidates the sessions idle for longer than the timeout.
+	 * @param now            current time in epoch milliseconds
+	 * @param timeoutMinutes the session timeout
+	 * @return number of invalidated sessions */
+	int purge(final long now, final int timeoutMinutes) {
+		final long cutoff = now - TimeUnit.MINUTES.toMillis(timeoutMinutes);
+		int purged = 0;
+		for (final HttpSession session : sessions.values()) {
+			try {
+				if (session.getLastAccessedTime() < cutoff) {
+					session.invalidate();
+					purged++;
+				}
+			} catch (final IllegalStateException e) {
+				// invalidated meanwhile, sessionDestroyed removes it
+			}
+		}
+		return purged;
+	}
+
+	@Override
+	public String run() {
+		final int timeout = timeoutMinutes;
+		return "Invalidated " + purge(System.currentTimeMillis(), timeout) + " sessions idle for more than " + timeout + " minutes";
+	}
+
+	@Override
+	public void sessionCreated(final HttpSessionEvent event) {
+		sessions.put(event.getSession().getId(), event.getSession());
+	}
+
+	@Override
+	public void sessionIdChanged(final HttpSessionEvent event, final String oldSessionId) {
+		sessions.remove(oldSessionId);
+		sessions.put(event.getSession().getId(), event.getSession());
+	}
+
+	@Override
+	public void sessionDestroyed(final HttpSessionEvent event) {
+		sessions.remove(event.getSession().getId());
+	}
+}
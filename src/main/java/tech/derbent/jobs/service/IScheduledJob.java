@@ -0,0 +1,24 @@
+package tech.derbent.jobs.service;
+
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** A job run by CJobSchedulerService. Every bean implementing it is scheduled; its schedule is asked for again on each scheduler tick, so a changed
+ * setting applies without a restart. */
+public interface IScheduledJob {
+
+	/** Unique name of the job, the key of its lock and run history.
+	 * @return the name, at most 100 characters */
+	String getName();
+	/** The cron expression the job runs on, with six fields as Spring's CronExpression or five as Unix cron.
+	 * @param settings the current system settings, null before they are created
+	 * @return the schedule, null while the job is disabled */
+	String getSchedule(CSystemSettings settings);
+
+	/** Whether each occurrence runs on one node of the cluster, or on every node, for jobs on node local state such as caches and sessions.
+	 * @return true for one node, the default */
+	default boolean isClusterWide() { return true; }
+
+	/** Runs the job on a scheduler worker thread, without a security context.
+	 * @return a short summary for the run history */
+	String run() throws Exception;
+}
@@ -1,11 +1,15 @@
 package tech.derbent.kanban.view;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
@@ -38,6 +42,7 @@ public class CActivityKanbanBoardView extends VerticalLayout implements IProject
 	private static final long serialVersionUID = 1L;
 	public static final String VIEW_NAME = "GanntEntity View";
 	private final CActivityService activityService;
+	private final Map<Long, CActivityKanbanColumn> columnsByStatusId = new LinkedHashMap<>();
 	private Div emptyStateContainer;
 	private HorizontalLayout kanbanContainer;
 	private final CSessionService sessionService;
@@ -59,10 +64,19 @@ public class CActivityKanbanBoardView extends VerticalLayout implements IProject
 	 * @param droppedActivity the activity that was dropped */
 	private void handleActivityDropped(final CActivity droppedActivity) {
 		try {
+			final CActivityKanbanColumn sourceColumn = columnsByStatusId.values().stream()
+					.filter(column -> column.containsActivity(droppedActivity.getId())).findFirst().orElse(null);
 			// Update the activity status in the database
-			activityService.updateEntityStatus(droppedActivity, droppedActivity.getStatus());
-			// Refresh the kanban board to reflect the changes
-			loadKanbanData();
+			final CActivity saved = activityService.updateEntityStatus(droppedActivity, droppedActivity.getStatus());
+			final CActivityKanbanColumn targetColumn = columnsByStatusId.get(droppedActivity.getStatus().getId());
+			if ((sourceColumn == null) || (targetColumn == null)) {
+				// Board is out of sync with the data, fall back to a full reload
+				loadKanbanData();
+				return;
+			}
+			// Move only the dropped card and update the two column counts in place
+			final Component card = sourceColumn.removeActivity(droppedActivity.getId());
+			targetColumn.addActivity(saved != null ? saved : droppedActivity, card);
 			LOGGER.info("Successfully updated activity status for: {}", droppedActivity.getName());
 		} catch (final Exception e) {
 			LOGGER.error("Error updating activity status for: {}", droppedActivity.getName(), e);
@@ -121,18 +135,28 @@ public class CActivityKanbanBoardView extends VerticalLayout implements IProject
 				showEmptyState("No activities found for this project");
 				return;
 			}
-			// Clear container and show kanban columns
-			kanbanContainer.removeAll();
 			emptyStateContainer.setVisible(false);
 			kanbanContainer.setVisible(true);
-			// Create column for each activity status
+			// Drop columns of statuses that are no longer present
+			for (final Long statusId : new ArrayList<>(columnsByStatusId.keySet())) {
+				if (activitiesByStatus.keySet().stream().noneMatch(status -> Objects.equals(status.getId(), statusId))) {
+					kanbanContainer.remove(columnsByStatusId.remove(statusId));
+				}
+			}
+			// Update existing columns with a card diff, create columns only for new statuses
 			for (final Map.Entry<CActivityStatus, List<CActivity>> entry : activitiesByStatus.entrySet()) {
 				final CActivityStatus status = entry.getKey();
 				final List<CActivity> activities = entry.getValue();
+				final CActivityKanbanColumn existing = columnsByStatusId.get(status.getId());
+				if (existing != null) {
+					existing.updateActivities(activities);
+					continue;
+				}
 				LOGGER.debug("Creating column for status: {} with {} activities", status.getName(), activities.size());
 				// Create column with drop handler
 				final CActivityKanbanColumn column =
 						new CActivityKanbanColumn(status, activities, droppedActivity -> handleActivityDropped(droppedActivity));
+				columnsByStatusId.put(status.getId(), column);
 				kanbanContainer.add(column);
 				kanbanContainer.setFlexGrow(1, column);
 			}
@@ -171,6 +195,8 @@ public class CActivityKanbanBoardView extends VerticalLayout implements IProject
 	private void showEmptyState(final String message) {
 		LOGGER.debug("Showing empty state: {}", message);
 		kanbanContainer.setVisible(false);
+		kanbanContainer.removeAll();
+		columnsByStatusId.clear();
 		emptyStateContainer.removeAll();
 		emptyStateContainer.add(new H2("No Activities"));
 		emptyStateContainer.add(new Div(message));
@@ -1,18 +1,19 @@
 package tech.derbent.kanban.view;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.dnd.DropEffect;
 import com.vaadin.flow.component.dnd.DropTarget;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
-import com.vaadin.flow.component.html.H5;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import tech.derbent.api.ui.CKanbanTypeSection;
+import tech.derbent.api.ui.CKanbanTypeSections;
 import tech.derbent.api.utils.Check;
 import tech.derbent.activities.domain.CActivity;
 import tech.derbent.activities.domain.CActivityStatus;
@@ -30,7 +31,9 @@ public class CActivityKanbanColumn extends Div {
 	private Span countElement;
 	private VerticalLayout cardsContainer;
 	private List<CActivity> activities;
+	private Div emptyMessage;
 	private final Consumer<CActivity> onActivityDropped;
+	private CKanbanTypeSections<CActivity> typeSections;
 
 	/** Constructor for CActivityKanbanColumn.
 	 * @param activityStatus the activity status this column represents
@@ -47,49 +50,27 @@ public class CActivityKanbanColumn extends Div {
 			final Consumer<CActivity> onActivityDropped) {
 		Check.notNull(activityStatus, "Activity status cannot be null");
 		this.activityStatus = activityStatus;
-		this.activities = activities != null ? activities : List.of();
+		this.activities = activities != null ? new ArrayList<>(activities) : new ArrayList<>();
 		this.onActivityDropped = onActivityDropped;
 		initializeColumn();
 	}
 
-	/** Creates a type section with activities for the given type.
-	 * @param typeName       the activity type name for this section
-	 * @param typeActivities the list of activities with this type */
-	private void createTypeSection(final String typeName, final List<CActivity> typeActivities) {
-		LOGGER.debug("Creating type section for: {} with {} activities", typeName, typeActivities.size());
-		// Create type section container
-		final Div typeSection = new Div();
-		typeSection.addClassName("kanban-type-section");
-		// Create type header
-		final H5 typeHeader = new H5(typeName != null ? typeName : "No Type");
-		typeHeader.addClassName("kanban-type-header");
-		// Create type count
-		final Span typeCount = new Span("(" + typeActivities.size() + ")");
-		typeCount.addClassName("kanban-type-count");
-		// Create header container for type
-		final Div typeHeaderContainer = new Div();
-		typeHeaderContainer.addClassName("kanban-type-header-container");
-		typeHeaderContainer.add(typeHeader, typeCount);
-		// Create cards container for this type
-		final VerticalLayout typeCardsContainer = new VerticalLayout();
-		typeCardsContainer.addClassName("kanban-type-cards");
-		typeCardsContainer.setSpacing(true);
-		typeCardsContainer.setPadding(false);
-		typeCardsContainer.setMargin(false);
-		// Add activity cards for this type
-		for (final CActivity activity : typeActivities) {
-			try {
-				final CActivityCard card = new CActivityCard(activity);
-				typeCardsContainer.add(card);
-				LOGGER.debug("Added card for activity: {} with type: {}", activity.getName(), typeName);
-			} catch (final Exception e) {
-				LOGGER.error("Error creating card for activity: {} with type: {}", activity != null ? activity.getName() : "null", typeName, e);
-			}
-		}
-		// Add components to type section
-		typeSection.add(typeHeaderContainer, typeCardsContainer);
-		// Add type section to main container
-		cardsContainer.add(typeSection);
+	/** Adds a single activity to this column without rebuilding the other cards.
+	 * @param activity the activity to add
+	 * @param card     the card of the activity when it is moved from another column, or null to create a new one */
+	public void addActivity(final CActivity activity, final Component card) {
+		Check.notNull(activity, "Activity cannot be null");
+		activities.removeIf(existing -> existing.getId().equals(activity.getId()));
+		activities.add(activity);
+		typeSections.addEntity(activity, card);
+		updateCount();
+	}
+
+	/** Checks whether the activity with the given id is displayed in this column.
+	 * @param activityId the activity id
+	 * @return true if this column holds the activity */
+	public boolean containsActivity(final Long activityId) {
+		return typeSections.contains(activityId);
 	}
 
 	/** Gets the current activities in this column.
@@ -124,39 +105,32 @@ public class CActivityKanbanColumn extends Div {
 		cardsContainer.setSpacing(true);
 		cardsContainer.setPadding(false);
 		cardsContainer.setMargin(false);
+		// Create empty message
+		emptyMessage = new Div("No activities");
+		emptyMessage.addClassName("kanban-empty-message");
+		cardsContainer.add(emptyMessage);
+		typeSections = new CKanbanTypeSections<>(cardsContainer, this::getTypeName,
+				name -> new CKanbanTypeSection<>(name, CActivityCard::new, (card, activity) -> ((CActivityCard) card).setActivity(activity)));
 		// Populate with activity cards
 		populateCards();
 		// Add components to column
 		add(headerContainer, cardsContainer);
 	}
 
-	/** Populates the column with activity cards grouped by type. */
+	private String getTypeName(final CActivity activity) {
+		if ((activity == null) || (activity.getActivityType() == null)) {
+			return "No Type";
+		}
+		final String typeName = activity.getActivityType().getName();
+		return typeName != null ? typeName : "No Type";
+	}
+
+	/** Populates the column with activity cards grouped by type. Existing type sections are updated with a diff so that cards of unchanged
+	 * activities are reused and only new activities get new cards. */
 	private void populateCards() {
 		LOGGER.debug("Populating {} activity cards for status: {} with type grouping", activities.size(), activityStatus.getName());
-		cardsContainer.removeAll();
-		if (activities.isEmpty()) {
-			final Div emptyMessage = new Div("No activities");
-			emptyMessage.addClassName("kanban-empty-message");
-			cardsContainer.add(emptyMessage);
-			return;
-		}
-		// Group activities by type
-		final Map<String, List<CActivity>> activitiesByType = activities.stream().collect(Collectors.groupingBy(activity -> {
-			if (activity == null) {
-				return "No Type";
-			}
-			if (activity.getActivityType() == null) {
-				return "No Type";
-			}
-			final String typeName = activity.getActivityType().getName();
-			return typeName != null ? typeName : "No Type";
-		}, Collectors.toList()));
-		// Create a type section for each group
-		for (final Map.Entry<String, List<CActivity>> typeEntry : activitiesByType.entrySet()) {
-			final String typeName = typeEntry.getKey();
-			final List<CActivity> typeActivities = typeEntry.getValue();
-			createTypeSection(typeName, typeActivities);
-		}
+		typeSections.setEntities(activities);
+		emptyMessage.setVisible(activities.isEmpty());
 	}
 
 	/** Refreshes the entire column display. Useful for real-time updates. */
@@ -165,6 +139,16 @@ public class CActivityKanbanColumn extends Div {
 		populateCards();
 	}
 
+	/** Removes a single activity from this column without rebuilding the other cards.
+	 * @param activityId the id of the activity to remove
+	 * @return the detached card so it can be reused in the target column, or null if it was not rendered */
+	public Component removeActivity(final Long activityId) {
+		activities.removeIf(existing -> existing.getId().equals(activityId));
+		final Component card = typeSections.removeEntity(activityId);
+		updateCount();
+		return card;
+	}
+
 	/** Sets up drop target functionality for the kanban column. */
 	private void setupDropTarget() {
 		LOGGER.debug("Setting up drop target for column: {}", activityStatus.getName());
@@ -190,17 +174,24 @@ public class CActivityKanbanColumn extends Div {
 		});
 	}
 
-	/** Updates the column with new activities.
+	private void updateCount() {
+		if (countElement != null) {
+			countElement.setText("(" + activities.size() + ")");
+		}
+		if (emptyMessage != null) {
+			emptyMessage.setVisible(activities.isEmpty());
+		}
+	}
+
+	/** Updates the column with new activities. Only the differences to the current content are applied.
 	 * @param newActivities the updated list of activities */
 	public void updateActivities(final List<CActivity> newActivities) {
 		LOGGER.debug("Updating activities for status: {} from {} to {} activities", activityStatus.getName(), this.activities.size(),
 				newActivities != null ? newActivities.size() : 0);
-		this.activities = newActivities != null ? newActivities : List.of();
+		this.activities = newActivities != null ? new ArrayList<>(newActivities) : new ArrayList<>();
 		// Update count
-		if (countElement != null) {
-			countElement.setText("(" + activities.size() + ")");
-		}
-		// Repopulate cards
+		updateCount();
+		// Apply card diff
 		populateCards();
 	}
 }
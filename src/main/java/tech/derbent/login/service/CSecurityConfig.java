@@ -3,11 +3,15 @@ package tech.derbent.login.service;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.SecurityFilterChain;
 import com.vaadin.flow.spring.security.VaadinWebSecurity;
 import tech.derbent.login.view.CCustomLoginView;
 import tech.derbent.users.service.CUserService;
@@ -33,6 +37,23 @@ class CSecurityConfig extends VaadinWebSecurity {
 		this.authenticationEntryPoint = authenticationEntryPoint;
 	}
 
+	/** Security of the JSON API under /api/**, checked before the Vaadin chain. Clients authenticate every request with HTTP Basic against the same
+	 * users as the login view; no session is created and CSRF protection is off, since no browser cookie authenticates these requests.
+	 * @param http HttpSecurity configuration object
+	 * @return the filter chain of the API
+	 * @throws Exception if configuration fails */
+	@Bean
+	@Order (1)
+	public SecurityFilterChain apiFilterChain(final HttpSecurity http) throws Exception {
+		http.securityMatcher("/api/**");
+		http.authorizeHttpRequests(requests -> requests.anyRequest().authenticated());
+		http.httpBasic(Customizer.withDefaults());
+		http.csrf(csrf -> csrf.disable());
+		http.sessionManagement(sessions -> sessions.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+		http.userDetailsService(loginUserService);
+		return http.build();
+	}
+
 	/** Configures HTTP security settings. Sets up the login view and delegates other security configuration to Vaadin.
 	 * @param http HttpSecurity configuration object
 	 * @throws Exception if configuration fails */
@@ -7,6 +7,7 @@ import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
@@ -25,8 +26,13 @@ import tech.derbent.users.domain.CUser;
 
 /** CMeeting - Domain entity representing meetings. Layer: Domain (MVC) Inherits from CEntityOfProject to provide project association. */
 @Entity
-@Table (name = "cmeeting") // table name for the entity as the default is the class name
-// in lowercase
+@Table (name = "cmeeting", indexes = { // table name for the entity as the default is the class name in lowercase
+		// time window queries of CCalendarService, per project, assigned and responsible user; the end date leads, so the scan starts at the
+		// window start and skips the meetings that ended before it
+		@Index (name = "idx_meeting_project_time", columnList = "project_id, end_date, meeting_date"),
+		@Index (name = "idx_meeting_assignee_time", columnList = "assigned_to_id, end_date, meeting_date"),
+		@Index (name = "idx_meeting_responsible_time", columnList = "responsible_id, end_date, meeting_date")
+})
 @AttributeOverride (name = "id", column = @Column (name = "meeting_id"))
 public class CMeeting extends CEntityOfProject<CMeeting> implements IKanbanEntity {
 
@@ -41,7 +47,10 @@ public class CMeeting extends CEntityOfProject<CMeeting> implements IKanbanEntit
 	)
 	private String agenda;
 	@ManyToMany (fetch = FetchType.LAZY)
-	@JoinTable (name = "cmeeting_attendees", joinColumns = @JoinColumn (name = "meeting_id"), inverseJoinColumns = @JoinColumn (name = "user_id"))
+	@JoinTable (
+			name = "cmeeting_attendees", joinColumns = @JoinColumn (name = "meeting_id"), inverseJoinColumns = @JoinColumn (name = "user_id"),
+			indexes = @Index (name = "idx_meeting_attendees_user", columnList = "user_id, meeting_id")
+	)
 	@AMetaData (
 			displayName = "Attendees", required = false, readOnly = false, description = "Users who actually attended the meeting", hidden = false,
 			order = 12, dataProviderBean = "CUserService"
@@ -89,7 +98,10 @@ public class CMeeting extends CEntityOfProject<CMeeting> implements IKanbanEntit
 	)
 	private String minutes;
 	@ManyToMany (fetch = FetchType.LAZY)
-	@JoinTable (name = "cmeeting_participants", joinColumns = @JoinColumn (name = "meeting_id"), inverseJoinColumns = @JoinColumn (name = "user_id"))
+	@JoinTable (
+			name = "cmeeting_participants", joinColumns = @JoinColumn (name = "meeting_id"), inverseJoinColumns = @JoinColumn (name = "user_id"),
+			indexes = @Index (name = "idx_meeting_participants_user", columnList = "user_id, meeting_id")
+	)
 	@AMetaData (
 			displayName = "Participants", required = false, readOnly = false, description = "Users invited to participate in the meeting",
 			hidden = false, order = 13, dataProviderBean = "CUserService"
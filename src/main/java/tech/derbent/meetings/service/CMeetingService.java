@@ -3,20 +3,61 @@ package tech.derbent.meetings.service;
 import java.time.Clock;
 import java.util.List;
 import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.interfaces.IKanbanService;
 import tech.derbent.api.services.CEntityOfProjectService;
+import tech.derbent.api.utils.Check;
 import tech.derbent.meetings.domain.CMeeting;
 import tech.derbent.meetings.domain.CMeetingStatus;
+import tech.derbent.projects.domain.CProject;
 import tech.derbent.session.service.CSessionService;
+import tech.derbent.workload.domain.CWorkloadContribution;
+import tech.derbent.workload.service.CWorkloadService;
 
 @Service
 @PreAuthorize ("isAuthenticated()")
 public class CMeetingService extends CEntityOfProjectService<CMeeting> implements IKanbanService<CMeeting, CMeetingStatus> {
 
-	CMeetingService(final IMeetingRepository repository, final Clock clock, final CSessionService sessionService) {
+	private final CWorkloadService workloadService;
+
+	CMeetingService(final IMeetingRepository repository, final Clock clock, final CSessionService sessionService,
+			final CWorkloadService workloadService) {
 		super(repository, clock, sessionService);
+		Check.notNull(workloadService, "Workload service cannot be null");
+		this.workloadService = workloadService;
+	}
+
+	/** Deletes the meeting and removes its load from the workload rows in the same transaction. */
+	@Override
+	@Transactional
+	public void delete(final CMeeting entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CWorkloadContribution before = workloadService.readMeetingContribution(entity.getId());
+		super.delete(entity);
+		workloadService.onChanged(before, null);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		final CWorkloadContribution before = workloadService.readMeetingContribution(id);
+		super.delete(id);
+		workloadService.onChanged(before, null);
+	}
+
+	/** Soft deletes the meeting and removes its load from the workload rows. */
+	@Override
+	@Transactional
+	public void deleteWithReflection(final CMeeting entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CWorkloadContribution before = workloadService.readMeetingContribution(entity.getId());
+		super.deleteWithReflection(entity);
+		workloadService.onChanged(before, CWorkloadContribution.of(entity));
 	}
 
 	@Override
@@ -27,6 +68,55 @@ public class CMeetingService extends CEntityOfProjectService<CMeeting> implement
 	@Override
 	protected Class<CMeeting> getEntityClass() { return CMeeting.class; }
 
+	@Override
+	public Class<CMeeting> getKanbanEntityClass() { return CMeeting.class; }
+
+	/** Loads the meetings of one page with attendees and participants in two bounded queries instead of one cartesian fetch join. */
+	@Override
+	protected List<CMeeting> listByIds(final List<Long> ids) {
+		final List<CMeeting> meetings = super.listByIds(ids);
+		if (!ids.isEmpty()) {
+			((IMeetingRepository) repository).fetchParticipantsByIds(ids);
+		}
+		return meetings;
+	}
+
+	@Override
+	@Transactional (readOnly = true)
+	public Page<CMeeting> listByProject(final CProject project, final Pageable pageable) {
+		return listByProjectInTwoPhases(project, pageable);
+	}
+
+	@Override
+	@Transactional (readOnly = true)
+	public Page<CMeeting> listByProject(final CProject project, final Pageable pageable, final String searchText) {
+		// search runs on the to-one projection, collections are loaded for the resulting page only
+		final Page<CMeeting> page = super.listByProject(project, pageable, searchText);
+		return new PageImpl<>(listByIds(page.getContent().stream().map(CMeeting::getId).toList()), page.getPageable(), page.getTotalElements());
+	}
+
+	/** Restores the soft deleted meeting and puts its load back on the workload rows. */
+	@Override
+	@Transactional
+	public CMeeting restore(final CMeeting entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CWorkloadContribution before = workloadService.readMeetingContribution(entity.getId());
+		final CMeeting restored = super.restore(entity);
+		workloadService.onChanged(before, CWorkloadContribution.of(restored));
+		return restored;
+	}
+
+	/** Saves the meeting and applies the difference between its stored and new times and users to the workload rows in the same transaction. */
+	@Override
+	@Transactional
+	public CMeeting save(final CMeeting entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final CWorkloadContribution before = workloadService.readMeetingContribution(entity.getId());
+		final CMeeting saved = super.save(entity);
+		workloadService.onChanged(before, CWorkloadContribution.of(saved));
+		return saved;
+	}
+
 	@Override
 	public CMeeting updateEntityStatus(final CMeeting entity, final CMeetingStatus newStatus) {
 		tech.derbent.api.utils.CKanbanUtils.updateEntityStatusSimple(entity, newStatus, CMeeting::setStatus);
@@ -1,13 +1,20 @@
 package tech.derbent.meetings.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
 import tech.derbent.api.services.IEntityOfProjectRepository;
+import tech.derbent.calendar.domain.CCalendarEntry;
 import tech.derbent.meetings.domain.CMeeting;
 import tech.derbent.projects.domain.CProject;
+import tech.derbent.users.domain.CUser;
 
 public interface IMeetingRepository extends IEntityOfProjectRepository<CMeeting> {
 
@@ -24,17 +31,100 @@ public interface IMeetingRepository extends IEntityOfProjectRepository<CMeeting>
 			   WHERE m.id = :id
 			""")
 	Optional<CMeeting> findById(@Param ("id") Long id);
+	/** Initializes the participants of the given meetings in the current persistence context. Kept separate from {@link #listByIds} so that
+	 * attendees and participants are not joined into one cartesian product. */
+	@Query ("SELECT DISTINCT m FROM #{#entityName} m LEFT JOIN FETCH m.participants WHERE m.id IN :ids")
+	List<CMeeting> fetchParticipantsByIds(@Param ("ids") Collection<Long> ids);
+	/** Phase 2 of two-phase paging: meetings of one page with their to-one relations and attendees. */
 	@Override
 	@Query ("""
-			   SELECT m FROM #{#entityName} m
+			   SELECT DISTINCT m FROM #{#entityName} m
 			   LEFT JOIN FETCH m.project
 			   LEFT JOIN FETCH m.meetingType
 			   LEFT JOIN FETCH m.status
 			   LEFT JOIN FETCH m.responsible
 			   LEFT JOIN FETCH m.relatedActivity
 			   LEFT JOIN FETCH m.attendees
-			   LEFT JOIN FETCH m.participants
-			   WHERE m.project = :project
+			   WHERE m.id IN :ids
 			""")
+	List<CMeeting> listByIds(@Param ("ids") Collection<Long> ids);
+	/** Pages meetings with their to-one relations only; collections are loaded per page by CMeetingService. */
+	@Override
+	@Query (
+			value = """
+					   SELECT m FROM #{#entityName} m
+					   LEFT JOIN FETCH m.project
+					   LEFT JOIN FETCH m.meetingType
+					   LEFT JOIN FETCH m.status
+					   LEFT JOIN FETCH m.responsible
+					   LEFT JOIN FETCH m.relatedActivity
+					   WHERE m.project = :project AND m.isActive = true
+					""", countQuery = "SELECT COUNT(m) FROM #{#entityName} m WHERE m.project = :project AND m.isActive = true"
+	)
 	Page<CMeeting> listByProject(@Param ("project") CProject project, Pageable pageable);
+	/** Calendar entries of the meetings of the projects that overlap the window. The end date range from the window start is a range scan of
+	 * idx_meeting_project_time, open ended meetings the range of null end dates of the same index. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(m.id, m.name, p.id, p.name, m.meetingDate, m.endDate, s.color)
+			FROM #{#entityName} m JOIN m.project p LEFT JOIN m.status s
+			WHERE p.id IN :projectIds AND m.isActive = true AND m.meetingDate <= :to
+				AND (m.endDate >= :from OR (m.endDate IS NULL AND m.meetingDate >= :from))
+			ORDER BY m.meetingDate, m.id
+			""")
+	List<CCalendarEntry> listCalendarEntries(@Param ("projectIds") Collection<Long> projectIds, @Param ("from") LocalDateTime from,
+			@Param ("to") LocalDateTime to);
+	/** Calendar entries of the meetings the user attends that overlap the window. Driven by idx_meeting_attendees_user. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(m.id, m.name, p.id, p.name, m.meetingDate, m.endDate, s.color)
+			FROM #{#entityName} m JOIN m.attendees u JOIN m.project p LEFT JOIN m.status s
+			WHERE u = :user AND m.isActive = true AND m.meetingDate <= :to
+				AND (m.endDate >= :from OR (m.endDate IS NULL AND m.meetingDate >= :from))
+			""")
+	List<CCalendarEntry> listCalendarEntriesOfAttendee(@Param ("user") CUser user, @Param ("from") LocalDateTime from,
+			@Param ("to") LocalDateTime to);
+	/** Calendar entries of the meetings the user is assigned to or responsible for that overlap the window. Each side of the OR is a range scan
+	 * from the window start, of idx_meeting_assignee_time and idx_meeting_responsible_time. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(m.id, m.name, p.id, p.name, m.meetingDate, m.endDate, s.color)
+			FROM #{#entityName} m JOIN m.project p LEFT JOIN m.status s
+			WHERE (m.assignedTo = :user OR m.responsible = :user) AND m.isActive = true AND m.meetingDate <= :to
+				AND (m.endDate >= :from OR (m.endDate IS NULL AND m.meetingDate >= :from))
+			""")
+	List<CCalendarEntry> listCalendarEntriesOfOwner(@Param ("user") CUser user, @Param ("from") LocalDateTime from,
+			@Param ("to") LocalDateTime to);
+	/** Calendar entries of the meetings the user participates in that overlap the window. Driven by idx_meeting_participants_user. */
+	@Query ("""
+			SELECT new tech.derbent.calendar.domain.CCalendarEntry(m.id, m.name, p.id, p.name, m.meetingDate, m.endDate, s.color)
+			FROM #{#entityName} m JOIN m.participants u JOIN m.project p LEFT JOIN m.status s
+			WHERE u = :user AND m.isActive = true AND m.meetingDate <= :to
+				AND (m.endDate >= :from OR (m.endDate IS NULL AND m.meetingDate >= :from))
+			""")
+	List<CCalendarEntry> listCalendarEntriesOfParticipant(@Param ("user") CUser user, @Param ("from") LocalDateTime from,
+			@Param ("to") LocalDateTime to);
+	/** Meeting date and end date of the stored row, empty for a soft deleted meeting. Flush mode COMMIT keeps pending changes of the same
+	 * transaction out of the result so the state before a save is returned. */
+	@QueryHints (@QueryHint (name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query ("SELECT m.meetingDate, m.endDate FROM #{#entityName} m WHERE m.id = :id AND m.isActive = true AND m.meetingDate IS NOT NULL")
+	List<Object[]> findWorkloadTimes(@Param ("id") Long id);
+	/** Ids of the users the stored meeting puts load on: assigned, responsible, attendees and participants. Read with flush mode COMMIT like
+	 * {@link #findWorkloadTimes(Long)}. */
+	@QueryHints (@QueryHint (name = "org.hibernate.flushMode", value = "COMMIT"))
+	@Query ("""
+			SELECT u.id FROM CUser u WHERE EXISTS (
+				SELECT m.id FROM #{#entityName} m WHERE m.id = :id
+					AND (m.assignedTo = u OR m.responsible = u OR u MEMBER OF m.attendees OR u MEMBER OF m.participants))
+			""")
+	List<Long> findWorkloadUserIds(@Param ("id") Long id);
+	/** Attendee pairs (meeting id, user id) of all active meetings, used to rebuild the workload rows. */
+	@Query ("SELECT m.id, u.id FROM #{#entityName} m JOIN m.attendees u WHERE m.isActive = true AND m.meetingDate IS NOT NULL")
+	List<Object[]> listWorkloadAttendees();
+	/** Participant pairs (meeting id, user id) of all active meetings, used to rebuild the workload rows. */
+	@Query ("SELECT m.id, u.id FROM #{#entityName} m JOIN m.participants u WHERE m.isActive = true AND m.meetingDate IS NOT NULL")
+	List<Object[]> listWorkloadParticipants();
+	/** Rows (meeting id, meeting date, end date, assigned user id, responsible user id) of all active meetings, used to rebuild the workload rows. */
+	@Query ("""
+			SELECT m.id, m.meetingDate, m.endDate, a.id, r.id FROM #{#entityName} m LEFT JOIN m.assignedTo a LEFT JOIN m.responsible r
+			WHERE m.isActive = true AND m.meetingDate IS NOT NULL
+			""")
+	List<Object[]> listWorkloadTimes();
 }
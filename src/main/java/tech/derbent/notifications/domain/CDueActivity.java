@@ -0,0 +1,10 @@
+package tech.derbent.notifications.domain;
+
+import java.time.LocalDate;
+
+/** CDueActivity - An open, assigned activity with its due date, read by the due date reminder without loading the entity. Layer: Domain (MVC)
+ * @param id         activity id
+ * @param name       activity name
+ * @param assigneeId id of the assigned user
+ * @param dueDate    the due date */
+public record CDueActivity(Long id, String name, Long assigneeId, LocalDate dueDate) {}
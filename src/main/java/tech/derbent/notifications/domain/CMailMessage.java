@@ -0,0 +1,19 @@
+package tech.derbent.notifications.domain;
+
+import java.io.Serializable;
+import tech.derbent.api.utils.Check;
+
+/** CMailMessage - A plain text mail handed to a mail transport. Layer: Domain (MVC)
+ * @param from    sender address
+ * @param to      recipient address
+ * @param subject subject line
+ * @param body    plain text body */
+public record CMailMessage(String from, String to, String subject, String body) implements Serializable {
+
+	public CMailMessage {
+		Check.notBlank(from, "Sender cannot be blank");
+		Check.notBlank(to, "Recipient cannot be blank");
+		Check.notNull(subject, "Subject cannot be null");
+		Check.notNull(body, "Body cannot be null");
+	}
+}
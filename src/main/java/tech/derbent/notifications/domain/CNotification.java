@@ -0,0 +1,32 @@
+package tech.derbent.notifications.domain;
+
+import java.io.Serializable;
+import tech.derbent.api.utils.Check;
+
+/** CNotification - One message for one user, waiting in the outbox for the dispatcher. Layer: Domain (MVC) The message is a single line written
+ * when the triggering change is saved, so the dispatcher needs no entity to send it; the dispatcher merges the waiting notifications of a user
+ * into one mail.
+ * @param id          outbox row id, null until written
+ * @param recipientId id of the user to notify
+ * @param kind        what the notification is about
+ * @param entityType  class name of the entity it is about
+ * @param entityId    id of the entity it is about
+ * @param message     the line shown to the user
+ * @param dedupeKey   notifications with the same key are written once, null for no deduplication */
+public record CNotification(Long id, Long recipientId, Kind kind, String entityType, Long entityId, String message, String dedupeKey)
+		implements Serializable {
+
+	/** What a notification is about. */
+	public enum Kind {
+		APPROVAL, ASSIGNMENT, DUE_DATE
+	}
+
+	public static final int MAX_MESSAGE_LENGTH = 2000;
+
+	public CNotification {
+		Check.notNull(recipientId, "Recipient id cannot be null");
+		Check.notNull(kind, "Kind cannot be null");
+		Check.notBlank(message, "Message cannot be blank");
+		message = message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH - 1) + "…" : message;
+	}
+}
@@ -0,0 +1,47 @@
+package tech.derbent.notifications.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+import tech.derbent.api.utils.Check;
+import tech.derbent.notifications.domain.CMailMessage;
+
+/** CLocalMailTransport - Stand-in for an SMTP server, for development and tests. Layer: Service (MVC) Accepted mails are logged and kept in memory,
+ * the latest MAX_KEPT of them; nothing leaves the JVM. The server can be switched to refuse every mail, to exercise the retries of the
+ * dispatcher. */
+public class CLocalMailTransport implements IMailTransport {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CLocalMailTransport.class);
+	static final int MAX_KEPT = 1000;
+	private volatile boolean refusing;
+	private final Deque<CMailMessage> sent = new ArrayDeque<>();
+
+	/** Forgets the accepted mails. */
+	public synchronized void clear() {
+		sent.clear();
+	}
+
+	/** The accepted mails, oldest first. */
+	public synchronized List<CMailMessage> getSentMessages() { return List.copyOf(sent); }
+
+	@Override
+	public void send(final CMailMessage message) {
+		Check.notNull(message, "Message cannot be null");
+		if (refusing) {
+			throw new MailSendException("Local mail server refuses mail to " + message.to());
+		}
+		synchronized (this) {
+			if (sent.size() == MAX_KEPT) {
+				sent.removeFirst();
+			}
+			sent.addLast(message);
+		}
+		LOGGER.debug("Local mail to {}: {}", message.to(), message.subject());
+	}
+
+	/** Makes the server refuse (true) or accept (false) all following mails. */
+	public void setRefusing(final boolean refusing) { this.refusing = refusing; }
+}
@@ -0,0 +1,27 @@
+package tech.derbent.notifications.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.derbent.setup.service.ISystemSettingsRepository;
+
+/** Selects the mail transport of the notification dispatcher with derbent.mail.transport: local (default) keeps the mails in memory, see
+ * CLocalMailTransport; smtp sends them through the server of the system settings, logging in with derbent.mail.smtp.username and
+ * derbent.mail.smtp.password if a username is set. */
+@Configuration
+public class CMailConfig {
+
+	@Bean
+	@ConditionalOnProperty (name = "derbent.mail.transport", havingValue = "local", matchIfMissing = true)
+	public IMailTransport localMailTransport() {
+		return new CLocalMailTransport();
+	}
+
+	@Bean
+	@ConditionalOnProperty (name = "derbent.mail.transport", havingValue = "smtp")
+	public IMailTransport smtpMailTransport(final ISystemSettingsRepository settingsRepository,
+			@Value ("${derbent.mail.smtp.username:}") final String username, @Value ("${derbent.mail.smtp.password:}") final String password) {
+		return new CSmtpMailTransport(settingsRepository, username, password);
+	}
+}
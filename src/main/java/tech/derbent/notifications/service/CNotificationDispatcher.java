@@ -0,0 +1,233 @@
+package tech.derbent.notifications.service;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import jakarta.annotation.PreDestroy;
+import tech.derbent.api.utils.Check;
+import tech.derbent.notifications.domain.CMailMessage;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.ISystemSettingsRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** CNotificationDispatcher - Sends the notifications of the outbox as mails, on its own thread. Layer: Service (MVC) Every run claims the waiting
+ * notifications of up to derbent.notifications.batch-size users that have a due one, and sends each user one mail: the notification itself, or a
+ * digest of all of them. Claims are tokens on the rows that expire after CLAIM_MILLIS, so several nodes can dispatch from the same table and the
+ * rows of a node that died are sent by another. Mails are spaced to derbent.notifications.rate-per-second per node. A mail the server refuses is
+ * retried with doubling delays from derbent.notifications.retry-seconds on; after derbent.notifications.max-attempts the rows are marked FAILED.
+ * Rows of users without an email address are DISCARDED. Sent, failed and discarded rows are deleted after RETENTION_DAYS. Settings:
+ * <ul>
+ * <li>derbent.notifications.dispatch-ms - delay between dispatcher runs, default 5000</li>
+ * <li>derbent.notifications.batch-size - users served per run, default 100</li>
+ * <li>derbent.notifications.rate-per-second - mails per second and node, default 10</li>
+ * <li>derbent.notifications.max-attempts - attempts before a notification is given up, default 5</li>
+ * <li>derbent.notifications.retry-seconds - delay before the first retry, default 60</li>
+ * </ul>
+ */
+@Service
+public class CNotificationDispatcher {
+
+	/** One claimed outbox row. */
+	private record CClaimedRow(long id, long recipientId, String message, int attempts) {}
+
+	static final long CLAIM_MILLIS = TimeUnit.MINUTES.toMillis(10);
+	private static final String DEFAULT_FROM = "noreply@derbent.tech";
+	private static final Logger LOGGER = LoggerFactory.getLogger(CNotificationDispatcher.class);
+	private static final long MAX_RETRY_SECONDS = TimeUnit.DAYS.toSeconds(1);
+	static final int RETENTION_DAYS = 7;
+	private static final String TABLE = CNotificationOutboxService.TABLE;
+
+	/** Builds the mail of one user: a single notification as is, several as a digest. */
+	static CMailMessage compose(final String from, final String applicationName, final CUser recipient, final List<String> messages) {
+		final StringBuilder body = new StringBuilder("Hello ").append(recipient.getName()).append(",\n\n");
+		final String subject;
+		if (messages.size() == 1) {
+			subject = applicationName + ": " + messages.get(0);
+			body.append(messages.get(0)).append('\n');
+		} else {
+			subject = applicationName + ": " + messages.size() + " updates for you";
+			for (final String message : messages) {
+				body.append("- ").append(message).append('\n');
+			}
+		}
+		return new CMailMessage(from, recipient.getEmail(), subject, body.toString());
+	}
+
+	private final int batchSize;
+	private final Clock clock;
+	private final ScheduledExecutorService executor;
+	private final JdbcTemplate jdbcTemplate;
+	private long lastCleanup;
+	private final int maxAttempts;
+	private final long mailIntervalNanos;
+	private long nextMailNanos;
+	private final long retrySeconds;
+	private final ISystemSettingsRepository settingsRepository;
+	private final IMailTransport transport;
+	private final IUserRepository userRepository;
+
+	/** The outbox service is a parameter so its table exists before the first run. */
+	public CNotificationDispatcher(final DataSource dataSource, final CNotificationOutboxService outboxService, final IMailTransport transport,
+			final IUserRepository userRepository, final ISystemSettingsRepository settingsRepository, final Clock clock,
+			@Value ("${derbent.notifications.dispatch-ms:5000}") final long dispatchMillis,
+			@Value ("${derbent.notifications.batch-size:100}") final int batchSize,
+			@Value ("${derbent.notifications.rate-per-second:10}") final double ratePerSecond,
+			@Value ("${derbent.notifications.max-attempts:5}") final int maxAttempts,
+			@Value ("${derbent.notifications.retry-seconds:60}") final long retrySeconds) {
+		Check.notNull(outboxService, "Outbox service cannot be null");
+		Check.notNull(transport, "Mail transport cannot be null");
+		Check.isTrue(dispatchMillis > 0, "Dispatch interval must be positive");
+		Check.isTrue(batchSize > 0, "Batch size must be positive");
+		Check.isTrue(ratePerSecond > 0, "Rate must be positive");
+		Check.isTrue(maxAttempts > 0, "Max attempts must be positive");
+		Check.isTrue(retrySeconds >= 0, "Retry delay cannot be negative");
+		this.transport = transport;
+		this.userRepository = userRepository;
+		this.settingsRepository = settingsRepository;
+		this.clock = clock;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.retrySeconds = retrySeconds;
+		mailIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			final Thread thread = new Thread(runnable, "derbent-notification-dispatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(this::run, dispatchMillis, dispatchMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/** Claims the waiting rows of the users with a due notification, up to batchSize users, for this run. */
+	private List<CClaimedRow> claim(final String token, final LocalDateTime now) {
+		final Timestamp nowTimestamp = Timestamp.valueOf(now);
+		jdbcTemplate.update("UPDATE " + TABLE + " SET claim_token = ?, claimed_until = ? WHERE status = ? AND (claimed_until IS NULL OR claimed_until < ?)"
+				+ " AND recipient_id IN (SELECT recipient_id FROM " + TABLE + " WHERE status = ? AND next_attempt_at <= ?"
+				+ " AND (claimed_until IS NULL OR claimed_until < ?) GROUP BY recipient_id ORDER BY MIN(next_attempt_at) FETCH FIRST " + batchSize
+				+ " ROWS ONLY)", token, Timestamp.valueOf(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(CLAIM_MILLIS))),
+				CNotificationOutboxService.STATUS_PENDING, nowTimestamp, CNotificationOutboxService.STATUS_PENDING, nowTimestamp, nowTimestamp);
+		return jdbcTemplate.query("SELECT id, recipient_id, message, attempts FROM " + TABLE + " WHERE claim_token = ? ORDER BY recipient_id, id",
+				(rs, rowNum) -> new CClaimedRow(rs.getLong("id"), rs.getLong("recipient_id"), rs.getString("message"), rs.getInt("attempts")),
+				token);
+	}
+
+	private void cleanup(final LocalDateTime now) {
+		final long millis = System.currentTimeMillis();
+		if ((millis - lastCleanup) < TimeUnit.HOURS.toMillis(1)) {
+			return;
+		}
+		lastCleanup = millis;
+		final int deleted = jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE status <> ? AND created_at < ?", CNotificationOutboxService.STATUS_PENDING,
+				Timestamp.valueOf(now.minusDays(RETENTION_DAYS)));
+		LOGGER.debug("Deleted {} finished notifications", deleted);
+	}
+
+	/** Sends the due notifications now. Runs on the dispatcher thread; tests call it directly.
+	 * @return number of mails sent */
+	public synchronized int dispatch() {
+		final LocalDateTime now = LocalDateTime.now(clock);
+		final String token = UUID.randomUUID().toString();
+		final List<CClaimedRow> rows = claim(token, now);
+		if (rows.isEmpty()) {
+			return 0;
+		}
+		final Map<Long, List<CClaimedRow>> rowsByRecipient =
+				rows.stream().collect(Collectors.groupingBy(CClaimedRow::recipientId, LinkedHashMap::new, Collectors.toList()));
+		final Map<Long, CUser> recipients =
+				userRepository.findAllById(rowsByRecipient.keySet()).stream().collect(Collectors.toMap(CUser::getId, Function.identity()));
+		final CSystemSettings settings = settingsRepository.findSystemSettings().orElseGet(CSystemSettings::new);
+		final String from =
+				(settings.getSystemEmailFrom() != null) && !settings.getSystemEmailFrom().isBlank() ? settings.getSystemEmailFrom() : DEFAULT_FROM;
+		final String applicationName = settings.getApplicationName() != null ? settings.getApplicationName() : "Derbent";
+		int sent = 0;
+		for (final Map.Entry<Long, List<CClaimedRow>> entry : rowsByRecipient.entrySet()) {
+			final CUser recipient = recipients.get(entry.getKey());
+			if ((recipient == null) || (recipient.getEmail() == null) || recipient.getEmail().isBlank()) {
+				finish(token, entry.getKey(), CNotificationOutboxService.STATUS_DISCARDED, now, "Recipient has no email address");
+				continue;
+			}
+			final CMailMessage message = compose(from, applicationName, recipient, entry.getValue().stream().map(CClaimedRow::message).toList());
+			try {
+				throttle();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				// the remaining rows go back to the outbox for the next run or node
+				jdbcTemplate.update("UPDATE " + TABLE + " SET claim_token = NULL, claimed_until = NULL WHERE claim_token = ?", token);
+				return sent;
+			}
+			try {
+				transport.send(message);
+				finish(token, entry.getKey(), CNotificationOutboxService.STATUS_SENT, now, null);
+				sent++;
+			} catch (final RuntimeException e) {
+				LOGGER.warn("Mail to user {} failed: {}", entry.getKey(), e.getMessage());
+				retryLater(entry.getValue(), now, e.getMessage());
+			}
+		}
+		LOGGER.debug("Sent {} notification mails for {} notifications", sent, rows.size());
+		return sent;
+	}
+
+	private void finish(final String token, final Long recipientId, final String status, final LocalDateTime now, final String error) {
+		jdbcTemplate.update(
+				"UPDATE " + TABLE + " SET status = ?, sent_at = ?, last_error = ?, claim_token = NULL, claimed_until = NULL WHERE claim_token = ?"
+						+ " AND recipient_id = ?",
+				status, CNotificationOutboxService.STATUS_SENT.equals(status) ? Timestamp.valueOf(now) : null, error, token, recipientId);
+	}
+
+	private void retryLater(final List<CClaimedRow> rows, final LocalDateTime now, final String error) {
+		final String lastError = (error != null) && (error.length() > 1000) ? error.substring(0, 1000) : error;
+		final List<Object[]> updates = new ArrayList<>();
+		for (final CClaimedRow row : rows) {
+			final int attempts = row.attempts() + 1;
+			final long delay = Math.min(MAX_RETRY_SECONDS, retrySeconds << Math.min(attempts - 1, 20));
+			updates.add(new Object[] {
+					attempts, attempts >= maxAttempts ? CNotificationOutboxService.STATUS_FAILED : CNotificationOutboxService.STATUS_PENDING,
+					Timestamp.valueOf(now.plusSeconds(delay)), lastError, row.id()
+			});
+		}
+		jdbcTemplate.batchUpdate("UPDATE " + TABLE
+				+ " SET attempts = ?, status = ?, next_attempt_at = ?, last_error = ?, claim_token = NULL, claimed_until = NULL WHERE id = ?", updates);
+	}
+
+	private void run() {
+		try {
+			dispatch();
+			cleanup(LocalDateTime.now(clock));
+		} catch (final RuntimeException e) {
+			// keep dispatching, the database or mail server may be back on the next run
+			LOGGER.error("Dispatching notifications failed: {}", e.getMessage(), e);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/** Waits until the next mail is allowed by the rate. */
+	private void throttle() throws InterruptedException {
+		final long now = System.nanoTime();
+		if (nextMailNanos > now) {
+			TimeUnit.NANOSECONDS.sleep(nextMailNanos - now);
+		}
+		nextMailNanos = Math.max(now, nextMailNanos) + mailIntervalNanos;
+	}
+}
@@ -0,0 +1,130 @@
+package tech.derbent.notifications.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.Hibernate;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.api.domains.CEntityOfProject;
+import tech.derbent.notifications.domain.CNotification;
+import tech.derbent.notifications.domain.CNotification.Kind;
+import tech.derbent.orders.domain.COrder;
+import tech.derbent.orders.domain.COrderApproval;
+import tech.derbent.users.domain.CUser;
+
+/** Hibernate listener that turns flushed assignments and approval changes into notifications. The changed fields are read from the old and new
+ * state of the flush, so a save costs no query; the outbox rows are inserted on the session's connection just before the transaction commits, so
+ * they commit or roll back with the change. Nobody is notified of a change they made themselves. */
+final class CNotificationEventListener implements PostInsertEventListener, PostUpdateEventListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private static Long idOf(final Object value) {
+		return value instanceof final CEntityDB<?> entity ? entity.getId() : null;
+	}
+
+	private static int indexOf(final EntityPersister persister, final String property) {
+		final String[] names = persister.getPropertyNames();
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(property)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/** True if the user is the authenticated user, as far as can be told without loading the user. */
+	private static boolean isActor(final Object user) {
+		final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return (authentication != null) && (user instanceof final CUser candidate) && Hibernate.isInitialized(candidate)
+				&& Objects.equals(authentication.getName(), candidate.getLogin());
+	}
+
+	private static String labelOf(final Object entity) {
+		final String type = Hibernate.getClass(entity).getSimpleName();
+		final String label = type.startsWith("C") && (type.length() > 1) ? type.substring(1) : type;
+		return (entity instanceof final CEntityNamed<?> named) && (named.getName() != null) ? label + " '" + named.getName() + "'"
+				: label + " #" + idOf(entity);
+	}
+
+	private static Object valueOf(final EntityPersister persister, final Object[] state, final String property) {
+		final int index = state != null ? indexOf(persister, property) : -1;
+		return index >= 0 ? state[index] : null;
+	}
+
+	private final CNotificationOutboxService outboxService;
+
+	CNotificationEventListener(final CNotificationOutboxService outboxService) {
+		this.outboxService = outboxService;
+	}
+
+	private void collect(final Object entity, final EntityPersister persister, final Object[] oldState, final Object[] newState, final Long id,
+			final List<CNotification> notifications) {
+		if (entity instanceof CEntityOfProject) {
+			final Object assignee = valueOf(persister, newState, "assignedTo");
+			if ((idOf(assignee) != null) && !Objects.equals(idOf(assignee), idOf(valueOf(persister, oldState, "assignedTo"))) && !isActor(assignee)) {
+				notifications.add(new CNotification(null, idOf(assignee), Kind.ASSIGNMENT, Hibernate.getClass(entity).getName(), id,
+						labelOf(entity) + " was assigned to you", null));
+			}
+		}
+		if (entity instanceof final COrderApproval approval) {
+			final COrder order = approval.getOrder();
+			final String subject = labelOf(approval) + ((order != null) && Hibernate.isInitialized(order) ? " of " + labelOf(order) : "");
+			final Object approver = valueOf(persister, newState, "approver");
+			if ((idOf(approver) != null) && !Objects.equals(idOf(approver), idOf(valueOf(persister, oldState, "approver"))) && !isActor(approver)) {
+				notifications.add(new CNotification(null, idOf(approver), Kind.APPROVAL, COrderApproval.class.getName(), id,
+						"Your approval is requested: " + subject, null));
+			}
+			final Object status = valueOf(persister, newState, "approvalStatus");
+			if ((oldState != null) && (idOf(status) != null) && !Objects.equals(idOf(status), idOf(valueOf(persister, oldState, "approvalStatus")))
+					&& (order != null) && Hibernate.isInitialized(order) && (order.getRequestor() != null) && !isActor(order.getRequestor())) {
+				final String statusName = Hibernate.isInitialized(status) ? ((CEntityNamed<?>) status).getName() : "decided";
+				notifications.add(new CNotification(null, order.getRequestor().getId(), Kind.APPROVAL, COrderApproval.class.getName(), id,
+						subject + " is now " + statusName, null));
+			}
+		}
+	}
+
+	@Override
+	public void onPostInsert(final PostInsertEvent event) {
+		final List<CNotification> notifications = new ArrayList<>();
+		collect(event.getEntity(), event.getPersister(), null, event.getState(), ((Number) event.getId()).longValue(), notifications);
+		write(event.getSession(), notifications);
+	}
+
+	@Override
+	public void onPostUpdate(final PostUpdateEvent event) {
+		// without the loaded state (an update of a detached instance without merge) a change cannot be told apart from a repeated save
+		if (event.getOldState() == null) {
+			return;
+		}
+		final List<CNotification> notifications = new ArrayList<>();
+		collect(event.getEntity(), event.getPersister(), event.getOldState(), event.getState(), ((Number) event.getId()).longValue(),
+				notifications);
+		write(event.getSession(), notifications);
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(final EntityPersister persister) {
+		return false;
+	}
+
+	private void write(final EventSource session, final List<CNotification> notifications) {
+		if (notifications.isEmpty()) {
+			return;
+		}
+		session.getActionQueue().registerProcess(
+				(BeforeTransactionCompletionProcess) completingSession -> completingSession.doWork(connection -> outboxService.insert(connection,
+						notifications)));
+	}
+}
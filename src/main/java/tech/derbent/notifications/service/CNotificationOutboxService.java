@@ -0,0 +1,204 @@
+package tech.derbent.notifications.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.utils.Check;
+import tech.derbent.notifications.domain.CDueActivity;
+import tech.derbent.notifications.domain.CNotification;
+import tech.derbent.notifications.domain.CNotification.Kind;
+
+/** CNotificationOutboxService - Persistent outbox of user notifications. Layer: Service (MVC) Notifications are rows of cnotification_outbox,
+ * written in the transaction of the change that triggers them: assignments of project entities and approval requests and decisions are picked up
+ * by a Hibernate listener, other code calls {@link #enqueue(CNotification)} inside its transaction. Nothing is sent here; CNotificationDispatcher
+ * reads the rows on its own thread, so a save only pays for the insert. A new row becomes due after derbent.notifications.digest-seconds, and the
+ * dispatcher sends everything waiting for a user as one mail, so a burst of changes becomes a single digest. Due date reminders are queued by a
+ * daily scan; their dedupe key makes every node and every rerun queue them once. Settings:
+ * <ul>
+ * <li>derbent.notifications.digest-seconds - how long a new notification waits for others of the same user, default 300</li>
+ * <li>derbent.notifications.due-cron - schedule of the due date reminders, default daily at 07:00</li>
+ * <li>derbent.notifications.due-days-ahead - reminders are for activities due this many days after the scan, default 1</li>
+ * </ul>
+ */
+@Service
+public class CNotificationOutboxService {
+
+	private static final int DUE_PAGE_SIZE = 500;
+	private static final Logger LOGGER = LoggerFactory.getLogger(CNotificationOutboxService.class);
+	static final String STATUS_DISCARDED = "DISCARDED";
+	static final String STATUS_FAILED = "FAILED";
+	static final String STATUS_PENDING = "PENDING";
+	static final String STATUS_SENT = "SENT";
+	static final String TABLE = "cnotification_outbox";
+	private static final String INSERT = "INSERT INTO " + TABLE
+			+ " (recipient_id, kind, entity_type, entity_id, message, dedupe_key, status, attempts, next_attempt_at, created_at)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, '" + STATUS_PENDING + "', 0, ?, ?)";
+	private final IActivityRepository activityRepository;
+	private final Clock clock;
+	private final long digestSeconds;
+	private final int dueDaysAhead;
+	private final EntityManagerFactory entityManagerFactory;
+	private final JdbcTemplate jdbcTemplate;
+
+	public CNotificationOutboxService(final DataSource dataSource, final EntityManagerFactory entityManagerFactory,
+			final IActivityRepository activityRepository, final Clock clock, @Value ("${derbent.notifications.digest-seconds:300}") final long digestSeconds,
+			@Value ("${derbent.notifications.due-days-ahead:1}") final int dueDaysAhead) {
+		Check.isTrue(digestSeconds >= 0, "Digest delay cannot be negative");
+		Check.isTrue(dueDaysAhead >= 0, "Due days ahead cannot be negative");
+		this.entityManagerFactory = entityManagerFactory;
+		this.activityRepository = activityRepository;
+		this.clock = clock;
+		this.digestSeconds = digestSeconds;
+		this.dueDaysAhead = dueDaysAhead;
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+				+ " recipient_id BIGINT NOT NULL, kind VARCHAR(16) NOT NULL, entity_type VARCHAR(255), entity_id BIGINT, message VARCHAR("
+				+ CNotification.MAX_MESSAGE_LENGTH + ") NOT NULL, dedupe_key VARCHAR(255), status VARCHAR(16) NOT NULL, attempts INT NOT NULL,"
+				+ " next_attempt_at TIMESTAMP NOT NULL, claim_token VARCHAR(36), claimed_until TIMESTAMP, created_at TIMESTAMP NOT NULL,"
+				+ " sent_at TIMESTAMP, last_error VARCHAR(1000))");
+		// the dispatcher looks for due rows and then for all rows of their recipients
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + TABLE + "_due_idx ON " + TABLE + " (status, next_attempt_at)");
+		jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + TABLE + "_recipient_idx ON " + TABLE + " (recipient_id, status)");
+		jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + TABLE + "_dedupe_idx ON " + TABLE + " (dedupe_key)");
+	}
+
+	/** Queues a notification in the caller's transaction, so it is only sent if the transaction commits. Without a transaction it is written at
+	 * once.
+	 * @param notification the notification */
+	public void enqueue(final CNotification notification) {
+		Check.notNull(notification, "Notification cannot be null");
+		jdbcTemplate.update(connection -> prepareInsert(connection, notification, LocalDateTime.now(clock)));
+	}
+
+	/** Writes the notifications on the given connection, the one of the transaction that triggered them. Called by the Hibernate listener. */
+	void insert(final Connection connection, final List<CNotification> notifications) throws SQLException {
+		final LocalDateTime now = LocalDateTime.now(clock);
+		try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+			for (final CNotification notification : notifications) {
+				bind(statement, notification, now);
+				statement.addBatch();
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private void bind(final PreparedStatement statement, final CNotification notification, final LocalDateTime now) throws SQLException {
+		statement.setLong(1, notification.recipientId());
+		statement.setString(2, notification.kind().name());
+		statement.setString(3, notification.entityType());
+		if (notification.entityId() != null) {
+			statement.setLong(4, notification.entityId());
+		} else {
+			statement.setNull(4, Types.BIGINT);
+		}
+		statement.setString(5, notification.message());
+		statement.setString(6, notification.dedupeKey());
+		statement.setTimestamp(7, Timestamp.valueOf(now.plusSeconds(digestSeconds)));
+		statement.setTimestamp(8, Timestamp.valueOf(now));
+	}
+
+	/** Notifications of the user that wait for the dispatcher, oldest first. */
+	List<CNotification> listPending(final Long recipientId) {
+		return jdbcTemplate.query(
+				"SELECT id, recipient_id, kind, entity_type, entity_id, message, dedupe_key FROM " + TABLE
+						+ " WHERE recipient_id = ? AND status = ? ORDER BY id",
+				(rs, rowNum) -> new CNotification(rs.getLong("id"), rs.getLong("recipient_id"), Kind.valueOf(rs.getString("kind")),
+						rs.getString("entity_type"), rs.getObject("entity_id", Long.class), rs.getString("message"), rs.getString("dedupe_key")),
+				recipientId, STATUS_PENDING);
+	}
+
+	private PreparedStatement prepareInsert(final Connection connection, final CNotification notification, final LocalDateTime now)
+			throws SQLException {
+		final PreparedStatement statement = connection.prepareStatement(INSERT);
+		bind(statement, notification, now);
+		return statement;
+	}
+
+	/** Queues a reminder for every open, assigned activity due derbent.notifications.due-days-ahead days after today. Reminders already queued, by
+	 * an earlier run or another node, are skipped.
+	 * @return number of queued reminders */
+	public int queueDueDateReminders() {
+		final LocalDate dueDate = LocalDate.now(clock).plusDays(dueDaysAhead);
+		int queued = 0;
+		long afterId = 0;
+		while (true) {
+			final List<CDueActivity> page = activityRepository.listDueActivities(dueDate, afterId, PageRequest.of(0, DUE_PAGE_SIZE));
+			if (page.isEmpty()) {
+				break;
+			}
+			afterId = page.get(page.size() - 1).id();
+			queued += queueReminders(page);
+		}
+		LOGGER.info("Queued {} due date reminders for {}", queued, dueDate);
+		return queued;
+	}
+
+	private int queueReminders(final List<CDueActivity> activities) {
+		final List<CNotification> reminders = new ArrayList<>();
+		for (final CDueActivity activity : activities) {
+			reminders.add(new CNotification(null, activity.assigneeId(), Kind.DUE_DATE, CActivity.class.getName(), activity.id(),
+					"Activity '" + activity.name() + "' is due on " + activity.dueDate(), Kind.DUE_DATE + ":" + activity.id() + ":" + activity.dueDate()));
+		}
+		final Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT dedupe_key FROM " + TABLE + " WHERE dedupe_key IN (" + String.join(", ", Collections.nCopies(reminders.size(), "?")) + ")",
+				String.class, reminders.stream().map(CNotification::dedupeKey).toArray()));
+		int queued = 0;
+		for (final CNotification reminder : reminders) {
+			if (existing.contains(reminder.dedupeKey())) {
+				continue;
+			}
+			try {
+				enqueue(reminder);
+				queued++;
+			} catch (final DuplicateKeyException e) {
+				LOGGER.debug("Reminder {} was queued by another node", reminder.dedupeKey());
+			}
+		}
+		return queued;
+	}
+
+	@PostConstruct
+	public void registerListener() {
+		final CNotificationEventListener listener = new CNotificationEventListener(this);
+		final EventListenerRegistry registry =
+				entityManagerFactory.unwrap(SessionFactoryImplementor.class).getServiceRegistry().getService(EventListenerRegistry.class);
+		registry.appendListeners(EventType.POST_INSERT, listener);
+		registry.appendListeners(EventType.POST_UPDATE, listener);
+		LOGGER.info("Notification listener registered");
+	}
+
+	@Scheduled (cron = "${derbent.notifications.due-cron:0 0 7 * * *}")
+	public void runDueDateReminders() {
+		try {
+			queueDueDateReminders();
+		} catch (final RuntimeException e) {
+			LOGGER.error("Queueing due date reminders failed: {}", e.getMessage(), e);
+		}
+	}
+}
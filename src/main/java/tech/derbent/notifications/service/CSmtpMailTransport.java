@@ -0,0 +1,73 @@
+package tech.derbent.notifications.service;
+
+import java.util.Objects;
+import java.util.Properties;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import tech.derbent.api.utils.Check;
+import tech.derbent.notifications.domain.CMailMessage;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.ISystemSettingsRepository;
+
+/** CSmtpMailTransport - Sends mails through the SMTP server of the system settings. Layer: Service (MVC) Server, port and TLS are read from
+ * CSystemSettings at most every SETTINGS_TTL_MILLIS, so a changed server is picked up without a restart; the credentials, which the settings do not
+ * hold, come from derbent.mail.smtp.username and derbent.mail.smtp.password. Connect, read and write time out after TIMEOUT_MILLIS, so an
+ * unreachable server delays the dispatcher only briefly. Only the dispatcher thread calls it. */
+public class CSmtpMailTransport implements IMailTransport {
+
+	static final long SETTINGS_TTL_MILLIS = 60_000;
+	private static final String TIMEOUT_MILLIS = "10000";
+	private final String password;
+	private JavaMailSenderImpl sender;
+	private String senderKey;
+	private long settingsReadAt;
+	private final ISystemSettingsRepository settingsRepository;
+	private final String username;
+
+	public CSmtpMailTransport(final ISystemSettingsRepository settingsRepository, final String username, final String password) {
+		Check.notNull(settingsRepository, "Settings repository cannot be null");
+		this.settingsRepository = settingsRepository;
+		this.username = username;
+		this.password = password;
+	}
+
+	private JavaMailSenderImpl getSender() {
+		final long now = System.currentTimeMillis();
+		if ((sender != null) && ((now - settingsReadAt) < SETTINGS_TTL_MILLIS)) {
+			return sender;
+		}
+		final CSystemSettings settings = settingsRepository.findSystemSettings().orElseGet(CSystemSettings::new);
+		settingsReadAt = now;
+		final String key = settings.getSmtpServer() + ":" + settings.getSmtpPort() + ":" + settings.getSmtpUseTls();
+		if ((sender == null) || !Objects.equals(key, senderKey)) {
+			Check.notBlank(settings.getSmtpServer(), "SMTP server is not configured");
+			final JavaMailSenderImpl created = new JavaMailSenderImpl();
+			created.setHost(settings.getSmtpServer());
+			created.setPort(settings.getSmtpPort());
+			if ((username != null) && !username.isBlank()) {
+				created.setUsername(username);
+				created.setPassword(password);
+			}
+			final Properties properties = created.getJavaMailProperties();
+			properties.put("mail.smtp.auth", String.valueOf((username != null) && !username.isBlank()));
+			properties.put("mail.smtp.starttls.enable", String.valueOf(Boolean.TRUE.equals(settings.getSmtpUseTls())));
+			properties.put("mail.smtp.connectiontimeout", TIMEOUT_MILLIS);
+			properties.put("mail.smtp.timeout", TIMEOUT_MILLIS);
+			properties.put("mail.smtp.writetimeout", TIMEOUT_MILLIS);
+			sender = created;
+			senderKey = key;
+		}
+		return sender;
+	}
+
+	@Override
+	public void send(final CMailMessage message) {
+		Check.notNull(message, "Message cannot be null");
+		final SimpleMailMessage mail = new SimpleMailMessage();
+		mail.setFrom(message.from());
+		mail.setTo(message.to());
+		mail.setSubject(message.subject());
+		mail.setText(message.body());
+		getSender().send(mail);
+	}
+}
@@ -0,0 +1,13 @@
+package tech.derbent.notifications.service;
+
+import tech.derbent.notifications.domain.CMailMessage;
+
+/** Hands mails to a mail server. Called from the notification dispatcher thread only, never from a request. Implementations are selected with
+ * derbent.mail.transport, see CMailConfig. */
+public interface IMailTransport {
+
+	/** Sends one mail.
+	 * @param message the mail
+	 * @throws RuntimeException if the mail was not accepted; the dispatcher retries it later */
+	void send(CMailMessage message);
+}
@@ -3,7 +3,10 @@ package tech.derbent.orders.domain;
 import jakarta.persistence.AttributeOverride;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
+import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.domains.CStatus;
 import tech.derbent.projects.domain.CProject;
 
@@ -15,6 +18,14 @@ public class CApprovalStatus extends CStatus<CApprovalStatus> {
 	public static final String DEFAULT_COLOR = "#28a745";
 	public static final String DEFAULT_ICON = "vaadin:check";
 	public static final String VIEW_NAME = "Approval Status View";
+	@Enumerated (EnumType.STRING)
+	@Column (name = "decision", nullable = false, length = 16, columnDefinition = "VARCHAR(16) DEFAULT 'PENDING'")
+	@AMetaData (
+			displayName = "Decision", required = true, readOnly = false, defaultValue = "PENDING",
+			description = "What the status means to the approval workflow: waiting, approved or rejected", hidden = false, order = 5,
+			useRadioButtons = false
+	)
+	private EApprovalDecision decision = EApprovalDecision.PENDING;
 
 	/** Default constructor for JPA. */
 	public CApprovalStatus() {
@@ -27,8 +38,12 @@ public class CApprovalStatus extends CStatus<CApprovalStatus> {
 		setColor(DEFAULT_COLOR);
 	}
 
+	public EApprovalDecision getDecision() { return decision; }
+
 	@Override
 	public void initializeAllFields() {
 		// TODO Auto-generated method stub
 	}
+
+	public void setDecision(final EApprovalDecision decision) { this.decision = decision; }
 }
@@ -0,0 +1,13 @@
+package tech.derbent.orders.domain;
+
+/** CApprovalStep - One approval step of an order as the approval workflow sees it, read without loading the entities. Layer: Domain (MVC)
+ * @param approvalId   approval id
+ * @param orderId      order id
+ * @param projectId    project of the order
+ * @param orderName    order name
+ * @param approvalName approval step name
+ * @param approverId   id of the approver, null if none is assigned
+ * @param level        approval level, lower levels decide first
+ * @param decision     decision of the step's status */
+public record CApprovalStep(Long approvalId, Long orderId, Long projectId, String orderName, String approvalName, Long approverId, Integer level,
+		EApprovalDecision decision) {}
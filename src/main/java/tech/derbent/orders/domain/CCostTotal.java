@@ -0,0 +1,20 @@
+package tech.derbent.orders.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** CCostTotal - Costs of a project summed by the database for one currency and date. Layer: Domain (MVC) Built by JPQL constructor expressions with
+ * GROUP BY, so a cost roll-up reads one row per project, currency and order date instead of one per order. Activity costs have neither currency nor
+ * date and sum to one row per project.
+ * @param projectId     project id
+ * @param currencyCode  ISO 4217 code of the amounts, null for activities and orders without a currency
+ * @param date          date the amounts are converted on, null for activities
+ * @param estimatedCost sum of the estimated costs, null if none is set
+ * @param actualCost    sum of the actual costs, null if none is set */
+public record CCostTotal(Long projectId, String currencyCode, LocalDate date, BigDecimal estimatedCost, BigDecimal actualCost) {
+
+	/** Totals of the activities of a project, which carry no currency. */
+	public CCostTotal(final Long projectId, final BigDecimal estimatedCost, final BigDecimal actualCost) {
+		this(projectId, null, null, estimatedCost, actualCost);
+	}
+}
@@ -0,0 +1,93 @@
+package tech.derbent.orders.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import tech.derbent.api.annotations.AMetaData;
+import tech.derbent.api.domains.CEntityDB;
+
+/** CExchangeRate - Exchange rate between two currencies from a date on. Layer: Domain (MVC) Rates are keyed by ISO 4217 code rather than by CCurrency,
+ * whose rows belong to a project, so one rate table serves all projects. A rate is in effect from its effective date until the next rate of the same
+ * pair; an amount in the source currency times the rate is the amount in the target currency. */
+@Entity
+@Table (name = "cexchangerate", uniqueConstraints = {
+		@UniqueConstraint (name = "uk_exchangerate_pair_date", columnNames = {
+				"from_currency_code", "to_currency_code", "effective_date"
+		})
+})
+public class CExchangeRate extends CEntityDB<CExchangeRate> {
+
+	@Column (name = "effective_date", nullable = false)
+	@NotNull
+	@AMetaData (
+			displayName = "Effective Date", required = true, readOnly = false, description = "First day the rate is in effect", hidden = false, order = 3
+	)
+	private LocalDate effectiveDate;
+	@Column (name = "from_currency_code", nullable = false, length = 3)
+	@Size (max = 3, min = 3, message = "Currency code must be exactly 3 characters")
+	@AMetaData (
+			displayName = "From Currency", required = true, readOnly = false, description = "ISO 4217 code of the source currency", hidden = false,
+			order = 1, maxLength = 3
+	)
+	private String fromCurrencyCode;
+	@Column (name = "rate", nullable = false, precision = 19, scale = 8)
+	@NotNull
+	@DecimalMin (value = "0.0", inclusive = false, message = "Rate must be positive")
+	@AMetaData (
+			displayName = "Rate", required = true, readOnly = false, description = "Units of the target currency for one unit of the source currency",
+			hidden = false, order = 4
+	)
+	private BigDecimal rate;
+	@Column (name = "to_currency_code", nullable = false, length = 3)
+	@Size (max = 3, min = 3, message = "Currency code must be exactly 3 characters")
+	@AMetaData (
+			displayName = "To Currency", required = true, readOnly = false, description = "ISO 4217 code of the target currency", hidden = false,
+			order = 2, maxLength = 3
+	)
+	private String toCurrencyCode;
+
+	/** Default constructor for JPA. */
+	public CExchangeRate() {
+		super(CExchangeRate.class);
+	}
+
+	public CExchangeRate(final String fromCurrencyCode, final String toCurrencyCode, final LocalDate effectiveDate, final BigDecimal rate) {
+		super(CExchangeRate.class);
+		this.fromCurrencyCode = fromCurrencyCode;
+		this.toCurrencyCode = toCurrencyCode;
+		this.effectiveDate = effectiveDate;
+		this.rate = rate;
+	}
+
+	public LocalDate getEffectiveDate() { return effectiveDate; }
+
+	public String getFromCurrencyCode() { return fromCurrencyCode; }
+
+	public BigDecimal getRate() { return rate; }
+
+	public String getToCurrencyCode() { return toCurrencyCode; }
+
+	@Override
+	public void initializeAllFields() {
+		// no lazy relations
+	}
+
+	public void setEffectiveDate(final LocalDate effectiveDate) { this.effectiveDate = effectiveDate; }
+
+	public void setFromCurrencyCode(final String fromCurrencyCode) { this.fromCurrencyCode = fromCurrencyCode; }
+
+	public void setRate(final BigDecimal rate) { this.rate = rate; }
+
+	public void setToCurrencyCode(final String toCurrencyCode) { this.toCurrencyCode = toCurrencyCode; }
+
+	@Override
+	public String toString() {
+		return "CExchangeRate{" + fromCurrencyCode + "/" + toCurrencyCode + " " + rate + " from " + effectiveDate + "}";
+	}
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -16,14 +17,19 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Size;
+import tech.derbent.api.annotations.AAudited;
 import tech.derbent.api.annotations.AMetaData;
 import tech.derbent.api.domains.CEntityOfProject;
 import tech.derbent.api.utils.Check;
 import tech.derbent.projects.domain.CProject;
 import tech.derbent.users.domain.CUser;
 
+@AAudited
 @Entity
-@Table (name = "corder")
+@Table (name = "corder", indexes = {
+		// grouped cost totals of CProjectCostService, per project, currency and order date
+		@Index (name = "idx_order_project_cost", columnList = "project_id, currency_id, order_date")
+})
 @AttributeOverride (name = "id", column = @Column (name = "order_id"))
 public class COrder extends CEntityOfProject<COrder> {
 
@@ -0,0 +1,106 @@
+package tech.derbent.orders.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import tech.derbent.api.domains.CEntityDB;
+import tech.derbent.api.utils.Check;
+
+/** CPendingApproval - An approval step that waits for its approver now. Layer: Domain (MVC) One row per pending step of the open level of an order,
+ * with the order and step names copied, so the inbox of an approver is one range of idx_pendingapproval_approver without joining orders or
+ * approvals. Rows are maintained by CPendingApprovalService in the transaction of every approval and order change. */
+@Entity
+@Table (name = "cpendingapproval", uniqueConstraints = {
+		@UniqueConstraint (name = "uk_pendingapproval_approval", columnNames = "approval_id")
+}, indexes = {
+		@Index (name = "idx_pendingapproval_approver", columnList = "approver_id, approval_level, requested_at, id"),
+		@Index (name = "idx_pendingapproval_order", columnList = "order_id")
+})
+public class CPendingApproval extends CEntityDB<CPendingApproval> {
+
+	@NotNull
+	@Column (name = "approval_id", nullable = false)
+	private Long approvalId;
+	@Column (name = "approval_level", nullable = false)
+	private Integer approvalLevel;
+	@Column (name = "approval_name", nullable = true, length = 255)
+	private String approvalName;
+	@NotNull
+	@Column (name = "approver_id", nullable = false)
+	private Long approverId;
+	@NotNull
+	@Column (name = "order_id", nullable = false)
+	private Long orderId;
+	@Column (name = "order_name", nullable = true, length = 255)
+	private String orderName;
+	@Column (name = "project_id", nullable = false)
+	private Long projectId;
+	@Column (name = "requested_at", nullable = false)
+	private LocalDateTime requestedAt;
+
+	/** Default constructor for JPA. */
+	public CPendingApproval() {
+		super(CPendingApproval.class);
+	}
+
+	public CPendingApproval(final CApprovalStep step, final LocalDateTime requestedAt) {
+		super(CPendingApproval.class);
+		Check.notNull(requestedAt, "Requested at cannot be null");
+		approvalId = step.approvalId();
+		this.requestedAt = requestedAt;
+		update(step);
+	}
+
+	public Long getApprovalId() { return approvalId; }
+
+	public Integer getApprovalLevel() { return approvalLevel; }
+
+	public String getApprovalName() { return approvalName; }
+
+	public Long getApproverId() { return approverId; }
+
+	public Long getOrderId() { return orderId; }
+
+	public String getOrderName() { return orderName; }
+
+	public Long getProjectId() { return projectId; }
+
+	/** When the step started waiting for its approver. */
+	public LocalDateTime getRequestedAt() { return requestedAt; }
+
+	@Override
+	public void initializeAllFields() {
+		// no lazy relations
+	}
+
+	/** Whether the row already holds the values of the step. */
+	public boolean matches(final CApprovalStep step) {
+		return step.approverId().equals(approverId) && step.level().equals(approvalLevel) && step.orderId().equals(orderId)
+				&& step.projectId().equals(projectId) && Objects.equals(step.orderName(), orderName)
+				&& Objects.equals(step.approvalName(), approvalName);
+	}
+
+	/** Copies the values of the step, the request time stays. */
+	public void update(final CApprovalStep step) {
+		Check.notNull(step, "Step cannot be null");
+		Check.isTrue(step.approvalId().equals(approvalId), "Step belongs to another approval");
+		Check.notNull(step.approverId(), "A pending approval needs an approver");
+		orderId = step.orderId();
+		projectId = step.projectId();
+		orderName = step.orderName();
+		approvalName = step.approvalName();
+		approverId = step.approverId();
+		approvalLevel = step.level();
+	}
+
+	@Override
+	public String toString() {
+		return "CPendingApproval{approvalId=" + approvalId + ", orderId=" + orderId + ", approverId=" + approverId + ", approvalLevel="
+				+ approvalLevel + '}';
+	}
+}
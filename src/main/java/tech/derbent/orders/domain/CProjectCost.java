@@ -0,0 +1,27 @@
+package tech.derbent.orders.domain;
+
+import java.math.BigDecimal;
+
+/** CProjectCost - Order and activity costs of a project in one reporting currency. Layer: Domain (MVC) Orders without a currency cannot be
+ * converted; their costs are kept apart, as they are, and are not part of the totals.
+ * @param projectId                    project id
+ * @param currencyCode                 ISO 4217 code of the reporting currency
+ * @param orderEstimatedCost           estimated costs of the active orders
+ * @param orderActualCost              actual costs of the active orders
+ * @param activityEstimatedCost        estimated costs of the active activities
+ * @param activityActualCost           actual costs of the active activities
+ * @param unknownCurrencyEstimatedCost estimated costs of the active orders without a currency, not converted
+ * @param unknownCurrencyActualCost    actual costs of the active orders without a currency, not converted */
+public record CProjectCost(Long projectId, String currencyCode, BigDecimal orderEstimatedCost, BigDecimal orderActualCost,
+		BigDecimal activityEstimatedCost, BigDecimal activityActualCost, BigDecimal unknownCurrencyEstimatedCost,
+		BigDecimal unknownCurrencyActualCost) {
+
+	/** Whether orders without a currency were left out of the totals. */
+	public boolean hasUnknownCurrency() {
+		return (unknownCurrencyEstimatedCost.signum() != 0) || (unknownCurrencyActualCost.signum() != 0);
+	}
+
+	public BigDecimal getActualCost() { return orderActualCost.add(activityActualCost); }
+
+	public BigDecimal getEstimatedCost() { return orderEstimatedCost.add(activityEstimatedCost); }
+}
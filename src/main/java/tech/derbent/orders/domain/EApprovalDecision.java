@@ -0,0 +1,12 @@
+package tech.derbent.orders.domain;
+
+/** What an approval status means to the approval workflow. Approval statuses are defined per project with free names; the decision tells the
+ * workflow which of them wait for the approver and which close a step. */
+public enum EApprovalDecision {
+	/** The step waits for its approver. */
+	PENDING,
+	/** The approver agreed, the next level opens once all steps of this level are approved. */
+	APPROVED,
+	/** The approver refused, the order leaves the workflow. */
+	REJECTED
+}
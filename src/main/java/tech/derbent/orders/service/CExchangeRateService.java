@@ -0,0 +1,223 @@
+package tech.derbent.orders.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.IEntityCache;
+import tech.derbent.api.services.CAbstractService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.backup.events.DatabaseRestoredEvent;
+import tech.derbent.orders.domain.CExchangeRate;
+
+/** CExchangeRateService - Currency conversion from the locally maintained, effective-dated rate table. Layer: Service (MVC) The active rates are
+ * read once into memory, per currency pair sorted by effective date, so the rate of a pair on a date is a hash lookup and a floor search without a
+ * query. A pair without a rate of its own is converted with the inverse of the opposite pair. The cache is dropped whenever a rate changes, on this
+ * node when the transaction completes and on the others through CEntityCacheInvalidator, and reloaded by the next conversion. */
+@Service
+@PreAuthorize ("isAuthenticated()")
+@Transactional (readOnly = true)
+public class CExchangeRateService extends CAbstractService<CExchangeRate> implements IEntityCache {
+
+	private static String key(final String fromCurrencyCode, final String toCurrencyCode) {
+		return fromCurrencyCode + "/" + toCurrencyCode;
+	}
+
+	private static String normalize(final String currencyCode) {
+		Check.notBlank(currencyCode, "Currency code cannot be empty");
+		final String code = currencyCode.trim().toUpperCase(Locale.ROOT);
+		Check.isTrue(code.length() == 3, "Currency code must be exactly 3 characters: " + currencyCode);
+		return code;
+	}
+
+	private static BigDecimal rateOn(final Map<String, NavigableMap<LocalDate, BigDecimal>> rates, final String key, final LocalDate date) {
+		final NavigableMap<LocalDate, BigDecimal> byDate = rates.get(key);
+		final Entry<LocalDate, BigDecimal> entry = byDate != null ? byDate.floorEntry(date) : null;
+		return entry != null ? entry.getValue() : null;
+	}
+
+	// rates per "FROM/TO" pair by effective date, null until loaded and after an eviction
+	private volatile Map<String, NavigableMap<LocalDate, BigDecimal>> rates;
+	// counts evictions, a load that raced with one is not kept
+	private final AtomicLong version = new AtomicLong();
+
+	CExchangeRateService(final IExchangeRateRepository repository, final Clock clock) {
+		super(repository, clock);
+	}
+
+	/** Converts an amount with the rate in effect on the date.
+	 * @param amount           the amount in the source currency
+	 * @param fromCurrencyCode ISO 4217 code of the source currency
+	 * @param toCurrencyCode   ISO 4217 code of the target currency
+	 * @param date             the day of the conversion
+	 * @return the unrounded amount in the target currency
+	 * @throws IllegalStateException if no rate of the pair is in effect on the date */
+	public BigDecimal convert(final BigDecimal amount, final String fromCurrencyCode, final String toCurrencyCode, final LocalDate date) {
+		Check.notNull(amount, "Amount cannot be null");
+		return amount.multiply(getRate(fromCurrencyCode, toCurrencyCode, date));
+	}
+
+	@Override
+	@Transactional
+	public void delete(final CExchangeRate entity) {
+		super.delete(entity);
+		evictRates();
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		super.delete(id);
+		evictRates();
+	}
+
+	@Override
+	public void deleteAllInBatch() {
+		super.deleteAllInBatch();
+		evictRates();
+	}
+
+	@Override
+	@Transactional
+	public void deleteWithReflection(final CExchangeRate entity) {
+		super.deleteWithReflection(entity);
+		evictRates();
+	}
+
+	/** Drops the cached rates after a rate changed on any node. */
+	@Override
+	@PreAuthorize ("permitAll()")
+	public void evict(final List<CEntityChange> changes) {
+		synchronized (version) {
+			version.incrementAndGet();
+			rates = null;
+		}
+	}
+
+	/** Drops the cached rates now and again when the surrounding transaction completes, so rates read inside the transaction are not kept. */
+	private void evictRates() {
+		evict(List.of());
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+				@Override
+				public void afterCompletion(final int status) {
+					evict(List.of());
+				}
+			});
+		}
+	}
+
+	/** The rate in effect on the date: the latest rate of the pair effective on or before it, else the inverse of the opposite pair's rate.
+	 * @param fromCurrencyCode ISO 4217 code of the source currency
+	 * @param toCurrencyCode   ISO 4217 code of the target currency
+	 * @param date             the day of the conversion
+	 * @return the rate, one for the same currency */
+	public Optional<BigDecimal> findRate(final String fromCurrencyCode, final String toCurrencyCode, final LocalDate date) {
+		final String from = normalize(fromCurrencyCode);
+		final String to = normalize(toCurrencyCode);
+		Check.notNull(date, "Date cannot be null");
+		if (from.equals(to)) {
+			return Optional.of(BigDecimal.ONE);
+		}
+		final Map<String, NavigableMap<LocalDate, BigDecimal>> current = getRates();
+		final BigDecimal direct = rateOn(current, key(from, to), date);
+		if (direct != null) {
+			return Optional.of(direct);
+		}
+		final BigDecimal opposite = rateOn(current, key(to, from), date);
+		return opposite != null ? Optional.of(BigDecimal.ONE.divide(opposite, MathContext.DECIMAL64)) : Optional.empty();
+	}
+
+	@Override
+	@PreAuthorize ("permitAll()")
+	public void evictAll() {
+		evict(List.of());
+	}
+
+	@Override
+	public List<Class<?>> getCachedEntityClasses() { return List.of(CExchangeRate.class); }
+
+	@Override
+	protected Class<CExchangeRate> getEntityClass() { return CExchangeRate.class; }
+
+	/** The rate in effect on the date, see {@link #findRate(String, String, LocalDate)}.
+	 * @throws IllegalStateException if no rate of the pair is in effect on the date */
+	public BigDecimal getRate(final String fromCurrencyCode, final String toCurrencyCode, final LocalDate date) {
+		return findRate(fromCurrencyCode, toCurrencyCode, date).orElseThrow(
+				() -> new IllegalStateException("No exchange rate from " + fromCurrencyCode + " to " + toCurrencyCode + " in effect on " + date));
+	}
+
+	private Map<String, NavigableMap<LocalDate, BigDecimal>> getRates() {
+		final Map<String, NavigableMap<LocalDate, BigDecimal>> current = rates;
+		if (current != null) {
+			return current;
+		}
+		final long loadedVersion = version.get();
+		final Map<String, NavigableMap<LocalDate, BigDecimal>> loaded = new HashMap<>();
+		for (final CExchangeRate rate : ((IExchangeRateRepository) repository).listActive()) {
+			loaded.computeIfAbsent(key(rate.getFromCurrencyCode(), rate.getToCurrencyCode()), pair -> new TreeMap<>()).put(rate.getEffectiveDate(),
+					rate.getRate());
+		}
+		synchronized (version) {
+			if (version.get() == loadedVersion) {
+				rates = loaded;
+			}
+		}
+		LOGGER.debug("Loaded exchange rates of {} currency pairs", loaded.size());
+		return loaded;
+	}
+
+	@Override
+	@Transactional
+	public CExchangeRate restore(final CExchangeRate entity) {
+		final CExchangeRate restored = super.restore(entity);
+		evictRates();
+		return restored;
+	}
+
+	/** Loads the rates into the cache if they are not loaded, the run of CCacheWarmupJob.
+	 * @return number of cached currency pairs */
+	@PreAuthorize ("permitAll()")
+	public int warmUp() {
+		return getRates().size();
+	}
+
+	/** Reloads the rates of the restored database, so the first conversion after a restore does not pay for the load. */
+	@EventListener
+	@PreAuthorize ("permitAll()")
+	public void onDatabaseRestored(final DatabaseRestoredEvent event) {
+		warmUp();
+	}
+
+	/** Validates and saves the rate; currency codes are stored in upper case. */
+	@Override
+	@Transactional
+	public CExchangeRate save(final CExchangeRate entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		entity.setFromCurrencyCode(normalize(entity.getFromCurrencyCode()));
+		entity.setToCurrencyCode(normalize(entity.getToCurrencyCode()));
+		Check.isTrue(!entity.getFromCurrencyCode().equals(entity.getToCurrencyCode()), "A rate needs two different currencies");
+		Check.notNull(entity.getEffectiveDate(), "Effective date cannot be null");
+		Check.isTrue((entity.getRate() != null) && (entity.getRate().signum() > 0), "Rate must be positive");
+		final CExchangeRate saved = super.save(entity);
+		evictRates();
+		return saved;
+	}
+}
@@ -1,24 +1,148 @@
 package tech.derbent.orders.service;
 
 import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.services.CAbstractNamedEntityService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.orders.domain.CApprovalStatus;
+import tech.derbent.orders.domain.COrder;
 import tech.derbent.orders.domain.COrderApproval;
+import tech.derbent.orders.domain.CPendingApproval;
+import tech.derbent.orders.domain.EApprovalDecision;
 import tech.derbent.session.service.CSessionService;
+import tech.derbent.users.domain.CUser;
 
 /** COrderApprovalService - Service layer for COrderApproval entity. Layer: Service (MVC) Handles business logic for order approval operations
- * including creation, validation, and management of order approval entities. */
+ * including creation, validation, and management of order approval entities. Runs the multi-level approval workflow: the steps of an order are
+ * decided level by level by their approvers through {@link #approve} and {@link #reject}, which lock the order so the decisions of one order are
+ * taken one after the other. Every change of a step recomputes the order's rows of the pending approval queue in the same transaction, see
+ * CPendingApprovalService. */
 @Service
 @PreAuthorize ("isAuthenticated()")
 @Transactional (readOnly = true)
 public class COrderApprovalService extends CAbstractNamedEntityService<COrderApproval> {
 
-	COrderApprovalService(final IOrderApprovalRepository repository, final Clock clock, final CSessionService sessionService) {
+	private final IApprovalStatusRepository approvalStatusRepository;
+	private final IOrderRepository orderRepository;
+	private final CPendingApprovalService pendingApprovalService;
+
+	COrderApprovalService(final IOrderApprovalRepository repository, final Clock clock, final CSessionService sessionService,
+			final IOrderRepository orderRepository, final IApprovalStatusRepository approvalStatusRepository,
+			final CPendingApprovalService pendingApprovalService) {
 		super(repository, clock, sessionService);
+		this.orderRepository = orderRepository;
+		this.approvalStatusRepository = approvalStatusRepository;
+		this.pendingApprovalService = pendingApprovalService;
+	}
+
+	/** Approves a step that waits for the approver. Once all steps of its level are approved, the next level opens.
+	 * @param approvalId the approval step id
+	 * @param approver   the deciding user, the approver of the step
+	 * @param comments   comments of the approver, null to keep the current ones
+	 * @return the saved step */
+	@Transactional
+	public COrderApproval approve(final Long approvalId, final CUser approver, final String comments) {
+		return decide(approvalId, approver, EApprovalDecision.APPROVED, comments);
+	}
+
+	private COrderApproval decide(final Long approvalId, final CUser approver, final EApprovalDecision decision, final String comments) {
+		Check.notNull(approvalId, "Approval id cannot be null");
+		Check.notNull(approver, "Approver cannot be null");
+		final COrderApproval approval = repository.findById(approvalId).orElseThrow(() -> new IllegalArgumentException("Approval not found: " + approvalId));
+		final COrder order = orderRepository.findByIdForUpdate(approval.getOrder().getId())
+				.orElseThrow(() -> new IllegalArgumentException("Order of approval " + approvalId + " not found"));
+		// read under the order lock, a decision another transaction took meanwhile is visible here
+		Check.isTrue(pendingApprovalService.findByApprovalId(approvalId).isPresent(), "Approval " + approval.getName() + " is not waiting for a decision");
+		Check.isTrue((approval.getApprover() != null) && approval.getApprover().getId().equals(approver.getId()),
+				"Only the approver of " + approval.getName() + " can decide it");
+		final CApprovalStatus status = approvalStatusRepository.listByDecision(order.getProject().getId(), decision).stream().findFirst()
+				.orElseThrow(() -> new IllegalStateException("Project " + order.getProject().getName() + " has no approval status for " + decision));
+		approval.setApprovalStatus(status);
+		approval.setApprovalDate(LocalDateTime.now(clock));
+		if (comments != null) {
+			approval.setComments(comments);
+		}
+		LOGGER.debug("Approval {} of order {} decided: {}", approvalId, order.getId(), decision);
+		return save(approval);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final COrderApproval entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		final Long orderId = orderIdOf(entity);
+		super.delete(entity);
+		pendingApprovalService.onOrderChanged(orderId);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		final Optional<Long> orderId = repository.findById(id).map(COrderApproval::getOrder).map(COrder::getId);
+		super.delete(id);
+		orderId.ifPresent(pendingApprovalService::onOrderChanged);
+	}
+
+	@Override
+	@Transactional
+	public void deleteWithReflection(final COrderApproval entity) {
+		Check.notNull(entity, "Entity cannot be null");
+		super.deleteWithReflection(entity);
+		pendingApprovalService.onOrderChanged(orderIdOf(entity));
 	}
 
 	@Override
 	protected Class<COrderApproval> getEntityClass() { return COrderApproval.class; }
+
+	/** Decision of the order as a whole: rejected once a step is rejected, approved once all steps are. */
+	public EApprovalDecision getOrderDecision(final COrder order) {
+		Check.notNull(order, "Order cannot be null");
+		return pendingApprovalService.getOrderDecision(order.getId());
+	}
+
+	/** The steps waiting for the approver, lowest level and oldest request first. A single indexed lookup, however many orders exist.
+	 * @param approver the approver
+	 * @param limit    the number of rows, at most CPendingApprovalService.MAX_INBOX_SIZE
+	 * @return the pending approvals */
+	public List<CPendingApproval> listInbox(final CUser approver, final int limit) {
+		Check.notNull(approver, "Approver cannot be null");
+		return pendingApprovalService.listInbox(approver.getId(), limit);
+	}
+
+	private Long orderIdOf(final COrderApproval approval) {
+		Check.notNull(approval.getOrder(), "Approval " + approval.getName() + " has no order");
+		return approval.getOrder().getId();
+	}
+
+	/** Rejects a step that waits for the approver. The order leaves the workflow, the open steps of all approvers are withdrawn.
+	 * @param approvalId the approval step id
+	 * @param approver   the deciding user, the approver of the step
+	 * @param comments   the reason, null to keep the current comments
+	 * @return the saved step */
+	@Transactional
+	public COrderApproval reject(final Long approvalId, final CUser approver, final String comments) {
+		return decide(approvalId, approver, EApprovalDecision.REJECTED, comments);
+	}
+
+	@Override
+	@Transactional
+	public COrderApproval restore(final COrderApproval entity) {
+		final COrderApproval restored = super.restore(entity);
+		pendingApprovalService.onOrderChanged(orderIdOf(restored));
+		return restored;
+	}
+
+	/** Saves the step and recomputes the pending approvals of its order in the same transaction. */
+	@Override
+	@Transactional
+	public COrderApproval save(final COrderApproval entity) {
+		final COrderApproval saved = super.save(entity);
+		pendingApprovalService.onOrderChanged(orderIdOf(saved));
+		return saved;
+	}
 }
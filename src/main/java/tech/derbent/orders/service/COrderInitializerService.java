@@ -27,7 +27,6 @@ public class COrderInitializerService extends CInitializerServiceBase {
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "name"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "description"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "project"));
-			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "isActive"));
 			detailSection.addScreenLine(CDetailLinesService.createSection("Classification"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "orderType"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "status"));
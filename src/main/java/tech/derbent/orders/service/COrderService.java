@@ -11,13 +11,40 @@ import tech.derbent.orders.domain.COrder;
 import tech.derbent.session.service.CSessionService;
 import tech.derbent.users.domain.CUser;
 
+/** COrderService - Service layer for COrder entity. Layer: Service (MVC) Every change of an order recomputes its rows of the pending approval queue
+ * in the same transaction, so a deleted, deactivated or moved order leaves the inboxes of its approvers at once. */
 @Service
 @PreAuthorize ("isAuthenticated()")
 @Transactional (readOnly = true)
 public class COrderService extends CEntityOfProjectService<COrder> {
 
-	COrderService(final IOrderRepository repository, final Clock clock, final CSessionService sessionService) {
+	private final CPendingApprovalService pendingApprovalService;
+
+	COrderService(final IOrderRepository repository, final Clock clock, final CSessionService sessionService,
+			final CPendingApprovalService pendingApprovalService) {
 		super(repository, clock, sessionService);
+		this.pendingApprovalService = pendingApprovalService;
+	}
+
+	@Override
+	@Transactional
+	public void delete(final COrder entity) {
+		super.delete(entity);
+		pendingApprovalService.onOrderChanged(entity.getId());
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		super.delete(id);
+		pendingApprovalService.onOrderChanged(id);
+	}
+
+	@Override
+	@Transactional
+	public void deleteWithReflection(final COrder entity) {
+		super.deleteWithReflection(entity);
+		pendingApprovalService.onOrderChanged(entity.getId());
 	}
 
 	public List<COrder> findByRequestor(final CUser requestor) {
@@ -34,4 +61,21 @@ public class COrderService extends CEntityOfProjectService<COrder> {
 
 	@Override
 	protected Class<COrder> getEntityClass() { return COrder.class; }
+
+	@Override
+	@Transactional
+	public COrder restore(final COrder entity) {
+		final COrder restored = super.restore(entity);
+		pendingApprovalService.onOrderChanged(restored.getId());
+		return restored;
+	}
+
+	/** Saves the order and recomputes its pending approvals in the same transaction. */
+	@Override
+	@Transactional
+	public COrder save(final COrder entity) {
+		final COrder saved = super.save(entity);
+		pendingApprovalService.onOrderChanged(saved.getId());
+		return saved;
+	}
 }
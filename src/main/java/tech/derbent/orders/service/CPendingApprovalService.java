@@ -0,0 +1,169 @@
+package tech.derbent.orders.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.api.services.CAbstractService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.orders.domain.CApprovalStep;
+import tech.derbent.orders.domain.CPendingApproval;
+import tech.derbent.orders.domain.EApprovalDecision;
+
+/** CPendingApprovalService - Materialized queue of the approval steps that wait for their approver. Layer: Service (MVC) Approval steps of an order
+ * are decided level by level: the open level is the lowest one with a pending step, and its pending steps with an approver are the rows of the
+ * queue. A rejected step closes the order, it has no open level. COrderApprovalService and COrderService recompute the rows of an order in the
+ * transaction of every approval and order change, from one projection query over the order's steps, so the inbox of an approver is a single
+ * indexed range however many orders and approvals exist. An empty queue is rebuilt once at startup, for data created before the queue existed. */
+@Service
+@Transactional (readOnly = true)
+public class CPendingApprovalService extends CAbstractService<CPendingApproval> {
+
+	public static final int MAX_INBOX_SIZE = 500;
+	private static final int REBUILD_PAGE_SIZE = 500;
+
+	/** Decision of the order as a whole: rejected if a step is rejected, approved if all steps are approved (or there are none), pending otherwise.
+	 * @param steps the active steps of one order */
+	public static EApprovalDecision decisionOf(final List<CApprovalStep> steps) {
+		Check.notNull(steps, "Steps cannot be null");
+		if (steps.stream().anyMatch(step -> step.decision() == EApprovalDecision.REJECTED)) {
+			return EApprovalDecision.REJECTED;
+		}
+		return steps.stream().allMatch(step -> step.decision() == EApprovalDecision.APPROVED) ? EApprovalDecision.APPROVED
+				: EApprovalDecision.PENDING;
+	}
+
+	/** The steps of one order that wait for a decision now: the pending steps of the lowest pending level, none if a step was rejected.
+	 * @param steps the active steps of one order
+	 * @return the open steps, with or without approver */
+	public static List<CApprovalStep> openSteps(final List<CApprovalStep> steps) {
+		if (decisionOf(steps) != EApprovalDecision.PENDING) {
+			return List.of();
+		}
+		final int openLevel = steps.stream().filter(step -> step.decision() == EApprovalDecision.PENDING).mapToInt(CApprovalStep::level).min()
+				.orElseThrow();
+		return steps.stream().filter(step -> (step.decision() == EApprovalDecision.PENDING) && (step.level() == openLevel)).toList();
+	}
+
+	private final IOrderApprovalRepository approvalRepository;
+
+	public CPendingApprovalService(final IPendingApprovalRepository repository, final IOrderApprovalRepository approvalRepository,
+			final Clock clock) {
+		super(repository, clock);
+		Check.notNull(approvalRepository, "Approval repository cannot be null");
+		this.approvalRepository = approvalRepository;
+	}
+
+	/** Writes the rows of one order from its steps: new open steps are added, decided or closed ones removed; a kept row keeps its request time. */
+	private int apply(final Long orderId, final List<CApprovalStep> steps, final List<CPendingApproval> existingRows) {
+		final Map<Long, CPendingApproval> existing = new HashMap<>();
+		existingRows.forEach(row -> existing.put(row.getApprovalId(), row));
+		final List<CPendingApproval> changed = new ArrayList<>();
+		final LocalDateTime now = LocalDateTime.now(clock);
+		for (final CApprovalStep step : openSteps(steps)) {
+			if (step.approverId() == null) {
+				continue;
+			}
+			final CPendingApproval row = existing.remove(step.approvalId());
+			if (row == null) {
+				changed.add(new CPendingApproval(step, now));
+			} else if (!row.matches(step)) {
+				row.update(step);
+				changed.add(row);
+			}
+		}
+		getPendingRepository().saveAll(changed);
+		getPendingRepository().deleteAll(existing.values());
+		LOGGER.debug("Pending approvals of order {}: {} written, {} removed", orderId, changed.size(), existing.size());
+		return changed.size();
+	}
+
+	public long countInbox(final Long approverId) {
+		Check.notNull(approverId, "Approver id cannot be null");
+		return getPendingRepository().countByApprover(approverId);
+	}
+
+	/** The row of the approval step if it waits for its approver now. */
+	public Optional<CPendingApproval> findByApprovalId(final Long approvalId) {
+		return approvalId != null ? getPendingRepository().findByApprovalId(approvalId) : Optional.empty();
+	}
+
+	@Override
+	protected Class<CPendingApproval> getEntityClass() { return CPendingApproval.class; }
+
+	/** Decision of the order as a whole, see {@link #decisionOf(List)}. */
+	public EApprovalDecision getOrderDecision(final Long orderId) {
+		Check.notNull(orderId, "Order id cannot be null");
+		return decisionOf(approvalRepository.listSteps(List.of(orderId)));
+	}
+
+	private IPendingApprovalRepository getPendingRepository() { return (IPendingApprovalRepository) repository; }
+
+	/** Rebuilds an empty queue at startup, for orders whose approvals were written before the queue existed. */
+	@EventListener (ApplicationReadyEvent.class)
+	@Transactional
+	public void initializeQueue() {
+		if (!getPendingRepository().existsAny()) {
+			rebuild();
+		}
+	}
+
+	/** The inbox of an approver: the steps waiting for them, lowest level and oldest request first.
+	 * @param approverId the approver's user id
+	 * @param limit      the number of rows, at most {@link #MAX_INBOX_SIZE}
+	 * @return the rows */
+	public List<CPendingApproval> listInbox(final Long approverId, final int limit) {
+		Check.notNull(approverId, "Approver id cannot be null");
+		Check.isTrue((limit > 0) && (limit <= MAX_INBOX_SIZE), "Limit must be between 1 and " + MAX_INBOX_SIZE);
+		return getPendingRepository().listByApprover(approverId, PageRequest.of(0, limit));
+	}
+
+	/** Recomputes the rows of one order after a change of the order or one of its steps. Called inside the transaction of the change; the steps
+	 * query flushes the change first.
+	 * @param orderId the order id, of a deleted order too */
+	@Transactional
+	public void onOrderChanged(final Long orderId) {
+		Check.notNull(orderId, "Order id cannot be null");
+		apply(orderId, approvalRepository.listSteps(List.of(orderId)), getPendingRepository().listByOrder(orderId));
+	}
+
+	/** Recomputes all rows from the approval steps, a page of orders at a time. Only needed to initialize or repair the queue, normal changes are
+	 * applied per order. Each page is compared with its existing rows, so rows that still wait keep their request time and the inboxes keep their
+	 * order; rows of orders without any approval steps are deleted. */
+	@Transactional
+	public void rebuild() {
+		final int removed = getPendingRepository().deleteWithoutApprovals();
+		long afterId = 0;
+		int orders = 0;
+		int rows = 0;
+		while (true) {
+			final List<Long> orderIds = approvalRepository.listOrderIdsAfter(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+			if (orderIds.isEmpty()) {
+				break;
+			}
+			afterId = orderIds.get(orderIds.size() - 1);
+			final Map<Long, List<CApprovalStep>> stepsByOrder = new HashMap<>();
+			for (final CApprovalStep step : approvalRepository.listSteps(orderIds)) {
+				stepsByOrder.computeIfAbsent(step.orderId(), key -> new ArrayList<>()).add(step);
+			}
+			final Map<Long, List<CPendingApproval>> rowsByOrder = new HashMap<>();
+			for (final CPendingApproval row : getPendingRepository().listByOrders(orderIds)) {
+				rowsByOrder.computeIfAbsent(row.getOrderId(), key -> new ArrayList<>()).add(row);
+			}
+			// orders without active steps, inactive ones among them, lose their rows
+			for (final Long orderId : orderIds) {
+				rows += apply(orderId, stepsByOrder.getOrDefault(orderId, List.of()), rowsByOrder.getOrDefault(orderId, List.of()));
+			}
+			orders += orderIds.size();
+		}
+		LOGGER.info("Rebuilt pending approvals of {} orders: {} rows written, {} rows of orders without approvals removed", orders, rows, removed);
+	}
+}
@@ -0,0 +1,123 @@
+package tech.derbent.orders.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.utils.Check;
+import tech.derbent.orders.domain.CCostTotal;
+import tech.derbent.orders.domain.CProjectCost;
+import tech.derbent.projects.domain.CProject;
+
+/** CProjectCostService - Order and activity costs of projects in one reporting currency. Layer: Service (MVC) The database sums the costs: orders
+ * per project, currency and order date, activities per project. Only these group rows are converted, with the cached rates of
+ * CExchangeRateService, so a roll-up reads one row per project, currency and day with orders rather than one per order. Orders are converted with
+ * the rate in effect on their order date. Orders without a currency are summed apart and left out of the totals. Activities carry no currency;
+ * their costs are taken to be in derbent.costs.activity-currency and converted with the rate of the reporting day. Settings:
+ * <ul>
+ * <li>derbent.costs.activity-currency - ISO 4217 code of the activity costs, default EUR</li>
+ * </ul>
+ */
+@Service
+@PreAuthorize ("isAuthenticated()")
+@Transactional (readOnly = true)
+public class CProjectCostService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CProjectCostService.class);
+	private static final int SCALE = 2;
+
+	/** Converted sums of one project while they are added up. */
+	private static final class CSums {
+
+		private BigDecimal activityActual = BigDecimal.ZERO;
+		private BigDecimal activityEstimated = BigDecimal.ZERO;
+		private BigDecimal orderActual = BigDecimal.ZERO;
+		private BigDecimal orderEstimated = BigDecimal.ZERO;
+		private BigDecimal unknownActual = BigDecimal.ZERO;
+		private BigDecimal unknownEstimated = BigDecimal.ZERO;
+	}
+
+	private static BigDecimal orZero(final BigDecimal amount) {
+		return amount != null ? amount : BigDecimal.ZERO;
+	}
+
+	private static BigDecimal round(final BigDecimal amount) {
+		return amount.setScale(SCALE, RoundingMode.HALF_UP);
+	}
+
+	private final IActivityRepository activityRepository;
+	private final String activityCurrency;
+	private final Clock clock;
+	private final CExchangeRateService exchangeRateService;
+	private final IOrderRepository orderRepository;
+
+	public CProjectCostService(final IOrderRepository orderRepository, final IActivityRepository activityRepository,
+			final CExchangeRateService exchangeRateService, final Clock clock,
+			@Value ("${derbent.costs.activity-currency:EUR}") final String activityCurrency) {
+		Check.notBlank(activityCurrency, "Activity currency cannot be empty");
+		this.orderRepository = orderRepository;
+		this.activityRepository = activityRepository;
+		this.exchangeRateService = exchangeRateService;
+		this.clock = clock;
+		this.activityCurrency = activityCurrency;
+	}
+
+	/** Costs of the project in the reporting currency, activities converted with today's rate. */
+	public CProjectCost getProjectCost(final CProject project, final String reportingCurrency) {
+		Check.notNull(project, "Project cannot be null");
+		return listProjectCosts(List.of(project.getId()), reportingCurrency, LocalDate.now(clock)).get(0);
+	}
+
+	/** Costs of the projects in the reporting currency, from two grouped queries for all projects.
+	 * @param projectIds        the project ids
+	 * @param reportingCurrency ISO 4217 code of the reporting currency
+	 * @param reportDate        the day the activity costs are converted on
+	 * @return one row per project, in the order of the ids, amounts rounded to cents
+	 * @throws IllegalStateException if a needed exchange rate is missing */
+	public List<CProjectCost> listProjectCosts(final Collection<Long> projectIds, final String reportingCurrency, final LocalDate reportDate) {
+		Check.notNull(projectIds, "Project ids cannot be null");
+		Check.notBlank(reportingCurrency, "Reporting currency cannot be empty");
+		Check.notNull(reportDate, "Report date cannot be null");
+		if (projectIds.isEmpty()) {
+			return List.of();
+		}
+		final Map<Long, CSums> sums = new LinkedHashMap<>();
+		projectIds.forEach(projectId -> sums.put(projectId, new CSums()));
+		final List<CCostTotal> orderTotals = orderRepository.listCostTotals(projectIds);
+		for (final CCostTotal total : orderTotals) {
+			final CSums sum = sums.get(total.projectId());
+			if (total.currencyCode() == null) {
+				LOGGER.warn("Orders of project {} on {} have no currency and are left out of its costs", total.projectId(), total.date());
+				sum.unknownEstimated = sum.unknownEstimated.add(orZero(total.estimatedCost()));
+				sum.unknownActual = sum.unknownActual.add(orZero(total.actualCost()));
+				continue;
+			}
+			final BigDecimal rate = exchangeRateService.getRate(total.currencyCode(), reportingCurrency, total.date());
+			sum.orderEstimated = sum.orderEstimated.add(orZero(total.estimatedCost()).multiply(rate));
+			sum.orderActual = sum.orderActual.add(orZero(total.actualCost()).multiply(rate));
+		}
+		for (final CCostTotal total : activityRepository.listCostTotals(projectIds)) {
+			final CSums sum = sums.get(total.projectId());
+			final BigDecimal rate = exchangeRateService.getRate(activityCurrency, reportingCurrency, reportDate);
+			sum.activityEstimated = sum.activityEstimated.add(orZero(total.estimatedCost()).multiply(rate));
+			sum.activityActual = sum.activityActual.add(orZero(total.actualCost()).multiply(rate));
+		}
+		LOGGER.debug("Rolled up costs of {} projects from {} order groups", projectIds.size(), orderTotals.size());
+		return sums.entrySet().stream()
+				.map(entry -> new CProjectCost(entry.getKey(), reportingCurrency, round(entry.getValue().orderEstimated), round(entry.getValue().orderActual),
+						round(entry.getValue().activityEstimated), round(entry.getValue().activityActual), round(entry.getValue().unknownEstimated),
+						round(entry.getValue().unknownActual)))
+				.toList();
+	}
+}
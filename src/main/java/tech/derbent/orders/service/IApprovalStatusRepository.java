@@ -1,9 +1,21 @@
 package tech.derbent.orders.service;
 
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import tech.derbent.api.services.IEntityOfProjectRepository;
 import tech.derbent.orders.domain.CApprovalStatus;
+import tech.derbent.orders.domain.EApprovalDecision;
 
 /** CApprovalStatusRepository - Repository interface for CApprovalStatus entities. Layer: Service (MVC) Provides data access operations for approval
  * statuses, extending the standard CAbstractNamedRepository to inherit common CRUD and query operations. */
 public interface IApprovalStatusRepository extends IEntityOfProjectRepository<CApprovalStatus> {
+
+	/** Active statuses of the project with the decision, first in sort order. */
+	@Query ("""
+			SELECT s FROM #{#entityName} s
+			WHERE s.project.id = :projectId AND s.decision = :decision AND s.isActive = true
+			ORDER BY s.sortOrder, s.id
+			""")
+	List<CApprovalStatus> listByDecision(@Param ("projectId") Long projectId, @Param ("decision") EApprovalDecision decision);
 }
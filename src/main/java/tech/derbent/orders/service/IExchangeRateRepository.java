@@ -0,0 +1,16 @@
+package tech.derbent.orders.service;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import tech.derbent.api.services.IAbstractRepository;
+import tech.derbent.orders.domain.CExchangeRate;
+
+/** IExchangeRateRepository - Repository interface for the effective-dated exchange rates. Layer: Data Access (MVC) */
+@Repository
+public interface IExchangeRateRepository extends IAbstractRepository<CExchangeRate> {
+
+	/** All active rates, the whole table is cached by CExchangeRateService. */
+	@Query ("SELECT r FROM CExchangeRate r WHERE r.isActive = true ORDER BY r.fromCurrencyCode, r.toCurrencyCode, r.effectiveDate")
+	List<CExchangeRate> listActive();
+}
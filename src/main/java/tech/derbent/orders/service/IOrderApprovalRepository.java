@@ -1,11 +1,27 @@
 package tech.derbent.orders.service;
 
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import tech.derbent.api.services.IAbstractNamedRepository;
+import tech.derbent.orders.domain.CApprovalStep;
 import tech.derbent.orders.domain.COrderApproval;
 
 /** COrderApprovalRepository - Repository interface for COrderApproval entities. Layer: Service (MVC) Provides data access operations for order
  * approvals, extending the standard CAbstractNamedRepository to inherit common CRUD and query operations. */
 public interface IOrderApprovalRepository extends IAbstractNamedRepository<COrderApproval> {
-	// Inherits standard operations from CAbstractNamedRepository
-	// Additional custom query methods can be added here if needed
+
+	/** Ids of the orders with approval steps after afterId, in id order, to rebuild the pending approvals page by page. */
+	@Query ("SELECT DISTINCT a.order.id FROM #{#entityName} a WHERE a.order.id > :afterId ORDER BY a.order.id")
+	List<Long> listOrderIdsAfter(@Param ("afterId") Long afterId, Pageable pageable);
+	/** Active approval steps of the active orders, ordered by order, level and id. */
+	@Query ("""
+			SELECT new tech.derbent.orders.domain.CApprovalStep(a.id, o.id, p.id, o.name, a.name, u.id, a.approvalLevel, s.decision)
+			FROM #{#entityName} a JOIN a.order o JOIN o.project p JOIN a.approvalStatus s LEFT JOIN a.approver u
+			WHERE o.id IN :orderIds AND a.isActive = true AND o.isActive = true
+			ORDER BY o.id, a.approvalLevel, a.id
+			""")
+	List<CApprovalStep> listSteps(@Param ("orderIds") Collection<Long> orderIds);
 }
@@ -1,9 +1,14 @@
 package tech.derbent.orders.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.LockModeType;
 import tech.derbent.api.services.IEntityOfProjectRepository;
+import tech.derbent.orders.domain.CCostTotal;
 import tech.derbent.orders.domain.COrder;
 
 public interface IOrderRepository extends IEntityOfProjectRepository<COrder> {
@@ -14,4 +19,17 @@ public interface IOrderRepository extends IEntityOfProjectRepository<COrder> {
 				+ "LEFT JOIN FETCH o.orderType " + "LEFT JOIN FETCH o.status " + "WHERE o.id = :id"
 	)
 	Optional<COrder> findById(@Param ("id") Long id);
+	/** Locks the order until the end of the transaction, so the approval decisions of one order are taken one after the other. */
+	@Lock (LockModeType.PESSIMISTIC_WRITE)
+	@Query ("SELECT o FROM COrder o WHERE o.id = :id")
+	Optional<COrder> findByIdForUpdate(@Param ("id") Long id);
+	/** Costs of the active orders of the projects, summed per project, currency and order date: one row for every day a project ordered in a
+	 * currency. Orders without a currency, left by a schema that allowed them, are summed with a null currency code. Uses idx_order_project_cost. */
+	@Query ("""
+			SELECT new tech.derbent.orders.domain.CCostTotal(o.project.id, c.currencyCode, o.orderDate, SUM(o.estimatedCost), SUM(o.actualCost))
+			FROM COrder o LEFT JOIN o.currency c
+			WHERE o.project.id IN :projectIds AND o.isActive = true
+			GROUP BY o.project.id, c.currencyCode, o.orderDate
+			""")
+	List<CCostTotal> listCostTotals(@Param ("projectIds") Collection<Long> projectIds);
 }
@@ -0,0 +1,35 @@
+package tech.derbent.orders.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.derbent.api.services.IAbstractRepository;
+import tech.derbent.orders.domain.CPendingApproval;
+
+/** IPendingApprovalRepository - Repository interface for the approval steps waiting for their approver. Layer: Data Access (MVC) */
+@Repository
+public interface IPendingApprovalRepository extends IAbstractRepository<CPendingApproval> {
+
+	@Query ("SELECT COUNT(p) FROM CPendingApproval p WHERE p.approverId = :approverId")
+	long countByApprover(@Param ("approverId") Long approverId);
+	/** Removes the rows of the orders that have no approval steps left at all; the orders with steps are recomputed by the rebuild. */
+	@Modifying
+	@Query ("DELETE FROM CPendingApproval p WHERE NOT EXISTS (SELECT a.id FROM COrderApproval a WHERE a.order.id = p.orderId)")
+	int deleteWithoutApprovals();
+	@Query ("SELECT COUNT(p) > 0 FROM CPendingApproval p")
+	boolean existsAny();
+	@Query ("SELECT p FROM CPendingApproval p WHERE p.approvalId = :approvalId")
+	Optional<CPendingApproval> findByApprovalId(@Param ("approvalId") Long approvalId);
+	@Query ("SELECT p FROM CPendingApproval p WHERE p.orderId = :orderId")
+	List<CPendingApproval> listByOrder(@Param ("orderId") Long orderId);
+	@Query ("SELECT p FROM CPendingApproval p WHERE p.orderId IN :orderIds")
+	List<CPendingApproval> listByOrders(@Param ("orderIds") Collection<Long> orderIds);
+	/** The inbox of an approver, lowest level and oldest request first. One range of idx_pendingapproval_approver, whatever the number of orders. */
+	@Query ("SELECT p FROM CPendingApproval p WHERE p.approverId = :approverId ORDER BY p.approvalLevel, p.requestedAt, p.id")
+	List<CPendingApproval> listByApprover(@Param ("approverId") Long approverId, Pageable pageable);
+}
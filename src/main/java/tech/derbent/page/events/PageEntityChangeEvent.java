@@ -0,0 +1,26 @@
+package tech.derbent.page.events;
+
+import org.springframework.context.ApplicationEvent;
+
+/** Event published when a database-defined page is created, updated or deleted. Used to invalidate the cached side menu model of the page's
+ * project without a dependency from CPageEntityService to the menu integration. */
+public class PageEntityChangeEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = 1L;
+	private final Long projectId;
+
+	/** Creates a new PageEntityChangeEvent.
+	 * @param source    The object that published the event
+	 * @param projectId The id of the project the changed page belongs to */
+	public PageEntityChangeEvent(final Object source, final Long projectId) {
+		super(source);
+		this.projectId = projectId;
+	}
+
+	public Long getProjectId() { return projectId; }
+
+	@Override
+	public String toString() {
+		return String.format("PageEntityChangeEvent{projectId=%s}", projectId);
+	}
+}
@@ -3,11 +3,15 @@ package tech.derbent.page.service;
 import java.time.Clock;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import tech.derbent.api.domains.CProjectItemService;
+import tech.derbent.api.services.CParentChildRelationService;
 import tech.derbent.api.utils.Check;
 import tech.derbent.page.domain.CPageEntity;
+import tech.derbent.page.events.PageEntityChangeEvent;
 import tech.derbent.projects.domain.CProject;
 import tech.derbent.session.service.CSessionService;
 
@@ -15,11 +19,31 @@ import tech.derbent.session.service.CSessionService;
 @PreAuthorize ("isAuthenticated()")
 public class CPageEntityService extends CProjectItemService<CPageEntity> {
 
-	public CPageEntityService(final IPageEntityRepository repository, final Clock clock, final CSessionService sessionService) {
-		super(repository, clock, sessionService);
+	private final ApplicationEventPublisher eventPublisher;
+
+	public CPageEntityService(final IPageEntityRepository repository, final Clock clock, final CSessionService sessionService,
+			final CParentChildRelationService parentChildRelationService, final ApplicationEventPublisher eventPublisher) {
+		super(repository, clock, sessionService, parentChildRelationService);
 		Check.notNull(repository, "CPageEntityRepository cannot be null");
 		Check.notNull(clock, "Clock cannot be null");
 		Check.notNull(sessionService, "CSessionService cannot be null");
+		Check.notNull(eventPublisher, "ApplicationEventPublisher cannot be null");
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Override
+	@Transactional
+	public void delete(final CPageEntity entity) {
+		super.delete(entity);
+		publishPageChange(entity);
+	}
+
+	@Override
+	@Transactional
+	public void delete(final Long id) {
+		final CPageEntity entity = getById(id).orElse(null);
+		super.delete(id);
+		publishPageChange(entity);
 	}
 
 	/** Find active pages by project. */
@@ -56,6 +80,20 @@ public class CPageEntityService extends CProjectItemService<CPageEntity> {
 		return listByProject(project);
 	}
 
+	/** Notifies listeners (e.g. the cached side menu model) that a page of the project changed. */
+	private void publishPageChange(final CPageEntity entity) {
+		final Long projectId = (entity != null) && (entity.getProject() != null) ? entity.getProject().getId() : null;
+		eventPublisher.publishEvent(new PageEntityChangeEvent(this, projectId));
+	}
+
+	@Override
+	@Transactional
+	public CPageEntity save(final CPageEntity entity) {
+		final CPageEntity saved = super.save(entity);
+		publishPageChange(saved);
+		return saved;
+	}
+
 	public List<CPageEntity> listQuickAccess(CProject project) {
 		Check.notNull(project, "Project cannot be null");
 		return ((IPageEntityRepository) getRepository()).listQuickAccess(project);
@@ -1,24 +1,38 @@
 package tech.derbent.page.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 import com.vaadin.flow.server.menu.MenuEntry;
+import tech.derbent.api.events.CEntityChange;
+import tech.derbent.api.events.IEntityCache;
+import tech.derbent.api.ui.component.CMenuModel;
 import tech.derbent.api.utils.Check;
 import tech.derbent.page.domain.CPageEntity;
+import tech.derbent.page.events.PageEntityChangeEvent;
 import tech.derbent.page.view.CDynamicPageRouter;
 import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.events.ProjectListChangeEvent;
 import tech.derbent.session.service.CSessionService;
 
 /** Service for integrating database-defined pages with the Vaadin menu system. This service bridges CPageEntity data with MenuEntry objects for the
- * hierarchical menu. */
+ * hierarchical menu. The resulting CMenuModel is cached per project and per set of accessible static routes (i.e. per role combination), shared by
+ * all UIs and dropped when a page of the project changes, on this node when the transaction completes and on the others through the entity change
+ * transport. */
 @Service
-public class CPageMenuIntegrationService {
+public class CPageMenuIntegrationService implements IEntityCache {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(CPageMenuIntegrationService.class);
+	// menu model per "projectId:accessible static routes" key
+	private final Map<String, CMenuModel> menuModelCache = new ConcurrentHashMap<>();
 	private final CPageEntityService pageEntityService;
 	private final CSessionService sessionService;
 
@@ -62,11 +76,7 @@ public class CPageMenuIntegrationService {
 		return new MenuEntry("dynamic." + page.getId(), menuTitle, order, icon, CDynamicPageRouter.class);
 	}
 
-	/** Get menu entries for database-defined pages for the current project. These entries can be added to the existing menu system. */
-	public List<MenuEntry> getDynamicMenuEntries() {
-		CProject activeProject =
-				sessionService.getActiveProject().orElseThrow(() -> new IllegalStateException("No active project found for dynamic menu entries"));
-		List<CPageEntity> pages = pageEntityService.findActivePagesByProject(activeProject);
+	private List<MenuEntry> createMenuEntries(final List<CPageEntity> pages) {
 		List<MenuEntry> menuEntries = new ArrayList<>();
 		for (CPageEntity page : pages) {
 			try {
@@ -80,6 +90,84 @@ public class CPageMenuIntegrationService {
 		return menuEntries;
 	}
 
+	/** Get menu entries for database-defined pages for the current project. These entries can be added to the existing menu system. */
+	public List<MenuEntry> getDynamicMenuEntries() {
+		CProject activeProject =
+				sessionService.getActiveProject().orElseThrow(() -> new IllegalStateException("No active project found for dynamic menu entries"));
+		return createMenuEntries(pageEntityService.findActivePagesByProject(activeProject));
+	}
+
+	/** Returns the shared menu model of the active project. The static entries passed in are the routes the current user may access (as returned by
+	 * MenuConfiguration.getMenuEntries()); they select the cached model of the user's role combination, so each session only filters and renders.
+	 * @param staticMenuEntries the static route menu entries accessible to the current user
+	 * @return the cached or newly built menu model
+	 * @throws Exception if the menu model cannot be built */
+	public CMenuModel getMenuModel(final List<MenuEntry> staticMenuEntries) throws Exception {
+		Check.notNull(staticMenuEntries, "Static menu entries cannot be null");
+		final CProject activeProject =
+				sessionService.getActiveProject().orElseThrow(() -> new IllegalStateException("No active project found for the menu model"));
+		final String key = activeProject.getId() + ":"
+				+ staticMenuEntries.stream().map(MenuEntry::path).sorted().collect(Collectors.joining(","));
+		final CMenuModel cached = menuModelCache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		final List<CPageEntity> pages = pageEntityService.findActivePagesByProject(activeProject);
+		final Map<Long, String> pageColors = new HashMap<>();
+		for (final CPageEntity page : pages) {
+			pageColors.put(page.getId(), page.getColor() != null ? page.getColor() : CPageEntity.DEFAULT_COLOR);
+		}
+		final List<MenuEntry> allMenuEntries = new ArrayList<>(staticMenuEntries);
+		allMenuEntries.addAll(createMenuEntries(pages));
+		final CMenuModel model = CMenuModel.build(allMenuEntries, pageColors);
+		// concurrent builders of the same key produce equal models, keep the first one
+		final CMenuModel existing = menuModelCache.putIfAbsent(key, model);
+		LOGGER.debug("Menu model built for project {} with {} levels", activeProject.getName(), model.getLevelCount());
+		return existing != null ? existing : model;
+	}
+
+	/** Drops the cached menu models of a project.
+	 * @param projectId the project id, or null to drop all models */
+	public void invalidateMenuModel(final Long projectId) {
+		if (projectId == null) {
+			menuModelCache.clear();
+			return;
+		}
+		final String prefix = projectId + ":";
+		menuModelCache.keySet().removeIf(key -> key.startsWith(prefix));
+	}
+
+	@Override
+	public void evict(final List<CEntityChange> changes) {
+		for (final CEntityChange change : changes) {
+			if (change.isOf(CPageEntity.class)) {
+				invalidateMenuModel(change.projectId());
+			} else if (change.kind() == CEntityChange.Kind.DELETED) {
+				invalidateMenuModel(change.id());
+			}
+		}
+	}
+
+	@Override
+	public void evictAll() {
+		invalidateMenuModel(null);
+	}
+
+	@Override
+	public List<Class<?>> getCachedEntityClasses() { return List.of(CPageEntity.class, CProject.class); }
+
+	@TransactionalEventListener (fallbackExecution = true)
+	public void onPageEntityChanged(final PageEntityChangeEvent event) {
+		invalidateMenuModel(event.getProjectId());
+	}
+
+	@TransactionalEventListener (fallbackExecution = true)
+	public void onProjectListChanged(final ProjectListChangeEvent event) {
+		if (event.getChangeType() == ProjectListChangeEvent.ChangeType.DELETED) {
+			invalidateMenuModel(event.getProject() != null ? event.getProject().getId() : null);
+		}
+	}
+
 	/** Get page hierarchy structure for building nested menus. */
 	public List<CPageEntity> getPageHierarchyForCurrentProject() {
 		CProject activeProject =
@@ -31,7 +31,7 @@ public interface IDetailSectionRepository extends IEntityOfProjectRepository<CDe
 	@Override
 	@Query (
 		"SELECT s FROM CDetailSection s " + "LEFT JOIN FETCH s.project " + "LEFT JOIN FETCH s.assignedTo " + "LEFT JOIN FETCH s.createdBy "
-				+ "WHERE s.project = :project"
+				+ "WHERE s.project = :project AND s.isActive = true"
 	)
 	Page<CDetailSection> listByProject(@Param ("project") CProject project, Pageable pageable);;
 }
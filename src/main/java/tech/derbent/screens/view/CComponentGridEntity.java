@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,8 @@ import tech.derbent.api.domains.CEntityNamed;
 import tech.derbent.api.interfaces.IProjectChangeListener;
 import tech.derbent.api.services.CAbstractService;
 import tech.derbent.api.services.CEntityOfProjectService;
+import tech.derbent.api.utils.CAccessors;
+import tech.derbent.api.utils.CColorStyles;
 import tech.derbent.api.utils.CColorUtils;
 import tech.derbent.api.utils.Check;
 import tech.derbent.api.views.components.CDiv;
@@ -130,14 +133,15 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 		String fieldName = field.getName();
 		String displayName = fieldInfo.getDisplayName();
 		Class<?> fieldType = field.getType();
+		// one accessor per column, the value providers run for every cell
+		final Function<Object, Object> fieldValue = CAccessors.fieldGetter(field);
 		try {
 			// Handle different field types using appropriate CGrid methods
 			if (CEntityDB.class.isAssignableFrom(fieldType)) {
 				// Entity reference - check if it's a status entity or has setBackgroundFromColor
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return field.get(entity);
+						return fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing entity field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -156,8 +160,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// Collection field - use addColumnEntityCollection if it contains entities
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						Object value = field.get(entity);
+						Object value = fieldValue.apply(entity);
 						return value instanceof Collection ? (Collection) value : Collections.emptyList();
 					} catch (Exception e) {
 						LOGGER.error("Error accessing collection field {}: {}", fieldName, e.getMessage());
@@ -170,8 +173,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// ID fields - use addIdColumn for consistent ID formatting
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return field.get(entity);
+						return fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing ID field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -182,8 +184,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// Integer fields - use addIntegerColumn
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return (Integer) field.get(entity);
+						return (Integer) fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing integer field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -194,8 +195,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// BigDecimal fields - use addDecimalColumn
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return (BigDecimal) field.get(entity);
+						return (BigDecimal) fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing decimal field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -206,8 +206,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// LocalDate fields - use addDateColumn
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return (LocalDate) field.get(entity);
+						return (LocalDate) fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing date field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -218,8 +217,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// LocalDateTime fields - use addDateTimeColumn
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return (LocalDateTime) field.get(entity);
+						return (LocalDateTime) fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing datetime field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -230,8 +228,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// Boolean fields - use addBooleanColumn with appropriate true/false text
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return (Boolean) field.get(entity);
+						return (Boolean) fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing boolean field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -243,8 +240,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// Long text fields - use addLongTextColumn
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						Object value = field.get(entity);
+						Object value = fieldValue.apply(entity);
 						return value != null ? value.toString() : "";
 					} catch (Exception e) {
 						LOGGER.error("Error accessing long text field {}: {}", fieldName, e.getMessage());
@@ -258,8 +254,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 					// Color field - create a custom component column to display the color with background
 					ValueProvider valueProvider = entity -> {
 						try {
-							field.setAccessible(true);
-							return field.get(entity);
+							return fieldValue.apply(entity);
 						} catch (Exception e) {
 							LOGGER.error("Error accessing color field {}: {}", fieldName, e.getMessage());
 							return null;
@@ -270,27 +265,13 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 						String colorValue = (String) valueProvider.apply(entity);
 						CGridCell colorCell = new CGridCell();
 						if (colorValue != null && !colorValue.trim().isEmpty()) {
-							// Display the color value as text with background color
+							// Display the color value as text on its own background, contrast from the shared color class
 							colorCell.setText(colorValue);
-							colorCell.getStyle().set("background-color", colorValue);
-							// Apply contrasting text color for readability
-							try {
-								String textColor = CColorUtils.getContrastTextColor(colorValue);
-								colorCell.getStyle().set("color", textColor);
-							} catch (Exception e) {
-								// Fallback to simple contrast logic
-								colorCell.getStyle().set("color", isColorLight(colorValue) ? "#000000" : "#ffffff");
-							}
-							// Add some styling to make it look like a color swatch
-							colorCell.getStyle().set("padding", "8px 12px");
-							colorCell.getStyle().set("border-radius", "4px");
-							colorCell.getStyle().set("text-align", "center");
-							colorCell.getStyle().set("font-family", "monospace");
-							colorCell.getStyle().set("font-weight", "bold");
+							colorCell.addClassName("cgrid-cell-swatch");
+							CColorStyles.apply(colorCell, colorValue, true);
 						} else {
 							colorCell.setText("No Color");
-							colorCell.getStyle().set("color", "#666");
-							colorCell.getStyle().set("font-style", "italic");
+							colorCell.addClassName("cgrid-cell-empty");
 						}
 						return colorCell;
 					}).setHeader(displayName).setWidth("150px").setFlexGrow(0).setSortable(true).setKey(fieldName);
@@ -298,8 +279,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 					// Short text fields - use addShortTextColumn
 					ValueProvider valueProvider = entity -> {
 						try {
-							field.setAccessible(true);
-							Object value = field.get(entity);
+							Object value = fieldValue.apply(entity);
 							return value != null ? value.toString() : "";
 						} catch (Exception e) {
 							LOGGER.error("Error accessing text field {}: {}", fieldName, e.getMessage());
@@ -312,8 +292,7 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 				// For any other type, use addEntityColumn which provides metadata-based styling
 				ValueProvider valueProvider = entity -> {
 					try {
-						field.setAccessible(true);
-						return field.get(entity);
+						return fieldValue.apply(entity);
 					} catch (Exception e) {
 						LOGGER.error("Error accessing field {}: {}", fieldName, e.getMessage());
 						return null;
@@ -422,35 +401,6 @@ public class CComponentGridEntity extends CDiv implements IProjectChangeListener
 		return null;
 	}
 
-	/** Helper method to determine if a color is light or dark for text contrast
-	 * @param color hex color string (e.g., "#FF0000")
-	 * @return true if the color is light, false if dark */
-	private boolean isColorLight(String color) {
-		if (color == null || color.trim().isEmpty()) {
-			return true; // Default to light
-		}
-		try {
-			// Remove # if present
-			String hex = color.startsWith("#") ? color.substring(1) : color;
-			if (hex.length() == 3) {
-				// Convert 3-digit hex to 6-digit
-				hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
-			}
-			if (hex.length() != 6) {
-				return true; // Invalid format, default to light
-			}
-			// Calculate brightness using standard formula
-			int r = Integer.parseInt(hex.substring(0, 2), 16);
-			int g = Integer.parseInt(hex.substring(2, 4), 16);
-			int b = Integer.parseInt(hex.substring(4, 6), 16);
-			// Calculate brightness (0-255)
-			double brightness = (r * 0.299 + g * 0.587 + b * 0.114);
-			return brightness > 127; // Threshold for light vs dark
-		} catch (Exception e) {
-			return true; // Default to light on error
-		}
-	}
-
 	/** Loads data from the specified service and populates the grid.
 	 * @param serviceBeanName the name of the service bean to load data from
 	 * @param project         the project to filter data by (if service supports project filtering) */
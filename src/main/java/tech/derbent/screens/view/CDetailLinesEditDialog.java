@@ -71,9 +71,9 @@ public class CDetailLinesEditDialog extends CDBEditDialog<CDetailLines> {
 			getDialogLayout().add(tabsOfDialog);
 			// BUILD ENTITY TAB
 			tabEntitySpan.add(formEntity.build(CDetailLines.class, binder, List.of("entityProperty", "lineOrder", "fieldCaption", "fieldDescription",
-					"isRequired", "isReadonly", "isHidden", "defaultValue", "relatedEntityType", "dataProviderBean", "maxLength", "isActive")));
+					"isRequired", "isReadonly", "isHidden", "defaultValue", "relatedEntityType", "dataProviderBean", "maxLength")));
 			// BUILD SECTION TAB
-			tabSectionSpan.add(formSection.build(CDetailLines.class, binder, List.of("sectionName", "fieldCaption", "isActive")));
+			tabSectionSpan.add(formSection.build(CDetailLines.class, binder, List.of("sectionName", "fieldCaption")));
 			// SETUP ENTITY TAB COMBOXBOXES
 			cmbFieldClass = ((ComboBox<String>) formClassType.getComponent("relationFieldName"));
 			cmbFieldClass.addValueChangeListener(event -> {
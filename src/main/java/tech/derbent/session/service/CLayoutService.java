@@ -1,7 +1,6 @@
 package tech.derbent.session.service;
 
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -10,7 +9,8 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.VaadinSession;
 import tech.derbent.api.interfaces.ILayoutChangeListener;
 
-/** Service to manage layout state (horizontal vs vertical) for views. Uses Vaadin session to store layout preference. */
+/** Service to manage layout state (horizontal vs vertical) for views. Uses Vaadin session to store layout preference; the mode and the listeners
+ * are part of the session's {@link CWebSessionState}, so the service itself is stateless. */
 @Service
 public class CLayoutService {
 
@@ -18,20 +18,23 @@ public class CLayoutService {
 		HORIZONTAL, VERTICAL
 	}
 
-	private static final String LAYOUT_MODE_KEY = "layoutMode";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CLayoutService.class);
-	// Thread-safe set to store layout change listeners
-	private final Set<ILayoutChangeListener> layoutChangeListeners = ConcurrentHashMap.newKeySet();
 
 	/** Registers a component to receive notifications when the layout mode changes. */
 	public void addLayoutChangeListener(final ILayoutChangeListener listener) {
 		Assert.notNull(listener, "Listener cannot be null");
-		layoutChangeListeners.add(listener);
+		final VaadinSession session = VaadinSession.getCurrent();
+		if (session != null) {
+			CWebSessionState.of(session).getLayoutChangeListeners().add(listener);
+		}
 	}
 
-	/** Clears all layout change listeners (typically called on session clear). */
+	/** Clears the layout change listeners of the current session (typically called on session clear). */
 	public void clearLayoutChangeListeners() {
-		layoutChangeListeners.clear();
+		final VaadinSession session = VaadinSession.getCurrent();
+		if (session != null) {
+			CWebSessionState.of(session).getLayoutChangeListeners().clear();
+		}
 	}
 
 	/** Gets the current layout mode from the session. Defaults to VERTICAL if not set. */
@@ -40,13 +43,13 @@ public class CLayoutService {
 		if (session == null) {
 			return LayoutMode.VERTICAL; // Default to vertical
 		}
-		final LayoutMode mode = (LayoutMode) session.getAttribute(LAYOUT_MODE_KEY);
+		final LayoutMode mode = CWebSessionState.of(session).getLayoutMode();
 		final LayoutMode result = mode != null ? mode : LayoutMode.VERTICAL;
 		return result;
 	}
 
 	/** Notifies all registered layout change listeners about a layout mode change. */
-	private void notifyLayoutChangeListeners(final LayoutMode newMode) {
+	private void notifyLayoutChangeListeners(final Set<ILayoutChangeListener> layoutChangeListeners, final LayoutMode newMode) {
 		LOGGER.debug("Notifying {} layout change listeners of layout change to {}", layoutChangeListeners.size(), newMode);
 		if (newMode == null) {
 			LOGGER.warn("Cannot notify listeners - newMode is null");
@@ -102,7 +105,10 @@ public class CLayoutService {
 	/** Unregisters a component from receiving layout change notifications. */
 	public void removeLayoutChangeListener(final ILayoutChangeListener listener) {
 		assert listener != null : "Listener cannot be null";
-		layoutChangeListeners.remove(listener);
+		final VaadinSession session = VaadinSession.getCurrent();
+		if (session != null) {
+			CWebSessionState.of(session).getLayoutChangeListeners().remove(listener);
+		}
 	}
 
 	/** Sets the layout mode and notifies all registered listeners. */
@@ -113,8 +119,9 @@ public class CLayoutService {
 		}
 		final VaadinSession session = VaadinSession.getCurrent();
 		if (session != null) {
-			session.setAttribute(LAYOUT_MODE_KEY, layoutMode);
-			notifyLayoutChangeListeners(layoutMode);
+			final CWebSessionState state = CWebSessionState.of(session);
+			state.setLayoutMode(layoutMode);
+			notifyLayoutChangeListeners(state.getLayoutChangeListeners(), layoutMode);
 		} else {
 			LOGGER.warn("VaadinSession is null, cannot set layout mode");
 		}
@@ -2,8 +2,6 @@ package tech.derbent.session.service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -22,23 +20,22 @@ import tech.derbent.projects.service.IProjectRepository;
 import tech.derbent.users.domain.CUser;
 import tech.derbent.users.service.IUserRepository;
 
-/** Service to manage user session state including active user and active project. Uses Vaadin session to store session-specific information. */
+/** Service to manage user session state including active user and active project. Uses Vaadin session to store session-specific information: the
+ * state lives in one {@link CWebSessionState} attribute per session that serializes ids only, so the service holds nothing of any session and
+ * sessions can be replicated between nodes. */
 @Service ("CSessionService")
 @ConditionalOnWebApplication
 @Profile ("!reset-db")
 public class CWebSessionService implements ISessionService {
 
-	private static final String ACTIVE_ID_KEY = "activeId";
-	private static final String ACTIVE_PROJECT_KEY = "activeProject";
-	private static final String ACTIVE_USER_KEY = "activeUser";
 	private static final Logger LOGGER = LoggerFactory.getLogger(CWebSessionService.class);
+
+	private static Optional<CWebSessionState> currentState() {
+		final VaadinSession session = VaadinSession.getCurrent();
+		return session != null ? Optional.of(CWebSessionState.of(session)) : Optional.empty();
+	}
+
 	private final AuthenticationContext authenticationContext;
-	private final Set<String> idAttributes = ConcurrentHashMap.newKeySet();
-	private CLayoutService layoutService;
-	// Thread-safe set to store project change listeners
-	private final Set<IProjectChangeListener> projectChangeListeners = ConcurrentHashMap.newKeySet();
-	// Thread-safe set to store project list change listeners
-	private final Set<IProjectListChangeListener> projectListChangeListeners = ConcurrentHashMap.newKeySet();
 	private final IProjectRepository projectRepository;
 	private final IUserRepository userRepository;
 
@@ -55,7 +52,7 @@ public class CWebSessionService implements ISessionService {
 	@Override
 	public void addProjectChangeListener(final IProjectChangeListener listener) {
 		if (listener != null) {
-			projectChangeListeners.add(listener);
+			currentState().ifPresent(state -> state.getProjectChangeListeners().add(listener));
 		}
 	}
 
@@ -65,57 +62,41 @@ public class CWebSessionService implements ISessionService {
 	@Override
 	public void addProjectListChangeListener(final IProjectListChangeListener listener) {
 		if (listener != null) {
-			projectListChangeListeners.add(listener);
+			currentState().ifPresent(state -> state.getProjectListChangeListeners().add(listener));
 		}
 	}
 
-	/** Clears session data on logout. */
+	/** Clears session data on logout, including the project, list and layout listeners of the session. */
 	@Override
 	public void clearSession() {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session != null) {
-			session.setAttribute(ACTIVE_PROJECT_KEY, null);
-			session.setAttribute(ACTIVE_USER_KEY, null);
-			session.setAttribute(ACTIVE_ID_KEY, null);
-		}
-		projectChangeListeners.clear();
-		projectListChangeListeners.clear();
-		if (layoutService != null) {
-			layoutService.clearLayoutChangeListeners();
-		}
+		currentState().ifPresent(CWebSessionState::clear);
 	}
 
 	@Override
 	public void deleteAllActiveIds() {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session == null) {
-			return;
-		}
-		// iterate over all attributes and remove those that start with ACTIVE_ID_KEY
-		for (final String attributeName : idAttributes) {
-			if (attributeName.startsWith(ACTIVE_ID_KEY)) {
-				session.setAttribute(attributeName, null);
-			}
-		}
+		currentState().ifPresent(state -> state.getActiveIds().clear());
 	}
 
 	@Override
 	public Long getActiveId(final String entityType) {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session != null) {
-			return (Long) session.getAttribute(ACTIVE_ID_KEY + "_" + entityType);
-		}
-		return null;
+		return currentState().map(state -> state.getActiveIds().get(entityType)).orElse(null);
 	}
 
-	/** Gets the currently active project from the session. If no project is set, returns the first available project. */
+	/** Gets the currently active project from the session. If no project is set, returns the first available project. A session restored on another
+	 * node loads the project by its id once. */
 	@Override
 	public Optional<CProject> getActiveProject() {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session == null) {
+		final Optional<CWebSessionState> current = currentState();
+		if (current.isEmpty()) {
 			return Optional.empty();
 		}
-		CProject activeProject = (CProject) session.getAttribute(ACTIVE_PROJECT_KEY);
+		final CWebSessionState state = current.get();
+		CProject activeProject = state.getActiveProject();
+		if ((activeProject == null) && (state.getActiveProjectId() != null)) {
+			activeProject = projectRepository.findById(state.getActiveProjectId()).orElse(null);
+			// the project may have been deleted meanwhile, then the first available one is selected below
+			state.setActiveProject(activeProject);
+		}
 		if (activeProject == null) {
 			// If no active project is set, try to set the first available project
 			final List<CProject> availableProjects = getAvailableProjects();
@@ -131,11 +112,16 @@ public class CWebSessionService implements ISessionService {
 	 * that it may return an empty value if no user is found. */
 	@Override
 	public Optional<CUser> getActiveUser() {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session == null) {
+		final Optional<CWebSessionState> current = currentState();
+		if (current.isEmpty()) {
 			return Optional.empty();
 		}
-		CUser activeUser = (CUser) session.getAttribute(ACTIVE_USER_KEY);
+		final CWebSessionState state = current.get();
+		CUser activeUser = state.getActiveUser();
+		if ((activeUser == null) && (state.getActiveUserId() != null)) {
+			activeUser = userRepository.findById(state.getActiveUserId()).orElse(null);
+			state.setActiveUser(activeUser);
+		}
 		if (activeUser == null) {
 			// Try to load user from authentication context
 			final Optional<User> authenticatedUser =
@@ -165,12 +151,12 @@ public class CWebSessionService implements ISessionService {
 	/** Notifies all registered project change listeners about a project change. This method safely handles UI access for components that may be in
 	 * different UIs.
 	 * @param newProject The newly selected project */
-	private void notifyProjectChangeListeners(final CProject newProject) {
+	private void notifyProjectChangeListeners(final CWebSessionState state, final CProject newProject) {
 		// Use UI.access to safely notify listeners that may be in different UI contexts
 		final UI ui = UI.getCurrent();
 		if (ui != null) {
 			ui.access(() -> {
-				projectChangeListeners.forEach(listener -> {
+				state.getProjectChangeListeners().forEach(listener -> {
 					try {
 						listener.onProjectChanged(newProject);
 					} catch (final Exception e) {
@@ -188,8 +174,9 @@ public class CWebSessionService implements ISessionService {
 		// Use UI.access to safely notify listeners that may be in different UI contexts
 		final UI ui = UI.getCurrent();
 		if (ui != null) {
+			final CWebSessionState state = CWebSessionState.of(ui.getSession());
 			ui.access(() -> {
-				projectListChangeListeners.forEach(listener -> {
+				state.getProjectListChangeListeners().forEach(listener -> {
 					try {
 						listener.onProjectListChanged();
 						LOGGER.debug("Notified project list listener: {}", listener.getClass().getSimpleName());
@@ -206,7 +193,7 @@ public class CWebSessionService implements ISessionService {
 	@Override
 	public void removeProjectChangeListener(final IProjectChangeListener listener) {
 		if (listener != null) {
-			projectChangeListeners.remove(listener);
+			currentState().ifPresent(state -> state.getProjectChangeListeners().remove(listener));
 			// LOGGER.debug("Project change listener unregistered: {}",
 			// listener.getClass().getSimpleName());
 		}
@@ -218,7 +205,7 @@ public class CWebSessionService implements ISessionService {
 	@Override
 	public void removeProjectListChangeListener(final IProjectListChangeListener listener) {
 		if (listener != null) {
-			projectListChangeListeners.remove(listener);
+			currentState().ifPresent(state -> state.getProjectListChangeListeners().remove(listener));
 			// LOGGER.debug("Project list change listener unregistered: {}",
 			// listener.getClass().getSimpleName());
 		}
@@ -226,42 +213,40 @@ public class CWebSessionService implements ISessionService {
 
 	@Override
 	public void setActiveId(final String entityType, final Long id) {
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session == null) {
-			return;
-		}
-		final String key = ACTIVE_ID_KEY + "_" + entityType;
-		session.setAttribute(key, id);
-		LOGGER.debug("Active ID set to: {}", id);
-		idAttributes.add(key);
+		currentState().ifPresent(state -> {
+			if (id != null) {
+				state.getActiveIds().put(entityType, id);
+			} else {
+				state.getActiveIds().remove(entityType);
+			}
+			LOGGER.debug("Active ID set to: {}", id);
+		});
 	}
 
 	/** Sets the active project in the session and triggers UI refresh. */
 	@Override
 	public void setActiveProject(final CProject project) {
 		// reset active entity ID when changing project
-		final VaadinSession session = VaadinSession.getCurrent();
-		deleteAllActiveIds();
-		if (session != null) {
-			session.setAttribute(ACTIVE_PROJECT_KEY, project);
+		currentState().ifPresent(state -> {
+			state.getActiveIds().clear();
+			state.setActiveProject(project);
 			LOGGER.info("Active project set to: {}", project != null ? project.getName() : "null");
 			// Notify all registered project change listeners
-			notifyProjectChangeListeners(project);
-		}
+			notifyProjectChangeListeners(state, project);
+		});
 	}
 
 	/** Sets the active user in the session. */
 	@Override
 	public void setActiveUser(final CUser user) {
 		clearSession(); // Clear session data before setting new user
-		final VaadinSession session = VaadinSession.getCurrent();
-		if (session != null) {
-			session.setAttribute(ACTIVE_USER_KEY, user);
+		currentState().ifPresent(state -> {
+			state.setActiveUser(user);
 			LOGGER.info("Active user set to: {}", user != null ? user.getLogin() : "null");
-		}
+		});
 	}
 
-	/** Sets the layout service. This is called after bean creation to avoid circular dependency. */
+	/** Kept for the interface; the layout listeners are part of the session state and cleared with it. */
 	@Override
-	public void setLayoutService(final CLayoutService layoutService) { this.layoutService = layoutService; }
+	public void setLayoutService(final CLayoutService layoutService) {}
 }
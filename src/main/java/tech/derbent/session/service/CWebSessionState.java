@@ -0,0 +1,89 @@
+package tech.derbent.session.service;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import com.vaadin.flow.server.VaadinSession;
+import tech.derbent.api.interfaces.ILayoutChangeListener;
+import tech.derbent.api.interfaces.IProjectChangeListener;
+import tech.derbent.api.interfaces.IProjectListChangeListener;
+import tech.derbent.api.utils.Check;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.session.service.CLayoutService.LayoutMode;
+import tech.derbent.users.domain.CUser;
+
+/** CWebSessionState - Per session state of CWebSessionService and CLayoutService, kept as one attribute of the VaadinSession. Layer: Service (MVC)
+ * Only ids are serialized, so a session replicated to or restored on another node carries no entity; the active user and project are reloaded from
+ * their repository on first access there. The listeners are the components of the session's UIs and travel with them. The services themselves hold
+ * no session data, so they are the same on every node. */
+final class CWebSessionState implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Returns the state of the session, creating it on first use. Callers hold the session lock, as every Vaadin request does.
+	 * @param session the Vaadin session
+	 * @return the state of the session */
+	static CWebSessionState of(final VaadinSession session) {
+		Check.notNull(session, "Session cannot be null");
+		CWebSessionState state = session.getAttribute(CWebSessionState.class);
+		if (state == null) {
+			state = new CWebSessionState();
+			session.setAttribute(CWebSessionState.class, state);
+		}
+		return state;
+	}
+
+	private final Map<String, Long> activeIds = new ConcurrentHashMap<>();
+	// node local copies of the active entities, dropped by serialization and reloaded by id
+	private transient CProject activeProject;
+	private Long activeProjectId;
+	private transient CUser activeUser;
+	private Long activeUserId;
+	private final Set<ILayoutChangeListener> layoutChangeListeners = ConcurrentHashMap.newKeySet();
+	private LayoutMode layoutMode;
+	private final Set<IProjectChangeListener> projectChangeListeners = ConcurrentHashMap.newKeySet();
+	private final Set<IProjectListChangeListener> projectListChangeListeners = ConcurrentHashMap.newKeySet();
+
+	/** Clears the user, the project and the listeners; the layout mode is a preference of the browser session and stays. */
+	void clear() {
+		setActiveProject(null);
+		setActiveUser(null);
+		activeIds.clear();
+		projectChangeListeners.clear();
+		projectListChangeListeners.clear();
+		layoutChangeListeners.clear();
+	}
+
+	Map<String, Long> getActiveIds() { return activeIds; }
+
+	/** The loaded active project, null if not loaded on this node yet. */
+	CProject getActiveProject() { return activeProject; }
+
+	Long getActiveProjectId() { return activeProjectId; }
+
+	/** The loaded active user, null if not loaded on this node yet. */
+	CUser getActiveUser() { return activeUser; }
+
+	Long getActiveUserId() { return activeUserId; }
+
+	Set<ILayoutChangeListener> getLayoutChangeListeners() { return layoutChangeListeners; }
+
+	LayoutMode getLayoutMode() { return layoutMode; }
+
+	Set<IProjectChangeListener> getProjectChangeListeners() { return projectChangeListeners; }
+
+	Set<IProjectListChangeListener> getProjectListChangeListeners() { return projectListChangeListeners; }
+
+	void setActiveProject(final CProject project) {
+		activeProject = project;
+		activeProjectId = project != null ? project.getId() : null;
+	}
+
+	void setActiveUser(final CUser user) {
+		activeUser = user;
+		activeUserId = user != null ? user.getId() : null;
+	}
+
+	void setLayoutMode(final LayoutMode layoutMode) { this.layoutMode = layoutMode; }
+}
@@ -61,7 +61,6 @@ public class CSystemSettingsInitializerService extends CInitializerServiceBase {
 			// Additional
 			detailSection.addScreenLine(CDetailLinesService.createSection("Additional Information"));
 			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "id"));
-			detailSection.addScreenLine(CDetailLinesService.createLineFromDefaults(clazz, "isActive"));
 			detailSection.debug_printScreenInformation();
 			return detailSection;
 		} catch (final Exception e) {
@@ -53,7 +53,7 @@ public class CSystemSettingsService extends CAbstractService<CSystemSettings> {
 	/** Gets the allowed file extensions.
 	 * @return array of allowed file extensions */
 	public String[] getAllowedFileExtensions() {
-		final Optional<String> result = Optional.ofNullable(((CSystemSettings) repository).getAllowedFileExtensions());
+		final Optional<String> result = getSystemSettings().map(CSystemSettings::getAllowedFileExtensions);
 		final String extensions = result.orElse(".pdf,.doc,.docx,.xls,.xlsx,.png,.jpg,.jpeg,.txt,.zip");
 		final String[] extensionArray = extensions.split(",");
 		// Trim whitespace from each extension
@@ -76,7 +76,7 @@ public class CSystemSettingsService extends CAbstractService<CSystemSettings> {
 	/** Gets the maximum file upload size in MB.
 	 * @return the max file upload size, or default value if not found */
 	public double getMaxFileUploadSizeMb() {
-		final Optional<java.math.BigDecimal> result = Optional.ofNullable(((CSystemSettings) repository).getMaxFileUploadSizeMb());
+		final Optional<java.math.BigDecimal> result = getSystemSettings().map(CSystemSettings::getMaxFileUploadSizeMb);
 		final double size = result.orElse(new java.math.BigDecimal("50.0")).doubleValue();
 		return size;
 	}
@@ -103,14 +103,16 @@ public class CSystemSettingsService extends CAbstractService<CSystemSettings> {
 
 	/** Gets the session timeout in minutes.
 	 * @return the session timeout value, or default value if not found */
+	@PreAuthorize ("permitAll()")
 	public int getSessionTimeoutMinutes() {
-		final Optional<Integer> result = Optional.ofNullable(((CSystemSettings) repository).getSessionTimeoutMinutes());
+		final Optional<Integer> result = getSystemSettings().map(CSystemSettings::getSessionTimeoutMinutes);
 		final int timeout = result.orElse(60); // Default to 60 minutes
 		return timeout;
 	}
 
-	/** Gets the current system settings without creating if they don't exist.
+	/** Gets the current system settings without creating if they don't exist. Open to the background jobs, which run without a user.
 	 * @return Optional containing the CSystemSettings if found, empty otherwise */
+	@PreAuthorize ("permitAll()")
 	public Optional<CSystemSettings> getSystemSettings() {
 		try {
 			final Optional<CSystemSettings> result = ((ISystemSettingsRepository) repository).findSystemSettings();
@@ -4,6 +4,7 @@ import java.time.Clock;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -57,6 +58,15 @@ public class CUserService extends CAbstractNamedEntityService<CUser> implements
 		return ((IUserRepository) repository).countByProjectId(projectId);
 	}
 
+	/** Counts the users of every project with one grouped statement.
+	 * @return user count by project id, projects without users are missing */
+	@PreAuthorize ("permitAll()")
+	@Transactional (readOnly = true)
+	public Map<Long, Long> countUsersByProjects() {
+		return ((IUserRepository) repository).countGroupedByProjectId().stream()
+				.collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+	}
+
 	@Transactional // Write operation requires writable transaction
 	public CUser createLoginUser(final String username, final String plainPassword, final String name, final String email, final String roles) {
 		// Check if username already exists
@@ -14,6 +14,9 @@ public interface IUserRepository extends IAbstractNamedRepository<CUser> {
 	/** Count distinct users by project ID using generic pattern */
 	@Query ("SELECT COUNT(DISTINCT u) FROM #{#entityName} u LEFT JOIN u.projectSettings ps LEFT JOIN u.userType ut WHERE ps.project.id = :projectId")
 	long countByProjectId(@Param ("projectId") Long projectId);
+	/** Counts the distinct users of all projects in one statement, each row is the project id and its user count. */
+	@Query ("SELECT ps.project.id, COUNT(DISTINCT u) FROM #{#entityName} u JOIN u.projectSettings ps GROUP BY ps.project.id")
+	List<Object[]> countGroupedByProjectId();
 	/** Find user by ID with eager loading using generic pattern */
 	@Override
 	@Query ("SELECT u " + /**/
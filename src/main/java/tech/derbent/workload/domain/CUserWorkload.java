@@ -0,0 +1,49 @@
+package tech.derbent.workload.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/** CUserWorkload - One row of the workload heatmap: the daily workload rows of a user within a window. Layer: Domain (MVC) Days without load have
+ * no row and report zero hours. */
+public class CUserWorkload {
+
+	private final Map<LocalDate, CWorkloadBucket> days = new TreeMap<>();
+	private final Long userId;
+	private final String userName;
+
+	public CUserWorkload(final Long userId, final String userName) {
+		this.userId = userId;
+		this.userName = userName;
+	}
+
+	public void addDay(final CWorkloadBucket bucket) {
+		days.put(bucket.getWorkDate(), bucket);
+	}
+
+	/** Workload rows keyed by day, ordered by day. */
+	public Map<LocalDate, CWorkloadBucket> getDays() { return Collections.unmodifiableMap(days); }
+
+	/** Total hours of the day, zero without load. */
+	public BigDecimal getHours(final LocalDate day) {
+		final CWorkloadBucket bucket = days.get(day);
+		return bucket != null ? bucket.getTotalHours() : BigDecimal.ZERO;
+	}
+
+	/** Highest daily total within the window. */
+	public BigDecimal getPeakHours() { return days.values().stream().map(CWorkloadBucket::getTotalHours).reduce(BigDecimal.ZERO, BigDecimal::max); }
+
+	/** Sum of the daily totals within the window. */
+	public BigDecimal getTotalHours() { return days.values().stream().map(CWorkloadBucket::getTotalHours).reduce(BigDecimal.ZERO, BigDecimal::add); }
+
+	public Long getUserId() { return userId; }
+
+	public String getUserName() { return userName; }
+
+	@Override
+	public String toString() {
+		return "CUserWorkload{userId=" + userId + ", userName=" + userName + ", days=" + days.size() + '}';
+	}
+}
@@ -0,0 +1,85 @@
+package tech.derbent.workload.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import tech.derbent.api.domains.CEntityDB;
+
+/** CWorkloadBucket - Planned hours of one user on one day across all projects. Layer: Domain (MVC) Activity hours come from the assigned
+ * activities spread over their working days, meeting hours from the meetings the user takes part in. Rows are maintained incrementally by
+ * CWorkloadService on every activity and meeting change, so a workload heatmap reads one row per user and day instead of scanning activities. Rows
+ * that drop to zero are removed. */
+@Entity
+@Table (name = "cworkloadbucket", uniqueConstraints = {
+		@UniqueConstraint (name = "uk_workloadbucket_user_day", columnNames = {
+				"user_id", "work_date"
+		})
+}, indexes = {
+		@Index (name = "idx_workloadbucket_day", columnList = "work_date, user_id")
+})
+public class CWorkloadBucket extends CEntityDB<CWorkloadBucket> {
+
+	private static BigDecimal orZero(final BigDecimal value) {
+		return value != null ? value : BigDecimal.ZERO;
+	}
+
+	@Column (name = "activity_hours", nullable = false, precision = 10, scale = 2)
+	private BigDecimal activityHours = BigDecimal.ZERO;
+	@Column (name = "meeting_hours", nullable = false, precision = 10, scale = 2)
+	private BigDecimal meetingHours = BigDecimal.ZERO;
+	@NotNull
+	@Column (name = "user_id", nullable = false)
+	private Long userId;
+	@NotNull
+	@Column (name = "work_date", nullable = false)
+	private LocalDate workDate;
+
+	/** Default constructor for JPA. */
+	public CWorkloadBucket() {
+		super(CWorkloadBucket.class);
+	}
+
+	public CWorkloadBucket(final Long userId, final LocalDate workDate) {
+		super(CWorkloadBucket.class);
+		this.userId = userId;
+		this.workDate = workDate;
+	}
+
+	/** Adds (sign 1) or subtracts (sign -1) the share of one activity or meeting.
+	 * @param share the daily share
+	 * @param sign  1 to add, -1 to subtract */
+	public void add(final CWorkloadContribution.CShare share, final int sign) {
+		final BigDecimal factor = BigDecimal.valueOf(sign);
+		activityHours = getActivityHours().add(share.activityHours().multiply(factor));
+		meetingHours = getMeetingHours().add(share.meetingHours().multiply(factor));
+	}
+
+	public BigDecimal getActivityHours() { return orZero(activityHours); }
+
+	public BigDecimal getMeetingHours() { return orZero(meetingHours); }
+
+	public BigDecimal getTotalHours() { return getActivityHours().add(getMeetingHours()); }
+
+	public Long getUserId() { return userId; }
+
+	public LocalDate getWorkDate() { return workDate; }
+
+	@Override
+	public void initializeAllFields() {
+		// no lazy relations
+	}
+
+	/** Whether no load is left on the day, the row can then be removed. Small negative values from rounding count as empty. */
+	public boolean isEmpty() { return (getActivityHours().signum() <= 0) && (getMeetingHours().signum() <= 0); }
+
+	@Override
+	public String toString() {
+		return "CWorkloadBucket{userId=" + userId + ", workDate=" + workDate + ", activityHours=" + activityHours + ", meetingHours=" + meetingHours
+				+ '}';
+	}
+}
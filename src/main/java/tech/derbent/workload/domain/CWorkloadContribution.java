@@ -0,0 +1,172 @@
+package tech.derbent.workload.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.users.domain.CUser;
+
+/** CWorkloadContribution - The daily hours a single activity or meeting puts on its users. Layer: Domain (MVC) Built either from a saved entity or,
+ * for activities, directly by a JPQL constructor expression that reads the committed row, so the state before a save can be captured without
+ * loading the entity. CWorkloadService subtracts the old shares and adds the new ones instead of recomputing the buckets.
+ * <ul>
+ * <li>An activity puts its open hours (remaining hours, or estimated minus actual hours when nothing remains recorded) on the assigned user, spread
+ * evenly over the working days from start date to due date. A range without working days is spread over all its days.</li>
+ * <li>A meeting puts its duration on every assigned, responsible, attending and participating user, split at midnight. A meeting without end
+ * counts one hour.</li>
+ * </ul>
+ */
+public class CWorkloadContribution {
+
+	/** Hours of one activity or meeting for one user on one day. */
+	public record CShare(Long userId, LocalDate day, BigDecimal activityHours, BigDecimal meetingHours) {}
+
+	public static final long DEFAULT_MEETING_MINUTES = 60;
+	private static final BigDecimal MINUTES_PER_HOUR = BigDecimal.valueOf(60);
+	private static final int SCALE = 2;
+
+	private static List<LocalDate> activityDays(final LocalDate start, final LocalDate due) {
+		final LocalDate end = (due == null) || due.isBefore(start) ? start : due;
+		final List<LocalDate> all = start.datesUntil(end.plusDays(1)).toList();
+		final List<LocalDate> working = all.stream().filter(day -> (day.getDayOfWeek() != DayOfWeek.SATURDAY) && (day.getDayOfWeek() != DayOfWeek.SUNDAY))
+				.toList();
+		return working.isEmpty() ? all : working;
+	}
+
+	private static BigDecimal hours(final long minutes) {
+		return BigDecimal.valueOf(minutes).divide(MINUTES_PER_HOUR, SCALE, RoundingMode.HALF_UP);
+	}
+
+	/** Creates the contribution of the given activity.
+	 * @param activity the activity, may be null
+	 * @return the contribution, or null if the activity is null or soft deleted */
+	public static CWorkloadContribution of(final CActivity activity) {
+		if ((activity == null) || Boolean.FALSE.equals(activity.getIsActive())) {
+			return null;
+		}
+		return new CWorkloadContribution(activity.getAssignedTo() != null ? activity.getAssignedTo().getId() : null, activity.getStartDate(),
+				activity.getDueDate(), activity.getEstimatedHours(), activity.getActualHours(), activity.getRemainingHours());
+	}
+
+	/** Creates the contribution of the given meeting.
+	 * @param meeting the meeting, may be null
+	 * @return the contribution, or null if the meeting is null or soft deleted */
+	public static CWorkloadContribution of(final CMeeting meeting) {
+		if ((meeting == null) || Boolean.FALSE.equals(meeting.getIsActive())) {
+			return null;
+		}
+		final Set<Long> userIds = new LinkedHashSet<>();
+		for (final CUser user : new CUser[] {
+				meeting.getAssignedTo(), meeting.getResponsible()
+		}) {
+			if (user != null) {
+				userIds.add(user.getId());
+			}
+		}
+		meeting.getAttendees().forEach(user -> userIds.add(user.getId()));
+		meeting.getParticipants().forEach(user -> userIds.add(user.getId()));
+		return ofMeeting(userIds, meeting.getMeetingDate(), meeting.getEndDate());
+	}
+
+	/** Creates the contribution of a meeting from its stored values.
+	 * @param userIds the users taking part, null ids are ignored
+	 * @param start   meeting start, no load without it
+	 * @param end     meeting end, null for a meeting of the default length
+	 * @return the contribution */
+	public static CWorkloadContribution ofMeeting(final Collection<Long> userIds, final LocalDateTime start, final LocalDateTime end) {
+		final List<CShare> shares = new ArrayList<>();
+		if ((start != null) && (userIds != null)) {
+			final LocalDateTime until = (end == null) || !end.isAfter(start) ? start.plusMinutes(DEFAULT_MEETING_MINUTES) : end;
+			for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(until); day = day.plusDays(1)) {
+				final LocalDateTime from = start.isAfter(day.atStartOfDay()) ? start : day.atStartOfDay();
+				final LocalDateTime to = until.isBefore(day.plusDays(1).atStartOfDay()) ? until : day.plusDays(1).atStartOfDay();
+				final BigDecimal hours = hours(Duration.between(from, to).toMinutes());
+				if (hours.signum() <= 0) {
+					continue;
+				}
+				for (final Long userId : new LinkedHashSet<>(userIds)) {
+					if (userId != null) {
+						shares.add(new CShare(userId, day, BigDecimal.ZERO.setScale(SCALE), hours));
+					}
+				}
+			}
+		}
+		return new CWorkloadContribution(shares);
+	}
+
+	private static BigDecimal openHours(final BigDecimal estimatedHours, final BigDecimal actualHours, final BigDecimal remainingHours) {
+		if ((remainingHours != null) && (remainingHours.signum() > 0)) {
+			return remainingHours;
+		}
+		final BigDecimal open = (estimatedHours != null ? estimatedHours : BigDecimal.ZERO).subtract(actualHours != null ? actualHours : BigDecimal.ZERO);
+		return open.signum() > 0 ? open : BigDecimal.ZERO;
+	}
+
+	private final List<CShare> shares;
+
+	private CWorkloadContribution(final List<CShare> shares) {
+		shares.sort(Comparator.comparing(CShare::userId).thenComparing(CShare::day));
+		this.shares = List.copyOf(shares);
+	}
+
+	/** Contribution of an activity, used by IActivityRepository. */
+	public CWorkloadContribution(final Long userId, final LocalDate startDate, final LocalDate dueDate, final BigDecimal estimatedHours,
+			final BigDecimal actualHours, final BigDecimal remainingHours) {
+		this(spreadActivity(userId, startDate, dueDate, openHours(estimatedHours, actualHours, remainingHours)));
+	}
+
+	private static List<CShare> spreadActivity(final Long userId, final LocalDate start, final LocalDate due, final BigDecimal hours) {
+		final List<CShare> shares = new ArrayList<>();
+		if ((userId == null) || (start == null) || (hours.signum() <= 0)) {
+			return shares;
+		}
+		final List<LocalDate> days = activityDays(start, due);
+		final BigDecimal total = hours.setScale(SCALE, RoundingMode.HALF_UP);
+		final BigDecimal perDay = total.divide(BigDecimal.valueOf(days.size()), SCALE, RoundingMode.DOWN);
+		// the last day takes the rounding remainder so the shares add up to the open hours
+		final BigDecimal last = total.subtract(perDay.multiply(BigDecimal.valueOf(days.size() - 1L)));
+		for (int i = 0; i < days.size(); i++) {
+			final BigDecimal dayHours = i == (days.size() - 1) ? last : perDay;
+			if (dayHours.signum() > 0) {
+				shares.add(new CShare(userId, days.get(i), dayHours, BigDecimal.ZERO.setScale(SCALE)));
+			}
+		}
+		return shares;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof final CWorkloadContribution other)) {
+			return false;
+		}
+		return shares.equals(other.shares);
+	}
+
+	/** Daily shares ordered by user and day. */
+	public List<CShare> getShares() { return shares; }
+
+	@Override
+	public int hashCode() {
+		return shares.hashCode();
+	}
+
+	public boolean isEmpty() { return shares.isEmpty(); }
+
+	@Override
+	public String toString() {
+		return "CWorkloadContribution{shares=" + shares + '}';
+	}
+}
@@ -0,0 +1,241 @@
+package tech.derbent.workload.service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.services.CAbstractService;
+import tech.derbent.api.utils.Check;
+import tech.derbent.meetings.service.IMeetingRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.workload.domain.CUserWorkload;
+import tech.derbent.workload.domain.CWorkloadBucket;
+import tech.derbent.workload.domain.CWorkloadContribution;
+import tech.derbent.workload.domain.CWorkloadContribution.CShare;
+
+/** CWorkloadService - Per-user daily load across all projects. Layer: Service (MVC) Maintains one row per user and day holding the activity and
+ * meeting hours planned for it. CActivityService and CMeetingService report the contribution of an item before and after each save, delete, soft
+ * delete and restore; the difference is applied to the affected rows in the same transaction, so a heatmap of hundreds of users is one range query
+ * instead of a scan over every activity and meeting. An empty table (e.g. data created before it existed) is rebuilt once from projection queries
+ * at startup, and CAggregateRebuildJob repairs any drift. The daily capacity is derbent.workload.daily-capacity-hours, default 8. */
+@Service
+@Transactional (readOnly = true)
+public class CWorkloadService extends CAbstractService<CWorkloadBucket> {
+
+	private static void validateWindow(final LocalDate from, final LocalDate to) {
+		Check.notNull(from, "Window start cannot be null");
+		Check.notNull(to, "Window end cannot be null");
+		Check.isTrue(!to.isBefore(from), "Window end cannot be before its start");
+	}
+
+	private final IActivityRepository activityRepository;
+	private final BigDecimal dailyCapacityHours;
+	private final IMeetingRepository meetingRepository;
+
+	public CWorkloadService(final IWorkloadBucketRepository repository, final IActivityRepository activityRepository,
+			final IMeetingRepository meetingRepository, final Clock clock,
+			@Value ("${derbent.workload.daily-capacity-hours:8}") final BigDecimal dailyCapacityHours) {
+		super(repository, clock);
+		Check.notNull(activityRepository, "Activity repository cannot be null");
+		Check.notNull(meetingRepository, "Meeting repository cannot be null");
+		Check.isTrue(dailyCapacityHours.signum() > 0, "Daily capacity must be positive");
+		this.activityRepository = activityRepository;
+		this.meetingRepository = meetingRepository;
+		this.dailyCapacityHours = dailyCapacityHours;
+	}
+
+	/** Adds (sign 1) or subtracts (sign -1) the shares of one contribution. The users have to be locked by the caller. */
+	private void apply(final CWorkloadContribution contribution, final int sign) {
+		final Map<Long, List<CShare>> sharesByUser = new LinkedHashMap<>();
+		for (final CShare share : contribution.getShares()) {
+			sharesByUser.computeIfAbsent(share.userId(), key -> new ArrayList<>()).add(share);
+		}
+		for (final Map.Entry<Long, List<CShare>> entry : sharesByUser.entrySet()) {
+			final List<CShare> shares = entry.getValue();
+			// shares are ordered by day within a user
+			final Map<LocalDate, CWorkloadBucket> rows = new HashMap<>();
+			for (final CWorkloadBucket bucket : getBucketRepository().findByUser(entry.getKey(), shares.get(0).day(),
+					shares.get(shares.size() - 1).day())) {
+				rows.put(bucket.getWorkDate(), bucket);
+			}
+			final List<CWorkloadBucket> changed = new ArrayList<>();
+			final List<CWorkloadBucket> emptied = new ArrayList<>();
+			for (final CShare share : shares) {
+				CWorkloadBucket bucket = rows.get(share.day());
+				if (bucket == null) {
+					if (sign < 0) {
+						LOGGER.warn("Missing workload row of user {} on {} while subtracting, rebuild the workload rows", share.userId(), share.day());
+						continue;
+					}
+					bucket = new CWorkloadBucket(share.userId(), share.day());
+					rows.put(share.day(), bucket);
+				}
+				bucket.add(share, sign);
+				// a contribution has one share per user and day, so every row is touched once
+				if (!bucket.isEmpty()) {
+					changed.add(bucket);
+				} else if (bucket.getId() != null) {
+					emptied.add(bucket);
+				}
+			}
+			repository.saveAll(changed);
+			repository.deleteAll(emptied);
+		}
+	}
+
+	private IWorkloadBucketRepository getBucketRepository() { return (IWorkloadBucketRepository) repository; }
+
+	/** Hours a user can work per day, the threshold for overloaded days. */
+	public BigDecimal getDailyCapacityHours() { return dailyCapacityHours; }
+
+	@Override
+	protected Class<CWorkloadBucket> getEntityClass() { return CWorkloadBucket.class; }
+
+	/** Heatmap rows of all users with load within the window, read with a single query.
+	 * @param from first day
+	 * @param to   last day, inclusive
+	 * @return one row per user with load, ordered by user name */
+	public List<CUserWorkload> getHeatmap(final LocalDate from, final LocalDate to) {
+		validateWindow(from, to);
+		final Map<Long, CUserWorkload> rows = new LinkedHashMap<>();
+		for (final Object[] row : getBucketRepository().listBetweenWithUserName(from, to)) {
+			final CWorkloadBucket bucket = (CWorkloadBucket) row[0];
+			rows.computeIfAbsent(bucket.getUserId(), userId -> new CUserWorkload(userId, (String) row[1])).addDay(bucket);
+		}
+		LOGGER.debug("Workload heatmap between {} and {} has {} users", from, to, rows.size());
+		return new ArrayList<>(rows.values());
+	}
+
+	/** Days within the window on which a user is planned beyond the daily capacity.
+	 * @param from first day
+	 * @param to   last day, inclusive
+	 * @return the overloaded rows ordered by day */
+	public List<CWorkloadBucket> listOverloadedDays(final LocalDate from, final LocalDate to) {
+		validateWindow(from, to);
+		return getBucketRepository().listOverloaded(from, to, dailyCapacityHours);
+	}
+
+	/** Daily workload of the user within the window.
+	 * @param user the user
+	 * @param from first day
+	 * @param to   last day, inclusive
+	 * @return the rows of the days with load, ordered by day */
+	public List<CWorkloadBucket> listWorkloadOfUser(final CUser user, final LocalDate from, final LocalDate to) {
+		Check.notNull(user, "User cannot be null");
+		validateWindow(from, to);
+		return getBucketRepository().listByUser(user.getId(), from, to);
+	}
+
+	/** Applies the change of one activity or meeting to the workload rows. Called inside the transaction of the save or delete.
+	 * @param before the contribution before the change, null for a new or inactive item
+	 * @param after  the contribution after the change, null for a deleted or inactive item */
+	@Transactional
+	public void onChanged(final CWorkloadContribution before, final CWorkloadContribution after) {
+		// the next change of the item reads its stored row as the state before, which has to match what the rows already hold
+		repository.flush();
+		final boolean beforeEmpty = (before == null) || before.isEmpty();
+		final boolean afterEmpty = (after == null) || after.isEmpty();
+		if ((beforeEmpty && afterEmpty) || (!beforeEmpty && before.equals(after))) {
+			return;
+		}
+		// a missing row cannot be locked, so the users are: concurrent changes of one user's load run one after the other
+		final Set<Long> userIds = new TreeSet<>();
+		if (!beforeEmpty) {
+			before.getShares().forEach(share -> userIds.add(share.userId()));
+		}
+		if (!afterEmpty) {
+			after.getShares().forEach(share -> userIds.add(share.userId()));
+		}
+		getBucketRepository().lockUsers(userIds);
+		if (!beforeEmpty) {
+			apply(before, -1);
+		}
+		if (!afterEmpty) {
+			apply(after, 1);
+		}
+	}
+
+	/** Builds the rows once at startup if the table is empty, for data written before the rows existed. Done here rather than on the first change,
+	 * where concurrent first saves would all rebuild the table at once. */
+	@EventListener (ApplicationReadyEvent.class)
+	@Transactional
+	public void initializeBuckets() {
+		if (!getBucketRepository().existsAny()) {
+			rebuild();
+		}
+	}
+
+	/** Reads the contribution of the stored activity, before pending changes of the transaction.
+	 * @param id the activity id, may be null
+	 * @return the contribution, null for a new or soft deleted activity */
+	public CWorkloadContribution readActivityContribution(final Long id) {
+		return id != null ? activityRepository.findWorkloadContribution(id).orElse(null) : null;
+	}
+
+	/** Reads the contribution of the stored meeting, before pending changes of the transaction.
+	 * @param id the meeting id, may be null
+	 * @return the contribution, null for a new or soft deleted meeting */
+	public CWorkloadContribution readMeetingContribution(final Long id) {
+		if (id == null) {
+			return null;
+		}
+		final List<Object[]> times = meetingRepository.findWorkloadTimes(id);
+		if (times.isEmpty()) {
+			return null;
+		}
+		return CWorkloadContribution.ofMeeting(meetingRepository.findWorkloadUserIds(id), (LocalDateTime) times.get(0)[0],
+				(LocalDateTime) times.get(0)[1]);
+	}
+
+	/** Recomputes all workload rows from the active activities and meetings. Only needed to initialize or repair the rows, normal updates are
+	 * incremental. */
+	@Transactional
+	public void rebuild() {
+		repository.deleteAllInBatch();
+		final Map<Long, Map<LocalDate, CWorkloadBucket>> rows = new HashMap<>();
+		final List<CWorkloadContribution> contributions = new ArrayList<>(activityRepository.listWorkloadContributions());
+		final Map<Long, Set<Long>> meetingUsers = new HashMap<>();
+		for (final List<Object[]> pairs : List.of(meetingRepository.listWorkloadAttendees(), meetingRepository.listWorkloadParticipants())) {
+			for (final Object[] pair : pairs) {
+				meetingUsers.computeIfAbsent((Long) pair[0], key -> new LinkedHashSet<>()).add((Long) pair[1]);
+			}
+		}
+		for (final Object[] meeting : meetingRepository.listWorkloadTimes()) {
+			final Set<Long> userIds = new LinkedHashSet<>(meetingUsers.getOrDefault(meeting[0], Set.of()));
+			userIds.add((Long) meeting[3]);
+			userIds.add((Long) meeting[4]);
+			contributions.add(CWorkloadContribution.ofMeeting(userIds, (LocalDateTime) meeting[1], (LocalDateTime) meeting[2]));
+		}
+		int count = 0;
+		for (final CWorkloadContribution contribution : contributions) {
+			for (final CShare share : contribution.getShares()) {
+				final CWorkloadBucket bucket = rows.computeIfAbsent(share.userId(), key -> new TreeMap<>()).get(share.day());
+				if (bucket != null) {
+					bucket.add(share, 1);
+					continue;
+				}
+				final CWorkloadBucket created = new CWorkloadBucket(share.userId(), share.day());
+				created.add(share, 1);
+				rows.get(share.userId()).put(share.day(), created);
+				count++;
+			}
+		}
+		rows.values().forEach(days -> repository.saveAll(days.values()));
+		LOGGER.info("Rebuilt {} workload rows of {} users from {} activities and meetings", count, rows.size(), contributions.size());
+	}
+}
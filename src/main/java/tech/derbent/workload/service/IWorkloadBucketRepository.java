@@ -0,0 +1,43 @@
+package tech.derbent.workload.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import tech.derbent.api.services.IAbstractRepository;
+import tech.derbent.workload.domain.CWorkloadBucket;
+
+/** IWorkloadBucketRepository - Repository interface for the per-user daily workload rows. Layer: Data Access (MVC) The users are locked while a delta
+ * is applied so concurrent saves add up instead of overwriting each other's hours or inserting the same day twice. */
+@Repository
+public interface IWorkloadBucketRepository extends IAbstractRepository<CWorkloadBucket> {
+
+	@Query ("SELECT COUNT(b) > 0 FROM CWorkloadBucket b")
+	boolean existsAny();
+	/** Locks the user rows until the end of the transaction, in id order so two changes never wait on each other. The user row exists before any
+	 * of its workload rows, so the writers of one user are serialized even for days that have no row to lock yet. */
+	@Query (value = "SELECT user_id FROM cuser WHERE user_id IN (:userIds) ORDER BY user_id FOR UPDATE", nativeQuery = true)
+	List<Long> lockUsers(@Param ("userIds") Collection<Long> userIds);
+	/** Rows of the user within the days. Read after {@link #lockUsers(Collection)}, so no other transaction changes them meanwhile. */
+	@Query ("SELECT b FROM CWorkloadBucket b WHERE b.userId = :userId AND b.workDate BETWEEN :from AND :to")
+	List<CWorkloadBucket> findByUser(@Param ("userId") Long userId, @Param ("from") LocalDate from, @Param ("to") LocalDate to);
+	/** Rows of all users within the days with the user name, the single query behind the workload heatmap. Uses idx_workloadbucket_day. */
+	@Query ("""
+			SELECT b, u.name FROM CWorkloadBucket b, CUser u
+			WHERE u.id = b.userId AND b.workDate BETWEEN :from AND :to
+			ORDER BY u.name, u.id, b.workDate
+			""")
+	List<Object[]> listBetweenWithUserName(@Param ("from") LocalDate from, @Param ("to") LocalDate to);
+	@Query ("SELECT b FROM CWorkloadBucket b WHERE b.userId = :userId AND b.workDate BETWEEN :from AND :to ORDER BY b.workDate")
+	List<CWorkloadBucket> listByUser(@Param ("userId") Long userId, @Param ("from") LocalDate from, @Param ("to") LocalDate to);
+	/** Rows within the days whose total hours exceed the capacity, ordered by day. */
+	@Query ("""
+			SELECT b FROM CWorkloadBucket b
+			WHERE b.workDate BETWEEN :from AND :to AND b.activityHours + b.meetingHours > :capacity
+			ORDER BY b.workDate, b.userId
+			""")
+	List<CWorkloadBucket> listOverloaded(@Param ("from") LocalDate from, @Param ("to") LocalDate to, @Param ("capacity") BigDecimal capacity);
+}
@@ -0,0 +1,133 @@
+package tech.derbent.workload.view;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import com.vaadin.flow.component.datepicker.DatePicker;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.H1;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.FlexComponent.Alignment;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.Menu;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.theme.lumo.LumoUtility.Margin;
+import jakarta.annotation.security.PermitAll;
+import tech.derbent.api.utils.CColorStyles;
+import tech.derbent.api.views.CAbstractPage;
+import tech.derbent.api.views.components.CButton;
+import tech.derbent.workload.domain.CUserWorkload;
+import tech.derbent.workload.service.CWorkloadService;
+
+/** CWorkloadView - Workload heatmap of all users. Layer: View (MVC) Shows the planned hours of every user with load for two weeks, one column per
+ * day, colored against the daily capacity. Each navigation reads the visible days with one query through CWorkloadService. */
+@Route ("workload")
+@PageTitle ("Workload")
+@Menu (order = 1.25, icon = "class:tech.derbent.workload.view.CWorkloadView", title = "Project.Workload")
+@PermitAll
+public class CWorkloadView extends CAbstractPage {
+
+	private static final String COLOR_FULL = "#ffe08a";
+	private static final String COLOR_LIGHT = "#c8e6c9";
+	private static final String COLOR_OVERLOADED = "#f4a6a6";
+	private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEE dd.MM");
+	public static final String DEFAULT_COLOR = "#e8590c";
+	public static final String DEFAULT_ICON = "vaadin:chart-grid";
+	public static final int DAYS = 14;
+	private static final BigDecimal HALF = new BigDecimal("0.5");
+	private static final long serialVersionUID = 1L;
+	public static final String VIEW_NAME = "Workload View";
+	private final List<Grid.Column<CUserWorkload>> dayColumns = new ArrayList<>();
+	private Grid<CUserWorkload> grid;
+	private LocalDate start;
+	private DatePicker startPicker;
+	private final CWorkloadService workloadService;
+
+	public CWorkloadView(final CWorkloadService workloadService) {
+		super();
+		this.workloadService = workloadService;
+		// the toolbar is built by the super constructor, before the service is available
+		add(new Span("Daily capacity " + workloadService.getDailyCapacityHours().stripTrailingZeros().toPlainString() + " h"));
+		createGrid();
+		refresh();
+	}
+
+	@Override
+	public void beforeEnter(final BeforeEnterEvent event) {
+		LOGGER.debug("BeforeEnter event for CWorkloadView");
+	}
+
+	/** Cell of one day, colored by the share of the daily capacity it uses. */
+	private Span createCell(final CUserWorkload row, final int offset) {
+		final BigDecimal hours = row.getHours(start.plusDays(offset));
+		final Span cell = new Span(hours.signum() > 0 ? hours.setScale(1, RoundingMode.HALF_UP).toPlainString() : "");
+		if (hours.signum() > 0) {
+			final BigDecimal capacity = workloadService.getDailyCapacityHours();
+			final String color = hours.compareTo(capacity) > 0 ? COLOR_OVERLOADED
+					: hours.compareTo(capacity.multiply(HALF)) > 0 ? COLOR_FULL : COLOR_LIGHT;
+			CColorStyles.apply(cell, color, true);
+			cell.addClassName("cgrid-cell-status");
+		}
+		return cell;
+	}
+
+	private void createGrid() {
+		grid = new Grid<>(CUserWorkload.class, false);
+		grid.addThemeVariants(GridVariant.LUMO_COMPACT, GridVariant.LUMO_ROW_STRIPES, GridVariant.LUMO_COLUMN_BORDERS);
+		grid.setSizeFull();
+		grid.addColumn(CUserWorkload::getUserName).setHeader("User").setWidth("180px").setFlexGrow(0).setFrozen(true);
+		for (int offset = 0; offset < DAYS; offset++) {
+			final int day = offset;
+			dayColumns.add(grid.addComponentColumn(row -> createCell(row, day)).setWidth("80px").setFlexGrow(0));
+		}
+		grid.addColumn(row -> row.getTotalHours().setScale(1, RoundingMode.HALF_UP).toPlainString()).setHeader("Total").setWidth("90px")
+				.setFlexGrow(0);
+		add(grid);
+	}
+
+	@Override
+	public String getPageTitle() { return "Workload"; }
+
+	private void move(final int days) {
+		startPicker.setValue(start.plusDays(days));
+	}
+
+	/** Loads the workload of the visible days. */
+	private void refresh() {
+		for (int offset = 0; offset < DAYS; offset++) {
+			dayColumns.get(offset).setHeader(DAY_FORMAT.format(start.plusDays(offset)));
+		}
+		final List<CUserWorkload> rows = workloadService.getHeatmap(start, start.plusDays(DAYS - 1));
+		grid.setItems(rows);
+		LOGGER.debug("Workload from {} shows {} users", start, rows.size());
+	}
+
+	@Override
+	protected void setupToolbar() {
+		final H1 title = new H1("Workload");
+		title.addClassNames(Margin.Bottom.SMALL);
+		// called from the super constructor, before field initializers run
+		start = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+		startPicker = new DatePicker("From", start);
+		startPicker.addValueChangeListener(event -> {
+			if (event.getValue() != null) {
+				start = event.getValue().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+				refresh();
+			}
+		});
+		final HorizontalLayout toolbar = new HorizontalLayout(CButton.createTertiary("Previous", VaadinIcon.ANGLE_LEFT.create(), event -> move(-DAYS)),
+				CButton.createTertiary("Today", VaadinIcon.CALENDAR.create(), event -> startPicker.setValue(LocalDate.now())),
+				CButton.createTertiary("Next", VaadinIcon.ANGLE_RIGHT.create(), event -> move(DAYS)), startPicker);
+		toolbar.setDefaultVerticalComponentAlignment(Alignment.BASELINE);
+		add(title, toolbar);
+	}
+}
@@ -0,0 +1,116 @@
+package tech.derbent.activities.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityAggregate;
+import tech.derbent.activities.domain.CActivityContribution;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** Integration test verifying that the activity roll-up rows follow saves and deletes incrementally. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("📊 Activity roll-up aggregates")
+public class CActivityAggregateServiceTest {
+
+	@Autowired
+	private CActivityAggregateService activityAggregateService;
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	private static void assertAmount(final String expected, final BigDecimal actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+	}
+
+	private CActivity createActivity(final CProject project, final String name, final String estimatedHours, final String actualCost) {
+		final CActivity activity = new CActivity(name, project);
+		activity.setEstimatedHours(new BigDecimal(estimatedHours));
+		activity.setActualCost(new BigDecimal(actualCost));
+		return activityService.save(activity);
+	}
+
+	@Test
+	@DisplayName ("Project, parent and status rows follow save, edit and delete")
+	void testIncrementalUpdates() {
+		final CProject project = projectRepository.save(new CProject("Aggregate Test Project"));
+		final CActivity parent = createActivity(project, "Parent", "10.00", "100.00");
+		final CActivity child = createActivity(project, "Child", "4.00", "40.00");
+		child.setParent(parent);
+		child.setProgressPercentage(50);
+		final CActivity savedChild = activityService.save(child);
+		CActivityAggregate total = activityAggregateService.getProjectAggregate(project);
+		assertEquals(2, total.getActivityCount());
+		assertAmount("14.00", total.getEstimatedHours());
+		assertAmount("140.00", total.getActualCost());
+		assertAmount("25.00", total.getAverageProgress());
+		final CActivityAggregate children = activityAggregateService.getChildrenAggregate(parent);
+		assertEquals(1, children.getActivityCount());
+		assertAmount("4.00", children.getEstimatedHours());
+		assertEquals(2, activityAggregateService.getStatusAggregates(project).get(CActivityContribution.NO_STATUS_ID).getActivityCount());
+		// an edit applies only the difference
+		savedChild.setEstimatedHours(new BigDecimal("6.00"));
+		activityService.save(savedChild);
+		total = activityAggregateService.getProjectAggregate(project);
+		assertEquals(2, total.getActivityCount());
+		assertAmount("16.00", total.getEstimatedHours());
+		// a delete removes the contribution from all rows
+		activityService.delete(savedChild);
+		total = activityAggregateService.getProjectAggregate(project);
+		assertEquals(1, total.getActivityCount());
+		assertAmount("10.00", total.getEstimatedHours());
+		assertEquals(0, activityAggregateService.getChildrenAggregate(parent).getActivityCount());
+	}
+
+	@Test
+	@DisplayName ("Rebuild produces the same rows as the incremental updates")
+	void testRebuildMatchesIncrementalState() {
+		final CProject project = projectRepository.save(new CProject("Aggregate Rebuild Project"));
+		final CActivity parent = createActivity(project, "Parent", "1.50", "10.00");
+		final CActivity child = createActivity(project, "Child", "2.50", "20.00");
+		child.setParent(parent);
+		activityService.save(child);
+		final CActivityAggregate incremental = activityAggregateService.getProjectAggregate(project);
+		final long count = incremental.getActivityCount();
+		final BigDecimal hours = incremental.getEstimatedHours();
+		activityAggregateService.rebuild(project);
+		final CActivityAggregate rebuilt = activityAggregateService.getProjectAggregate(project);
+		assertEquals(count, rebuilt.getActivityCount());
+		assertAmount(hours.toPlainString(), rebuilt.getEstimatedHours());
+		assertFalse(activityAggregateService.getChildrenAggregates(project).isEmpty());
+	}
+
+	@Test
+	@DisplayName ("A soft delete leaves the activity out of the totals and a restore adds it back")
+	void testSoftDeleteAndRestore() {
+		final CProject project = projectRepository.save(new CProject("Aggregate Soft Delete Project"));
+		createActivity(project, "Kept", "3.00", "30.00");
+		final CActivity deleted = createActivity(project, "Deleted", "5.00", "50.00");
+		activityService.deleteWithReflection(deleted);
+		CActivityAggregate total = activityAggregateService.getProjectAggregate(project);
+		assertEquals(1, total.getActivityCount());
+		assertAmount("3.00", total.getEstimatedHours());
+		assertAmount("30.00", total.getActualCost());
+		activityAggregateService.rebuild(project);
+		assertEquals(1, activityAggregateService.getProjectAggregate(project).getActivityCount());
+		activityService.restore(deleted);
+		total = activityAggregateService.getProjectAggregate(project);
+		assertEquals(2, total.getActivityCount());
+		assertAmount("8.00", total.getEstimatedHours());
+	}
+}
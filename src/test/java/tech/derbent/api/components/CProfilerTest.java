@@ -0,0 +1,66 @@
+package tech.derbent.api.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Unit tests for CProfiler span nesting, per thread isolation and Micrometer recording. */
+class CProfilerTest {
+
+	@AfterEach
+	void disable() {
+		CProfiler.disable();
+	}
+
+	@Test
+	void testDisabled_ReturnsNoopSpan() {
+		CProfiler.disable();
+		try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_SERVICE, "service", "A", "operation", "list")) {
+			assertNull(CProfiler.current());
+		}
+	}
+
+	@Test
+	void testNestedSpans_RecordTimersAndTree() {
+		final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		CProfiler.configure(registry, -1, false);
+		final CProfiler.CSpan root = CProfiler.startRoot(CProfiler.METRIC_REQUEST, "GET /test");
+		try (root) {
+			try (CProfiler.CSpan form = CProfiler.start(CProfiler.METRIC_FORM_BUILD, "entity", "CActivity")) {
+				assertSame(form, CProfiler.current());
+				try (CProfiler.CSpan list = CProfiler.start(CProfiler.METRIC_SERVICE, "service", "CActivityService", "operation", "list")) {
+					assertSame(list, CProfiler.current());
+				}
+				assertSame(form, CProfiler.current());
+			}
+			CProfiler.record(CProfiler.METRIC_NAVIGATION, 1_000_000, "view", "CActivitiesView");
+		}
+		assertNull(CProfiler.current());
+		assertEquals(1, registry.get(CProfiler.METRIC_REQUEST).timer().count());
+		assertEquals(1, registry.get(CProfiler.METRIC_SERVICE).tag("operation", "list").timer().count());
+		assertEquals(1, registry.get(CProfiler.METRIC_NAVIGATION).tag("view", "CActivitiesView").timer().count());
+		final String tree = root.dumpTree();
+		assertTrue(tree.contains("GET /test"));
+		assertTrue(tree.contains("\n  derbent.form.build[CActivity]"));
+		assertTrue(tree.contains("\n    derbent.service[CActivityService,list]"));
+		assertTrue(tree.contains("\n  derbent.navigation[CActivitiesView]"));
+	}
+
+	@Test
+	void testSpans_AreIsolatedPerThread() throws Exception {
+		CProfiler.configure(new SimpleMeterRegistry(), -1, false);
+		final AtomicReference<CProfiler.CSpan> seenByOtherThread = new AtomicReference<>();
+		try (CProfiler.CSpan span = CProfiler.start(CProfiler.METRIC_SERVICE, "service", "A", "operation", "save")) {
+			final Thread thread = new Thread(() -> seenByOtherThread.set(CProfiler.current()));
+			thread.start();
+			thread.join();
+			assertSame(span, CProfiler.current());
+		}
+		assertNull(seenByOtherThread.get());
+	}
+}
@@ -0,0 +1,136 @@
+package tech.derbent.api.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.domain.CActivityStatus;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.activities.service.IActivityStatusRepository;
+import tech.derbent.api.ui.view.CDashboardView;
+import tech.derbent.kanban.view.CActivityKanbanBoardView;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.session.service.CSessionService;
+
+/** Integration test for the statement counting of CQueryStatistics and the query budgets of the dashboard and the kanban board. Runs with the
+ * profiling profile, the budgets asserted are the view budgets configured there. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.query-stats.enabled=true"
+})
+@ActiveProfiles ("profiling")
+@Transactional
+@WithMockUser
+@DisplayName ("🔎 Query statistics and budgets")
+public class CQueryStatisticsTest {
+
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private IActivityStatusRepository activityStatusRepository;
+	@Autowired
+	private ApplicationContext applicationContext;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	private CProject createProjectWithActivities(final String name, final int activities) {
+		final CProject project = projectRepository.save(new CProject(name));
+		final List<CActivityStatus> statuses = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			statuses.add(activityStatusRepository.save(new CActivityStatus(name + " Status " + i, project)));
+		}
+		for (int i = 0; i < activities; i++) {
+			final CActivity activity = new CActivity(name + " Activity " + i, project);
+			activity.setStatus(statuses.get(i % statuses.size()));
+			activityRepository.save(activity);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return project;
+	}
+
+	@Test
+	@DisplayName ("Dashboard stays within its budget regardless of the number of projects")
+	void testDashboardBudget() {
+		for (int i = 0; i < 6; i++) {
+			createProjectWithActivities("Dashboard Project " + i, 2);
+		}
+		try (CQueryStatistics.CQueryScope scope = CQueryStatistics.open("view CDashboardView", CQueryStatistics.getViewBudget("cdashboardview"))) {
+			applicationContext.getAutowireCapableBeanFactory().createBean(CDashboardView.class);
+			// project count, project list, grouped user count, grouped activity count
+			assertEquals(4, scope.getBudget());
+			assertTrue(scope.getStatementCount() <= scope.getBudget(), () -> "Dashboard statements: " + scope.getCountsByShape());
+			assertTrue(scope.getRepeatedShapes(2).isEmpty(), () -> "Repeated statements: " + scope.getRepeatedShapes(2));
+		}
+	}
+
+	@Test
+	@DisplayName ("Kanban board stays within its budget")
+	void testKanbanBoardBudget() {
+		final CProject project = createProjectWithActivities("Kanban Budget Project", 12);
+		final CSessionService sessionService = mock(CSessionService.class);
+		when(sessionService.getActiveProject()).thenReturn(Optional.of(project));
+		try (CQueryStatistics.CQueryScope scope =
+				CQueryStatistics.open("view CActivityKanbanBoardView", CQueryStatistics.getViewBudget("activities-kanban"))) {
+			new CActivityKanbanBoardView(activityService, sessionService);
+			assertEquals(5, scope.getBudget());
+			assertTrue(scope.getStatementCount() <= scope.getBudget(), () -> "Kanban statements: " + scope.getCountsByShape());
+			assertTrue(scope.getRepeatedShapes(CQueryStatistics.getNPlusOneThreshold()).isEmpty(),
+					() -> "Repeated statements: " + scope.getRepeatedShapes(CQueryStatistics.getNPlusOneThreshold()));
+		}
+	}
+
+	@Test
+	@DisplayName ("Loading rows one by one is reported as a repeated statement shape")
+	void testRepeatedShapeDetection() {
+		final CProject project = createProjectWithActivities("Repeated Load Project", 6);
+		final List<Long> ids = activityRepository.listByProject(project).stream().map(CActivity::getId).toList();
+		entityManager.clear();
+		try (CQueryStatistics.CQueryScope scope = CQueryStatistics.open("one by one")) {
+			for (final Long id : ids) {
+				activityRepository.findById(id);
+			}
+			final Map<String, Integer> repeated = scope.getRepeatedShapes(ids.size());
+			assertEquals(1, repeated.size());
+			assertEquals(ids.size(), repeated.values().iterator().next());
+			assertTrue(scope.getStatementCount() >= ids.size());
+		}
+		assertNull(CQueryStatistics.current());
+	}
+
+	@Test
+	@DisplayName ("A view without a budget of its own only counts towards its request")
+	void testScopeBudgets() {
+		assertEquals(Integer.MAX_VALUE, CQueryStatistics.getViewBudget("no-such-route"));
+		try (CQueryStatistics.CQueryScope request = CQueryStatistics.open("GET /")) {
+			assertEquals(CQueryStatistics.getStatementBudget(), request.getBudget());
+			try (CQueryStatistics.CQueryScope view = CQueryStatistics.open("view")) {
+				assertEquals(Integer.MAX_VALUE, view.getBudget());
+			}
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package tech.derbent.api.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import com.vaadin.flow.shared.Registration;
+import tech.derbent.Application;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.comments.service.CCommentService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Cluster harness: starts two application nodes against one H2 database with the jdbc entity change transport, like two nodes behind a load
+ * balancer, and verifies that data, live changes and service caches stay consistent between them. */
+@DisplayName ("🖧 Two nodes sharing one database")
+public class CClusterConsistencyTest {
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+
+	private static void awaitEquals(final long expected, final LongSupplier actual) throws InterruptedException {
+		for (int i = 0; (i < 100) && (actual.getAsLong() != expected); i++) {
+			Thread.sleep(50);
+		}
+		assertEquals(expected, actual.getAsLong());
+	}
+
+	/** Starts a node the way @SpringBootTest does, with a mock servlet context instead of a server. */
+	private static ConfigurableApplicationContext startNode(final String ddlAuto) {
+		return new SpringApplicationBuilder(Application.class).contextFactory(type -> new GenericWebApplicationContext(new MockServletContext()))
+				.properties("spring.datasource.url=jdbc:h2:mem:clusterdb;DB_CLOSE_DELAY=-1", "spring.datasource.username=sa",
+						"spring.datasource.password=", "spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+						"spring.jpa.show-sql=false", "vaadin.launch-browser=false", "derbent.events.transport=jdbc", "derbent.events.jdbc.poll-ms=50",
+						"derbent.events.coalesce-ms=10", "derbent.archive.enabled=false")
+				.run();
+	}
+
+	@BeforeAll
+	static void startNodes() {
+		// the first node creates the schema, the second one finds it
+		nodeA = startNode("create");
+		nodeB = startNode("none");
+		SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("cluster", "cluster", "ROLE_USER"));
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		SecurityContextHolder.clearContext();
+		if (nodeB != null) {
+			nodeB.close();
+		}
+		if (nodeA != null) {
+			nodeA.close();
+		}
+	}
+
+	private CActivity createActivity(final String name) {
+		final CProject project = nodeA.getBean(IProjectRepository.class).save(new CProject("Cluster Project " + name));
+		return nodeA.getBean(CActivityService.class).save(new CActivity(name, project));
+	}
+
+	@Test
+	@DisplayName ("A comment added on one node evicts the cached count on the other")
+	void testCommentCountCacheInvalidated() throws InterruptedException {
+		final CActivity activity = createActivity("Counted Activity");
+		final CCommentService commentServiceB = nodeB.getBean(CCommentService.class);
+		final CActivity activityOnB = nodeB.getBean(CActivityService.class).getById(activity.getId()).orElseThrow();
+		assertEquals(0, commentServiceB.countByActivity(activityOnB));
+		final CUser author = nodeA.getBean(IUserRepository.class).save(new CUser("clusteruser", "secret", "Cluster User", "cluster@example.com"));
+		nodeA.getBean(CCommentService.class).createComment("Written on node A", activity, author);
+		awaitEquals(1, () -> commentServiceB.countByActivity(activityOnB));
+	}
+
+	@Test
+	@DisplayName ("Changes committed on one node are delivered to the subscribers of the other")
+	void testEntityChangesReachOtherNode() throws InterruptedException {
+		final BlockingQueue<CEntityChange> received = new LinkedBlockingQueue<>();
+		final Registration registration = nodeB.getBean(CEntityEventBus.class).subscribe(CActivity.class, Runnable::run, received::addAll);
+		final CActivity activity = createActivity("Published Activity");
+		activity.setName("Published Activity renamed");
+		nodeA.getBean(CActivityService.class).save(activity);
+		CEntityChange change = received.poll(5, TimeUnit.SECONDS);
+		while ((change != null) && !change.id().equals(activity.getId())) {
+			change = received.poll(5, TimeUnit.SECONDS);
+		}
+		registration.remove();
+		assertEquals(activity.getId(), change != null ? change.id() : null);
+		assertEquals(activity.getProject().getId(), change.projectId());
+	}
+
+	@Test
+	@DisplayName ("Both nodes read the rows written by either node")
+	void testSharedData() {
+		final CActivity activity = createActivity("Shared Activity");
+		final CActivityService activityServiceB = nodeB.getBean(CActivityService.class);
+		assertEquals("Shared Activity", activityServiceB.getById(activity.getId()).orElseThrow().getName());
+		final CActivity onB = activityServiceB.getById(activity.getId()).orElseThrow();
+		onB.setName("Renamed on node B");
+		activityServiceB.save(onB);
+		assertEquals("Renamed on node B", nodeA.getBean(CActivityService.class).getById(activity.getId()).orElseThrow().getName());
+		final List<String> nodeIds = List.of(((CJdbcEntityChangeTransport) nodeA.getBean(IEntityChangeTransport.class)).getNodeId(),
+				((CJdbcEntityChangeTransport) nodeB.getBean(IEntityChangeTransport.class)).getNodeId());
+		assertNotEquals(nodeIds.get(0), nodeIds.get(1));
+	}
+}
@@ -0,0 +1,97 @@
+package tech.derbent.api.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.shared.Registration;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.meetings.domain.CMeeting;
+
+/** Unit tests for CEntityEventBus to verify after commit publishing, coalescing per subscription and both transports. */
+class CEntityEventBusTest {
+
+	private static final String ACTIVITY = CActivity.class.getName();
+	private CEntityEventBus bus;
+
+	private CEntityChange change(final long id, final CEntityChange.Kind kind) {
+		return new CEntityChange(ACTIVITY, id, 1L, kind);
+	}
+
+	@AfterEach
+	void shutdown() {
+		if (bus != null) {
+			bus.shutdown();
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void testBrokerTransport_DeliversDecodedChanges() throws InterruptedException {
+		bus = new CEntityEventBus(new CBrokerEntityChangeTransport(new ObjectMapper()), 10);
+		final BlockingQueue<List<CEntityChange>> received = new LinkedBlockingQueue<>();
+		bus.subscribe(CActivity.class, Runnable::run, received::add);
+		bus.onEntityChanged(new EntityChangeEvent(this, change(7, CEntityChange.Kind.DELETED)));
+		assertEquals(List.of(change(7, CEntityChange.Kind.DELETED)), received.poll(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testChangesOfTransaction_PublishedAfterCommitOnly() throws InterruptedException {
+		bus = new CEntityEventBus(new CLocalEntityChangeTransport(), 10);
+		final BlockingQueue<List<CEntityChange>> received = new LinkedBlockingQueue<>();
+		bus.subscribe(CActivity.class, Runnable::run, received::add);
+		TransactionSynchronizationManager.initSynchronization();
+		bus.onEntityChanged(new EntityChangeEvent(this, change(1, CEntityChange.Kind.UPDATED)));
+		bus.onEntityChanged(new EntityChangeEvent(this, change(2, CEntityChange.Kind.UPDATED)));
+		final List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		// both changes share the synchronization of the transaction
+		assertEquals(1, synchronizations.size());
+		assertNull(received.poll(100, TimeUnit.MILLISECONDS));
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+		assertEquals(2, received.poll(5, TimeUnit.SECONDS).size());
+	}
+
+	@Test
+	void testCoalescing_DeliversLastChangePerEntityOnce() throws InterruptedException {
+		bus = new CEntityEventBus(new CLocalEntityChangeTransport(), 200);
+		final BlockingQueue<List<CEntityChange>> received = new LinkedBlockingQueue<>();
+		final BlockingQueue<List<CEntityChange>> meetings = new LinkedBlockingQueue<>();
+		bus.subscribe(CActivity.class, Runnable::run, received::add);
+		bus.subscribe(CMeeting.class, Runnable::run, meetings::add);
+		bus.receive(List.of(change(1, CEntityChange.Kind.CREATED), change(2, CEntityChange.Kind.UPDATED)));
+		bus.receive(List.of(change(1, CEntityChange.Kind.UPDATED), change(2, CEntityChange.Kind.UPDATED), change(3, CEntityChange.Kind.UPDATED)));
+		bus.receive(List.of(change(3, CEntityChange.Kind.DELETED)));
+		final List<CEntityChange> batch = received.poll(5, TimeUnit.SECONDS);
+		assertEquals(List.of(change(1, CEntityChange.Kind.CREATED), change(2, CEntityChange.Kind.UPDATED), change(3, CEntityChange.Kind.DELETED)),
+				batch);
+		assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+		assertTrue(meetings.isEmpty());
+	}
+
+	@Test
+	void testSubscription_RemovedWhenUiIsDetached() throws InterruptedException {
+		bus = new CEntityEventBus(new CLocalEntityChangeTransport(), 10);
+		final Registration registration = bus.subscribe(CActivity.class, command -> {
+			throw new UIDetachedException();
+		}, changes -> {});
+		bus.subscribe(CActivity.class, Runnable::run, changes -> {}).remove();
+		assertEquals(1, bus.getSubscriptionCount(CActivity.class));
+		bus.receive(List.of(change(1, CEntityChange.Kind.UPDATED)));
+		for (int i = 0; (i < 50) && (bus.getSubscriptionCount(CActivity.class) > 0); i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(0, bus.getSubscriptionCount(CActivity.class));
+		registration.remove();
+	}
+}
@@ -0,0 +1,127 @@
+package tech.derbent.api.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.risks.domain.CRisk;
+import tech.derbent.risks.service.IRiskRepository;
+
+/** Integration test verifying cursor paging, sparse fieldsets, validators and writes of the JSON API service. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("🔌 REST API service")
+public class CRestApiServiceTest {
+
+	private static List<String> fieldNames(final JsonNode node) {
+		final List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		return names;
+	}
+
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private ObjectMapper objectMapper;
+	private CProject project;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private CRestApiService restApiService;
+	@Autowired
+	private IRiskRepository riskRepository;
+	@Autowired
+	private EntityManager entityManager;
+
+	private JsonNode page(final Long after, final int limit, final String fields) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		restApiService.writePage("activities", project.getId(), after, limit, fields, out);
+		return objectMapper.readTree(out.toByteArray());
+	}
+
+	@BeforeEach
+	void setUp() {
+		project = projectRepository.save(new CProject("REST Project"));
+		for (int i = 1; i <= 3; i++) {
+			activityService.save(new CActivity("REST Activity " + i, project));
+		}
+	}
+
+	@Test
+	@DisplayName ("Pages follow the id cursor and end with a null cursor")
+	void testCursorPaging() throws IOException {
+		final JsonNode first = page(null, 2, null);
+		assertEquals(2, first.get("items").size());
+		assertTrue(first.get("nextCursor").isNumber());
+		final JsonNode second = page(first.get("nextCursor").asLong(), 2, null);
+		assertEquals(1, second.get("items").size());
+		assertTrue(second.get("nextCursor").isNull());
+		assertTrue(second.get("items").get(0).get("id").asLong() > first.get("items").get(1).get("id").asLong());
+		assertThrows(IllegalArgumentException.class, () -> page(null, CRestApiService.MAX_LIMIT + 1, null));
+	}
+
+	@Test
+	@DisplayName ("A sparse fieldset writes only the id and the requested fields")
+	void testSparseFields() throws IOException {
+		final JsonNode item = page(null, 1, "name").get("items").get(0);
+		assertEquals(List.of("id", "name"), fieldNames(item));
+		assertThrows(IllegalArgumentException.class, () -> page(null, 1, "name,noSuchField"));
+	}
+
+	@Test
+	@DisplayName ("List validators change after writes, bulk writes go through the service")
+	void testEtagAndWrites() throws IOException {
+		final String before = restApiService.getListEtag("activities", project.getId(), null, 10, null);
+		assertEquals(before, restApiService.getListEtag("activities", project.getId(), null, 10, null));
+		final List<Long> ids = restApiService.bulkSave("activities", project.getId(),
+				objectMapper.readTree("[{\"name\": \"REST Activity 4\"}, {\"name\": \"REST Activity 5\", \"description\": \"from bulk\"}]"));
+		assertEquals(2, ids.size());
+		assertNotEquals(before, restApiService.getListEtag("activities", project.getId(), null, 10, null));
+		assertEquals("from bulk", activityService.getById(ids.get(1)).orElseThrow().getDescription());
+		assertEquals(1, restApiService.bulkDelete("activities", List.of(ids.get(0))));
+		final JsonNode all = page(null, 10, "name");
+		assertEquals(4, all.get("items").size());
+		assertFalse(all.get("items").findValuesAsText("name").contains("REST Activity 4"));
+		// read only fields are rejected, which rolls back the whole bulk request
+		assertThrows(IllegalArgumentException.class, () -> restApiService.bulkSave("activities", project.getId(),
+				objectMapper.readTree("[{\"id\": " + ids.get(1) + ", \"createdDate\": null}]")));
+	}
+
+	@Test
+	@DisplayName ("Entity validators change after an update through a setter that does not touch the modification date")
+	void testEntityEtagAfterUpdate() throws IOException {
+		final CRisk risk = riskRepository.saveAndFlush(new CRisk("REST Risk", project));
+		final String before = restApiService.getEntityEtag("risks", risk.getId(), null);
+		assertTrue(before.matches("W/\"[0-9a-f]{64}\""));
+		assertEquals(before, restApiService.getEntityEtag("risks", risk.getId(), null));
+		restApiService.update("risks", risk.getId(), objectMapper.readTree("{\"riskSeverity\": \"HIGH\"}"), new ByteArrayOutputStream());
+		entityManager.flush();
+		assertNotEquals(before, restApiService.getEntityEtag("risks", risk.getId(), null));
+		assertNotEquals(CRestApiService.etag("ab", "c"), CRestApiService.etag("a", "bc"));
+	}
+}
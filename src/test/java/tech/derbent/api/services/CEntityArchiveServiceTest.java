@@ -0,0 +1,126 @@
+package tech.derbent.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityAggregateService;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.service.IMeetingRepository;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** Integration test for soft delete, restore and the archiving of inactive rows. Not transactional, the archiver commits every batch in its own
+ * transaction and only sees committed rows. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@WithMockUser
+@DisplayName ("🗄️ Soft delete and archive")
+public class CEntityArchiveServiceTest {
+
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CActivityAggregateService activityAggregateService;
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private CEntityArchiveService archiveService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private IMeetingRepository meetingRepository;
+	@Autowired
+	private CParentChildRelationService parentChildRelationService;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	private long countRows(final String table, final Long id) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE activity_id = ?", Long.class, id);
+	}
+
+	@Test
+	@DisplayName ("Inactive rows move to the archive table unless they are still referenced")
+	void testArchiveInactive() {
+		final CProject project = projectRepository.save(new CProject("Archive Project"));
+		final CActivity archived = activityRepository.save(new CActivity("Archive Activity", project));
+		final CActivity referenced = activityRepository.save(new CActivity("Referenced Activity", project));
+		final CActivity live = activityRepository.save(new CActivity("Live Activity", project));
+		final CMeeting meeting = new CMeeting("Archive Meeting", project);
+		meeting.setRelatedActivity(referenced);
+		meetingRepository.save(meeting);
+		activityService.deleteWithReflection(archived);
+		activityService.deleteWithReflection(referenced);
+		assertTrue(archiveService.getTables().stream().anyMatch(table -> "cactivity".equals(table.name())));
+		assertTrue(archiveService.archiveInactive(LocalDateTime.now().plusDays(1)) >= 1);
+		assertEquals(0, countRows("cactivity", archived.getId()));
+		assertEquals(1, countRows("cactivity" + CEntityArchiveService.ARCHIVE_SUFFIX, archived.getId()));
+		// the meeting still points at it
+		assertEquals(1, countRows("cactivity", referenced.getId()));
+		assertEquals(1, countRows("cactivity", live.getId()));
+		// a cutoff before the soft delete archives nothing of this project
+		final CActivity recent = activityRepository.save(new CActivity("Recent Activity", project));
+		activityService.deleteWithReflection(recent);
+		archiveService.archiveInactive(LocalDateTime.now().minusDays(1));
+		assertEquals(1, countRows("cactivity", recent.getId()));
+	}
+
+	@Test
+	@DisplayName ("Archiving removes the rows from the activity roll-ups and the closure table")
+	void testArchiveDerivedStores() {
+		final CProject project = projectRepository.save(new CProject("Archive Roll-up Project"));
+		final CActivity parent = activityService.save(new CActivity("Archive Parent", project));
+		final CActivity child = new CActivity("Archive Child", project);
+		child.setEstimatedHours(new BigDecimal("5.00"));
+		child.setParent(parent);
+		final CActivity savedChild = activityService.save(child);
+		final CActivity sibling = new CActivity("Archive Sibling", project);
+		sibling.setEstimatedHours(new BigDecimal("3.00"));
+		activityService.save(sibling);
+		assertEquals(1, parentChildRelationService.getDescendants("CActivity", parent.getId()).size());
+		activityService.deleteWithReflection(savedChild);
+		// soft deleted activities stay in the roll-ups until they are archived
+		assertEquals(3, activityAggregateService.getProjectAggregate(project).getActivityCount());
+		archiveService.archiveInactive(LocalDateTime.now().plusDays(1));
+		assertEquals(0, countRows("cactivity", savedChild.getId()));
+		assertEquals(2, activityAggregateService.getProjectAggregate(project).getActivityCount());
+		assertEquals(0, new BigDecimal("3.00").compareTo(activityAggregateService.getProjectAggregate(project).getEstimatedHours()));
+		assertEquals(0, activityAggregateService.getChildrenAggregate(parent).getActivityCount());
+		assertTrue(parentChildRelationService.getDescendants("CActivity", parent.getId()).isEmpty());
+	}
+
+	@Test
+	@DisplayName ("Soft deleted entities leave the project listings and come back on restore")
+	void testSoftDeleteAndRestore() {
+		final CProject project = projectRepository.save(new CProject("Soft Delete Project"));
+		final CActivity kept = activityRepository.save(new CActivity("Kept Activity", project));
+		final CActivity deleted = activityRepository.save(new CActivity("Deleted Activity", project));
+		activityService.deleteWithReflection(deleted.getId());
+		final CActivity reloaded = activityRepository.findById(deleted.getId()).orElseThrow();
+		assertFalse(reloaded.getIsActive());
+		assertEquals(1, activityService.countByProject(project));
+		assertEquals(1, activityRepository.listByProject(project).size());
+		assertEquals(kept.getId(), activityRepository.listByProject(project, PageRequest.of(0, 10)).getContent().get(0).getId());
+		assertEquals(1, activityRepository.listInactiveByProject(project, PageRequest.of(0, 10)).getTotalElements());
+		// the name stays taken while the row exists
+		assertTrue(activityRepository.existsByNameProject("Deleted Activity", project));
+		activityService.restore(reloaded);
+		assertEquals(2, activityService.countByProject(project));
+		assertEquals(0, activityRepository.listInactiveByProject(project, PageRequest.of(0, 10)).getTotalElements());
+	}
+}
@@ -0,0 +1,111 @@
+package tech.derbent.api.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.domains.CHierarchyAggregate;
+import tech.derbent.api.domains.CParentChildRelation;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** Integration test for the closure table maintained by CParentChildRelationService. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@DisplayName ("🌳 Parent-child closure table")
+public class CParentChildRelationServiceTest {
+
+	private static final String TYPE = "CActivity";
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private CParentChildRelationService parentChildRelationService;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	private CActivity createActivity(final CProject project, final String name, final String estimatedHours) {
+		final CActivity activity = new CActivity(name, project);
+		activity.setEstimatedHours(new BigDecimal(estimatedHours));
+		activity.setProgressPercentage(50);
+		return activityRepository.save(activity);
+	}
+
+	@Test
+	@DisplayName ("Ancestors, descendants and depth follow subtree moves")
+	void testMoveSubtree() {
+		// a -> b -> c, d is a separate root
+		parentChildRelationService.moveNode(TYPE, 2L, TYPE, 1L);
+		parentChildRelationService.moveNode(TYPE, 3L, TYPE, 2L);
+		assertEquals(2, parentChildRelationService.getDepth(TYPE, 3L));
+		assertEquals(2, parentChildRelationService.getDescendants(TYPE, 1L).size());
+		// move b (with c) below d
+		parentChildRelationService.moveNode(TYPE, 2L, TYPE, 4L);
+		assertTrue(parentChildRelationService.getDescendants(TYPE, 1L).isEmpty());
+		final List<CParentChildRelation> ancestors = parentChildRelationService.getAncestors(TYPE, 3L);
+		assertEquals(2, ancestors.size());
+		assertEquals(2L, ancestors.get(0).getParentId());
+		assertEquals(4L, ancestors.get(1).getParentId());
+		// a node cannot be moved below its own descendant
+		assertThrows(IllegalArgumentException.class, () -> parentChildRelationService.moveNode(TYPE, 4L, TYPE, 3L));
+		// removing b makes c a root
+		parentChildRelationService.removeNode(TYPE, 2L);
+		assertEquals(0, parentChildRelationService.getDepth(TYPE, 3L));
+		assertTrue(parentChildRelationService.getDescendants(TYPE, 4L).isEmpty());
+	}
+
+	@Test
+	@DisplayName ("A full rebuild indexes existing parent columns, removing a node clears the parent of its children")
+	void testRebuildAndRemove() {
+		final CProject project = projectRepository.save(new CProject("Hierarchy Rebuild Project"));
+		final CActivity root = createActivity(project, "Rebuild Root", "1.00");
+		final CActivity child = new CActivity("Rebuild Child", project);
+		child.setParent(root);
+		activityRepository.save(child);
+		final CActivity grandChild = new CActivity("Rebuild Grand Child", project);
+		grandChild.setParent(child);
+		activityRepository.save(grandChild);
+		// written past the service, the index knows nothing of them yet
+		assertTrue(parentChildRelationService.getDescendants(TYPE, root.getId()).isEmpty());
+		assertTrue(parentChildRelationService.rebuild() >= 3);
+		assertEquals(2, parentChildRelationService.getDescendants(TYPE, root.getId()).size());
+		assertEquals(2, parentChildRelationService.getDepth(TYPE, grandChild.getId()));
+		parentChildRelationService.removeNode(TYPE, child.getId());
+		assertEquals(0, parentChildRelationService.getDepth(TYPE, grandChild.getId()));
+		assertNull(jdbcTemplate.queryForObject("SELECT parent_id FROM cactivity WHERE activity_id = ?", Long.class, grandChild.getId()));
+		assertEquals(root.getId(), jdbcTemplate.queryForObject("SELECT parent_id FROM cactivity WHERE activity_id = ?", Long.class, child.getId()));
+	}
+
+	@Test
+	@DisplayName ("Subtree aggregate is computed in one query")
+	void testSubtreeAggregate() {
+		final CProject project = projectRepository.save(new CProject("Hierarchy Test Project"));
+		final CActivity root = createActivity(project, "Root", "1.00");
+		final CActivity child = createActivity(project, "Child", "2.00");
+		final CActivity grandChild = createActivity(project, "Grand Child", "3.00");
+		child.setParent(root);
+		grandChild.setParent(child);
+		parentChildRelationService.rebuild(List.of(root, activityRepository.save(child), activityRepository.save(grandChild)));
+		final CHierarchyAggregate aggregate = parentChildRelationService.getActivitySubtreeAggregate(root);
+		assertEquals(2, aggregate.getCount());
+		assertEquals(0, new BigDecimal("5.00").compareTo(aggregate.getEstimatedHours()));
+		assertEquals(50.0, aggregate.getAverageProgress(), 0.001);
+		assertEquals(2, parentChildRelationService.getActivityDepths(project).get(grandChild.getId()));
+	}
+}
@@ -0,0 +1,136 @@
+package tech.derbent.api.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.html.Div;
+import tech.derbent.api.interfaces.IKanbanEntity;
+import tech.derbent.api.interfaces.IKanbanStatus;
+import tech.derbent.api.interfaces.IKanbanType;
+
+/** Unit tests for CKanbanTypeSection and CKanbanTypeSections to verify that cards are reused by entity id and rendered in batches. */
+class CKanbanTypeSectionTest {
+
+	/** Minimal kanban entity for testing */
+	static class TestItem implements IKanbanEntity {
+
+		private final Long id;
+
+		TestItem(final Long id) {
+			this.id = id;
+		}
+
+		@Override
+		public String getDescription() { return null; }
+
+		@Override
+		public Long getId() { return id; }
+
+		@Override
+		public String getName() { return "Item " + id; }
+
+		@Override
+		public IKanbanStatus getStatus() { return null; }
+
+		@Override
+		public IKanbanType getType() { return null; }
+
+		@Override
+		public void setStatus(final IKanbanStatus status) {}
+	}
+
+	private final AtomicInteger bindCount = new AtomicInteger();
+	private final AtomicInteger createCount = new AtomicInteger();
+	private CKanbanTypeSection<TestItem> section;
+
+	private static List<TestItem> items(final long from, final long to) {
+		return new ArrayList<>(LongStream.rangeClosed(from, to).mapToObj(TestItem::new).toList());
+	}
+
+	@BeforeEach
+	void setUp() {
+		createCount.set(0);
+		bindCount.set(0);
+		section = new CKanbanTypeSection<>("Type", item -> {
+			createCount.incrementAndGet();
+			return new Div(item.getName());
+		}, (card, item) -> bindCount.incrementAndGet());
+	}
+
+	@Test
+	void testMovedCardIsReused() {
+		section.setEntities(items(1, 3));
+		final Component card = section.removeEntity(2L);
+		final CKanbanTypeSection<TestItem> target = new CKanbanTypeSection<>("Type", item -> new Div(), (c, item) -> {});
+		target.addEntity(new TestItem(2L), card);
+		assertFalse(section.contains(2L));
+		assertTrue(target.contains(2L));
+		assertSame(card, target.removeEntity(2L), "Target section must keep the moved card instance");
+	}
+
+	@Test
+	void testEntityChangingTypeMovesItsCard() {
+		final Map<Long, String> types = new HashMap<>(Map.of(1L, "Bug", 2L, "Bug", 3L, "Task"));
+		final Div container = new Div();
+		final CKanbanTypeSections<TestItem> sections = new CKanbanTypeSections<>(container, item -> types.get(item.getId()),
+				name -> new CKanbanTypeSection<>(name, item -> new Div(item.getName()), (card, item) -> {}));
+		sections.setEntities(items(1, 3));
+		assertEquals(2, container.getChildren().count());
+		types.put(3L, "Bug");
+		sections.addEntity(new TestItem(3L), null);
+		assertEquals(1, container.getChildren().count(), "The section of the old type must be removed with its last entity");
+		assertTrue(sections.contains(3L));
+		final Component card = sections.removeEntity(3L);
+		assertTrue(card != null, "The card must move along with the entity");
+		assertFalse(sections.contains(3L));
+	}
+
+	@Test
+	void testOnlyFirstBatchIsRendered() {
+		section.setEntities(items(1, CKanbanTypeSection.RENDER_BATCH_SIZE * 3));
+		assertEquals(CKanbanTypeSection.RENDER_BATCH_SIZE * 3, section.getEntityCount());
+		assertEquals(CKanbanTypeSection.RENDER_BATCH_SIZE, createCount.get(), "Cards outside the first batch must not be created");
+	}
+
+	@Test
+	void testSetEntitiesReusesExistingCards() {
+		section.setEntities(items(1, 10));
+		assertEquals(10, createCount.get());
+		// same ids again plus one new entity: only the new one gets a card
+		section.setEntities(items(1, 11));
+		assertEquals(11, createCount.get());
+		assertEquals(10, bindCount.get());
+		// removing entities must not create cards
+		section.setEntities(items(1, 5));
+		assertEquals(11, createCount.get());
+		assertEquals(5, section.getEntityCount());
+	}
+
+	@Test
+	void testSuppliedCardReplacesRenderedCard() {
+		final List<Component> created = new ArrayList<>();
+		final CKanbanTypeSection<TestItem> target = new CKanbanTypeSection<>("Type", item -> {
+			final Div card = new Div(item.getName());
+			created.add(card);
+			return card;
+		}, (card, item) -> {});
+		target.setEntities(items(1, 2));
+		final Component old = created.get(0);
+		final Div moved = new Div();
+		target.addEntity(new TestItem(1L), moved);
+		assertFalse(old.getParent().isPresent(), "The replaced card must be detached");
+		assertTrue(moved.getParent().isPresent());
+		assertEquals(2, target.getEntityCount());
+		assertSame(moved, target.removeEntity(1L));
+	}
+}
@@ -0,0 +1,54 @@
+package tech.derbent.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.api.domains.CEntityNamed;
+import tech.derbent.projects.domain.CProject;
+
+/** Unit tests for CAccessors to verify the cached getters, field readers and the handling of missing methods. */
+class CAccessorsTest {
+
+	@Test
+	void testFieldGetter_ReadsPrivateInheritedField() throws Exception {
+		final CActivity activity = new CActivity("Field Activity", new CProject("Field Project"));
+		assertEquals("Field Activity", CAccessors.fieldGetter(CEntityNamed.class.getDeclaredField("name")).apply(activity));
+	}
+
+	@Test
+	void testGetter_IsCreatedOncePerClassAndName() {
+		assertSame(CAccessors.getter(CActivity.class, "getName"), CAccessors.getter(CActivity.class, "getName"));
+		assertSame(CAccessors.method(CActivity.class, "getName"), CAccessors.method(CActivity.class, "getName"));
+	}
+
+	@Test
+	void testGetter_ReturnsValueOfEntityGetter() {
+		final CActivity activity = new CActivity("Accessor Activity", new CProject("Accessor Project"));
+		assertEquals("Accessor Activity", CAccessors.getter(CActivity.class, "getName").apply(activity));
+		assertEquals("Accessor Activity", CAccessors.get(activity, "getName"));
+		assertEquals("Accessor Activity", CAuxillaries.invokeMethod(activity, "getName"));
+	}
+
+	@Test
+	void testGetter_BoxesPrimitiveResults() {
+		assertEquals(5, CAccessors.getter(String.class, "length").apply("abcde"));
+	}
+
+	@Test
+	void testGetter_WithMissingOrStaticMethod_ReturnsNull() {
+		assertNull(CAccessors.getter(CActivity.class, "getEntityColorCode"));
+		assertNull(CAccessors.getter(System.class, "lineSeparator"));
+		assertNull(CAccessors.get(null, "getName"));
+		assertNull(CAuxillaries.invokeMethod(new CProject("Missing Project"), "getMissingValue"));
+	}
+
+	@Test
+	void testStaticGetter_CallsStaticMethod() {
+		assertNotNull(CAccessors.staticGetter(System.class, "lineSeparator"));
+		assertEquals(System.lineSeparator(), CAccessors.staticGetter(System.class, "lineSeparator").get());
+		assertNull(CAccessors.staticGetter(CActivity.class, "getName"));
+	}
+}
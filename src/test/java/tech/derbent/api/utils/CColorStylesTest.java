@@ -0,0 +1,87 @@
+package tech.derbent.api.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.server.VaadinSession;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.api.views.components.CGridCell;
+
+/** Unit tests for CColorStyles to verify the cached color styles and that each color rule is sent to a UI once. */
+class CColorStylesTest {
+
+	@AfterEach
+	void clearUi() {
+		UI.setCurrent(null);
+	}
+
+	@Test
+	void testApply_WithoutUi_SetsInlineStyles() {
+		final CGridCell cell = new CGridCell();
+		assertNull(CColorStyles.apply(cell, "#000000", true));
+		assertEquals("#000000", cell.getStyle().get("background-color"));
+		assertEquals(CColorUtils.DEFAULT_LIGHT_TEXT, cell.getStyle().get("color"));
+	}
+
+	@Test
+	void testApply_WithUi_SendsEachRuleOnce() {
+		final UI ui = new UI();
+		// the callbacks before the response need a locked session
+		ui.getInternals().setSession(mock(VaadinSession.class));
+		UI.setCurrent(ui);
+		final CGridCell first = new CGridCell();
+		final CGridCell second = new CGridCell();
+		final String className = CColorStyles.apply(first, "#1976D2", true);
+		assertEquals("cgrid-color-1976d2", className);
+		assertEquals(className, CColorStyles.apply(second, "#1976d2", true));
+		CColorStyles.apply(new CGridCell(), "#ffffff", true);
+		assertTrue(first.hasClassName(className));
+		assertNull(first.getStyle().get("background-color"));
+		ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+		final List<PendingJavaScriptInvocation> invocations = ui.getInternals().dumpPendingJavaScriptInvocations();
+		assertEquals(1, invocations.size());
+		final String rules = invocations.get(0).getInvocation().getParameters().get(0).toString();
+		assertEquals(1, rules.split("cgrid-color-1976d2", -1).length - 1);
+		assertTrue(rules.contains(".cgrid-color-ffffff{background-color:#ffffff;color:black;}"));
+		// the static cell layout goes with the first rules
+		assertTrue(rules.contains(".cgrid-cell {"));
+		assertTrue(first.hasClassName("cgrid-cell"));
+	}
+
+	@Test
+	void testEntityColorAndIcon_AreReadFromStaticFields() {
+		assertEquals(CActivity.DEFAULT_COLOR, CColorStyles.entityColor(CActivity.class));
+		assertEquals(CActivity.DEFAULT_ICON, CColorStyles.entityIcon(CActivity.class));
+		assertNull(CColorStyles.entityColor(String.class));
+	}
+
+	@Test
+	void testStyle_IsResolvedOncePerColor() {
+		assertSame(CColorStyles.style("#abcdef"), CColorStyles.style(" #ABCDEF "));
+		assertEquals(CColorUtils.DEFAULT_DARK_TEXT, CColorStyles.style("#fff").foreground());
+		assertEquals(CColorUtils.DEFAULT_LIGHT_TEXT, CColorStyles.style("#000").foreground());
+		assertEquals("cgrid-color-orange", CColorStyles.style("orange").className());
+		// anything that could break out of the rule stays inline
+		assertNull(CColorStyles.style("red;}body{display:none"));
+	}
+
+	@Test
+	void testStyle_ClassIsNamedByTheNormalizedColor() {
+		assertEquals("cgrid-color-1976d2", CColorStyles.style("rgb(25, 118, 210)").className());
+		assertEquals("#1976d2", CColorStyles.style("rgb(25 118 210)").background());
+		assertEquals("cgrid-color-ff0000", CColorStyles.style("hsl(0, 100%, 50%)").className());
+		assertEquals("cgrid-color-00000080", CColorStyles.style("rgba(0, 0, 0, 0.5)").className());
+		assertEquals("cgrid-color-aabbcc", CColorStyles.style("#abcf").className());
+		assertEquals(CColorUtils.DEFAULT_LIGHT_TEXT, CColorStyles.style("rgba(0, 0, 0, 0.5)").foreground());
+		assertNotEquals(CColorStyles.style("rgb(1, 2, 3)").className(), CColorStyles.style("rgb(1, 2, 4)").className());
+		assertNull(CColorStyles.style("rgb(1, 2)"));
+	}
+}
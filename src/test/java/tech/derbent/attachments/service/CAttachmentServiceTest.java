@@ -0,0 +1,232 @@
+package tech.derbent.attachments.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.api.exceptions.CEntityNotFoundException;
+import tech.derbent.attachments.domain.CAttachment;
+import tech.derbent.attachments.domain.CAttachmentInfo;
+import tech.derbent.attachments.domain.CByteRange;
+import tech.derbent.attachments.domain.EAttachmentOwnerType;
+import tech.derbent.decisions.domain.CDecision;
+import tech.derbent.decisions.service.IDecisionRepository;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.setup.domain.CSystemSettings;
+import tech.derbent.setup.service.CSystemSettingsService;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test for the attachment storage: deduplicated blobs, versions, upload limits and ranged reads. Not transactional, an upload commits
+ * its row in a transaction of its own. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.attachments.blob-grace-hours=0"
+})
+@WithMockUser
+@DisplayName ("📎 Attachment storage")
+public class CAttachmentServiceTest {
+
+	private static final Path STORAGE = Paths.get("target/test-attachments");
+
+	private static InputStream text(final String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private CActivity activity;
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CAttachmentService attachmentService;
+	@Autowired
+	private IDecisionRepository decisionRepository;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private CSystemSettingsService settingsService;
+	@Autowired
+	private IUserRepository userRepository;
+
+	private String read(final CAttachment attachment, final long position, final long count) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		assertEquals(count, attachmentService.transferContent(attachment, position, count, Channels.newChannel(output)));
+		return output.toString(StandardCharsets.UTF_8);
+	}
+
+	private void setVersioning(final boolean enabled) {
+		final CSystemSettings settings = settingsService.getOrCreateSystemSettings();
+		settings.setEnableFileVersioning(enabled);
+		settingsService.updateSystemSettings(settings);
+	}
+
+	@BeforeEach
+	void setUp() {
+		final CSystemSettings settings = settingsService.getOrCreateSystemSettings();
+		settings.setFileStoragePath(STORAGE.toString());
+		settings.setAllowedFileExtensions(".txt, .PDF");
+		settings.setMaxFileUploadSizeMb(new java.math.BigDecimal("0.10"));
+		settings.setEnableFileVersioning(true);
+		settingsService.updateSystemSettings(settings);
+		final CProject project = projectRepository.save(new CProject("Attachment Project"));
+		activity = activityRepository.save(new CActivity("Attachment Activity", project));
+	}
+
+	@Test
+	@DisplayName ("Equal content is stored once, each upload of a file name adds a version unless versioning is off")
+	void testDedupeAndVersions() throws Exception {
+		final CDecision decision = decisionRepository.save(new CDecision("Attachment Decision", activity.getProject()));
+		final CAttachmentInfo first = attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "notes.txt", null, text("shared"));
+		final CAttachmentInfo copy =
+				attachmentService.upload(EAttachmentOwnerType.DECISION, decision.getId(), "C:\\docs\\copy.txt", "text/plain", text("shared"));
+		assertEquals(first.sha256(), copy.sha256());
+		assertEquals("copy.txt", copy.fileName());
+		assertEquals(1, first.version());
+		final Path blob = attachmentService.getBlobPath(first.sha256());
+		assertTrue(Files.isRegularFile(blob));
+		assertEquals(6, Files.size(blob));
+		final CAttachmentInfo second = attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "notes.txt", null, text("changed"));
+		assertEquals(2, second.version());
+		assertNotEquals(first.sha256(), second.sha256());
+		final List<CAttachmentInfo> latest = attachmentService.listAttachments(EAttachmentOwnerType.ACTIVITY, activity.getId());
+		assertEquals(1, latest.size());
+		assertEquals(second.id(), latest.get(0).id());
+		assertEquals(List.of(2, 1), attachmentService.listVersions(first.id()).stream().map(CAttachmentInfo::version).toList());
+		setVersioning(false);
+		try {
+			final CAttachmentInfo replaced =
+					attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "notes.txt", null, text("replaced"));
+			assertEquals(second.id(), replaced.id());
+			assertEquals(2, replaced.version());
+			assertEquals("replaced", read(attachmentService.getAttachment(replaced.id()), 0, 8));
+		} finally {
+			setVersioning(true);
+		}
+		attachmentService.deleteAttachment(first.id());
+		assertThrows(CEntityNotFoundException.class, () -> attachmentService.getAttachment(first.id()));
+		final Path orphan = attachmentService.getBlobPath("f".repeat(64));
+		Files.createDirectories(orphan.getParent());
+		Files.writeString(orphan, "orphan");
+		Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - 1000));
+		Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis() - 1000));
+		assertTrue(attachmentService.purgeUnreferencedBlobs() >= 1);
+		assertFalse(Files.exists(orphan));
+		// still referred to, by the decision and by the deleted version that can be restored
+		assertTrue(Files.exists(blob));
+	}
+
+	@Test
+	@DisplayName ("Concurrent uploads of one file name all succeed, each with a version of its own")
+	void testConcurrentUploads() throws Exception {
+		final int threads = 4;
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor =
+				new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(threads), SecurityContextHolder.getContext());
+		try {
+			final List<Future<CAttachmentInfo>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				final String content = "concurrent " + i;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "concurrent.txt", null, text(content));
+				}));
+			}
+			start.countDown();
+			for (final Future<CAttachmentInfo> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		final CAttachmentInfo latest = attachmentService.listAttachments(EAttachmentOwnerType.ACTIVITY, activity.getId()).get(0);
+		assertEquals(List.of(4, 3, 2, 1), attachmentService.listVersions(latest.id()).stream().map(CAttachmentInfo::version).toList());
+	}
+
+	@Test
+	@DisplayName ("Uploads are rejected for a wrong file type, an unknown owner or more bytes than the limit, and leave no files behind")
+	void testRejectedUploads() throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "run.exe", null, text("x")));
+		assertThrows(IllegalArgumentException.class,
+				() -> attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "../", null, text("x")));
+		assertThrows(CEntityNotFoundException.class,
+				() -> attachmentService.upload(EAttachmentOwnerType.ORDER, Long.MAX_VALUE, "order.pdf", null, text("x")));
+		final byte[] large = new byte[200 * 1024];
+		Arrays.fill(large, (byte) 'a');
+		assertThrows(IllegalArgumentException.class, () -> attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "large.txt",
+				null, new ByteArrayInputStream(large)));
+		final Path temp = STORAGE.resolve("tmp");
+		if (Files.isDirectory(temp)) {
+			try (var files = Files.list(temp)) {
+				assertEquals(0, files.count());
+			}
+		}
+		assertTrue(attachmentService.listAttachments(EAttachmentOwnerType.ACTIVITY, activity.getId()).isEmpty());
+		assertEquals(EAttachmentOwnerType.DECISION, EAttachmentOwnerType.fromResource("decisions"));
+		assertThrows(IllegalArgumentException.class, () -> EAttachmentOwnerType.fromResource("projects"));
+	}
+
+	@Test
+	@DisplayName ("Range headers are parsed as in RFC 9110 and the range is copied from the blob")
+	void testRanges() throws Exception {
+		final CAttachmentInfo info =
+				attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "range.pdf", "application/pdf", text("0123456789"));
+		final CAttachment attachment = attachmentService.getAttachment(info.id());
+		assertEquals(Optional.of(new CByteRange(2, 5)), CByteRange.parse("bytes=2-5", 10));
+		assertEquals(Optional.of(new CByteRange(7, 9)), CByteRange.parse("bytes=-3", 10));
+		assertEquals(Optional.of(new CByteRange(4, 9)), CByteRange.parse("bytes=4-", 10));
+		assertEquals(Optional.of(new CByteRange(8, 9)), CByteRange.parse("bytes=8-100", 10));
+		assertFalse(CByteRange.parse("bytes=20-", 10).orElseThrow().isSatisfiable(10));
+		assertTrue(CByteRange.parse("bytes=0-1,4-5", 10).isEmpty());
+		assertTrue(CByteRange.parse(null, 10).isEmpty());
+		// signed positions are malformed, the whole content is served instead of a 416
+		assertTrue(CByteRange.parse("bytes=--5", 10).isEmpty());
+		assertTrue(CByteRange.parse("bytes=+2-5", 10).isEmpty());
+		assertTrue(CByteRange.parse("bytes=2--5", 10).isEmpty());
+		final CByteRange range = CByteRange.parse("bytes=2-5", 10).orElseThrow();
+		assertEquals("2345", read(attachment, range.start(), range.length()));
+		assertArrayEquals("0123456789".getBytes(StandardCharsets.UTF_8), read(attachment, 0, 10).getBytes(StandardCharsets.UTF_8));
+		assertThrows(IllegalArgumentException.class, () -> read(attachment, 8, 5));
+	}
+
+	@Test
+	@WithMockUser (username = "attachment.uploader")
+	@DisplayName ("The uploader is the authenticated user, also without a Vaadin session as for REST uploads")
+	void testUploaderFromSecurityContext() throws Exception {
+		final CUser uploader = userRepository.save(new CUser("attachment.uploader", "secret", "Uploader", "attachment.uploader@example.com"));
+		final CAttachmentInfo info = attachmentService.upload(EAttachmentOwnerType.ACTIVITY, activity.getId(), "uploader.txt", null, text("mine"));
+		assertEquals(uploader.getId(), attachmentService.getAttachment(info.id()).getUploadedById());
+	}
+}
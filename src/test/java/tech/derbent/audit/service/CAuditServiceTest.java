@@ -0,0 +1,71 @@
+package tech.derbent.audit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.audit.domain.CAuditEntry;
+import tech.derbent.audit.domain.CAuditEntry.CFieldChange;
+import tech.derbent.audit.domain.CAuditHistoryPage;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** Integration test of the audit trail: committed saves of an audited entity are diffed, written in batches and read back newest first with a
+ * cursor. Not transactional, the entries are only recorded once a transaction commits. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@WithMockUser (username = "auditor")
+@DisplayName ("📜 Audit trail")
+public class CAuditServiceTest {
+
+	private static CFieldChange change(final CAuditEntry entry, final String field) {
+		return entry.changes().stream().filter(change -> change.field().equals(field)).findFirst().orElse(null);
+	}
+
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private CAuditService auditService;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	@Test
+	@DisplayName ("Committed saves are diffed per field and paged newest first")
+	void testHistoryOfActivity() {
+		final CProject project = projectRepository.save(new CProject("Audit Project"));
+		CActivity activity = activityService.save(new CActivity("Audited Activity", project));
+		activity.setName("Audited Activity renamed");
+		activity = activityService.save(activity);
+		activity.setDescription("Now with a description");
+		activity = activityService.save(activity);
+		auditService.flush();
+		final CAuditHistoryPage first = auditService.getHistory(CActivity.class, activity.getId(), null, 2);
+		assertEquals(2, first.getEntries().size());
+		assertTrue(first.hasMore());
+		final CAuditEntry described = first.getEntries().get(0);
+		assertEquals(CAuditEntry.Action.UPDATED, described.action());
+		assertEquals("auditor", described.changedBy());
+		assertEquals(new CFieldChange("description", null, "Now with a description"), change(described, "description"));
+		assertNull(change(described, "name"));
+		assertNull(change(described, "lastModifiedDate"));
+		assertEquals(new CFieldChange("name", "Audited Activity", "Audited Activity renamed"), change(first.getEntries().get(1), "name"));
+		final CAuditHistoryPage second = auditService.getHistory(CActivity.class, activity.getId(), first.getNextCursor(), 2);
+		assertEquals(1, second.getEntries().size());
+		assertFalse(second.hasMore());
+		assertEquals(CAuditEntry.Action.CREATED, second.getEntries().get(0).action());
+		assertEquals("Audited Activity", change(second.getEntries().get(0), "name").newValue());
+		// projects are not audited
+		assertTrue(auditService.getHistory(CProject.class, project.getId(), null, 10).getEntries().isEmpty());
+	}
+}
@@ -0,0 +1,110 @@
+package tech.derbent.backup.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.audit.service.CAuditService;
+import tech.derbent.backup.domain.CBackupInfo;
+import tech.derbent.backup.events.DatabaseRestoredEvent;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+
+/** Integration test for the database backup, its restore and the retention of the archives. Not transactional, the backup reads committed rows in
+ * a transaction of its own. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.backup.directory=target/test-backups", "derbent.backup.batch-size=2"
+})
+@RecordApplicationEvents
+@DisplayName ("💾 Database backup")
+public class CBackupServiceTest {
+
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CAuditService auditService;
+	@Autowired
+	private CBackupService backupService;
+	@Autowired
+	private ApplicationEvents events;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private IProjectRepository projectRepository;
+
+	@Test
+	@DisplayName ("Old archives are deleted after the retention days, other files are left alone")
+	void testPrune() throws Exception {
+		final Path directory = Files.createDirectories(backupService.getDirectory());
+		final Path old = directory.resolve(CBackupService.FILE_PREFIX + CBackupService.FILE_TIME_FORMAT.format(LocalDateTime.now().minusDays(40))
+				+ CBackupService.FILE_SUFFIX);
+		final Path recent = directory.resolve(CBackupService.FILE_PREFIX + CBackupService.FILE_TIME_FORMAT.format(LocalDateTime.now().minusDays(2))
+				+ CBackupService.FILE_SUFFIX);
+		final Path other = directory.resolve("notes.txt");
+		Files.writeString(old, "old");
+		Files.writeString(recent, "recent");
+		Files.writeString(other, "other");
+		assertTrue(backupService.pruneBackups(30) >= 1);
+		assertFalse(Files.exists(old));
+		assertTrue(Files.exists(recent));
+		assertTrue(Files.exists(other));
+		assertThrows(IllegalArgumentException.class, () -> backupService.pruneBackups(0));
+		Files.delete(recent);
+		Files.delete(other);
+	}
+
+	@Test
+	@DisplayName ("A restore brings back the rows of the backup and removes the rows added after it")
+	void testBackupAndRestore() throws Exception {
+		final CProject project = projectRepository.save(new CProject("Backup Project"));
+		final CActivity activity = activityRepository.save(new CActivity("Backup Activity", project));
+		final CBackupInfo backup = backupService.backup();
+		assertTrue(backup.sizeBytes() > 0);
+		assertEquals(backup.fileName(), backupService.listBackups().get(0).fileName());
+		project.setName("Changed Project");
+		projectRepository.save(project);
+		activityRepository.delete(activityRepository.findById(activity.getId()).orElseThrow());
+		final CProject added = projectRepository.save(new CProject("Added Project"));
+		assertTrue(backupService.restore(backup.fileName()) > 0);
+		assertEquals("Backup Project", projectRepository.findById(project.getId()).orElseThrow().getName());
+		assertFalse(projectRepository.findById(added.getId()).isPresent());
+		final CActivity restored = activityRepository.findById(activity.getId()).orElseThrow();
+		assertEquals("Backup Activity", restored.getName());
+		assertEquals(project.getId(), restored.getProject().getId());
+		// identities continue after the restored ids
+		assertTrue(projectRepository.save(new CProject("After Restore")).getId() > project.getId());
+		assertThrows(IllegalArgumentException.class, () -> backupService.restore("../secret.zip"));
+		Files.delete(backupService.getDirectory().resolve(backup.fileName()));
+	}
+
+	@Test
+	@DisplayName ("A restore creates the audit history tables of the backup missing in the database and publishes the restore")
+	void testRestoreCreatesAuditPartitions() throws Exception {
+		assertTrue(auditService.ensurePartitionTable("caudit_history_200001"));
+		assertFalse(auditService.ensurePartitionTable("cactivity"));
+		final CBackupInfo backup = backupService.backup();
+		jdbcTemplate.execute("DROP TABLE caudit_history_200001");
+		final long rows = backupService.restore(backup.fileName());
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM caudit_history_200001", Integer.class));
+		final DatabaseRestoredEvent restored = events.stream(DatabaseRestoredEvent.class).findFirst().orElseThrow();
+		assertEquals(backup.fileName(), restored.getFileName());
+		assertEquals(rows, restored.getRows());
+		Files.delete(backupService.getDirectory().resolve(backup.fileName()));
+	}
+}
@@ -0,0 +1,153 @@
+package tech.derbent.calendar.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.calendar.domain.CCalendarEntry;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.service.IMeetingRepository;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test for the time window queries of meetings and activities. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("📅 Calendar time window queries")
+public class CCalendarServiceTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2031, 3, 3);
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CCalendarService calendarService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private IMeetingRepository meetingRepository;
+	private CProject otherProject;
+	private CProject project;
+	@Autowired
+	private IProjectRepository projectRepository;
+	private CUser user;
+	@Autowired
+	private IUserRepository userRepository;
+
+	private CActivity activity(final String name, final CProject owner, final LocalDate start, final LocalDate due, final CUser assignee) {
+		final CActivity activity = new CActivity(name, owner, assignee);
+		activity.setStartDate(start);
+		activity.setDueDate(due);
+		return activityRepository.save(activity);
+	}
+
+	private CMeeting meeting(final String name, final CProject owner, final LocalDateTime start, final LocalDateTime end) {
+		final CMeeting meeting = new CMeeting(name, owner);
+		meeting.setMeetingDate(start);
+		meeting.setEndDate(end);
+		return meetingRepository.save(meeting);
+	}
+
+	private List<String> names(final List<CCalendarEntry> entries) {
+		return entries.stream().map(CCalendarEntry::getName).toList();
+	}
+
+	@BeforeEach
+	void setUp() {
+		project = projectRepository.save(new CProject("Calendar Project"));
+		otherProject = projectRepository.save(new CProject("Other Calendar Project"));
+		user = userRepository.save(new CUser("calendar.user", "secret", "Calendar User", "calendar.user@example.com"));
+	}
+
+	@Test
+	@DisplayName ("Conflicts of a user are the overlapping pairs of the window")
+	void testFindConflicts() {
+		activity("Busy Activity", project, MONDAY, MONDAY, user);
+		final CMeeting first = meeting("First Meeting", project, MONDAY.atTime(9, 0), MONDAY.atTime(10, 0));
+		first.addAttendee(user);
+		meetingRepository.save(first);
+		final CMeeting touching = meeting("Touching Meeting", otherProject, MONDAY.atTime(10, 0), MONDAY.atTime(11, 0));
+		touching.addParticipant(user);
+		meetingRepository.save(touching);
+		final List<CCalendarService.CConflict> conflicts = calendarService.findConflicts(user, MONDAY.atStartOfDay(), MONDAY.atTime(23, 0));
+		// both meetings fall into the day of the activity, but back to back meetings do not conflict
+		assertEquals(2, conflicts.size());
+		assertTrue(conflicts.stream().allMatch(conflict -> "Busy Activity".equals(conflict.first().getName())));
+	}
+
+	@Test
+	@DisplayName ("Entries of projects overlapping the window, ordered by start")
+	void testListEntries() {
+		meeting("Inside Meeting", project, MONDAY.atTime(9, 0), MONDAY.atTime(10, 0));
+		meeting("Spanning Meeting", project, MONDAY.minusDays(1).atTime(22, 0), MONDAY.atTime(1, 0));
+		meeting("Open End Meeting", project, MONDAY.plusDays(2).atTime(14, 0), null);
+		meeting("Before Meeting", project, MONDAY.minusDays(2).atTime(9, 0), MONDAY.minusDays(2).atTime(10, 0));
+		meeting("After Meeting", project, MONDAY.plusDays(8).atTime(9, 0), MONDAY.plusDays(8).atTime(10, 0));
+		meeting("Other Project Meeting", otherProject, MONDAY.atTime(11, 0), MONDAY.atTime(12, 0));
+		activity("Long Activity", project, MONDAY.minusDays(10), MONDAY.plusDays(10), null);
+		// entries of any length are kept and found in every window they overlap
+		activity("Multi Year Activity", project, MONDAY.minusYears(3), MONDAY.plusYears(1), null);
+		meeting("Month Long Meeting", project, MONDAY.minusDays(30).atTime(9, 0), MONDAY.atTime(12, 0));
+		activity("Ended Activity", project, MONDAY.minusDays(10), MONDAY.minusDays(1), null);
+		final CMeeting deleted = meeting("Deleted Meeting", project, MONDAY.atTime(15, 0), MONDAY.atTime(16, 0));
+		deleted.performSoftDelete();
+		meetingRepository.save(deleted);
+		final LocalDateTime from = MONDAY.atStartOfDay();
+		final LocalDateTime to = MONDAY.plusWeeks(1).atStartOfDay().minusNanos(1);
+		assertEquals(List.of("Multi Year Activity", "Month Long Meeting", "Long Activity", "Spanning Meeting", "Inside Meeting", "Open End Meeting"),
+				names(calendarService.listEntries(List.of(project), from, to)));
+		assertEquals(7, calendarService.listEntries(List.of(project, otherProject), from, to).size());
+		// a window within one day drops the activities of the day that end before it, meetings are matched by time
+		assertEquals(List.of("Multi Year Activity", "Month Long Meeting", "Long Activity", "Inside Meeting"),
+				names(calendarService.listEntries(List.of(project), MONDAY.atTime(8, 0), MONDAY.atTime(9, 30))));
+	}
+
+	@Test
+	@DisplayName ("Entries of a user across projects: assigned, responsible, attendee and participant")
+	void testListEntriesOfUser() {
+		final CMeeting attended = meeting("Attended Meeting", project, MONDAY.atTime(9, 0), MONDAY.atTime(10, 0));
+		attended.addAttendee(user);
+		// several roles in one meeting still list it once
+		attended.setResponsible(user);
+		meetingRepository.save(attended);
+		final CMeeting invited = meeting("Invited Meeting", otherProject, MONDAY.plusDays(1).atTime(9, 0), MONDAY.plusDays(1).atTime(10, 0));
+		invited.addParticipant(user);
+		meetingRepository.save(invited);
+		final CMeeting led = meeting("Led Meeting", otherProject, MONDAY.plusDays(2).atTime(9, 0), MONDAY.plusDays(2).atTime(10, 0));
+		led.setResponsible(user);
+		meetingRepository.save(led);
+		meeting("Foreign Meeting", project, MONDAY.atTime(11, 0), MONDAY.atTime(12, 0));
+		activity("Assigned Activity", otherProject, MONDAY.plusDays(3), MONDAY.plusDays(4), user);
+		activity("Foreign Activity", project, MONDAY, MONDAY, null);
+		assertEquals(List.of("Attended Meeting", "Invited Meeting", "Led Meeting", "Assigned Activity"),
+				names(calendarService.listEntriesOfUser(user, MONDAY.atStartOfDay(), MONDAY.plusDays(6).atTime(23, 59))));
+	}
+
+	@Test
+	@DisplayName ("Time window indexes exist")
+	void testTimeIndexes() {
+		for (final String index : List.of("IDX_MEETING_PROJECT_TIME", "IDX_MEETING_ASSIGNEE_TIME", "IDX_MEETING_RESPONSIBLE_TIME",
+				"IDX_MEETING_ATTENDEES_USER", "IDX_MEETING_PARTICIPANTS_USER", "IDX_ACTIVITY_PROJECT_TIME", "IDX_ACTIVITY_ASSIGNEE_TIME")) {
+			assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?", Long.class, index),
+					index);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package tech.derbent.comments.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.comments.domain.CComment;
+import tech.derbent.comments.domain.CCommentStreamPage;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test for the cursor paged comment stream and the cached comment count. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("💬 Comment stream paging")
+public class CCommentServiceTest {
+
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private CCommentService commentService;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private IUserRepository userRepository;
+
+	@Test
+	@DisplayName ("Pages are newest first, disjoint and complete, including equal event dates")
+	void testCursorPaging() {
+		final CProject project = projectRepository.save(new CProject("Comment Stream Project"));
+		final CActivity activity = activityRepository.save(new CActivity("Busy Activity", project));
+		final CUser author = userRepository.save(new CUser("streamuser", "secret", "Stream User", "stream@example.com"));
+		final LocalDateTime base = LocalDateTime.of(2025, 1, 1, 12, 0);
+		for (int i = 0; i < 7; i++) {
+			final CComment comment = new CComment("Comment " + i, activity, author);
+			// pairs of comments share the same timestamp so the id tie-breaker is exercised
+			comment.setEventDate(base.plusMinutes(i / 2));
+			commentService.save(comment);
+		}
+		final List<CComment> streamed = new ArrayList<>();
+		CCommentStreamPage page = commentService.findPageByActivity(activity, null, 3);
+		streamed.addAll(page.getComments());
+		while (page.hasMore()) {
+			page = commentService.findPageByActivity(activity, page.getNextCursor(), 3);
+			streamed.addAll(page.getComments());
+		}
+		assertNull(page.getNextCursor());
+		assertEquals(7, streamed.size());
+		assertEquals(7, streamed.stream().map(CComment::getId).distinct().count());
+		for (int i = 1; i < streamed.size(); i++) {
+			final CComment newer = streamed.get(i - 1);
+			final CComment older = streamed.get(i);
+			assertFalse(older.getEventDate().isAfter(newer.getEventDate()));
+			if (older.getEventDate().equals(newer.getEventDate())) {
+				assertTrue(older.getId() < newer.getId());
+			}
+		}
+	}
+
+	@Test
+	@DisplayName ("Cached count follows created and deleted comments")
+	void testCachedCount() {
+		final CProject project = projectRepository.save(new CProject("Comment Count Project"));
+		final CActivity activity = activityRepository.save(new CActivity("Counted Activity", project));
+		final CUser author = userRepository.save(new CUser("countuser", "secret", "Count User", "count@example.com"));
+		assertEquals(0, commentService.countByActivity(activity));
+		final CComment first = commentService.createComment("First", activity, author);
+		commentService.createComment("Second", activity, author);
+		assertEquals(2, commentService.countByActivity(activity));
+		commentService.delete(first);
+		assertEquals(1, commentService.countByActivity(activity));
+	}
+}
@@ -0,0 +1,89 @@
+package tech.derbent.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.sql.Date;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+
+/** Integration test for the parallel sample data and the synthetic data generator. Uses its own database, both write committed data that other
+ * tests would see. The sample data runs first, it seeds every project in the database. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:syntheticdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@WithMockUser
+@DisplayName ("🏭 Synthetic data generation")
+@TestMethodOrder (MethodOrderer.OrderAnnotation.class)
+public class CSyntheticDataGeneratorTest {
+
+	@Autowired
+	private CSyntheticDataGenerator generator;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long count(final String sql, final List<Long> projectIds) {
+		final String ids = String.join(", ", projectIds.stream().map(String::valueOf).toList());
+		return jdbcTemplate.queryForObject(sql.replace(":ids", ids), Long.class);
+	}
+
+	@Test
+	@Order (2)
+	@DisplayName ("Generated rows match the settings and the same seed gives the same data")
+	void testGenerate() {
+		final CSyntheticDataGenerator.CSettings settings = new CSyntheticDataGenerator.CSettings(3, 6, 25, 2, 4, 3, 5, 2, 7L, 10, 3);
+		final CSyntheticDataGenerator.CResult result = generator.generate(settings);
+		assertEquals(settings.expectedRows(), result.rows());
+		final List<Long> ids = result.projectIds();
+		assertEquals(3, ids.size());
+		assertEquals(75, count("SELECT COUNT(*) FROM cactivity WHERE project_id IN (:ids)", ids));
+		assertEquals(150,
+				count("SELECT COUNT(*) FROM ccomment c JOIN cactivity a ON a.activity_id = c.activity_id WHERE a.project_id IN (:ids)", ids));
+		assertEquals(36,
+				count("SELECT COUNT(*) FROM cmeeting_attendees ma JOIN cmeeting m ON m.meeting_id = ma.meeting_id WHERE m.project_id IN (:ids)", ids));
+		assertEquals(30,
+				count("SELECT COUNT(*) FROM corderapproval oa JOIN corder o ON o.order_id = oa.order_id WHERE o.project_id IN (:ids)", ids));
+		// the derived stores are rebuilt at the end of the run: groups of five activities in batches of ten, one child level
+		assertEquals(75, count("SELECT SUM(activity_count) FROM cactivityaggregate WHERE scope = 'PROJECT' AND project_id IN (:ids)", ids));
+		assertEquals(60, count("SELECT COUNT(*) FROM cparentchildrelation r JOIN cactivity a ON a.activity_id = r.child_id"
+				+ " WHERE r.child_type = 'CActivity' AND r.depth = 1 AND a.project_id IN (:ids)", ids));
+		assertTrue(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM cworkloadbucket b JOIN cuser u ON u.user_id = b.user_id WHERE u.login LIKE 'synthetic.7.%'", Long.class) > 0);
+		// the approval queue holds the open steps of the generated orders, every one of them still undecided
+		assertTrue(count("SELECT COUNT(*) FROM cpendingapproval WHERE project_id IN (:ids)", ids) > 0);
+		assertEquals(0, count("SELECT COUNT(*) FROM cpendingapproval p JOIN corderapproval oa ON oa.order_approval_id = p.approval_id"
+				+ " JOIN capprovalstatus s ON s.approval_status_id = oa.approval_status_id WHERE s.decision <> 'PENDING' AND p.project_id IN (:ids)",
+				ids));
+		// a second run with the same seed reuses the users and repeats the activity dates of every project
+		final List<Long> rerun = generator.generate(settings).projectIds();
+		for (int i = 0; i < ids.size(); i++) {
+			final String dates = "SELECT start_date FROM cactivity WHERE project_id = ? ORDER BY activity_id";
+			assertEquals(jdbcTemplate.queryForList(dates, Date.class, ids.get(i)),
+					jdbcTemplate.queryForList(dates, Date.class, rerun.get(i)));
+		}
+		assertEquals(6, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cuser WHERE login LIKE 'synthetic.7.%'", Long.class));
+	}
+
+	@Test
+	@Order (1)
+	@DisplayName ("Sample data is seeded with the projects in parallel")
+	void testLoadSampleData() {
+		new CDataInitializer().loadSampleData();
+		final List<Long> projectIds = jdbcTemplate.queryForList("SELECT project_id FROM cproject WHERE name NOT LIKE 'Synthetic%'", Long.class);
+		assertTrue(projectIds.size() >= 3);
+		for (final Long projectId : projectIds) {
+			assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cactivity WHERE project_id = ?", Long.class, projectId) > 0);
+			assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cmeeting WHERE project_id = ?", Long.class, projectId) > 0);
+		}
+	}
+}
@@ -0,0 +1,183 @@
+package tech.derbent.jobs.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import tech.derbent.jobs.domain.CJobInfo;
+import tech.derbent.jobs.domain.CJobRun;
+import tech.derbent.jobs.domain.EJobRunStatus;
+import tech.derbent.setup.domain.CSystemSettings;
+
+/** Integration test for the job scheduler: schedules, cluster locks, run history and back-pressure. Not transactional, the jobs run and record
+ * their runs on worker threads. The ticker is disabled, the test ticks and starts the jobs itself. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.jobs.enabled=false", "derbent.jobs.workers=1", "derbent.jobs.queue-capacity=1"
+})
+@DisplayName ("⏰ Scheduled jobs")
+public class CJobSchedulerServiceTest {
+
+	/** A node local test job with a changeable schedule that can be held on a latch. */
+	static final class CTestJob implements IScheduledJob {
+
+		private volatile CountDownLatch latch;
+		private final String name;
+		private volatile String schedule;
+		private final CountDownLatch started = new CountDownLatch(1);
+
+		CTestJob(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() { return name; }
+
+		@Override
+		public String getSchedule(final CSystemSettings settings) {
+			return schedule;
+		}
+
+		@Override
+		public boolean isClusterWide() { return false; }
+
+		@Override
+		public String run() throws Exception {
+			started.countDown();
+			final CountDownLatch current = latch;
+			if (current != null) {
+				current.await(10, TimeUnit.SECONDS);
+			}
+			if ("failing".equals(schedule)) {
+				throw new IllegalStateException("Test failure");
+			}
+			return name + " done";
+		}
+	}
+
+	@TestConfiguration
+	static class CTestJobs {
+
+		@Bean
+		CTestJob blockingTestJob() {
+			return new CTestJob("test-blocking");
+		}
+
+		@Bean
+		CTestJob queuedTestJob() {
+			return new CTestJob("test-queued");
+		}
+
+		@Bean
+		CTestJob rejectedTestJob() {
+			return new CTestJob("test-rejected");
+		}
+	}
+
+	@Autowired
+	private CTestJob blockingTestJob;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private CTestJob queuedTestJob;
+	@Autowired
+	private CJobSchedulerService schedulerService;
+
+	/** Waits until the job has the count of runs in the history and returns the newest. */
+	private CJobRun awaitRun(final String jobName, final int count) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 10_000;
+		while (System.currentTimeMillis() < deadline) {
+			final List<CJobRun> runs = schedulerService.listRuns(jobName, 10);
+			if (runs.size() >= count) {
+				return runs.get(0);
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("Job " + jobName + " did not run " + count + " times");
+	}
+
+	private CJobInfo getJob(final String jobName) {
+		return schedulerService.getJobs().stream().filter(job -> job.name().equals(jobName)).findFirst().orElseThrow();
+	}
+
+	@Test
+	@DisplayName ("A full queue rejects the run, and a running job is not queued again")
+	void testBackPressure() throws InterruptedException {
+		final int queuedBefore = schedulerService.listRuns("test-queued", 10).size();
+		final CountDownLatch latch = new CountDownLatch(1);
+		blockingTestJob.latch = latch;
+		try {
+			assertTrue(schedulerService.runNow("test-blocking"));
+			// the only worker holds the blocking job, the queue takes one more
+			assertTrue(blockingTestJob.started.await(10, TimeUnit.SECONDS));
+			assertFalse(schedulerService.runNow("test-blocking"));
+			assertTrue(schedulerService.runNow("test-queued"));
+			assertFalse(schedulerService.runNow("test-rejected"));
+			assertEquals(EJobRunStatus.REJECTED, awaitRun("test-rejected", 1).status());
+			assertFalse(getJob("test-rejected").running());
+		} finally {
+			latch.countDown();
+			blockingTestJob.latch = null;
+		}
+		assertEquals(EJobRunStatus.SUCCEEDED, awaitRun("test-blocking", 1).status());
+		final CJobRun queued = awaitRun("test-queued", queuedBefore + 1);
+		assertEquals(EJobRunStatus.SUCCEEDED, queued.status());
+		assertEquals("test-queued done", queued.message());
+	}
+
+	@Test
+	@DisplayName ("An occurrence is locked for one node only, and an expired lock is taken over")
+	void testClusterLock() {
+		final CJobLocks locks = new CJobLocks(jdbcTemplate);
+		final LocalDateTime now = LocalDateTime.of(2031, 3, 1, 2, 0);
+		final LocalDateTime until = now.plusHours(1);
+		assertTrue(locks.tryLock("test-lock", "node-a", now, now, until));
+		assertFalse(locks.tryLock("test-lock", "node-b", now, now, until));
+		assertFalse(locks.tryLock("test-lock", "node-b", now.plusDays(1), now.plusMinutes(5), until));
+		locks.unlock("test-lock", "node-a", now.plusMinutes(10));
+		// node b ticks late and finds the occurrence already run
+		assertFalse(locks.tryLock("test-lock", "node-b", now, now.plusMinutes(11), until));
+		assertTrue(locks.tryLock("test-lock", "node-b", now.plusDays(1), now.plusDays(1), now.plusDays(1).plusHours(1)));
+		// node b dies holding the lock, it expires
+		assertFalse(locks.tryLock("test-lock", "node-a", now.plusDays(2), now.plusDays(1).plusMinutes(30), now.plusDays(2)));
+		assertTrue(locks.tryLock("test-lock", "node-a", now.plusDays(2), now.plusDays(1).plusHours(2), now.plusDays(2).plusHours(1)));
+	}
+
+	@Test
+	@DisplayName ("Schedules are read on each tick, failures are recorded in the history")
+	void testScheduleAndHistory() throws InterruptedException {
+		assertEquals("0 0 2 * * *", CJobSchedulerService.normalizeSchedule(" 0 2 * * * "));
+		assertEquals("0 30 3 * * *", CJobSchedulerService.normalizeSchedule("0 30 3 * * *"));
+		assertNull(CJobSchedulerService.normalizeSchedule(" "));
+		queuedTestJob.schedule = "*/5 * * * *";
+		schedulerService.tick();
+		assertEquals("0 */5 * * * *", getJob("test-queued").schedule());
+		assertTrue(getJob("test-queued").nextRun() != null);
+		queuedTestJob.schedule = "failing";
+		schedulerService.tick();
+		assertNull(getJob("test-queued").schedule());
+		assertNull(getJob("test-queued").nextRun());
+		final int before = schedulerService.listRuns("test-queued", 10).size();
+		assertTrue(schedulerService.runNow("test-queued"));
+		final CJobRun failed = awaitRun("test-queued", before + 1);
+		assertEquals(EJobRunStatus.FAILED, failed.status());
+		assertEquals("IllegalStateException: Test failure", failed.message());
+		queuedTestJob.schedule = null;
+		schedulerService.tick();
+		assertNull(getJob("test-queued").schedule());
+	}
+}
@@ -0,0 +1,76 @@
+package tech.derbent.meetings.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test for the two-phase paging of meetings: ids are paged in the database, collections are loaded for the page only. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("📅 Meeting two-phase paging")
+public class CMeetingServiceTest {
+
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private IMeetingRepository meetingRepository;
+	@Autowired
+	private CMeetingService meetingService;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private IUserRepository userRepository;
+
+	@Test
+	@DisplayName ("Pages are sorted and sized by the database and carry initialized collections")
+	void testTwoPhasePaging() {
+		final CProject project = projectRepository.save(new CProject("Meeting Paging Project"));
+		final CUser first = userRepository.save(new CUser("meetinguser1", "secret", "Meeting User 1", "meeting1@example.com"));
+		final CUser second = userRepository.save(new CUser("meetinguser2", "secret", "Meeting User 2", "meeting2@example.com"));
+		for (int i = 0; i < 5; i++) {
+			final CMeeting meeting = new CMeeting("Meeting " + i, project);
+			meeting.addAttendee(first);
+			meeting.addAttendee(second);
+			meeting.addParticipant(first);
+			meetingRepository.save(meeting);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		final Page<CMeeting> page = meetingService.listByProject(project, PageRequest.of(1, 2, Sort.by("name")));
+		assertEquals(5, page.getTotalElements());
+		final List<CMeeting> content = page.getContent();
+		assertEquals(List.of("Meeting 2", "Meeting 3"), content.stream().map(CMeeting::getName).toList());
+		final PersistenceUnitUtil unitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+		for (final CMeeting meeting : content) {
+			assertTrue(Hibernate.isInitialized(meeting.getProject()));
+			// both collections must be loaded by the page queries, not lazily on access
+			assertTrue(unitUtil.isLoaded(meeting, "attendees"));
+			assertTrue(unitUtil.isLoaded(meeting, "participants"));
+			assertEquals(2, meeting.getAttendees().size());
+			assertEquals(1, meeting.getParticipants().size());
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package tech.derbent.notifications.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.notifications.domain.CMailMessage;
+import tech.derbent.notifications.domain.CNotification;
+import tech.derbent.notifications.domain.CNotification.Kind;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test of the notification pipeline: outbox rows are written with the triggering save, and the dispatcher sends one mail per user
+ * through the local mail stand-in, retrying refused mails. The background dispatcher is slowed down, the test dispatches itself. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.mail.transport=local", "derbent.notifications.dispatch-ms=3600000", "derbent.notifications.digest-seconds=0",
+		"derbent.notifications.retry-seconds=0", "derbent.notifications.rate-per-second=1000"
+})
+@WithMockUser (username = "notifier")
+@DisplayName ("✉️ Notification pipeline")
+public class CNotificationPipelineTest {
+
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private CNotificationDispatcher dispatcher;
+	@Autowired
+	private IMailTransport mailTransport;
+	@Autowired
+	private CNotificationOutboxService outboxService;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private IUserRepository userRepository;
+
+	private CActivity assign(final String name, final CUser assignee) {
+		final CActivity activity = new CActivity(name, projectRepository.save(new CProject(name + " Project")));
+		activity.setAssignedTo(assignee);
+		return activityService.save(activity);
+	}
+
+	private CUser createUser(final String login) {
+		return userRepository.save(new CUser(login, "secret", login, login + "@example.com"));
+	}
+
+	private List<CMailMessage> mailsTo(final CUser user) {
+		return ((CLocalMailTransport) mailTransport).getSentMessages().stream().filter(mail -> mail.to().equals(user.getEmail())).toList();
+	}
+
+	@Test
+	@DisplayName ("An assignment is queued with the save, a rolled back save queues nothing")
+	void testAssignmentQueuedInTransaction() {
+		final CUser assignee = createUser("outboxassignee");
+		assign("Queued Activity", assignee);
+		final List<CNotification> pending = outboxService.listPending(assignee.getId());
+		assertEquals(1, pending.size());
+		assertEquals(Kind.ASSIGNMENT, pending.get(0).kind());
+		assertEquals("Activity 'Queued Activity' was assigned to you", pending.get(0).message());
+		final CProject project = projectRepository.save(new CProject("Rolled Back Project"));
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			final CActivity activity = new CActivity("Rolled Back Activity", project);
+			activity.setAssignedTo(assignee);
+			activityService.save(activity);
+			status.setRollbackOnly();
+		});
+		assertEquals(1, outboxService.listPending(assignee.getId()).size());
+	}
+
+	@Test
+	@DisplayName ("The waiting notifications of a user are sent as one digest")
+	void testDigestPerUser() {
+		final CUser assignee = createUser("digestassignee");
+		assign("First Digest Activity", assignee);
+		assign("Second Digest Activity", assignee);
+		assertTrue(dispatcher.dispatch() >= 1);
+		final List<CMailMessage> mails = mailsTo(assignee);
+		assertEquals(1, mails.size());
+		assertTrue(mails.get(0).subject().contains("2 updates"));
+		assertTrue(mails.get(0).body().contains("Activity 'First Digest Activity' was assigned to you"));
+		assertTrue(mails.get(0).body().contains("Activity 'Second Digest Activity' was assigned to you"));
+		assertTrue(outboxService.listPending(assignee.getId()).isEmpty());
+	}
+
+	@Test
+	@DisplayName ("Reminders of activities due tomorrow are queued once")
+	void testDueDateReminders() {
+		final CUser assignee = createUser("dueassignee");
+		final CActivity activity = new CActivity("Due Activity", projectRepository.save(new CProject("Due Project")));
+		activity.setAssignedTo(assignee);
+		activity.setDueDate(LocalDate.now().plusDays(1));
+		activityService.save(activity);
+		outboxService.queueDueDateReminders();
+		outboxService.queueDueDateReminders();
+		final List<CNotification> reminders =
+				outboxService.listPending(assignee.getId()).stream().filter(notification -> notification.kind() == Kind.DUE_DATE).toList();
+		assertEquals(1, reminders.size());
+		assertEquals("Activity 'Due Activity' is due on " + activity.getDueDate(), reminders.get(0).message());
+	}
+
+	@Test
+	@DisplayName ("A refused mail stays in the outbox and is sent on a later run")
+	void testRefusedMailRetried() {
+		final CUser assignee = createUser("retryassignee");
+		assign("Retried Activity", assignee);
+		final CLocalMailTransport transport = (CLocalMailTransport) mailTransport;
+		transport.setRefusing(true);
+		try {
+			dispatcher.dispatch();
+		} finally {
+			transport.setRefusing(false);
+		}
+		assertTrue(mailsTo(assignee).isEmpty());
+		assertEquals(1, outboxService.listPending(assignee.getId()).size());
+		dispatcher.dispatch();
+		assertEquals(1, mailsTo(assignee).size());
+		assertTrue(outboxService.listPending(assignee.getId()).isEmpty());
+	}
+}
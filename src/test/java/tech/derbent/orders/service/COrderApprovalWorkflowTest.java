@@ -0,0 +1,180 @@
+package tech.derbent.orders.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.orders.domain.CApprovalStatus;
+import tech.derbent.orders.domain.CCurrency;
+import tech.derbent.orders.domain.COrder;
+import tech.derbent.orders.domain.COrderApproval;
+import tech.derbent.orders.domain.COrderStatus;
+import tech.derbent.orders.domain.COrderType;
+import tech.derbent.orders.domain.CPendingApproval;
+import tech.derbent.orders.domain.EApprovalDecision;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test verifying that order approvals are decided level by level and that the pending approval queue follows every change. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("✅ Order approval workflow")
+public class COrderApprovalWorkflowTest {
+
+	@Autowired
+	private COrderApprovalService approvalService;
+	@Autowired
+	private IApprovalStatusRepository approvalStatusRepository;
+	private CUser buyer;
+	private CUser controller;
+	private CCurrency currency;
+	@Autowired
+	private ICurrencyRepository currencyRepository;
+	private CUser manager;
+	private COrderStatus orderStatus;
+	@Autowired
+	private IOrderStatusRepository orderStatusRepository;
+	@Autowired
+	private COrderService orderService;
+	private COrderType orderType;
+	@Autowired
+	private IOrderTypeRepository orderTypeRepository;
+	@Autowired
+	private CPendingApprovalService pendingApprovalService;
+	private CApprovalStatus pendingStatus;
+	private CProject project;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private IUserRepository userRepository;
+
+	private List<Long> inboxOrders(final CUser approver) {
+		return approvalService.listInbox(approver, CPendingApprovalService.MAX_INBOX_SIZE).stream().map(CPendingApproval::getOrderId).toList();
+	}
+
+	/** An order with one manager step on level 1 and a controller step on level 2. */
+	private COrder newOrder(final String name) {
+		final COrder order = new COrder(name, project);
+		order.setOrderType(orderType);
+		order.setStatus(orderStatus);
+		order.setCurrency(currency);
+		order.setRequestor(buyer);
+		order.setOrderDate(LocalDate.of(2031, 3, 3));
+		order.setProviderCompanyName("Provider");
+		order.addApproval(step("Manager", 1, manager));
+		order.addApproval(step("Controller", 2, controller));
+		return orderService.save(order);
+	}
+
+	private List<LocalDateTime> requestTimes(final CUser approver) {
+		return approvalService.listInbox(approver, CPendingApprovalService.MAX_INBOX_SIZE).stream().map(CPendingApproval::getRequestedAt).toList();
+	}
+
+	private CApprovalStatus saveStatus(final String name, final EApprovalDecision decision) {
+		final CApprovalStatus status = new CApprovalStatus(name, project);
+		status.setDecision(decision);
+		return approvalStatusRepository.save(status);
+	}
+
+	@BeforeEach
+	void setUp() {
+		project = projectRepository.save(new CProject("Approval Project"));
+		buyer = userRepository.save(new CUser("approval.buyer", "secret", "Buyer", "approval.buyer@example.com"));
+		manager = userRepository.save(new CUser("approval.manager", "secret", "Manager", "approval.manager@example.com"));
+		controller = userRepository.save(new CUser("approval.controller", "secret", "Controller", "approval.controller@example.com"));
+		currency = currencyRepository.save(new CCurrency(project, "Euro"));
+		orderStatus = orderStatusRepository.save(new COrderStatus("Requested", project));
+		orderType = orderTypeRepository.save(new COrderType("Hardware", project));
+		pendingStatus = saveStatus("Waiting", EApprovalDecision.PENDING);
+		saveStatus("Accepted", EApprovalDecision.APPROVED);
+		saveStatus("Declined", EApprovalDecision.REJECTED);
+	}
+
+	private COrderApproval step(final String name, final int level, final CUser approver) {
+		final COrderApproval approval = new COrderApproval(name);
+		approval.setApprovalLevel(level);
+		approval.setApprovalStatus(pendingStatus);
+		approval.setApprover(approver);
+		return approval;
+	}
+
+	private COrderApproval stepOf(final COrder order, final CUser approver) {
+		return order.getApprovals().stream().filter(approval -> approval.getApprover().equals(approver)).findFirst().orElseThrow();
+	}
+
+	@Test
+	@DisplayName ("Levels open one after the other and the order is approved with its last step")
+	void testLevelsOpenInOrder() {
+		final COrder order = newOrder("Laptops");
+		assertEquals(List.of(order.getId()), inboxOrders(manager));
+		assertTrue(inboxOrders(controller).isEmpty());
+		approvalService.approve(stepOf(order, manager).getId(), manager, "Budget is fine");
+		assertTrue(inboxOrders(manager).isEmpty());
+		assertEquals(List.of(order.getId()), inboxOrders(controller));
+		assertEquals(EApprovalDecision.PENDING, approvalService.getOrderDecision(order));
+		final COrderApproval last = approvalService.approve(stepOf(order, controller).getId(), controller, null);
+		assertEquals("Accepted", last.getApprovalStatus().getName());
+		assertTrue(last.getApprovalDate() != null);
+		assertEquals(0, pendingApprovalService.countInbox(controller.getId()));
+		assertEquals(EApprovalDecision.APPROVED, approvalService.getOrderDecision(order));
+	}
+
+	@Test
+	@DisplayName ("Only the approver of an open step can decide it")
+	void testOnlyOpenStepsOfTheApprover() {
+		final COrder order = newOrder("Monitors");
+		assertThrows(IllegalArgumentException.class, () -> approvalService.approve(stepOf(order, manager).getId(), controller, null));
+		assertThrows(IllegalArgumentException.class, () -> approvalService.approve(stepOf(order, controller).getId(), controller, null));
+		approvalService.approve(stepOf(order, manager).getId(), manager, null);
+		assertThrows(IllegalArgumentException.class, () -> approvalService.reject(stepOf(order, manager).getId(), manager, null));
+	}
+
+	@Test
+	@DisplayName ("A rebuild produces the same queue as the incremental updates")
+	void testRebuild() {
+		final COrder first = newOrder("Desks");
+		newOrder("Chairs");
+		approvalService.approve(stepOf(first, manager).getId(), manager, null);
+		final List<Long> managerInbox = inboxOrders(manager);
+		final List<Long> controllerInbox = inboxOrders(controller);
+		final List<LocalDateTime> requestTimes = requestTimes(manager);
+		pendingApprovalService.rebuild();
+		assertEquals(managerInbox, inboxOrders(manager));
+		assertEquals(controllerInbox, inboxOrders(controller));
+		// the rows that still wait are kept with their request time
+		assertEquals(requestTimes, requestTimes(manager));
+	}
+
+	@Test
+	@DisplayName ("A rejection or a deleted order withdraws the open steps")
+	void testRejectAndDelete() {
+		final COrder rejected = newOrder("Servers");
+		final COrder deleted = newOrder("Phones");
+		assertEquals(2, pendingApprovalService.countInbox(manager.getId()));
+		approvalService.reject(stepOf(rejected, manager).getId(), manager, "Too expensive");
+		assertEquals(EApprovalDecision.REJECTED, approvalService.getOrderDecision(rejected));
+		assertEquals(List.of(deleted.getId()), inboxOrders(manager));
+		assertTrue(inboxOrders(controller).isEmpty());
+		orderService.deleteWithReflection(deleted);
+		assertEquals(0, pendingApprovalService.countInbox(manager.getId()));
+		orderService.restore(deleted);
+		assertEquals(List.of(deleted.getId()), inboxOrders(manager));
+	}
+}
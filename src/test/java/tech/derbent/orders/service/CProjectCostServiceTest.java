@@ -0,0 +1,148 @@
+package tech.derbent.orders.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.IActivityRepository;
+import tech.derbent.orders.domain.CCurrency;
+import tech.derbent.orders.domain.CExchangeRate;
+import tech.derbent.orders.domain.COrder;
+import tech.derbent.orders.domain.COrderStatus;
+import tech.derbent.orders.domain.COrderType;
+import tech.derbent.orders.domain.CProjectCost;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+
+/** Integration test verifying effective-dated currency conversion and the grouped project cost roll-up. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false",
+		"derbent.costs.activity-currency=EUR"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("💱 Multi-currency project costs")
+public class CProjectCostServiceTest {
+
+	private static final LocalDate JANUARY = LocalDate.of(2031, 1, 1);
+	private static final LocalDate JULY = LocalDate.of(2031, 7, 1);
+
+	private static void assertAmount(final String expected, final BigDecimal actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+	}
+
+	@Autowired
+	private IActivityRepository activityRepository;
+	@Autowired
+	private ICurrencyRepository currencyRepository;
+	@Autowired
+	private CExchangeRateService exchangeRateService;
+	@Autowired
+	private IOrderRepository orderRepository;
+	@Autowired
+	private IOrderStatusRepository orderStatusRepository;
+	@Autowired
+	private IOrderTypeRepository orderTypeRepository;
+	private CProject project;
+	@Autowired
+	private CProjectCostService projectCostService;
+	@Autowired
+	private IProjectRepository projectRepository;
+	private CUser requestor;
+	@Autowired
+	private IUserRepository userRepository;
+
+	private void saveActivity(final String name, final String estimatedCost, final String actualCost) {
+		final CActivity activity = new CActivity(name, project);
+		activity.setEstimatedCost(new BigDecimal(estimatedCost));
+		activity.setActualCost(new BigDecimal(actualCost));
+		activityRepository.save(activity);
+	}
+
+	private void saveOrder(final String name, final String currencyCode, final LocalDate orderDate, final String estimatedCost,
+			final String actualCost) {
+		final CCurrency currency = currencyRepository.findByNameAndProject(currencyCode, project).orElseGet(() -> {
+			final CCurrency created = new CCurrency(project, currencyCode);
+			created.setCurrencyCode(currencyCode);
+			return currencyRepository.save(created);
+		});
+		final COrder order = new COrder(name, project);
+		order.setOrderType(orderTypeRepository.findByNameAndProject("Hardware", project).orElseThrow());
+		order.setStatus(orderStatusRepository.findByNameAndProject("Requested", project).orElseThrow());
+		order.setCurrency(currency);
+		order.setRequestor(requestor);
+		order.setOrderDate(orderDate);
+		order.setProviderCompanyName("Provider");
+		order.setEstimatedCost(new BigDecimal(estimatedCost));
+		order.setActualCost(new BigDecimal(actualCost));
+		orderRepository.save(order);
+	}
+
+	@BeforeEach
+	void setUp() {
+		project = projectRepository.save(new CProject("Cost Project"));
+		requestor = userRepository.save(new CUser("cost.requestor", "secret", "Requestor", "cost.requestor@example.com"));
+		orderStatusRepository.save(new COrderStatus("Requested", project));
+		orderTypeRepository.save(new COrderType("Hardware", project));
+		exchangeRateService.save(new CExchangeRate("usd", "EUR", JANUARY, new BigDecimal("0.90")));
+		exchangeRateService.save(new CExchangeRate("USD", "EUR", JULY, new BigDecimal("0.80")));
+	}
+
+	@Test
+	@DisplayName ("Rates are picked by effective date, inverted for the opposite pair, and reloaded after a change")
+	void testConversion() {
+		assertAmount("90", exchangeRateService.convert(new BigDecimal("100"), "USD", "EUR", JANUARY.plusDays(10)));
+		assertAmount("80", exchangeRateService.convert(new BigDecimal("100"), "USD", "EUR", JULY));
+		assertAmount("125", exchangeRateService.convert(new BigDecimal("100"), "EUR", "USD", JULY.plusMonths(2)));
+		assertAmount("100", exchangeRateService.convert(new BigDecimal("100"), "TRY", "try", JANUARY));
+		assertTrue(exchangeRateService.findRate("USD", "EUR", JANUARY.minusDays(1)).isEmpty());
+		assertThrows(IllegalStateException.class, () -> exchangeRateService.getRate("TRY", "EUR", JULY));
+		exchangeRateService.save(new CExchangeRate("TRY", "EUR", JANUARY, new BigDecimal("0.03")));
+		assertAmount("3", exchangeRateService.convert(new BigDecimal("100"), "TRY", "EUR", JULY));
+		assertThrows(IllegalArgumentException.class, () -> exchangeRateService.save(new CExchangeRate("EUR", "EUR", JULY, BigDecimal.ONE)));
+	}
+
+	@Test
+	@DisplayName ("Orders are converted with the rate of their order date, activities with the rate of the report date")
+	void testRollUp() {
+		saveOrder("January Laptops", "USD", JANUARY.plusDays(5), "1000", "900");
+		saveOrder("January Monitors", "USD", JANUARY.plusDays(5), "500", "0");
+		saveOrder("August Servers", "USD", JULY.plusMonths(1), "2000", "2000");
+		saveOrder("Local Desks", "EUR", JULY, "300.50", "300.50");
+		saveActivity("Design", "1000", "400");
+		saveActivity("Build", "500", "100");
+		final CProject empty = projectRepository.save(new CProject("Empty Cost Project"));
+		final List<CProjectCost> costs = projectCostService.listProjectCosts(List.of(project.getId(), empty.getId()), "USD", JULY);
+		assertEquals(2, costs.size());
+		final CProjectCost cost = costs.get(0);
+		// 1500 USD, 2000 USD, and 300.50 EUR at 1 / 0.8
+		assertAmount("3875.63", cost.orderEstimatedCost());
+		assertAmount("3275.63", cost.orderActualCost());
+		assertAmount("1875.00", cost.activityEstimatedCost());
+		assertAmount("625.00", cost.activityActualCost());
+		assertAmount("5750.63", cost.getEstimatedCost());
+		assertFalse(cost.hasUnknownCurrency());
+		assertAmount("0", costs.get(1).getEstimatedCost());
+		final CProjectCost inEuro = projectCostService.listProjectCosts(List.of(project.getId()), "EUR", JULY).get(0);
+		// 1500 USD at 0.9, 2000 USD at 0.8, and 300.50 EUR
+		assertAmount("3250.50", inEuro.orderEstimatedCost());
+		assertAmount("1500.00", inEuro.activityEstimatedCost());
+		assertThrows(IllegalStateException.class, () -> projectCostService.listProjectCosts(List.of(project.getId()), "GBP", JULY));
+	}
+}
@@ -0,0 +1,85 @@
+package tech.derbent.workload.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+import tech.derbent.workload.domain.CWorkloadBucket;
+
+/** Integration test verifying that concurrent saves for the same user and day add up in one workload row. Not transactional, every save commits
+ * in a transaction of its own as in the application. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@WithMockUser
+@DisplayName ("📈 Concurrent workload updates")
+public class CWorkloadConcurrencyTest {
+
+	private static final LocalDate DAY = LocalDate.of(2032, 5, 4);
+	private static final int THREADS = 4;
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private IProjectRepository projectRepository;
+	@Autowired
+	private IUserRepository userRepository;
+	@Autowired
+	private CWorkloadService workloadService;
+
+	@Test
+	@DisplayName ("Saves of several projects for one user and day neither fail nor lose hours")
+	void testConcurrentSaves() throws Exception {
+		final CUser user = userRepository.save(new CUser("workload.concurrent", "secret", "Concurrent User", "workload.concurrent@example.com"));
+		final List<CProject> projects = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			projects.add(projectRepository.save(new CProject("Concurrent Workload " + i)));
+		}
+		final CountDownLatch start = new CountDownLatch(1);
+		final ExecutorService executor =
+				new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(THREADS), SecurityContextHolder.getContext());
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (final CProject project : projects) {
+				futures.add(executor.submit(() -> {
+					final CActivity activity = new CActivity("Same Day Work", project, user);
+					activity.setStartDate(DAY);
+					activity.setDueDate(DAY);
+					activity.setEstimatedHours(new BigDecimal("1.50"));
+					start.await();
+					activityService.save(activity);
+					return null;
+				}));
+			}
+			start.countDown();
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		final List<CWorkloadBucket> rows = workloadService.listWorkloadOfUser(user, DAY, DAY);
+		assertEquals(1, rows.size());
+		assertEquals(0, new BigDecimal("6.00").compareTo(rows.get(0).getActivityHours()));
+	}
+}
@@ -0,0 +1,135 @@
+package tech.derbent.workload.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import tech.derbent.activities.domain.CActivity;
+import tech.derbent.activities.service.CActivityService;
+import tech.derbent.meetings.domain.CMeeting;
+import tech.derbent.meetings.service.CMeetingService;
+import tech.derbent.projects.domain.CProject;
+import tech.derbent.projects.service.IProjectRepository;
+import tech.derbent.users.domain.CUser;
+import tech.derbent.users.service.IUserRepository;
+import tech.derbent.workload.domain.CUserWorkload;
+import tech.derbent.workload.domain.CWorkloadBucket;
+import tech.derbent.workload.domain.CWorkloadContribution;
+
+/** Integration test verifying that the per-user daily workload rows follow activity and meeting changes incrementally. */
+@SpringBootTest (classes = tech.derbent.Application.class)
+@TestPropertySource (properties = {
+		"spring.datasource.url=jdbc:h2:mem:testdb", "spring.datasource.username=sa", "spring.datasource.password=",
+		"spring.datasource.driver-class-name=org.h2.Driver", "spring.jpa.hibernate.ddl-auto=create-drop", "spring.jpa.show-sql=false"
+})
+@Transactional
+@WithMockUser
+@DisplayName ("📈 User workload buckets")
+public class CWorkloadServiceTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2031, 3, 3);
+
+	private static void assertAmount(final String expected, final BigDecimal actual) {
+		assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+	}
+
+	@Autowired
+	private CActivityService activityService;
+	@Autowired
+	private CMeetingService meetingService;
+	private CProject project;
+	@Autowired
+	private IProjectRepository projectRepository;
+	private CUser user;
+	@Autowired
+	private IUserRepository userRepository;
+	@Autowired
+	private CWorkloadService workloadService;
+
+	private CUserWorkload heatmapRow() {
+		return workloadService.getHeatmap(MONDAY, MONDAY.plusDays(6)).stream().filter(row -> row.getUserId().equals(user.getId())).findFirst()
+				.orElseThrow();
+	}
+
+	@BeforeEach
+	void setUp() {
+		project = projectRepository.save(new CProject("Workload Project"));
+		user = userRepository.save(new CUser("workload.user", "secret", "Workload User", "workload.user@example.com"));
+	}
+
+	@Test
+	@DisplayName ("Activity hours are spread over working days, the last day takes the rounding remainder")
+	void testActivitySpread() {
+		final List<CWorkloadContribution.CShare> week =
+				new CWorkloadContribution(1L, MONDAY, MONDAY.plusDays(6), new BigDecimal("10"), null, null).getShares();
+		assertEquals(5, week.size());
+		assertTrue(week.stream().allMatch(share -> share.activityHours().compareTo(new BigDecimal("2")) == 0));
+		final List<CWorkloadContribution.CShare> thirds =
+				new CWorkloadContribution(1L, MONDAY, MONDAY.plusDays(2), new BigDecimal("10"), null, null).getShares();
+		assertAmount("3.33", thirds.get(0).activityHours());
+		assertAmount("3.34", thirds.get(2).activityHours());
+		// remaining hours win over estimated minus actual hours
+		assertEquals(1, new CWorkloadContribution(1L, MONDAY.plusDays(5), null, new BigDecimal("8"), new BigDecimal("2"), new BigDecimal("3"))
+				.getShares().size());
+		assertTrue(new CWorkloadContribution(null, MONDAY, MONDAY, new BigDecimal("8"), null, null).isEmpty());
+	}
+
+	@Test
+	@DisplayName ("Rows follow activity and meeting saves, soft deletes and restores")
+	void testIncrementalUpdates() {
+		final CActivity activity = new CActivity("Planned Work", project, user);
+		activity.setStartDate(MONDAY);
+		activity.setDueDate(MONDAY.plusDays(6));
+		activity.setEstimatedHours(new BigDecimal("10.00"));
+		final CActivity saved = activityService.save(activity);
+		assertAmount("2.00", heatmapRow().getHours(MONDAY));
+		assertAmount("0", heatmapRow().getHours(MONDAY.plusDays(5)));
+		saved.setRemainingHours(new BigDecimal("45.00"));
+		activityService.save(saved);
+		assertAmount("9.00", heatmapRow().getHours(MONDAY.plusDays(1)));
+		final CMeeting meeting = new CMeeting("Planning", project);
+		meeting.setMeetingDate(MONDAY.plusDays(1).atTime(9, 0));
+		meeting.setEndDate(MONDAY.plusDays(1).atTime(11, 30));
+		meeting.addAttendee(user);
+		meetingService.save(meeting);
+		final CWorkloadBucket tuesday = heatmapRow().getDays().get(MONDAY.plusDays(1));
+		assertAmount("9.00", tuesday.getActivityHours());
+		assertAmount("2.50", tuesday.getMeetingHours());
+		assertEquals(5, workloadService.listOverloadedDays(MONDAY, MONDAY.plusDays(6)).size());
+		activityService.deleteWithReflection(saved);
+		assertEquals(1, heatmapRow().getDays().size());
+		assertAmount("2.50", heatmapRow().getTotalHours());
+		activityService.restore(saved);
+		assertAmount("47.50", heatmapRow().getTotalHours());
+		meetingService.delete(meeting);
+		assertAmount("45.00", heatmapRow().getTotalHours());
+		assertEquals(5, workloadService.listWorkloadOfUser(user, MONDAY, MONDAY.plusDays(6)).size());
+	}
+
+	@Test
+	@DisplayName ("A rebuild produces the same rows as the incremental updates")
+	void testRebuild() {
+		final CActivity activity = new CActivity("Rebuilt Work", project, user);
+		activity.setStartDate(MONDAY);
+		activity.setDueDate(MONDAY.plusDays(1));
+		activity.setEstimatedHours(new BigDecimal("6.00"));
+		activityService.save(activity);
+		final CMeeting meeting = new CMeeting("Review", project);
+		meeting.setMeetingDate(MONDAY.atTime(14, 0));
+		meeting.setResponsible(user);
+		meetingService.save(meeting);
+		final BigDecimal incremental = heatmapRow().getTotalHours();
+		workloadService.rebuild();
+		assertAmount(incremental.toPlainString(), heatmapRow().getTotalHours());
+		assertAmount("7.00", heatmapRow().getTotalHours());
+	}
+}